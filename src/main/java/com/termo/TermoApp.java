@@ -1,6 +1,7 @@
 package com.termo;
-import com.termo.controller.Login;
+import com.termo.controller.StartupPipeline;
 import com.termo.gui.GameWindow;
+import com.termo.gui.components.EdtWatchdog;
 
 /**
  * A classe principal que serve como ponto de entrada para a aplicação do jogo Termo.
@@ -11,13 +12,18 @@ public class TermoApp {
      * @param args Argumentos de linha de comando (não utilizados nesta aplicação).
      */
     public static void main(String[] args) {
+        // Começa a carregar o dicionário e os usuários em segundo plano antes de criar qualquer tela.
+        StartupPipeline startup = StartupPipeline.iniciar(args[0]);
+
+        // Com -Dtermo.edtWatchdog=true, eventos que prendem a EDT além do limite têm a pilha impressa.
+        EdtWatchdog.instalarSeHabilitado();
+
         // SwingUtilities.invokeLater é usado para garantir que a criação e manipulação
         // da interface gráfica (GUI) ocorra na Event Dispatch Thread (EDT).
         javax.swing.SwingUtilities.invokeLater(() -> {
             // Cria uma nova instância da janela principal do jogo (GameWindow),
-            // passando o caminho para o arquivo de palavras.
-            // O método .showEventDemo() é então chamado para construir e exibir a janela.
-            new GameWindow(args[0]);
+            // passando o caminho para o arquivo de palavras; o login aparece sem esperar as cargas.
+            new GameWindow(args[0], startup);
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.termo.analytics;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Agregado parcial das estatísticas do histórico de partidas.
+ * Todos os contadores ficam em vetores primitivos indexados pelo ID da palavra no dicionário
+ * ou por (posição, letra), de modo que agregados de segmentos diferentes são combinados
+ * com uma simples soma elemento a elemento.
+ */
+public class GuessAggregate {
+    public static final int POSICOES = 5; // Letras por palavra
+    public static final int LETRAS = 26; // Alfabeto sem acentos (a-z)
+    public static final int TENTATIVAS_DERROTA = 7; // Custo contabilizado para uma derrota
+
+    private final int palavras;
+    private int totalPartidas;
+    final int[] partidas; // ID -> vezes em que foi a palavra secreta
+    final int[] vitorias; // ID -> vitórias com essa palavra secreta
+    final int[] somaTentativas; // ID -> soma das tentativas (derrota conta TENTATIVAS_DERROTA)
+    final int[] aberturas; // ID -> vezes em que foi usada como primeiro chute
+    final int[] letrasPorPosicao; // posição * LETRAS + letra -> chutes com essa letra nessa posição
+    final int[] acertosPorPosicao; // posição * LETRAS + letra -> vezes em que ficou verde
+
+    /**
+     * @param palavras Tamanho do dicionário (quantidade de IDs)
+     */
+    public GuessAggregate(int palavras) {
+        this.palavras = palavras;
+        this.partidas = new int[palavras];
+        this.vitorias = new int[palavras];
+        this.somaTentativas = new int[palavras];
+        this.aberturas = new int[palavras];
+        this.letrasPorPosicao = new int[POSICOES * LETRAS];
+        this.acertosPorPosicao = new int[POSICOES * LETRAS];
+    }
+
+    /**
+     * registrarPartida
+     * Contabiliza uma partida já traduzida para IDs e letras normalizadas.
+     *
+     * @param segredo ID da palavra secreta
+     * @param venceu true se o jogador acertou
+     * @param chutes IDs dos chutes em ordem (-1 para palavras fora do dicionário)
+     * @param segredoNorm Palavra secreta normalizada (a-z)
+     * @param chutesNorm Chutes normalizados (a-z), na mesma ordem de {@code chutes}
+     */
+    void registrarPartida(int segredo, boolean venceu, int[] chutes, String segredoNorm, String[] chutesNorm) {
+        totalPartidas++;
+        if (segredo >= 0) {
+            partidas[segredo]++;
+            if (venceu) vitorias[segredo]++;
+            somaTentativas[segredo] += venceu ? chutes.length : TENTATIVAS_DERROTA;
+        }
+        if (chutes.length > 0 && chutes[0] >= 0) {
+            aberturas[chutes[0]]++;
+        }
+        for (String chute : chutesNorm) {
+            int n = Math.min(POSICOES, chute.length());
+            for (int pos = 0; pos < n; pos++) {
+                int letra = chute.charAt(pos) - 'a';
+                if (letra < 0 || letra >= LETRAS) continue;
+                letrasPorPosicao[pos * LETRAS + letra]++;
+                if (pos < segredoNorm.length() && segredoNorm.charAt(pos) == chute.charAt(pos)) {
+                    acertosPorPosicao[pos * LETRAS + letra]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * merge
+     * Soma os contadores de outro agregado neste.
+     *
+     * @param outro Agregado do mesmo dicionário
+     * @return Este agregado, para encadeamento
+     */
+    public GuessAggregate merge(GuessAggregate outro) {
+        if (outro.palavras != palavras) {
+            throw new IllegalArgumentException("Agregados de dicionários diferentes");
+        }
+        totalPartidas += outro.totalPartidas;
+        somar(partidas, outro.partidas);
+        somar(vitorias, outro.vitorias);
+        somar(somaTentativas, outro.somaTentativas);
+        somar(aberturas, outro.aberturas);
+        somar(letrasPorPosicao, outro.letrasPorPosicao);
+        somar(acertosPorPosicao, outro.acertosPorPosicao);
+        return this;
+    }
+
+    /** @return Cópia independente deste agregado */
+    public GuessAggregate copy() {
+        return new GuessAggregate(palavras).merge(this);
+    }
+
+    private static void somar(int[] destino, int[] origem) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origem[i];
+        }
+    }
+
+    // ===== Consultas =====
+
+    public int getPalavras() { return palavras; }
+    public int getTotalPartidas() { return totalPartidas; }
+    public int getPartidas(int id) { return partidas[id]; }
+    public int getVitorias(int id) { return vitorias[id]; }
+    public int getAberturas(int id) { return aberturas[id]; }
+
+    /**
+     * getDificuldade
+     * Média de tentativas da palavra secreta normalizada para [0, 1] (derrota conta 7 tentativas).
+     *
+     * @param id ID da palavra
+     * @return Dificuldade, ou -1 se a palavra nunca foi sorteada
+     */
+    public double getDificuldade(int id) {
+        if (partidas[id] == 0) return -1;
+        return (somaTentativas[id] / (double) partidas[id]) / TENTATIVAS_DERROTA;
+    }
+
+    /** @return Quantas vezes a letra (0 = 'a') foi chutada na posição informada */
+    public int getLetraNaPosicao(int posicao, int letra) {
+        return letrasPorPosicao[posicao * LETRAS + letra];
+    }
+
+    /** @return Quantas vezes a letra (0 = 'a') ficou verde na posição informada */
+    public int getAcertoNaPosicao(int posicao, int letra) {
+        return acertosPorPosicao[posicao * LETRAS + letra];
+    }
+
+    /**
+     * topAberturas
+     * @param k Quantidade máxima de resultados
+     * @return IDs das palavras mais usadas como primeiro chute, em ordem decrescente
+     */
+    public int[] topAberturas(int k) {
+        return topK(aberturas, k);
+    }
+
+    /**
+     * palavrasMaisDificeis
+     * @param k Quantidade máxima de resultados
+     * @return IDs das palavras secretas com maior dificuldade média, em ordem decrescente
+     */
+    public int[] palavrasMaisDificeis(int k) {
+        int[] escala = new int[palavras];
+        for (int i = 0; i < palavras; i++) {
+            escala[i] = partidas[i] == 0 ? 0 : (int) (getDificuldade(i) * 1_000_000);
+        }
+        return topK(escala, k);
+    }
+
+    /**
+     * pesosSelecao
+     * Pesos de sorteio da palavra secreta derivados do histórico: palavras que já saíram
+     * muitas vezes perdem peso, equilibrando a exposição de todo o dicionário.
+     *
+     * @return Um peso por ID
+     */
+    public double[] pesosSelecao() {
+        double[] pesos = new double[palavras];
+        for (int i = 0; i < palavras; i++) {
+            pesos[i] = 1.0 / (1 + partidas[i]);
+        }
+        return pesos;
+    }
+
+    // Seleção parcial simples dos k maiores valores não nulos (k é pequeno, tipicamente 10).
+    private static int[] topK(int[] valores, int k) {
+        k = Math.min(k, valores.length);
+        int[] ids = new int[k];
+        int encontrados = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] == 0) continue;
+            int pos = encontrados < k ? encontrados++ : k;
+            while (pos > 0 && valores[ids[pos - 1]] < valores[i]) {
+                if (pos < k) ids[pos] = ids[pos - 1];
+                pos--;
+            }
+            if (pos < k) ids[pos] = i;
+        }
+        int[] resultado = new int[encontrados];
+        System.arraycopy(ids, 0, resultado, 0, encontrados);
+        return resultado;
+    }
+
+    // ===== Persistência =====
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(palavras);
+        out.writeInt(totalPartidas);
+        writeArray(out, partidas);
+        writeArray(out, vitorias);
+        writeArray(out, somaTentativas);
+        writeArray(out, aberturas);
+        writeArray(out, letrasPorPosicao);
+        writeArray(out, acertosPorPosicao);
+    }
+
+    static GuessAggregate read(DataInputStream in) throws IOException {
+        GuessAggregate agg = new GuessAggregate(in.readInt());
+        agg.totalPartidas = in.readInt();
+        readArray(in, agg.partidas);
+        readArray(in, agg.vitorias);
+        readArray(in, agg.somaTentativas);
+        readArray(in, agg.aberturas);
+        readArray(in, agg.letrasPorPosicao);
+        readArray(in, agg.acertosPorPosicao);
+        return agg;
+    }
+
+    private static void writeArray(DataOutputStream out, int[] a) throws IOException {
+        for (int v : a) out.writeInt(v);
+    }
+
+    private static void readArray(DataInputStream in, int[] a) throws IOException {
+        for (int i = 0; i < a.length; i++) a[i] = in.readInt();
+    }
+}
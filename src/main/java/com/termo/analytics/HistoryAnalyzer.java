@@ -0,0 +1,230 @@
+package com.termo.analytics;
+
+import com.termo.log.Log;
+import com.termo.model.GameHistory;
+import com.termo.model.WordDictionary;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Processa o histórico de partidas ({@link GameHistory}) e calcula a dificuldade de cada palavra,
+ * as aberturas mais comuns e o mapa de letras por posição.
+ * Os segmentos são processados em paralelo com fork/join e os agregados parciais são somados.
+ * O resultado fica salvo em disco junto com a posição já lida do segmento aberto, então cada
+ * execução só lê os segmentos novos e o que foi anexado ao segmento aberto desde a última vez.
+ * Só linhas completas são consumidas: a última linha do segmento aberto pode estar sendo gravada
+ * por {@link GameHistory#registrar} enquanto a análise lê.
+ */
+public class HistoryAnalyzer {
+    private static final Log log = Log.de(HistoryAnalyzer.class);
+    private static final String STATE_FILE = "analytics.dat"; // Estado incremental dentro do diretório do histórico
+    private static final int STATE_VERSION = 2; // 2: com a posição lida do segmento aberto
+
+    // Executor de uma única thread: execuções incrementais nunca se sobrepõem.
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "termo-analytics");
+        t.setDaemon(true);
+        return t;
+    });
+    private static volatile GuessAggregate ultimoResultado; // Último agregado completo calculado
+
+    private final WordDictionary dictionary;
+
+    public HistoryAnalyzer(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * atualizarAsync
+     * Executa a análise incremental em segundo plano e, ao terminar, aplica os pesos
+     * de sorteio derivados do histórico ao dicionário.
+     *
+     * @param dictionary Dicionário da partida
+     * @return Futuro com o agregado completo (selados + segmento aberto)
+     */
+    public static CompletableFuture<GuessAggregate> atualizarAsync(WordDictionary dictionary) {
+        return CompletableFuture.supplyAsync(() -> {
+            GuessAggregate resultado = new HistoryAnalyzer(dictionary).analisar();
+            dictionary.setPesosSelecao(resultado.pesosSelecao());
+            ultimoResultado = resultado;
+            return resultado;
+        }, executor);
+    }
+
+    /** @return Último agregado calculado por {@link #atualizarAsync}, ou null se nenhum ainda */
+    public static GuessAggregate getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    /**
+     * analisar
+     * Carrega o estado salvo, processa o que ainda não foi visto (segmentos novos e o final do
+     * segmento aberto, até a última linha completa) e salva o novo estado com a posição lida.
+     *
+     * @return Agregado completo do histórico
+     */
+    public GuessAggregate analisar() {
+        List<Path> segmentos = GameHistory.listarSegmentos();
+        Path stateFile = Paths.get(GameHistory.DIR_PATH, STATE_FILE);
+
+        EstadoIncremental estado = carregarEstado(stateFile);
+        int primeiro = estado.segmentosProcessados;
+        if (primeiro < segmentos.size()) {
+            // Conferido antes da leitura: um segmento selado não muda mais, então é lido inteiro.
+            int selados = contarSelados(segmentos);
+            long[] inicios = new long[segmentos.size()];
+            long[] fins = new long[segmentos.size()];
+            inicios[primeiro] = estado.offsetAberto;
+            GuessAggregate novos = ForkJoinPool.commonPool().invoke(
+                    new SegmentTask(segmentos, primeiro, segmentos.size(), inicios, fins));
+            estado.agregado.merge(novos);
+
+            long offset = selados < segmentos.size() ? fins[selados] : 0;
+            if (selados != estado.segmentosProcessados || offset != estado.offsetAberto) {
+                estado.segmentosProcessados = selados;
+                estado.offsetAberto = offset;
+                salvarEstado(stateFile, estado);
+            }
+        }
+        return estado.agregado.copy();
+    }
+
+    // Apenas o último segmento pode estar aberto; os anteriores estão sempre selados.
+    private int contarSelados(List<Path> segmentos) {
+        if (segmentos.isEmpty()) return 0;
+        try {
+            Path ultimo = segmentos.get(segmentos.size() - 1);
+            return GameHistory.segmentoSelado(ultimo) ? segmentos.size() : segmentos.size() - 1;
+        } catch (IOException e) {
+            return segmentos.size() - 1;
+        }
+    }
+
+    /**
+     * Tarefa fork/join que divide o intervalo de segmentos ao meio até chegar a um segmento
+     * por tarefa e depois soma os agregados parciais. Cada segmento é lido a partir de
+     * {@code inicios[i]}, e a posição logo após a última linha completa lida vai para {@code fins[i]}.
+     */
+    private class SegmentTask extends RecursiveTask<GuessAggregate> {
+        private final List<Path> segmentos;
+        private final int inicio, fim;
+        private final long[] inicios, fins;
+
+        SegmentTask(List<Path> segmentos, int inicio, int fim, long[] inicios, long[] fins) {
+            this.segmentos = segmentos;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.inicios = inicios;
+            this.fins = fins;
+        }
+
+        @Override
+        protected GuessAggregate compute() {
+            if (fim - inicio <= 1) {
+                GuessAggregate agg = new GuessAggregate(dictionary.size());
+                if (fim > inicio) fins[inicio] = processarSegmento(segmentos.get(inicio), inicios[inicio], agg);
+                return agg;
+            }
+            int meio = (inicio + fim) >>> 1;
+            SegmentTask esquerda = new SegmentTask(segmentos, inicio, meio, inicios, fins);
+            esquerda.fork();
+            GuessAggregate direita = new SegmentTask(segmentos, meio, fim, inicios, fins).compute();
+            return esquerda.join().merge(direita);
+        }
+    }
+
+    /**
+     * processarSegmento
+     * Lê o segmento a partir de {@code inicio} até o fim da última linha completa e contabiliza
+     * cada partida no agregado. Uma linha sem '\n' ainda está sendo gravada e fica para a próxima vez.
+     *
+     * @return Posição logo após o último '\n' consumido
+     */
+    private long processarSegmento(Path segmento, long inicio, GuessAggregate agg) {
+        byte[] bytes;
+        try (SeekableByteChannel canal = Files.newByteChannel(segmento)) {
+            canal.position(inicio);
+            bytes = Channels.newInputStream(canal).readAllBytes();
+        } catch (IOException e) {
+            log.aviso(() -> "Erro ao ler segmento " + segmento + ": " + e.getMessage());
+            return inicio;
+        }
+        int completo = bytes.length;
+        while (completo > 0 && bytes[completo - 1] != '\n') completo--;
+
+        for (String line : new String(bytes, 0, completo, StandardCharsets.UTF_8).split("\n")) {
+            String[] campos = line.split(";", -1);
+            if (campos.length < 3) continue; // linha corrompida/incompleta
+
+            String[] palavras = campos[2].isEmpty() ? new String[0] : campos[2].split(",");
+            int[] chutes = new int[palavras.length];
+            String[] chutesNorm = new String[palavras.length];
+            for (int i = 0; i < palavras.length; i++) {
+                chutes[i] = dictionary.indexOf(palavras[i]);
+                chutesNorm[i] = WordDictionary.normalize(palavras[i]).toLowerCase();
+            }
+            agg.registrarPartida(dictionary.indexOf(campos[0]), "1".equals(campos[1]), chutes,
+                    WordDictionary.normalize(campos[0]).toLowerCase(), chutesNorm);
+        }
+        return inicio + completo;
+    }
+
+    // ===== Estado incremental =====
+
+    private static class EstadoIncremental {
+        int segmentosProcessados; // Segmentos selados já somados por inteiro
+        long offsetAberto; // Bytes já somados do segmento seguinte (o aberto), sempre após um '\n'
+        GuessAggregate agregado;
+    }
+
+    // O estado só é reaproveitado se foi gerado para um dicionário do mesmo tamanho.
+    // A versão 1 não somava o segmento aberto, o que equivale a nada lido dele.
+    private EstadoIncremental carregarEstado(Path stateFile) {
+        EstadoIncremental estado = new EstadoIncremental();
+        if (Files.exists(stateFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile)))) {
+                int versao = in.readInt();
+                if (versao == 1 || versao == STATE_VERSION) {
+                    int processados = in.readInt();
+                    long offset = versao == 1 ? 0 : in.readLong();
+                    GuessAggregate agg = GuessAggregate.read(in);
+                    if (agg.getPalavras() == dictionary.size()) {
+                        estado.segmentosProcessados = processados;
+                        estado.offsetAberto = offset;
+                        estado.agregado = agg;
+                        return estado;
+                    }
+                }
+            } catch (IOException e) {
+                log.aviso(() -> "Estado de análise inválido, reprocessando histórico: " + e.getMessage());
+            }
+        }
+        estado.segmentosProcessados = 0;
+        estado.offsetAberto = 0;
+        estado.agregado = new GuessAggregate(dictionary.size());
+        return estado;
+    }
+
+    private void salvarEstado(Path stateFile, EstadoIncremental estado) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(stateFile)))) {
+            out.writeInt(STATE_VERSION);
+            out.writeInt(estado.segmentosProcessados);
+            out.writeLong(estado.offsetAberto);
+            estado.agregado.write(out);
+        } catch (IOException e) {
+            log.erro(() -> "Erro ao salvar estado de análise: " + e.getMessage());
+        }
+    }
+}
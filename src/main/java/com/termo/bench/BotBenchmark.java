@@ -0,0 +1,118 @@
+package com.termo.bench;
+
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+import com.termo.server.BotProtocolServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente de benchmark do protocolo binário de bots em loopback.
+ * Cada conexão mantém {@code profundidade} pedidos em voo (um por slot de jogo), enviados em um
+ * único write, e lê as respostas em ordem; jogos terminados são reiniciados no lote seguinte.
+ * Reporta chutes por segundo no total e por laço de eventos do servidor (um laço = um núcleo).
+ *
+ * Uso: {@code java com.termo.bench.BotBenchmark palavras.txt [conexões] [profundidade] [segundos] [laços]}
+ */
+public class BotBenchmark {
+    public static void main(String[] args) throws Exception {
+        String file = args[0];
+        int conexoes = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int profundidade = Math.min(256, args.length > 2 ? Integer.parseInt(args[2]) : 128);
+        int segundos = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int nLoops = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        WordDictionary dictionary = WordDictionary.get(file);
+        BotProtocolServer server = new BotProtocolServer(dictionary, 0, nLoops);
+        server.start();
+
+        // Palavras pré-codificadas em ASCII sem acento.
+        byte[][] palavras = new byte[dictionary.size()][];
+        for (int i = 0; i < palavras.length; i++) {
+            palavras[i] = SecretState.fold(dictionary.getWord(i)).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        AtomicLong chutes = new AtomicLong();
+        long fim = System.nanoTime() + segundos * 1_000_000_000L;
+        Thread[] threads = new Thread[conexoes];
+        for (int t = 0; t < conexoes; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    chutes.addAndGet(rodarConexao(server.getPort(), palavras, profundidade, fim));
+                } catch (IOException e) {
+                    System.err.println("Conexão falhou: " + e.getMessage());
+                }
+            });
+            threads[t].start();
+        }
+        long inicio = System.nanoTime();
+        for (Thread t : threads) t.join();
+        double seg = (System.nanoTime() - inicio) / 1e9;
+        server.stop();
+
+        double porSegundo = chutes.get() / seg;
+        System.out.printf("%d conexões, %d pedidos em voo por conexão, %d laço(s) no servidor%n",
+                conexoes, profundidade, nLoops);
+        System.out.printf("%d chutes em %.2fs: %.0f chutes/s, %.0f chutes/s por núcleo do servidor%n",
+                chutes.get(), seg, porSegundo, porSegundo / nLoops);
+    }
+
+    private static long rodarConexao(int port, byte[][] palavras, int profundidade, long fim) throws IOException {
+        try (SocketChannel ch = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            ch.socket().setTcpNoDelay(true);
+            ByteBuffer out = ByteBuffer.allocateDirect(profundidade * 16);
+            ByteBuffer in = ByteBuffer.allocateDirect(profundidade * 32);
+            boolean[] precisaNovo = new boolean[profundidade];
+            java.util.Arrays.fill(precisaNovo, true);
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            long feitos = 0;
+
+            while (System.nanoTime() < fim) {
+                out.clear();
+                for (int s = 0; s < profundidade; s++) {
+                    if (precisaNovo[s]) {
+                        out.putShort((short) 2).put(BotProtocolServer.OP_NOVO_JOGO).put((byte) s);
+                    } else {
+                        byte[] p = palavras[rnd.nextInt(palavras.length)];
+                        out.putShort((short) (2 + p.length)).put(BotProtocolServer.OP_CHUTE).put((byte) s).put(p);
+                    }
+                }
+                out.flip();
+                while (out.hasRemaining()) ch.write(out);
+
+                // Lê exatamente 'profundidade' respostas.
+                in.clear();
+                int lidas = 0, pos = 0;
+                while (lidas < profundidade) {
+                    if (ch.read(in) < 0) return feitos;
+                    while (in.position() - pos >= 2) {
+                        int tamanho = in.getShort(pos) & 0xFFFF;
+                        if (in.position() - pos < 2 + tamanho) break;
+                        byte op = in.get(pos + 2);
+                        int slot = in.get(pos + 3) & 0xFF;
+                        if (op == BotProtocolServer.OP_NOVO_JOGO_OK) {
+                            precisaNovo[slot] = false;
+                        } else if (op == BotProtocolServer.OP_RESULTADO) {
+                            byte status = in.get(pos + 4);
+                            byte flags = in.get(pos + 5);
+                            if (status == BotProtocolServer.STATUS_OK) feitos++;
+                            if ((flags & BotProtocolServer.FLAG_TERMINADO) != 0
+                                    || status == BotProtocolServer.STATUS_SEM_JOGO) {
+                                precisaNovo[slot] = true;
+                            }
+                        }
+                        pos += 2 + tamanho;
+                        lidas++;
+                    }
+                }
+            }
+            return feitos;
+        }
+    }
+}
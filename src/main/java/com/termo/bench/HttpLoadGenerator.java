@@ -0,0 +1,118 @@
+package com.termo.bench;
+
+import com.termo.model.WordDictionary;
+import com.termo.server.TermoServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de carga para o servidor HTTP em loopback.
+ * Abre N partidas simultâneas (todas ficam em andamento ao mesmo tempo) e depois joga
+ * cada uma até o fim com chutes aleatórios do dicionário, medindo requisições por segundo.
+ *
+ * Uso: {@code java com.termo.bench.HttpLoadGenerator palavras.txt [partidas] [usuarios] [emVoo] [url]}
+ * Sem URL, um servidor é iniciado no próprio processo em uma porta livre.
+ * Atenção: o servidor grava usuarios.dat e historico/ no diretório atual.
+ */
+public class HttpLoadGenerator {
+    public static void main(String[] args) throws Exception {
+        String file = args[0];
+        int partidas = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int usuarios = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int emVoo = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        TermoServer local = null;
+        String base;
+        if (args.length > 4) {
+            base = args[4];
+        } else {
+            local = new TermoServer(file, 0);
+            local.start();
+            base = "http://127.0.0.1:" + local.getPort();
+        }
+
+        WordDictionary dictionary = WordDictionary.get(file);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Semaphore limite = new Semaphore(emVoo);
+        AtomicLong requisicoes = new AtomicLong();
+        AtomicLong erros = new AtomicLong();
+
+        // Fase 1: abre todas as partidas.
+        long inicio = System.nanoTime();
+        String[] ids = new String[partidas];
+        CompletableFuture<?>[] abertas = new CompletableFuture<?>[partidas];
+        for (int i = 0; i < partidas; i++) {
+            final int n = i;
+            abertas[i] = post(client, limite, base + "/game", "usuario=bot" + (i % usuarios) + "&senha=x")
+                    .thenAccept(body -> {
+                        requisicoes.incrementAndGet();
+                        ids[n] = extrair(body, "id");
+                        if (ids[n] == null) erros.incrementAndGet();
+                    });
+        }
+        CompletableFuture.allOf(abertas).join();
+        double abrirSeg = (System.nanoTime() - inicio) / 1e9;
+        int simultaneas = local != null ? local.getSessoesAtivas() : partidas;
+
+        // Fase 2: joga todas as partidas até o fim (chutes sequenciais dentro de cada partida).
+        long inicioJogo = System.nanoTime();
+        CompletableFuture<?>[] jogadas = new CompletableFuture<?>[partidas];
+        for (int i = 0; i < partidas; i++) {
+            jogadas[i] = jogar(client, limite, base, ids[i], dictionary, 0, requisicoes, erros);
+        }
+        CompletableFuture.allOf(jogadas).join();
+        double jogarSeg = (System.nanoTime() - inicioJogo) / 1e9;
+        double totalSeg = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("partidas simultâneas: %d%n", simultaneas);
+        System.out.printf("abertura: %d partidas em %.2fs (%.0f/s)%n", partidas, abrirSeg, partidas / abrirSeg);
+        System.out.printf("jogo: %.2fs | total: %d requisições em %.2fs (%.0f req/s), erros: %d%n",
+                jogarSeg, requisicoes.get(), totalSeg, requisicoes.get() / totalSeg, erros.get());
+
+        if (local != null) local.stop();
+    }
+
+    // Faz chutes até o servidor informar o fim da partida.
+    private static CompletableFuture<Void> jogar(HttpClient client, Semaphore limite, String base, String id,
+                                                 WordDictionary dictionary, int feitos,
+                                                 AtomicLong requisicoes, AtomicLong erros) {
+        if (id == null || feitos >= 6) return CompletableFuture.completedFuture(null);
+        String palavra = dictionary.getWord(ThreadLocalRandom.current().nextInt(dictionary.size()));
+        return post(client, limite, base + "/guess", "id=" + id + "&palavra=" + java.net.URLEncoder.encode(palavra, java.nio.charset.StandardCharsets.UTF_8))
+                .thenCompose(body -> {
+                    requisicoes.incrementAndGet();
+                    if (!body.contains("\"valido\":true")) erros.incrementAndGet();
+                    if (body.contains("\"fim\":true")) return CompletableFuture.completedFuture(null);
+                    return jogar(client, limite, base, id, dictionary, feitos + 1, requisicoes, erros);
+                });
+    }
+
+    private static CompletableFuture<String> post(HttpClient client, Semaphore limite, String url, String corpo) {
+        limite.acquireUninterruptibly();
+        HttpRequest req = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString())
+                .handle((resp, err) -> {
+                    limite.release();
+                    return err != null ? "" : resp.body();
+                });
+    }
+
+    // Extrai um campo string simples de um objeto JSON plano.
+    private static String extrair(String json, String campo) {
+        String chave = "\"" + campo + "\":\"";
+        int i = json.indexOf(chave);
+        if (i < 0) return null;
+        int fim = json.indexOf('"', i + chave.length());
+        return json.substring(i + chave.length(), fim);
+    }
+}
@@ -0,0 +1,221 @@
+package com.termo.bench;
+
+import com.termo.controller.Game;
+import com.termo.controller.RowResult;
+import com.termo.gui.components.AnimationScheduler;
+import com.termo.gui.components.EdtBridge;
+import com.termo.gui.components.GameGrid;
+import com.termo.metrics.InputLatency;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Reprodução, sem janela e na velocidade máxima, de uma sequência de teclas no grid do jogo,
+ * com a mesma medida da tela ({@link InputLatency}): do envio da tecla para a EDT até o fim da
+ * pintura da célula afetada. Cada tecla é tratada como na {@code GameWindow} (resultados pela
+ * {@link EdtBridge}) e, em seguida, o grid é pintado inteiro numa imagem, no lugar do RepaintManager.
+ *
+ * O arquivo de teclas tem uma por linha, no formato do teclado virtual ("A", "ENTER", "BACK",
+ * "LEFT", "RIGHT"); "NOVO" começa outra partida e linhas com # são ignoradas. Sem arquivo, gera
+ * partidas aleatórias com erros de digitação e palavras recusadas.
+ *
+ * Uso: {@code java -Djava.awt.headless=true com.termo.bench.LatencyReplay palavras.txt [teclas.txt | partidas]}
+ */
+public class LatencyReplay {
+    private static final int ROW = 6, COLUMN = 5;
+    private static final String NOVO = "NOVO";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        String file = args[0];
+        List<String> teclas;
+        if (args.length > 1 && !args[1].matches("\\d+")) {
+            teclas = lerTeclas(args[1]);
+        } else {
+            teclas = gerarTeclas(WordDictionary.get(file), args.length > 1 ? Integer.parseInt(args[1]) : 300, new Random(42));
+        }
+
+        Replay replay = new Replay(file);
+        reproduzir(replay, teclas); // Aquecimento do JIT e do cache de peças
+        replay.latencia.zerar();
+        long inicio = System.nanoTime();
+        reproduzir(replay, teclas);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("%d teclas em %.2f s (%.0f teclas/s)%n", teclas.size(), segundos, teclas.size() / segundos);
+        System.out.printf("%-10s %8s %8s %8s %8s %6s%n", "latência", "p50", "p90", "p99", "máx", "n");
+        for (InputLatency.Tipo tipo : InputLatency.Tipo.values()) {
+            LatencyHistogram h = replay.latencia.getHistograma(tipo);
+            System.out.printf("%-10s %5.2f ms %5.2f ms %5.2f ms %5.2f ms %6d%n", tipo,
+                    h.percentil(50) / 1e6, h.percentil(90) / 1e6, h.percentil(99) / 1e6, h.getMaximo() / 1e6, h.getQuantidade());
+        }
+        System.exit(0); // O timer das animações mantém a EDT viva
+    }
+
+    // Envia uma tecla por vez e espera a pintura dela antes da próxima.
+    private static void reproduzir(Replay replay, List<String> teclas) throws Exception {
+        SwingUtilities.invokeAndWait(replay::novoJogo);
+        for (String tecla : teclas) {
+            if (NOVO.equals(tecla)) {
+                SwingUtilities.invokeAndWait(replay::novoJogo);
+                continue;
+            }
+            CountDownLatch pintado = new CountDownLatch(1);
+            long enviada = System.nanoTime();
+            SwingUtilities.invokeLater(() -> {
+                replay.tecla(tecla, enviada);
+                // Depois da tecla e do passe da ponte que ela agendou, como o RepaintManager.
+                SwingUtilities.invokeLater(() -> {
+                    replay.pintar();
+                    pintado.countDown();
+                });
+            });
+            pintado.await();
+        }
+    }
+
+    private static List<String> lerTeclas(String caminho) throws IOException {
+        List<String> teclas = new ArrayList<>();
+        for (String linha : Files.readAllLines(Paths.get(caminho), StandardCharsets.UTF_8)) {
+            linha = linha.trim();
+            if (!linha.isEmpty() && !linha.startsWith("#")) teclas.add(linha.toUpperCase());
+        }
+        return teclas;
+    }
+
+    // Partidas de seis chutes: palavras do dicionário, algumas com uma letra errada corrigida e
+    // algumas inventadas (recusadas pelo jogo).
+    private static List<String> gerarTeclas(WordDictionary dictionary, int partidas, Random random) {
+        List<String> teclas = new ArrayList<>();
+        for (int p = 0; p < partidas; p++) {
+            if (p > 0) teclas.add(NOVO);
+            for (int r = 0; r < ROW; r++) {
+                String palavra = SecretState.fold(dictionary.getWord(random.nextInt(dictionary.size())));
+                boolean inventada = random.nextInt(10) == 0;
+                for (int c = 0; c < COLUMN; c++) {
+                    if (random.nextInt(15) == 0) {
+                        teclas.add(String.valueOf((char) ('A' + random.nextInt(26))));
+                        teclas.add("BACK");
+                    }
+                    char ch = inventada ? (char) ('A' + random.nextInt(26)) : palavra.charAt(c);
+                    teclas.add(String.valueOf(ch));
+                }
+                teclas.add("ENTER");
+                if (inventada) {
+                    for (int c = 0; c < COLUMN; c++) teclas.add("BACK");
+                    r--; // A linha recusada é digitada de novo
+                }
+            }
+        }
+        return teclas;
+    }
+
+    // Grid e partida ligados como na GameWindow.
+    private static final class Replay {
+        final String file;
+        final Random random = new Random(7);
+        final GameGrid grid = new GameGrid(ROW, COLUMN, k -> { }, c -> { });
+        final InputLatency latencia = new InputLatency();
+        final EdtBridge<RowResult> ponte = new EdtBridge<>(this::aplicar);
+        final Graphics2D tela;
+        Game jogo;
+        int row, col;
+
+        Replay(String file) {
+            this.file = file;
+            grid.setSize(grid.getPreferredSize());
+            BufferedImage img = new BufferedImage(grid.getWidth(), grid.getHeight(), BufferedImage.TYPE_INT_RGB);
+            tela = img.createGraphics();
+        }
+
+        void novoJogo() {
+            ponte.descartar();
+            jogo = new Game(file, random);
+            jogo.setOuvinte(ponte::publicar);
+            row = 0;
+            col = 0;
+            grid.limpar();
+            grid.setCursor(0, 0);
+            pintar();
+        }
+
+        void pintar() {
+            grid.paint(tela);
+        }
+
+        void tecla(String key, long inicio) {
+            if (!grid.isEntradaHabilitada()) return;
+            long repintes = grid.getRepintes();
+            int celula = -1;
+            if (key.length() == 1 && Character.isLetter(key.charAt(0))) {
+                celula = col;
+                grid.setLetra(row, col, key.charAt(0));
+                if (col < COLUMN - 1) grid.setCursor(row, ++col);
+            } else if ("ENTER".equals(key)) {
+                enviar(inicio);
+                return;
+            } else if ("BACK".equals(key)) {
+                if (grid.getLetra(row, col) == 0 && col > 0) grid.setCursor(row, --col);
+                grid.setLetra(row, col, (char) 0);
+            } else if ("LEFT".equals(key)) {
+                if (col > 0) grid.setCursor(row, --col);
+            } else if ("RIGHT".equals(key)) {
+                if (col < COLUMN - 1) grid.setCursor(row, ++col);
+            }
+            if (grid.getRepintes() != repintes) {
+                medir(InputLatency.Tipo.DIGITACAO, inicio, row, celula >= 0 ? celula : col);
+            }
+        }
+
+        void enviar(long inicio) {
+            String guess = grid.getLinha(row);
+            if (guess.length() != COLUMN) return;
+            if (jogo.validateGuess(guess)) {
+                medir(InputLatency.Tipo.ENVIO, inicio, row, 0);
+                if (row < ROW - 1 && jogo.getRightQuantityWord() != COLUMN) {
+                    row++;
+                    col = 0;
+                } else {
+                    grid.setEntradaHabilitada(false);
+                }
+            } else {
+                grid.tremerLinha(row);
+                if (AnimationScheduler.compartilhado().animando(grid)) medir(InputLatency.Tipo.ENVIO, inicio, row, 0);
+            }
+        }
+
+        void medir(InputLatency.Tipo tipo, long inicio, int r, int c) {
+            grid.aoPintarCelula(r, c, () -> latencia.registrar(tipo, inicio));
+        }
+
+        void aplicar(List<RowResult> lote) {
+            for (RowResult r : lote) {
+                byte[] estados = new byte[COLUMN];
+                for (int c = 0; c < COLUMN; c++) {
+                    char cor = r.cor(c);
+                    estados[c] = cor == 'G' ? GameGrid.VERDE : cor == 'Y' ? GameGrid.AMARELA : GameGrid.CINZA;
+                }
+                grid.mostrarResultado(r.tentativa, r.palavra, estados, null);
+                if (!r.venceu && r.tentativa < ROW - 1) grid.setLinhaAtiva(r.tentativa + 1);
+            }
+            if (grid.isEntradaHabilitada()) {
+                grid.setCursor(row, col);
+            } else {
+                grid.setCursor(-1, -1);
+            }
+        }
+    }
+}
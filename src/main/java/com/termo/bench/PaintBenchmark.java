@@ -0,0 +1,140 @@
+package com.termo.bench;
+
+import com.termo.gui.VirtualKeyboard;
+import com.termo.gui.components.GameGrid;
+import com.termo.gui.components.RoundedBorder;
+import com.termo.gui.components.TileCache;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Mede, sem janela ({@code java.awt.headless}), o tempo de pintar o grid e o teclado virtual
+ * em uma imagem: o grid antigo de JTextFields com {@link RoundedBorder}, o {@link GameGrid}
+ * desenhando cada célula do zero e o {@link GameGrid} e o {@link VirtualKeyboard} com o
+ * {@link TileCache}. O grid é pintado com uma partida em andamento (três linhas coloridas,
+ * uma sendo digitada) sobre o fundo da janela. A escala simula uma tela HiDPI.
+ *
+ * Uso: {@code java -Djava.awt.headless=true com.termo.bench.PaintBenchmark [pinturas] [escala]}
+ */
+public class PaintBenchmark {
+    private static final int ROW = 6, COLUMN = 5, BOX = 70, GAP = 5, FONTE = 28;
+    private static final String[] PALAVRAS = {"TERMO", "MUNDO", "CAFÉS"};
+    private static final String[] CORES = {"#3aa394", "#d3ad69", "#312a2c"};
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int pinturas = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        double escala = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+
+        SwingUtilities.invokeAndWait(() -> {
+            JComponent antigo = naJanela(gridAntigo());
+            JComponent grid = naJanela(gridNovo());
+            VirtualKeyboard vk = new VirtualKeyboard(k -> { }, 1.0, false);
+            vk.updateKeyboardColors("TERMO", "GYBBG".toCharArray());
+            JComponent teclado = naJanela(vk);
+
+            System.out.printf("%d pinturas, escala %.1f%n", pinturas, escala);
+            medir("grid JTextField + RoundedBorder", antigo, pinturas, escala);
+            TileCache.setHabilitado(false);
+            medir("GameGrid sem cache", grid, pinturas, escala);
+            medir("teclado sem cache", teclado, pinturas, escala);
+            TileCache.setHabilitado(true);
+            medir("GameGrid com TileCache", grid, pinturas, escala);
+            medir("teclado com TileCache", teclado, pinturas, escala);
+            System.out.printf("Peças no cache: %d (rasterizadas: %d)%n",
+                    TileCache.getTamanho(), TileCache.getRasterizadas());
+        });
+    }
+
+    private static void medir(String nome, JComponent c, int pinturas, double escala) {
+        BufferedImage img = new BufferedImage((int) Math.ceil(c.getWidth() * escala),
+                (int) Math.ceil(c.getHeight() * escala), BufferedImage.TYPE_INT_RGB); // Como o buffer do Swing
+        for (int i = 0; i < Math.min(200, pinturas); i++) pintar(c, img, escala); // Aquecimento
+        long t0 = System.nanoTime();
+        for (int i = 0; i < pinturas; i++) pintar(c, img, escala);
+        double us = (System.nanoTime() - t0) / 1e3 / pinturas;
+        System.out.printf("  %-32s %8.1f µs/pintura%n", nome, us);
+    }
+
+    private static void pintar(JComponent c, BufferedImage img, double escala) {
+        Graphics2D g = img.createGraphics();
+        try {
+            g.scale(escala, escala);
+            c.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    // Partida em andamento no GameGrid.
+    private static GameGrid gridNovo() {
+        GameGrid grid = new GameGrid(ROW, COLUMN, k -> { }, c -> { });
+        grid.setTamanhoCelula(BOX, GAP, FONTE);
+        for (int r = 0; r < PALAVRAS.length; r++) {
+            for (int c = 0; c < COLUMN; c++) {
+                grid.setLetra(r, c, PALAVRAS[r].charAt(c));
+                grid.setEstado(r, c, (byte) (GameGrid.VERDE + (r + c) % 3));
+            }
+        }
+        grid.setLinhaAtiva(3);
+        grid.setLetra(3, 0, 'P');
+        grid.setLetra(3, 1, 'A');
+        grid.setCursor(3, 2);
+        return grid;
+    }
+
+    // A mesma partida no grid antigo: um JTextField com borda arredondada por célula.
+    private static JComponent gridAntigo() {
+        JPanel painel = new JPanel(new GridLayout(ROW, COLUMN, GAP, GAP));
+        painel.setOpaque(false);
+        for (int r = 0; r < ROW; r++) {
+            for (int c = 0; c < COLUMN; c++) {
+                JTextField box = new JTextField(1);
+                box.setHorizontalAlignment(JTextField.CENTER);
+                box.setForeground(Color.WHITE);
+                box.setDisabledTextColor(Color.WHITE);
+                box.setFont(new Font("Arial", Font.BOLD, FONTE));
+                box.setPreferredSize(new Dimension(BOX, BOX));
+                if (r < PALAVRAS.length) {
+                    String cor = CORES[(r + c) % 3];
+                    box.setText(String.valueOf(PALAVRAS[r].charAt(c)));
+                    box.setOpaque(true);
+                    box.setBackground(Color.decode(cor));
+                    box.setBorder(new RoundedBorder(15, cor, 6));
+                    box.setEnabled(false);
+                } else if (r == 3) {
+                    box.setText(c == 0 ? "P" : c == 1 ? "A" : "");
+                    box.setOpaque(false);
+                    box.setBorder(new RoundedBorder(15, "#4c4347", 6));
+                } else {
+                    box.setOpaque(true);
+                    box.setBackground(Color.decode("#615458"));
+                    box.setBorder(new RoundedBorder(15, "#615458", 6));
+                    box.setEnabled(false);
+                }
+                painel.add(box);
+            }
+        }
+        return painel;
+    }
+
+    // Coloca o componente sobre o fundo da janela do jogo e, como sem janela não há validação
+    // automática, define os tamanhos e posiciona os filhos.
+    private static JComponent naJanela(JComponent c) {
+        JPanel fundo = new JPanel(new BorderLayout());
+        fundo.setBackground(Color.decode("#6e5c62"));
+        fundo.add(c, BorderLayout.CENTER);
+        fundo.setSize(fundo.getPreferredSize());
+        organizar(fundo);
+        return fundo;
+    }
+
+    private static void organizar(Container c) {
+        c.doLayout();
+        for (Component filho : c.getComponents()) {
+            if (filho instanceof Container) organizar((Container) filho);
+        }
+    }
+}
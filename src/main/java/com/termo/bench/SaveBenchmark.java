@@ -0,0 +1,98 @@
+package com.termo.bench;
+
+import com.termo.controller.Usuario;
+import com.termo.log.AsyncAppender;
+import com.termo.log.Log;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.store.ArquivoProfileStore;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Latência de {@code Login.salvarUsuarios} com o arquivo único ({@link ArquivoProfileStore}),
+ * antes e depois de tirar a linha impressa por usuário a cada gravação.
+ *
+ * "antigo" imprime, antes de gravar, uma linha por usuário como o código fazia, num PrintStream com
+ * descarga automática sobre um arquivo (como o System.out, que descarrega a cada println); "atual"
+ * só grava, e a linha de resumo do {@link Log} sai em DEBUG, desligado aqui como em produção.
+ *
+ * Uso: {@code java com.termo.bench.SaveBenchmark [usuários...]} (padrão 100 1000 10000)
+ */
+public class SaveBenchmark {
+    public static void main(String[] args) throws IOException {
+        int[] tamanhos = args.length > 0
+                ? Stream.of(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100, 1000, 10000};
+        Log.setNivel(Log.Nivel.ERRO);
+
+        Path pasta = Files.createTempDirectory("termo-save");
+        try {
+            System.out.printf("%8s %-7s %10s %10s %10s%n", "usuários", "versão", "p50 ms", "p99 ms", "máx ms");
+            for (int n : tamanhos) {
+                medir(pasta, n);
+            }
+        } finally {
+            try (Stream<Path> arquivos = Files.walk(pasta)) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static void medir(Path pasta, int n) throws IOException {
+        ArquivoProfileStore store = new ArquivoProfileStore(pasta.resolve("usuarios-" + n + ".dat").toString());
+        List<Usuario> usuarios = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Usuario u = new Usuario("jogador" + i, "senha" + i);
+            for (int j = 0; j < i % 7; j++) {
+                if (j % 3 == 2) u.getPerfil().aplicarDerrota(6);
+                else u.getPerfil().aplicarVitoria(j + 1);
+            }
+            usuarios.add(u);
+        }
+        store.salvar(usuarios);
+        int repeticoes = Math.min(500, Math.max(10, 100_000 / n));
+
+        LatencyHistogram antigo = new LatencyHistogram();
+        LatencyHistogram atual = new LatencyHistogram();
+        try (PrintStream console = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(pasta.resolve("console.txt").toFile()), 128), true)) {
+            for (int rodada = 0; rodada < 2; rodada++) { // A primeira rodada só aquece o JIT
+                antigo.zerar();
+                atual.zerar();
+                for (int r = 0; r < repeticoes; r++) {
+                    long inicio = System.nanoTime();
+                    console.println("=== SALVANDO USUÁRIOS ===");
+                    for (Usuario u : usuarios) {
+                        console.println("Salvando: " + u.getNome() +
+                                ", Jogos: " + u.getPerfil().getJogos() +
+                                ", Vitórias: " + u.getPerfil().getVitorias());
+                    }
+                    store.salvar(usuarios);
+                    console.println("✅ Usuários salvos com sucesso!");
+                    antigo.registrar(System.nanoTime() - inicio);
+
+                    inicio = System.nanoTime();
+                    store.salvar(usuarios);
+                    atual.registrar(System.nanoTime() - inicio);
+                }
+            }
+        }
+        AsyncAppender.esvaziar();
+        imprimir(n, "antigo", antigo);
+        imprimir(n, "atual", atual);
+    }
+
+    private static void imprimir(int n, String versao, LatencyHistogram h) {
+        System.out.printf("%8d %-7s %10.2f %10.2f %10.2f%n", n, versao,
+                h.percentil(50) / 1e6, h.percentil(99) / 1e6, h.getMaximo() / 1e6);
+    }
+}
@@ -0,0 +1,113 @@
+package com.termo.bench;
+
+import com.termo.controller.Usuario;
+import com.termo.store.ProfileStore;
+import com.termo.store.ProfileStoreServer;
+import com.termo.store.RemoteProfileStore;
+import com.termo.store.ShardedProfileStore;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sobe N processos {@link ProfileStoreServer} na mesma máquina (sockets de domínio Unix, ou TCP
+ * em loopback com {@code tcp}), cadastra usuários pelo {@link ShardedProfileStore}, mede leituras
+ * por segundo e acrescenta um shard com leituras acontecendo em paralelo, verificando que nenhum
+ * usuário deixa de ser encontrado e quantos foram migrados (o ideal é 1/(N+1)).
+ *
+ * Uso: {@code java com.termo.bench.ShardRebalanceBenchmark [shards] [usuarios] [unix|tcp]}
+ */
+public class ShardRebalanceBenchmark {
+    public static void main(String[] args) throws Exception {
+        int nShards = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int nUsuarios = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        boolean tcp = args.length > 2 && args[2].equals("tcp");
+
+        Path base = Files.createTempDirectory("termo-shards");
+        List<Process> processos = new ArrayList<>();
+        Map<String, ProfileStore> shards = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < nShards; i++) {
+                String endereco = iniciarShard(base, i, tcp, processos);
+                shards.put(endereco, new RemoteProfileStore(endereco));
+            }
+            ShardedProfileStore store = new ShardedProfileStore(shards, ShardedProfileStore.NOS_VIRTUAIS_PADRAO);
+
+            long t0 = System.nanoTime();
+            for (int i = 0; i < nUsuarios; i++) {
+                store.cadastrar(new Usuario("jogador" + i, "senha"));
+            }
+            double segCadastro = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("%d usuários cadastrados em %d shards em %.2fs (%.0f/s)%n",
+                    nUsuarios, nShards, segCadastro, nUsuarios / segCadastro);
+            System.out.println("Distribuição: " + store.contagemPorShard());
+
+            t0 = System.nanoTime();
+            int leituras = Math.min(nUsuarios, 20_000);
+            for (int i = 0; i < leituras; i++) {
+                store.carregar("jogador" + ThreadLocalRandom.current().nextInt(nUsuarios));
+            }
+            double segLeitura = (System.nanoTime() - t0) / 1e9;
+            System.out.printf("Leituras: %.0f/s%n", leituras / segLeitura);
+
+            // Rebalanceamento com leituras concorrentes.
+            AtomicBoolean rodando = new AtomicBoolean(true);
+            AtomicLong lidas = new AtomicLong();
+            AtomicLong perdidas = new AtomicLong();
+            Thread leitor = new Thread(() -> {
+                while (rodando.get()) {
+                    if (store.carregar("jogador" + ThreadLocalRandom.current().nextInt(nUsuarios)) == null) {
+                        perdidas.incrementAndGet();
+                    }
+                    lidas.incrementAndGet();
+                }
+            });
+            leitor.start();
+            String novo = iniciarShard(base, nShards, tcp, processos);
+            t0 = System.nanoTime();
+            int migrados = store.adicionarShard(novo, new RemoteProfileStore(novo)).join();
+            double segMigracao = (System.nanoTime() - t0) / 1e9;
+            rodando.set(false);
+            leitor.join();
+
+            System.out.printf("Shard adicionado: %d usuários migrados em %.2fs (%.1f%%, ideal %.1f%%)%n",
+                    migrados, segMigracao, migrados * 100.0 / nUsuarios, 100.0 / (nShards + 1));
+            System.out.printf("Leituras durante a migração: %d, usuários não encontrados: %d%n", lidas.get(), perdidas.get());
+            System.out.println("Distribuição: " + store.contagemPorShard());
+            store.close();
+        } finally {
+            for (Process p : processos) p.destroy();
+        }
+    }
+
+    private static String iniciarShard(Path base, int i, boolean tcp, List<Process> processos) throws Exception {
+        String endereco = tcp ? "127.0.0.1:" + (17_100 + i) : "unix:" + base.resolve("shard-" + i + ".sock");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ProfileStoreServer.class.getName(), base.resolve("dados-" + i).toString(), endereco)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(base.toFile(), "shard-" + i + ".log"))
+                .start();
+        processos.add(p);
+        // Espera o processo começar a aceitar conexões.
+        RemoteProfileStore teste = new RemoteProfileStore(endereco);
+        for (int tentativa = 0; ; tentativa++) {
+            try {
+                teste.nomes();
+                teste.close();
+                return endereco;
+            } catch (RuntimeException e) {
+                if (tentativa > 100) throw e;
+                Thread.sleep(100);
+            }
+        }
+    }
+}
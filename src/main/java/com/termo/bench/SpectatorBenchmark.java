@@ -0,0 +1,294 @@
+package com.termo.bench;
+
+import com.termo.log.Log;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.server.GameEvent;
+import com.termo.server.GameEventPublisher;
+import com.termo.server.TermoServer;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark da distribuição de eventos de uma partida para muitos espectadores.
+ * Uma thread "de jogo" publica eventos para N inscritos, dos quais uma fração é lenta
+ * (pede um evento a cada 10 ms). Cada evento só é publicado depois que todos os espectadores
+ * rápidos receberam o anterior; mede o custo de publicar na thread do jogo, a latência de
+ * distribuição (publicação até o último espectador rápido receber) e quantos eventos os lentos perderam.
+ *
+ * Com {@code http}, mede o caminho real: sobe um {@link TermoServer} no próprio processo, abre N
+ * conexões {@code /events} (clientes NIO, sem uma thread por conexão) em cada partida e, a cada chute,
+ * mede o tempo até o último espectador receber o evento, além das threads do processo com todos
+ * conectados.
+ *
+ * Uso: {@code java com.termo.bench.SpectatorBenchmark [espectadores] [eventos] [percentualLentos]}
+ * ou {@code java com.termo.bench.SpectatorBenchmark http palavras.txt [espectadores] [partidas]}
+ * (o limite de arquivos abertos precisa comportar duas vezes os espectadores)
+ */
+public class SpectatorBenchmark {
+    private static final String[] CHUTES = {"sagaz", "termo", "mundo", "carta", "nobre", "fugir"};
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("http")) {
+            http(args[1], args.length > 2 ? Integer.parseInt(args[2]) : 5_000,
+                    args.length > 3 ? Integer.parseInt(args[3]) : 3);
+            return;
+        }
+        int espectadores = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int eventos = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int percentualLentos = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        GameEventPublisher publisher = new GameEventPublisher();
+        CountDownLatch concluidos = new CountDownLatch(espectadores);
+        AtomicLong recebidos = new AtomicLong();
+        AtomicLong recebidosRapidos = new AtomicLong(); // Eventos recebidos por espectadores rápidos
+        List<Flow.Subscription> lentos = new ArrayList<>();
+        int nLentos = espectadores * percentualLentos / 100;
+        for (int i = 0; i < espectadores; i++) {
+            boolean lento = i < nLentos;
+            publisher.subscribe(new Flow.Subscriber<GameEvent>() {
+                long contagem;
+
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    if (lento) {
+                        synchronized (lentos) { lentos.add(s); }
+                        s.request(1);
+                    } else {
+                        s.request(Long.MAX_VALUE);
+                    }
+                }
+
+                @Override
+                public void onNext(GameEvent evento) {
+                    contagem++;
+                    if (!lento) recebidosRapidos.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable erro) {
+                    concluidos.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    recebidos.addAndGet(contagem);
+                    concluidos.countDown();
+                }
+            });
+        }
+
+        // Os espectadores lentos pedem um evento a cada 10 ms.
+        Thread consumidorLento = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (lentos) {
+                    for (Flow.Subscription s : lentos) s.request(1);
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        consumidorLento.setDaemon(true);
+        consumidorLento.start();
+
+        int rapidos = espectadores - nLentos;
+        long maxPublicacao = 0, somaPublicacao = 0, maxDistribuicao = 0, somaDistribuicao = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < eventos; i++) {
+            GameEvent ev = new GameEvent(GameEvent.Tipo.CHUTE, "bench", i, i % 6 + 1, "TERMO", "GYBBB", false, null);
+            long t0 = System.nanoTime();
+            publisher.publicar(ev);
+            long t1 = System.nanoTime();
+            long alvo = (long) rapidos * (i + 1);
+            while (recebidosRapidos.get() < alvo) {
+                Thread.onSpinWait();
+            }
+            long t2 = System.nanoTime();
+            somaPublicacao += t1 - t0;
+            maxPublicacao = Math.max(maxPublicacao, t1 - t0);
+            somaDistribuicao += t2 - t0;
+            maxDistribuicao = Math.max(maxDistribuicao, t2 - t0);
+        }
+        long descartados = publisher.getDescartados();
+        publisher.fechar();
+        boolean ok = concluidos.await(60, TimeUnit.SECONDS);
+        long total = System.nanoTime() - inicio;
+        consumidorLento.interrupt();
+
+        long esperado = (long) eventos * espectadores;
+        System.out.printf("%d espectadores (%d lentos), %d eventos%n", espectadores, nLentos, eventos);
+        System.out.printf("Publicação na thread do jogo: %.0f ns/evento em média, %.1f µs no pior caso%n",
+                somaPublicacao / (double) eventos, maxPublicacao / 1e3);
+        System.out.printf("Distribuição para %d espectadores rápidos: %.2f ms em média, %.2f ms no pior caso%n",
+                rapidos, somaDistribuicao / (double) eventos / 1e6, maxDistribuicao / 1e6);
+        System.out.printf("Entrega completa em %.2fs%s: %d de %d eventos entregues (%.1f M eventos/s)%n",
+                total / 1e9, ok ? "" : " (tempo esgotado)", recebidos.get(), esperado,
+                recebidos.get() / (total / 1e9) / 1e6);
+        System.out.printf("Descartados por espectadores lentos até o fim da publicação: %d%n", descartados);
+    }
+
+    // ===== Caminho HTTP =====
+
+    /** Conexão SSE do benchmark: conta as linhas "event:" recebidas, mesmo partidas entre leituras. */
+    private static final class Conexao {
+        private static final byte[] MARCA = "event:".getBytes(StandardCharsets.US_ASCII);
+        int casados; // Bytes da marca já casados no fim da última leitura
+        boolean respondeu, recusada;
+        final StringBuilder inicio = new StringBuilder(); // Começo da resposta, para ler o status
+    }
+
+    private static void http(String palavras, int espectadores, int partidas) throws Exception {
+        Log.setNivel(Log.Nivel.ERRO);
+        TermoServer servidor = new TermoServer(palavras, 0);
+        servidor.start();
+        HttpClient cliente = HttpClient.newHttpClient();
+        String base = "http://localhost:" + servidor.getPort();
+        int threadsBase = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.out.printf("%d espectadores por partida, %d partidas (threads do processo antes: %d)%n",
+                espectadores, partidas, threadsBase);
+        System.out.printf("%8s %8s %10s %10s %10s %9s%n", "partida", "chutes", "p50 ms", "máx ms", "threads", "recusados");
+
+        LatencyHistogram geral = new LatencyHistogram();
+        for (int partida = 1; partida <= partidas; partida++) {
+            String resposta = post(cliente, base + "/game?usuario=espectado&senha=x");
+            Matcher m = ID.matcher(resposta);
+            if (!m.find()) throw new IllegalStateException("resposta inesperada: " + resposta);
+            String id = m.group(1);
+
+            Selector selector = Selector.open();
+            AtomicLong eventos = new AtomicLong();
+            AtomicInteger respondidas = new AtomicInteger(), recusadas = new AtomicInteger(), fechadas = new AtomicInteger();
+            byte[] pedido = ("GET /events?id=" + id + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < espectadores; i++) {
+                SocketChannel canal = SocketChannel.open(new InetSocketAddress("localhost", servidor.getPort()));
+                canal.write(ByteBuffer.wrap(pedido));
+                canal.configureBlocking(false);
+                canal.register(selector, SelectionKey.OP_READ, new Conexao());
+            }
+            Thread leitor = new Thread(() -> ler(selector, eventos, respondidas, recusadas, fechadas), "bench-sse");
+            leitor.start();
+            esperar(() -> respondidas.get() >= espectadores, "respostas de /events");
+            int aceitas = espectadores - recusadas.get();
+            int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            LatencyHistogram latencia = new LatencyHistogram();
+            int chutes = 0;
+            // Chuta até a partida acabar; o evento de fim chega junto com o do último chute.
+            for (int i = 0; ; i++) {
+                long t0 = System.nanoTime();
+                String r = post(cliente, base + "/guess?id=" + id + "&palavra=" + CHUTES[i % CHUTES.length]);
+                if (!r.contains("\"valido\":true")) continue;
+                chutes++;
+                boolean fim = r.contains("\"fim\":true");
+                long alvo = (long) aceitas * (chutes + (fim ? 1 : 0));
+                esperar(() -> eventos.get() >= alvo, "eventos do chute");
+                long duracao = System.nanoTime() - t0;
+                latencia.registrar(duracao);
+                geral.registrar(duracao);
+                if (fim) break;
+            }
+            esperar(() -> fechadas.get() >= aceitas, "fim das transmissões");
+            leitor.interrupt();
+            selector.wakeup();
+            leitor.join();
+            for (SelectionKey k : selector.keys()) k.channel().close();
+            selector.close();
+
+            System.out.printf("%8d %8d %10.2f %10.2f %10d %9d%n", partida, chutes,
+                    latencia.percentil(50) / 1e6, latencia.getMaximo() / 1e6, threads, recusadas.get());
+        }
+        System.out.printf("Do chute ao último espectador: p50 %.2f ms, p99 %.2f ms, máx %.2f ms%n",
+                geral.percentil(50) / 1e6, geral.percentil(99) / 1e6, geral.getMaximo() / 1e6);
+        servidor.stop();
+    }
+
+    // Laço do cliente NIO: uma thread lê todas as conexões.
+    private static void ler(Selector selector, AtomicLong eventos, AtomicInteger respondidas,
+                            AtomicInteger recusadas, AtomicInteger fechadas) {
+        ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                selector.select(100);
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey k = it.next();
+                    it.remove();
+                    Conexao c = (Conexao) k.attachment();
+                    buffer.clear();
+                    int lidos;
+                    try {
+                        lidos = ((SocketChannel) k.channel()).read(buffer);
+                    } catch (IOException e) {
+                        lidos = -1;
+                    }
+                    if (lidos < 0) {
+                        k.cancel();
+                        k.channel().close();
+                        fechadas.incrementAndGet();
+                        continue;
+                    }
+                    long encontrados = 0;
+                    for (int i = 0; i < lidos; i++) {
+                        byte b = buffer.get(i);
+                        if (!c.respondeu && c.inicio.length() < 12) c.inicio.append((char) b);
+                        if (b == Conexao.MARCA[c.casados]) {
+                            if (++c.casados == Conexao.MARCA.length) {
+                                encontrados++;
+                                c.casados = 0;
+                            }
+                        } else {
+                            c.casados = b == Conexao.MARCA[0] ? 1 : 0;
+                        }
+                    }
+                    if (!c.respondeu && c.inicio.length() >= 12) {
+                        c.respondeu = true;
+                        c.recusada = !c.inicio.toString().startsWith("HTTP/1.1 200");
+                        if (c.recusada) recusadas.incrementAndGet();
+                        respondidas.incrementAndGet();
+                    }
+                    if (encontrados > 0) eventos.addAndGet(encontrados);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String post(HttpClient cliente, String url) throws IOException, InterruptedException {
+        return cliente.send(HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static void esperar(BooleanSupplier condicao, String oQue) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) throw new IllegalStateException("tempo esgotado esperando " + oQue);
+            Thread.sleep(0, 100_000);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.termo.bench;
+
+import com.termo.controller.Game;
+import com.termo.controller.RowResult;
+import com.termo.gui.VirtualKeyboard;
+import com.termo.gui.components.EdtBridge;
+import com.termo.gui.components.GameGrid;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Verificação, sem janela, de quantos pedidos de repintura cada chute gera no grid e no teclado.
+ * Joga partidas aleatórias duas vezes: atualizando o grid célula a célula (um setter por letra e
+ * por cor, como a tela fazia antes) e pelo {@link EdtBridge}, que aplica cada {@link RowResult}
+ * emitido pelo {@link Game} de uma vez. No segundo caminho o número de pedidos por chute tem que
+ * ficar abaixo de uma constante; também confere que vários resultados publicados antes do passe
+ * da EDT são aplicados em um único passe. Sai com código 1 se alguma verificação falhar.
+ *
+ * Uso: {@code java -Djava.awt.headless=true com.termo.bench.UpdateBridgeCheck palavras.txt [partidas]}
+ */
+public class UpdateBridgeCheck {
+    private static final int ROW = 6, COLUMN = 5;
+    // Por chute: a linha revelada, a próxima linha liberada e o cursor (célula antiga e nova).
+    private static final long LIMITE_GRID = 4;
+    private static final long LIMITE_TECLADO = 1;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("termo.animacoes", "false"); // Conta só os pedidos da atualização, sem quadros
+        String file = args[0];
+        int partidas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        WordDictionary dictionary = WordDictionary.get(file);
+
+        long[] porSetter = jogar(file, dictionary, partidas, false);
+        long[] pelaPonte = jogar(file, dictionary, partidas, true);
+        System.out.printf("%d partidas, %d chutes%n", partidas, pelaPonte[0]);
+        System.out.printf("  célula a célula:  %.1f repinturas/chute no grid (máx %d)%n",
+                porSetter[1] / (double) porSetter[0], porSetter[2]);
+        System.out.printf("  RowResult + ponte: %.1f repinturas/chute no grid (máx %d), %.1f no teclado (máx %d)%n",
+                pelaPonte[1] / (double) pelaPonte[0], pelaPonte[2],
+                pelaPonte[3] / (double) pelaPonte[0], pelaPonte[4]);
+
+        boolean ok = pelaPonte[2] <= LIMITE_GRID && pelaPonte[4] <= LIMITE_TECLADO;
+        ok &= verificarLote(file, dictionary);
+        System.out.println(ok ? "OK" : "FALHOU");
+        if (!ok) System.exit(1);
+    }
+
+    /**
+     * Joga as partidas e devolve {chutes, repinturas do grid, máximo por chute no grid,
+     * repinturas do teclado, máximo por chute no teclado}.
+     */
+    private static long[] jogar(String file, WordDictionary dictionary, int partidas, boolean ponte) throws Exception {
+        long[] r = new long[5];
+        Random random = new Random(42);
+        SwingUtilities.invokeAndWait(() -> { }); // Garante a EDT criada antes de medir
+        for (int p = 0; p < partidas; p++) {
+            Game jogo = new Game(file, random);
+            Tela tela = new Tela();
+            int[] linha = {0};
+            SwingUtilities.invokeAndWait(() -> {
+                tela.grid.limpar();
+                tela.grid.setCursor(0, 0);
+                jogo.setOuvinte(tela.ponte::publicar);
+            });
+            boolean fim = false;
+            while (!fim) {
+                String chute = SecretState.fold(dictionary.getWord(random.nextInt(dictionary.size())));
+                long[] antes = new long[2];
+                boolean[] venceu = new boolean[1];
+                SwingUtilities.invokeAndWait(() -> {
+                    for (int c = 0; c < COLUMN; c++) tela.grid.setLetra(linha[0], c, chute.charAt(c)); // Digitação
+                    antes[0] = tela.grid.getRepintes();
+                    antes[1] = tela.teclado.getRepintes();
+                    jogo.validateGuess(chute);
+                    venceu[0] = jogo.getRightQuantityWord() == COLUMN;
+                    if (!ponte) aplicarPorSetter(tela, jogo.getUltimoResultado());
+                });
+                SwingUtilities.invokeAndWait(() -> { }); // Deixa o passe da ponte rodar
+                long grid = tela.grid.getRepintes() - antes[0];
+                long teclado = tela.teclado.getRepintes() - antes[1];
+                r[0]++;
+                r[1] += grid;
+                r[2] = Math.max(r[2], grid);
+                r[3] += teclado;
+                r[4] = Math.max(r[4], teclado);
+                fim = venceu[0] || ++linha[0] == ROW;
+            }
+        }
+        return r;
+    }
+
+    // Publica três chutes na mesma tarefa da EDT: têm que ser aplicados em um único passe.
+    private static boolean verificarLote(String file, WordDictionary dictionary) throws Exception {
+        Game jogo = new Game(file, new Random(7));
+        Tela tela = new Tela();
+        jogo.setOuvinte(tela.ponte::publicar);
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 3; i++) jogo.validateGuess(dictionary.getWord(i));
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+        System.out.printf("  lote: %d resultados publicados, %d passe(s) na EDT%n",
+                tela.ponte.getPublicados(), tela.ponte.getPasses());
+        return tela.ponte.getPublicados() == 3 && tela.ponte.getPasses() == 1;
+    }
+
+    // Atualização antiga: um setter por letra e por cor, e a próxima linha liberada célula a célula.
+    private static void aplicarPorSetter(Tela tela, RowResult r) {
+        for (int c = 0; c < COLUMN; c++) {
+            tela.grid.setLetra(r.tentativa, c, r.palavra.charAt(c));
+            tela.grid.setEstado(r.tentativa, c, estado(r.cor(c)));
+        }
+        if (r.tentativa + 1 < ROW) {
+            for (int c = 0; c < COLUMN; c++) tela.grid.setEstado(r.tentativa + 1, c, GameGrid.ATIVA);
+            tela.grid.setCursor(r.tentativa + 1, 0);
+        }
+    }
+
+    private static byte estado(char cor) {
+        return cor == 'G' ? GameGrid.VERDE : cor == 'Y' ? GameGrid.AMARELA : GameGrid.CINZA;
+    }
+
+    // Grid e teclado ligados por uma ponte que aplica os resultados como a GameWindow.
+    private static final class Tela {
+        final GameGrid grid = new GameGrid(ROW, COLUMN, k -> { }, c -> { });
+        final VirtualKeyboard teclado = new VirtualKeyboard(k -> { }, 1.0, false);
+        final EdtBridge<RowResult> ponte = new EdtBridge<>(this::aplicar);
+
+        private void aplicar(List<RowResult> lote) {
+            int proxima = 0;
+            for (RowResult r : lote) {
+                byte[] estados = new byte[COLUMN];
+                for (int c = 0; c < COLUMN; c++) estados[c] = estado(r.cor(c));
+                grid.mostrarResultado(r.tentativa, r.palavra, estados,
+                        () -> teclado.updateKeyboardColors(r.palavra, r.padrao.toCharArray()));
+                boolean fim = r.venceu || r.tentativa == ROW - 1;
+                if (!fim) grid.setLinhaAtiva(r.tentativa + 1);
+                proxima = fim ? -1 : r.tentativa + 1;
+            }
+            grid.setCursor(proxima, proxima < 0 ? -1 : 0);
+        }
+    }
+}
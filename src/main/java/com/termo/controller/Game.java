@@ -1,9 +1,21 @@
 package com.termo.controller;
 
+import com.termo.log.Log;
+import com.termo.metrics.Counter;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.metrics.jfr.GameFinishedEvent;
+import com.termo.metrics.jfr.GameStartEvent;
+import com.termo.metrics.jfr.GuessScoredEvent;
+import com.termo.model.DailyPuzzle;
 import com.termo.model.DataSourceModel;
-import java.text.Normalizer;
-import java.util.Map;
-import java.util.HashMap;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Classe responsável pela lógica principal do jogo Termo.
@@ -11,12 +23,30 @@ import java.util.HashMap;
  * e determinando o resultado (letra correta, posição correta ou não existe).
  */
 public class Game {
+    public static final int MAX_TENTATIVAS = 6; // Chutes válidos por partida
+    private static final Log log = Log.de(Game.class);
+
+    // Métricas de todas as partidas do processo (ver MetricsRegistry).
+    private static final LatencyHistogram TEMPO_CHUTE = MetricsRegistry.global()
+            .histograma("termo_chute_segundos", "Tempo de validateGuess, da consulta ao dicionário ao resultado");
+    private static final Counter CHUTES_ACEITOS = MetricsRegistry.global()
+            .contador("termo_chutes_aceitos_total", "Chutes válidos processados");
+    private static final Counter CHUTES_RECUSADOS = MetricsRegistry.global()
+            .contador("termo_chutes_recusados_total", "Chutes recusados (tamanho errado ou fora do dicionário)");
+
     String file;
     private String palavratentativa; // Armazena a palavra da última tentativa (com acento/canônica)
     private int rightQuantityWord = 0; // Contador de letras corretas na posição correta
     // Vetor de resultado: 'G' = verde, 'Y' = amarelo, 'B' = cinza
     private char[] coresresultado = new char[5];
     private DataSourceModel dataSourceModel;
+    private final List<String> tentativas = new ArrayList<>(); // Chutes válidos (forma canônica), em ordem
+    private SecretState segredo; // Palavra secreta pré-calculada (sem acentos + contagem de letras)
+    private DailyPuzzle daily; // Puzzle do dia desta partida (null em partidas comuns)
+    private final int[] contagem = new int[SecretState.LETRAS]; // Vetor de trabalho reaproveitado a cada chute
+    private RowResult ultimoResultado; // Resultado imutável do último chute válido
+    private Consumer<RowResult> ouvinte; // Recebe cada RowResult (ex.: a tela), ou null
+    private long primeiroChute; // System.nanoTime() do primeiro chute válido (para o evento de fim de partida)
 
     /**
      * Construtor da classe Game.
@@ -27,7 +57,98 @@ public class Game {
     public Game(String file) {
         this.file = file;
         this.dataSourceModel = new DataSourceModel(file);
-        System.out.println(this.dataSourceModel.getWord()); // Debug: imprime a palavra sorteada
+        this.segredo = SecretState.of(dataSourceModel.getDictionary(), dataSourceModel.getWord());
+        log.debug(dataSourceModel::getWord); // Imprime a palavra sorteada
+        registrarInicio("aleatória");
+    }
+
+    /**
+     * Construtor para um jogador: a palavra secreta vem do rodízio do perfil, que não repete
+     * palavras até que todo o dicionário tenha sido jogado e segue os pesos de sorteio do dicionário.
+     *
+     * @param file Caminho do arquivo com as palavras possíveis do jogo.
+     * @param perfil Perfil do jogador.
+     */
+    public Game(String file, PerfilJogador perfil) {
+        this.file = file;
+        WordDictionary dictionary = WordDictionary.get(file);
+        this.dataSourceModel = new DataSourceModel(dictionary, perfil.proximoSegredo(dictionary));
+        this.segredo = SecretState.of(dictionary, dataSourceModel.getWord());
+        log.debug(dataSourceModel::getWord); // Imprime a palavra sorteada
+        registrarInicio("rodízio");
+    }
+
+    /**
+     * Construtor para um jogador com a palavra já preparada em segundo plano (ver
+     * {@link PerfilJogador#espiarProximoSegredo(WordDictionary)}): ela só sai do rodízio agora, quando a
+     * partida começa de fato. Se ela já saiu ou o rodízio mudou desde a preparação, a palavra é sorteada como em
+     * {@link #Game(String, PerfilJogador)}.
+     *
+     * @param file Caminho do arquivo com as palavras possíveis do jogo.
+     * @param perfil Perfil do jogador.
+     * @param preparado Estado da palavra espiada no rodízio do jogador.
+     */
+    public Game(String file, PerfilJogador perfil, SecretState preparado) {
+        this.file = file;
+        WordDictionary dictionary = WordDictionary.get(file);
+        this.segredo = perfil.reservarSegredo(dictionary, preparado.getId())
+                ? preparado
+                : SecretState.of(dictionary, dictionary.getWord(perfil.proximoSegredo(dictionary)));
+        this.dataSourceModel = new DataSourceModel(dictionary, segredo.getId());
+        log.debug(dataSourceModel::getWord); // Imprime a palavra sorteada
+        registrarInicio("rodízio");
+    }
+
+    /**
+     * Construtor da partida da palavra do dia: reaproveita o estado da palavra calculado
+     * uma vez por dia e compartilhado por todas as sessões.
+     *
+     * @param file Caminho do arquivo com as palavras possíveis do jogo.
+     * @param daily Puzzle do dia.
+     */
+    public Game(String file, DailyPuzzle daily) {
+        this.file = file;
+        this.daily = daily;
+        this.segredo = daily.getSegredo();
+        this.dataSourceModel = new DataSourceModel(WordDictionary.get(file), segredo.getId());
+        registrarInicio("palavra do dia");
+    }
+
+    /**
+     * Construtor com palavra secreta já escolhida e pré-calculada (ex.: rodadas de um torneio,
+     * em que todos os jogadores compartilham o mesmo {@link SecretState}).
+     *
+     * @param file Caminho do arquivo com as palavras possíveis do jogo.
+     * @param segredo Estado da palavra secreta (deve pertencer ao dicionário).
+     */
+    public Game(String file, SecretState segredo) {
+        this.file = file;
+        this.segredo = segredo;
+        this.dataSourceModel = new DataSourceModel(WordDictionary.get(file), segredo.getId());
+        registrarInicio("fixa");
+    }
+
+    /**
+     * Construtor com gerador explícito, para partidas reproduzíveis (testes e simulações).
+     *
+     * @param file Caminho do arquivo com as palavras possíveis do jogo.
+     * @param random Gerador usado no sorteio da palavra secreta.
+     */
+    public Game(String file, RandomGenerator random) {
+        this.file = file;
+        this.dataSourceModel = new DataSourceModel(file, random);
+        this.segredo = SecretState.of(dataSourceModel.getDictionary(), dataSourceModel.getWord());
+        registrarInicio("aleatória");
+    }
+
+    // Evento JFR de início de partida (desligado por padrão, ver jfr/termo.jfc).
+    private void registrarInicio(String modo) {
+        GameStartEvent evento = new GameStartEvent();
+        if (evento.shouldCommit()) {
+            evento.tamanhoPalavra = segredo.length();
+            evento.modo = modo;
+            evento.commit();
+        }
     }
 
     /**
@@ -42,12 +163,48 @@ public class Game {
      * @return true se o chute for válido e processado, false caso contrário
      */
     public boolean validateGuess(String chute) {
-        System.out.println("Chute: " + chute);
+        GuessScoredEvent evento = new GuessScoredEvent(); // Sem gravação JFR ativa, o JIT elimina o evento
+        evento.begin();
+        long inicio = System.nanoTime();
+        boolean valido = processarChute(chute);
+        long fim = System.nanoTime();
+        TEMPO_CHUTE.registrar(fim - inicio);
+        (valido ? CHUTES_ACEITOS : CHUTES_RECUSADOS).incrementar();
+        if (evento.shouldCommit()) {
+            evento.aceito = valido;
+            evento.tentativa = valido ? tentativas.size() : 0;
+            evento.padrao = valido ? ultimoResultado.padrao : "";
+            evento.tamanhoPalavra = segredo.length();
+            evento.commit();
+        }
+        if (valido) {
+            if (tentativas.size() == 1) primeiroChute = fim;
+            if (ultimoResultado.venceu || tentativas.size() >= MAX_TENTATIVAS) registrarFim(fim);
+        }
+        return valido;
+    }
+
+    // Evento JFR de fim de partida.
+    private void registrarFim(long agora) {
+        GameFinishedEvent evento = new GameFinishedEvent();
+        if (evento.shouldCommit()) {
+            evento.venceu = ultimoResultado.venceu;
+            evento.tentativas = tentativas.size();
+            evento.padrao = ultimoResultado.padrao;
+            evento.tamanhoPalavra = segredo.length();
+            evento.tempoJogo = agora - primeiroChute;
+            evento.commit();
+        }
+    }
+
+    // Corpo de validateGuess, sem as métricas.
+    private boolean processarChute(String chute) {
+        log.debug(() -> "Chute: " + chute);
         rightQuantityWord = 0;
 
         // Valida se a palavra tem o mesmo tamanho que a palavra secreta
         if (chute.length() != getWordLength()) {
-            System.out.println("Tentativa inválida: precisa de " + getWordLength() + " letras.");
+            log.debug(() -> "Tentativa inválida: precisa de " + getWordLength() + " letras.");
             return false;
         }
 
@@ -66,25 +223,21 @@ public class Game {
 
         // Armazena a tentativa em maiúsculo (para exibir no jogo)
         this.palavratentativa = canonical.toUpperCase();
+        tentativas.add(canonical);
 
-        // Normaliza palavras (remove acentos e cedilha) para comparação
-        String chuteNorm = normalize(canonical).toUpperCase();
-        String secret = dataSourceModel.getWord();
-        String secretNorm = normalize(secret).toUpperCase();
+        // Normaliza o chute (remove acentos e cedilha) para comparação com a palavra secreta já pré-calculada
+        String chuteNorm = SecretState.fold(canonical);
 
-        // Mapa com contagem de ocorrências de cada letra na palavra secreta
-        Map<Character, Integer> contagem = new HashMap<>();
-        for (char c : secretNorm.toCharArray()) {
-            contagem.put(c, contagem.getOrDefault(c, 0) + 1);
-        }
+        // Contagem de ocorrências de cada letra na palavra secreta (copiada para o vetor de trabalho)
+        segredo.copiarContagem(contagem);
 
         // Primeiro passe: marca letras corretas na posição correta (verde)
-        for (int i = 0; i < secretNorm.length(); i++) {
-            if (chuteNorm.charAt(i) == secretNorm.charAt(i)) {
+        for (int i = 0; i < segredo.length(); i++) {
+            if (chuteNorm.charAt(i) == segredo.foldedAt(i)) {
                 coresresultado[i] = 'G';
                 rightQuantityWord++;
                 // Decrementa ocorrência, pois essa letra já foi usada
-                contagem.put(chuteNorm.charAt(i), contagem.get(chuteNorm.charAt(i)) - 1);
+                contagem[SecretState.indiceLetra(chuteNorm.charAt(i))]--;
             } else {
                 coresresultado[i] = 'B'; // provisoriamente cinza
             }
@@ -93,32 +246,22 @@ public class Game {
         // Segundo passe: marca letras presentes mas em posição errada (amarelo)
         for (int i = 0; i < chuteNorm.length(); i++) {
             if (coresresultado[i] == 'G') continue; // já marcada como verde
-            char ch = chuteNorm.charAt(i);
-            if (contagem.getOrDefault(ch, 0) > 0) {
+            int letra = SecretState.indiceLetra(chuteNorm.charAt(i));
+            if (contagem[letra] > 0) {
                 coresresultado[i] = 'Y';
-                contagem.put(ch, contagem.get(ch) - 1); // reduz a contagem
+                contagem[letra]--; // reduz a contagem
             } else {
                 coresresultado[i] = 'B'; // mantém cinza
             }
         }
 
+        // Emite o resultado imutável da linha para quem estiver ouvindo.
+        ultimoResultado = new RowResult(tentativas.size() - 1, palavratentativa, new String(coresresultado),
+                rightQuantityWord == segredo.length());
+        if (ouvinte != null) ouvinte.accept(ultimoResultado);
         return true;
     }
 
-    /**
-     * normalize
-     * Remove acentos e cedilha de uma string, convertendo para uma forma simplificada.
-     *
-     * @param s String original (pode ser nula)
-     * @return String sem acentos ou null
-     */
-    private String normalize(String s) {
-        if (s == null) return null;
-        String n = Normalizer.normalize(s, Normalizer.Form.NFD);
-        n = n.replaceAll("\\p{M}", ""); // remove marcas diacríticas (acentos)
-        return n;
-    }
-
     /**
      * getWordLength
      * Retorna o tamanho da palavra secreta.
@@ -126,7 +269,7 @@ public class Game {
      * @return Número de caracteres da palavra secreta
      */
     public int getWordLength(){
-        return this.dataSourceModel.getWord().length();
+        return segredo.length();
     }
 
     /**
@@ -157,6 +300,47 @@ public class Game {
         return this.dataSourceModel.getWord();
     }
 
+    /**
+     * getTentativas
+     * @return Chutes válidos da partida (forma canônica), na ordem em que foram feitos
+     */
+    public List<String> getTentativas() {
+        return Collections.unmodifiableList(tentativas);
+    }
+
+    /**
+     * getDaily
+     * @return Puzzle do dia desta partida, ou null se for uma partida comum
+     */
+    public DailyPuzzle getDaily() {
+        return daily;
+    }
+
+    /**
+     * getDictionary
+     * @return Dicionário compartilhado usado nesta partida
+     */
+    public WordDictionary getDictionary() {
+        return dataSourceModel.getDictionary();
+    }
+
+    /**
+     * getUltimoResultado
+     * @return Resultado imutável do último chute válido, ou null se ainda não houve chute
+     */
+    public RowResult getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    /**
+     * setOuvinte
+     * Define quem recebe o {@link RowResult} de cada chute válido (chamado na thread do chute).
+     * @param ouvinte O ouvinte, ou null para nenhum
+     */
+    public void setOuvinte(Consumer<RowResult> ouvinte) {
+        this.ouvinte = ouvinte;
+    }
+
     /**
      * getResultado
      * @return Vetor de resultado ('G', 'Y', 'B') da última tentativa
@@ -1,24 +1,101 @@
 package com.termo.controller;
 
+import com.termo.log.Log;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.store.ArquivoProfileStore;
+import com.termo.store.ProfileStore;
+import com.termo.store.RemoteProfileStore;
+import com.termo.store.ShardedProfileStore;
+
 import java.io.*;
-import java.util.HashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Classe responsável pelo controle de login e cadastro de usuários.
- * Gerencia persistência em arquivo (usuarios.dat) e mantém usuários em memória.
+ * Os usuários ficam em um {@link ProfileStore}: por padrão o arquivo usuarios.dat; com
+ * {@code -Dtermo.shards=end1,end2,...} eles são particionados entre processos
+ * {@link com.termo.store.ProfileStoreServer} por hash consistente do nome normalizado.
+ * Os usuários carregados são compartilhados por todas as sessões (inclusive as do servidor), uma
+ * única instância por nome, enquanto alguém os usa (sessão, janela, torneio): o cache guarda só
+ * referências fracas, então quem não está jogando não ocupa a memória deste processo.
  */
 public class Login {
-    private static Map<String, Usuario> usuarios = new HashMap<>(); // Banco de usuários em memória
+    private static final Log log = Log.de(Login.class);
     private static final String FILE_PATH = "usuarios.dat"; // Caminho do arquivo de persistência
+    private static final ProfileStore store = criarStore(); // Onde os usuários são guardados
+    private static final Map<String, Carregado> usuarios = new ConcurrentHashMap<>(); // Usuários em uso
+    private static final ReferenceQueue<Usuario> descartados = new ReferenceQueue<>(); // Usuários que ninguém mais usa
+    private static final LatencyHistogram TEMPO_SALVAR = MetricsRegistry.global()
+            .histograma("termo_usuarios_salvar_segundos", "Tempo para persistir usuários, em qualquer armazenamento");
     private Usuario usuarioLogado; // Usuário autenticado na sessão atual
 
-    // Bloco estático: inicializa a lista de usuários a partir do arquivo.
-    static {
-        usuarios = carregarUsuarios();
+    /**
+     * criarStore
+     * Escolhe o armazenamento conforme {@code -Dtermo.shards} (endereços {@code unix:/caminho},
+     * {@code host:porta} ou {@code porta}, separados por vírgula).
+     */
+    private static ProfileStore criarStore() {
+        String enderecos = System.getProperty("termo.shards");
+        if (enderecos == null || enderecos.isBlank()) {
+            return new ArquivoProfileStore(FILE_PATH);
+        }
+        Map<String, ProfileStore> shards = new LinkedHashMap<>();
+        for (String endereco : enderecos.split(",")) {
+            shards.put(endereco.trim(), new RemoteProfileStore(endereco.trim()));
+        }
+        return new ShardedProfileStore(shards, ShardedProfileStore.NOS_VIRTUAIS_PADRAO);
+    }
+
+    /** Entrada do cache: referência fraca ao usuário, com o nome para removê-la quando ele for coletado. */
+    private static final class Carregado extends WeakReference<Usuario> {
+        final String nome;
+
+        Carregado(String nome, Usuario usuario) {
+            super(usuario, descartados);
+            this.nome = nome;
+        }
+    }
+
+    /**
+     * emUso
+     * Coloca o usuário no cache, a menos que outra instância com o mesmo nome ainda esteja em uso.
+     *
+     * @return A instância que fica valendo para o nome
+     */
+    private static Usuario emUso(String nome, Usuario usuario) {
+        limparDescartados();
+        while (true) {
+            Carregado atual = usuarios.get(nome);
+            Usuario existente = atual != null ? atual.get() : null;
+            if (existente != null) return existente;
+            Carregado novo = new Carregado(nome, usuario);
+            boolean trocou = atual == null ? usuarios.putIfAbsent(nome, novo) == null : usuarios.replace(nome, atual, novo);
+            if (trocou) return usuario;
+        }
     }
 
-    private static String normalizarNome(String nome) {
+    // Tira do cache as entradas cujos usuários já foram coletados (se ainda não foram trocadas).
+    private static void limparDescartados() {
+        Reference<? extends Usuario> ref;
+        while ((ref = descartados.poll()) != null) {
+            Carregado c = (Carregado) ref;
+            usuarios.remove(c.nome, c);
+        }
+    }
+
+    /**
+     * normalizarNome
+     * Forma do nome usada para escolher o shard do usuário ("Ana" e " ana" vão para o mesmo lugar).
+     */
+    public static String normalizarNome(String nome) {
         return nome != null ? nome.trim().toLowerCase() : null;
     }
 
@@ -31,71 +108,75 @@ public class Login {
      * @return true se login/cadastro realizado com sucesso; false se senha incorreta
      */
     public boolean loginOuCadastrar(String nome, String senha) {
-        if (usuarios.containsKey(nome)) {
-            Usuario usuario = usuarios.get(nome);
-            if (usuario.getSenha().equals(senha)) {
-                this.usuarioLogado = usuario; // Autentica usuário
-                return true;
-            }
-            return false; // Senha incorreta
-        } else {
-            // Cria novo usuário
+        Usuario usuario = getUsuario(nome);
+        if (usuario == null) {
+            // Cria novo usuário (o cadastro na loja é atômico: dois cadastros simultâneos do mesmo nome geram um só usuário)
             Usuario novoUsuario = new Usuario(nome, senha);
-            usuarios.put(nome, novoUsuario);
-            this.usuarioLogado = novoUsuario;
-            salvarUsuarios(); // persiste no arquivo
+            usuario = store.cadastrar(novoUsuario); // persiste
+            if (usuario == null) {
+                usuario = emUso(nome, novoUsuario);
+                if (usuario == novoUsuario) {
+                    this.usuarioLogado = novoUsuario;
+                    return true;
+                }
+            } else {
+                usuario = emUso(nome, usuario);
+            }
+        }
+        if (usuario.getSenha().equals(senha)) {
+            this.usuarioLogado = usuario; // Autentica usuário
             return true;
         }
+        return false; // Senha incorreta
     }
 
     /** @return Usuário pelo nome ou null se não existir */
     public static Usuario getUsuario(String nome) {
-        return usuarios.get(nome);
+        if (nome == null) return null;
+        Carregado c = usuarios.get(nome);
+        Usuario usuario = c != null ? c.get() : null;
+        if (usuario == null) {
+            usuario = store.carregar(nome);
+            if (usuario != null) {
+                usuario = emUso(nome, usuario); // Mantém uma única instância por nome
+            }
+        }
+        return usuario;
     }
 
     /**
-     * carregarUsuarios
-     * Lê os usuários salvos em arquivo e carrega para memória.
+     * salvarUsuarios
+     * Persiste os usuários alterados em uma única operação (uma por shard).
      *
-     * @return Mapa de usuários carregado
+     * @param alterados Usuários cujos perfis mudaram
      */
-    @SuppressWarnings("unchecked")
-    public static Map<String, Usuario> carregarUsuarios() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(FILE_PATH))) {
-            return (Map<String, Usuario>) ois.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Erro ao carregar usuários, iniciando com base vazia: " + e.getMessage());
-            return new HashMap<>();
-        }
+    public static void salvarUsuarios(Collection<Usuario> alterados) {
+        if (alterados.isEmpty()) return;
+        long inicio = System.nanoTime();
+        store.salvar(alterados);
+        TEMPO_SALVAR.registrar(System.nanoTime() - inicio);
     }
 
     /**
-     * salvarUsuarios
-     * Persiste os usuários no arquivo (usuarios.dat).
+     * salvarUsuario
+     * Persiste um único usuário (com shards, só o shard dele é acionado).
+     *
+     * @param usuario Usuário alterado
      */
-    public static void salvarUsuarios() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(FILE_PATH))) {
-            System.out.println("=== SALVANDO USUÁRIOS ===");
-            for (String key : usuarios.keySet()) {
-                Usuario u = usuarios.get(key);
-                System.out.println("Salvando: " + key +
-                        ", Jogos: " + u.getPerfil().getJogos() +
-                        ", Vitórias: " + u.getPerfil().getVitorias());
-            }
-            oos.writeObject(usuarios);
-            System.out.println("✅ Usuários salvos com sucesso!");
-        } catch (IOException e) {
-            System.err.println("❌ Erro ao salvar usuários: " + e.getMessage());
-            e.printStackTrace();
-        }
+    public static void salvarUsuario(Usuario usuario) {
+        long inicio = System.nanoTime();
+        store.salvar(List.of(usuario));
+        TEMPO_SALVAR.registrar(System.nanoTime() - inicio);
     }
 
-    /** Exibe no console os usuários carregados em memória (para debug) */
+    /** Registra em nível DEBUG os usuários da base (sem deixá-los no cache; com shards, lê todos os shards) */
     public static void debugUsuarios() {
-        System.out.println("=== USUÁRIOS NA MEMÓRIA ===");
-        for (String key : usuarios.keySet()) {
-            Usuario u = usuarios.get(key);
-            System.out.println("Usuário: " + key +
+        if (!Log.ativo(Log.Nivel.DEBUG)) return;
+        log.debug(() -> "=== USUÁRIOS NA BASE ===");
+        for (String key : store.nomes()) {
+            Usuario u = store.carregar(key);
+            if (u == null) continue;
+            log.debug(() -> "Usuário: " + key +
                     ", Jogos: " + u.getPerfil().getJogos() +
                     ", Vitórias: " + u.getPerfil().getVitorias());
         }
@@ -104,9 +185,8 @@ public class Login {
     /** Verifica existência e permissões do arquivo de persistência */
     public static void verificarArquivo() {
         File arquivo = new File(FILE_PATH);
-        System.out.println("=== VERIFICAÇÃO DO ARQUIVO ===");
-        System.out.println("Arquivo existe: " + arquivo.exists());
-        System.out.println("Caminho absoluto: " + arquivo.getAbsolutePath());
-        System.out.println("Pode escrever: " + arquivo.canWrite());
+        log.info(() -> "Verificação do arquivo: existe=" + arquivo.exists()
+                + ", caminho absoluto=" + arquivo.getAbsolutePath()
+                + ", pode escrever=" + arquivo.canWrite());
     }
 }
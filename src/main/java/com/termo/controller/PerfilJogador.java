@@ -1,7 +1,16 @@
 package com.termo.controller;
 
+import com.termo.log.Log;
+import com.termo.model.FeistelPermutation;
+import com.termo.model.WordDictionary;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Classe que representa o perfil estatístico de um jogador.
@@ -9,6 +18,14 @@ import java.util.Arrays;
  * Também é responsável por atualizar e persistir esses dados.
  */
 public class PerfilJogador implements Serializable {
+    private static final long serialVersionUID = 7179491160019858705L; // Mantém compatível o usuarios.dat existente
+    private static final Log log = Log.de(PerfilJogador.class);
+
+    public static final int[] JANELAS = {7, 30, 100}; // Janelas de jogos recentes (a última é o tamanho do buffer)
+    public static final int DIAS = 30; // Dias mantidos no histórico diário
+    private static final int DERROTA = 7; // Valor gravado no buffer para uma derrota
+    private static final int JANELA_ROTACAO = 512; // Posições à frente no rodízio entre as quais o peso escolhe (bits de rotacaoJanela)
+
     private Usuario usuario; // Usuário dono do perfil
     private int jogos; // Total de jogos
     private int vitorias; // Total de vitórias
@@ -16,6 +33,27 @@ public class PerfilJogador implements Serializable {
     private int melhorSequencia; // Melhor sequência registrada
     private int[] distribuicaoTentativas; // [0-5] vitórias em 1–6 tentativas, [6] derrotas
 
+    // Buffers circulares de tamanho fixo: o espaço ocupado não cresce com o número de jogos.
+    private byte[] recentes; // Últimos resultados: 1–6 tentativas da vitória, 7 derrota
+    private int recentesPosicao; // Próxima posição a ser escrita em 'recentes'
+    private int recentesTotal; // Quantos resultados válidos há em 'recentes' (até o tamanho do buffer)
+    private int[] vitoriasJanela; // Vitórias dentro de cada janela de JANELAS
+    private int[] tentativasJanela; // Soma das tentativas das vitórias dentro de cada janela
+    private long[] diaEpoca; // Dia (epochDay) a que cada posição do buffer diário se refere
+    private int[] diaJogos; // Jogos por dia
+    private int[] diaVitorias; // Vitórias por dia
+    private long diaPalavraDoDia; // Último dia (epochDay) cuja palavra do dia entrou no agregado do dia (0 = nenhum)
+
+    // Rodízio de palavras secretas sem repetição: uma permutação de Feistel dos IDs do dicionário
+    // definida pela semente. As 'rotacaoPosicao' primeiras posições já saíram; a próxima palavra é
+    // sorteada pelo peso do dicionário entre as JANELA_ROTACAO posições seguintes, e as que saem
+    // fora de ordem ficam marcadas em 'rotacaoJanela' (bit posição % JANELA_ROTACAO) até a posição
+    // inicial alcançá-las.
+    private long rotacaoSemente; // Chave da permutação do ciclo atual
+    private int rotacaoPosicao; // Posições do ciclo atual já sorteadas, todas, a partir do início
+    private int rotacaoTamanho; // Tamanho do dicionário para o qual o ciclo foi criado (0 = nenhum ciclo)
+    private long[] rotacaoJanela; // Posições à frente de rotacaoPosicao já sorteadas (null = nenhuma)
+
     /**
      * Construtor do perfil.
      * Inicializa estatísticas zeradas.
@@ -29,6 +67,34 @@ public class PerfilJogador implements Serializable {
         this.sequenciaVitorias = 0;
         this.melhorSequencia = 0;
         this.distribuicaoTentativas = new int[7]; // 0–5 vitórias, 6 derrotas
+        inicializarRecentes();
+    }
+
+    // Cria os buffers de resultados recentes e diários vazios.
+    private void inicializarRecentes() {
+        this.recentes = new byte[JANELAS[JANELAS.length - 1]];
+        this.recentesPosicao = 0;
+        this.recentesTotal = 0;
+        this.vitoriasJanela = new int[JANELAS.length];
+        this.tentativasJanela = new int[JANELAS.length];
+        this.diaEpoca = new long[DIAS];
+        Arrays.fill(diaEpoca, -1);
+        this.diaJogos = new int[DIAS];
+        this.diaVitorias = new int[DIAS];
+    }
+
+    // Grava sob o monitor do perfil, como as alterações: nenhuma gravação vê um resultado pela metade
+    // (posição do buffer avançada sem a soma da janela, por exemplo), seja qual for a loja.
+    private synchronized void writeObject(ObjectOutputStream oos) throws IOException {
+        oos.defaultWriteObject();
+    }
+
+    // Perfis gravados antes dos buffers existirem chegam com os campos nulos.
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        if (recentes == null) {
+            inicializarRecentes();
+        }
     }
 
     /**
@@ -37,7 +103,19 @@ public class PerfilJogador implements Serializable {
      *
      * @param tentativas Número de tentativas usadas para vencer
      */
-    public void registrarVitoria(int tentativas) {
+    public synchronized void registrarVitoria(int tentativas) {
+        aplicarVitoria(tentativas);
+        salvarDados();
+    }
+
+    /**
+     * aplicarVitoria
+     * Atualiza as estatísticas de uma vitória sem persistir. Usado em gravações em lote
+     * (ex.: fim de torneio), que chamam {@link Login#salvarUsuarios} uma única vez no final.
+     *
+     * @param tentativas Número de tentativas usadas para vencer
+     */
+    public synchronized void aplicarVitoria(int tentativas) {
         jogos++;
         vitorias++;
         sequenciaVitorias++;
@@ -49,7 +127,7 @@ public class PerfilJogador implements Serializable {
         } else {
             distribuicaoTentativas[0]++; // fallback
         }
-        salvarDados();
+        registrarRecente(Math.max(1, Math.min(6, tentativas)));
     }
 
     /**
@@ -58,24 +136,196 @@ public class PerfilJogador implements Serializable {
      *
      * @param tentativas Número de tentativas feitas antes da derrota
      */
-    public void registrarDerrota(int tentativas) {
+    public synchronized void registrarDerrota(int tentativas) {
+        aplicarDerrota(tentativas);
+        salvarDados();
+    }
+
+    /**
+     * aplicarDerrota
+     * Atualiza as estatísticas de uma derrota sem persistir (ver {@link #aplicarVitoria(int)}).
+     *
+     * @param tentativas Número de tentativas feitas antes da derrota
+     */
+    public synchronized void aplicarDerrota(int tentativas) {
         jogos++;
         sequenciaVitorias = 0;
         distribuicaoTentativas[6]++; // índice 6 = derrotas
-        salvarDados();
+        registrarRecente(DERROTA);
+    }
+
+    /**
+     * registrarRecente
+     * Insere um resultado no buffer circular e atualiza as somas de cada janela em O(1):
+     * soma o novo resultado e subtrai o que acabou de sair de cada janela.
+     *
+     * @param resultado 1–6 para vitória nessa tentativa, 7 para derrota
+     */
+    private void registrarRecente(int resultado) {
+        int capacidade = recentes.length;
+        for (int j = 0; j < JANELAS.length; j++) {
+            int janela = JANELAS[j];
+            if (recentesTotal >= janela) {
+                int saindo = recentes[Math.floorMod(recentesPosicao - janela, capacidade)];
+                if (saindo != DERROTA) {
+                    vitoriasJanela[j]--;
+                    tentativasJanela[j] -= saindo;
+                }
+            }
+            if (resultado != DERROTA) {
+                vitoriasJanela[j]++;
+                tentativasJanela[j] += resultado;
+            }
+        }
+        recentes[recentesPosicao] = (byte) resultado;
+        recentesPosicao = (recentesPosicao + 1) % capacidade;
+        if (recentesTotal < capacidade) recentesTotal++;
+
+        // Buffer diário: a posição do dia é reaproveitada quando pertence a um dia antigo.
+        long hoje = LocalDate.now().toEpochDay();
+        int slot = (int) Math.floorMod(hoje, (long) DIAS);
+        if (diaEpoca[slot] != hoje) {
+            diaEpoca[slot] = hoje;
+            diaJogos[slot] = 0;
+            diaVitorias[slot] = 0;
+        }
+        diaJogos[slot]++;
+        if (resultado != DERROTA) diaVitorias[slot]++;
+    }
+
+    /**
+     * marcarPalavraDoDia
+     * Marca que o jogador terminou a palavra do dia informada. Só o primeiro resultado de cada dia
+     * entra no agregado do dia ({@code DailyPuzzle.Stats}); jogar de novo a mesma palavra não conta.
+     * A marca é gravada junto com o perfil, no registro da vitória ou derrota que vem em seguida.
+     *
+     * @param dia Data da palavra do dia
+     * @return true se é o primeiro resultado do jogador para esse dia
+     */
+    public synchronized boolean marcarPalavraDoDia(LocalDate dia) {
+        long epoca = dia.toEpochDay();
+        if (diaPalavraDoDia >= epoca) return false;
+        diaPalavraDoDia = epoca;
+        return true;
+    }
+
+    /**
+     * proximoSegredo
+     * Sorteia o ID da próxima palavra secreta sem repetir nenhuma palavra até que todo o
+     * dicionário tenha saído. A escolha segue os pesos do dicionário (frequência e histórico, ver
+     * {@link WordDictionary#getPesoSelecao(int)}) entre as próximas posições do rodízio, então as
+     * palavras mais pesadas tendem a sair antes no ciclo. Quando o ciclo termina (ou o dicionário
+     * muda de tamanho), um novo ciclo começa com outra semente.
+     *
+     * @param dictionary Dicionário da partida
+     * @return ID da palavra secreta
+     */
+    public synchronized int proximoSegredo(WordDictionary dictionary) {
+        int id = espiarProximoSegredo(dictionary);
+        reservarSegredo(dictionary, id);
+        return id;
+    }
+
+    /**
+     * espiarProximoSegredo
+     * Sorteia a próxima palavra como {@link #proximoSegredo(WordDictionary)}, sem consumi-la do
+     * rodízio (só começa um ciclo novo se o atual terminou). Usado para preparar a próxima partida
+     * em segundo plano; a palavra continua disponível até ser reservada ou sair em outra partida.
+     *
+     * @param dictionary Dicionário da partida
+     * @return ID da próxima palavra secreta
+     */
+    public synchronized int espiarProximoSegredo(WordDictionary dictionary) {
+        int tamanhoDicionario = dictionary.size();
+        if (rotacaoTamanho != tamanhoDicionario || rotacaoPosicao >= tamanhoDicionario) {
+            rotacaoSemente = ThreadLocalRandom.current().nextLong();
+            rotacaoPosicao = 0;
+            rotacaoJanela = null;
+            rotacaoTamanho = tamanhoDicionario;
+        }
+        FeistelPermutation permutacao = new FeistelPermutation(rotacaoTamanho, rotacaoSemente);
+        int candidatas = Math.min(JANELA_ROTACAO, rotacaoTamanho - rotacaoPosicao);
+        int[] ids = new int[candidatas];
+        double[] acumulado = new double[candidatas];
+        double total = 0;
+        for (int i = 0; i < candidatas; i++) {
+            ids[i] = permutacao.apply(rotacaoPosicao + i);
+            if (!sorteadaNaJanela(rotacaoPosicao + i)) total += dictionary.getPesoSelecao(ids[i]);
+            acumulado[i] = total;
+        }
+        if (total <= 0) return ids[0]; // Nenhuma candidata com peso: segue a ordem do rodízio
+        double alvo = ThreadLocalRandom.current().nextDouble() * total;
+        for (int i = 0; i < candidatas; i++) {
+            if (!sorteadaNaJanela(rotacaoPosicao + i) && alvo < acumulado[i]) return ids[i];
+        }
+        return ids[0];
+    }
+
+    /**
+     * reservarSegredo
+     * Consome do rodízio a palavra obtida antes com {@link #espiarProximoSegredo(WordDictionary)},
+     * se ela ainda estiver entre as próximas e não tiver saído.
+     *
+     * @param dictionary Dicionário da partida
+     * @param id ID espiado
+     * @return true se a palavra foi consumida; false se o rodízio mudou desde a espiada
+     */
+    public synchronized boolean reservarSegredo(WordDictionary dictionary, int id) {
+        int tamanhoDicionario = dictionary.size();
+        if (rotacaoTamanho != tamanhoDicionario || rotacaoPosicao >= tamanhoDicionario
+                || id < 0 || id >= tamanhoDicionario) return false;
+        int posicao = new FeistelPermutation(rotacaoTamanho, rotacaoSemente).inverse(id);
+        if (posicao < rotacaoPosicao || posicao >= rotacaoPosicao + JANELA_ROTACAO || sorteadaNaJanela(posicao)) {
+            return false;
+        }
+        if (posicao != rotacaoPosicao) {
+            if (rotacaoJanela == null) rotacaoJanela = new long[JANELA_ROTACAO / 64];
+            int bit = posicao % JANELA_ROTACAO;
+            rotacaoJanela[bit >>> 6] |= 1L << bit;
+            return true;
+        }
+        // Avança o início do rodízio sobre as posições que já tinham saído fora de ordem.
+        rotacaoPosicao++;
+        while (sorteadaNaJanela(rotacaoPosicao)) {
+            int bit = rotacaoPosicao % JANELA_ROTACAO;
+            rotacaoJanela[bit >>> 6] &= ~(1L << bit);
+            rotacaoPosicao++;
+        }
+        return true;
+    }
+
+    // Indica se a posição (dentro da janela à frente de rotacaoPosicao) já saiu fora de ordem.
+    private boolean sorteadaNaJanela(int posicao) {
+        if (rotacaoJanela == null) return false;
+        int bit = posicao % JANELA_ROTACAO;
+        return (rotacaoJanela[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * jaJogou
+     * Verifica se a palavra já foi sorteada no ciclo atual, invertendo a permutação em O(1).
+     *
+     * @param id ID da palavra no dicionário
+     * @param tamanhoDicionario Quantidade de palavras do dicionário
+     * @return true se a palavra já saiu para este jogador no ciclo atual
+     */
+    public synchronized boolean jaJogou(int id, int tamanhoDicionario) {
+        if (rotacaoTamanho != tamanhoDicionario || id < 0 || id >= tamanhoDicionario) return false;
+        int posicao = new FeistelPermutation(rotacaoTamanho, rotacaoSemente).inverse(id);
+        return posicao < rotacaoPosicao || (posicao < rotacaoPosicao + JANELA_ROTACAO && sorteadaNaJanela(posicao));
     }
 
     /**
      * salvarDados
-     * Persiste os dados do perfil no arquivo de usuários.
+     * Persiste os dados do perfil (apenas deste usuário).
      */
     private void salvarDados() {
         if (usuario != null) {
             try {
-                Login.salvarUsuarios();
-                System.out.println("Dados salvos após modificação!");
+                Login.salvarUsuario(usuario);
+                log.debug(() -> "Dados de " + usuario.getNome() + " salvos após modificação");
             } catch (Exception e) {
-                System.err.println("Erro ao salvar dados: " + e.getMessage());
+                log.erro(() -> "Erro ao salvar dados de " + usuario.getNome(), e);
             }
         }
     }
@@ -92,6 +342,74 @@ public class PerfilJogador implements Serializable {
         }
     }
 
+    /**
+     * Fotografia imutável das estatísticas do perfil, para a tela ler sem travar o perfil
+     * (que pode estar sendo gravado ou atualizado em outra thread).
+     */
+    public static final class Resumo {
+        public final int jogos;
+        public final int vitorias;
+        public final int sequenciaVitorias;
+        public final int melhorSequencia;
+        public final int jogosHoje;
+        public final int vitoriasHoje;
+        private final int[] distribuicao; // [0-5] vitórias em 1–6 tentativas, [6] derrotas
+        private final double[] percentualRecentes; // Por janela de JANELAS
+        private final double[] mediaRecentes; // Por janela de JANELAS
+
+        private Resumo(PerfilJogador p, LocalDate hoje) {
+            jogos = p.jogos;
+            vitorias = p.vitorias;
+            sequenciaVitorias = p.sequenciaVitorias;
+            melhorSequencia = p.melhorSequencia;
+            jogosHoje = p.getJogosNoDia(hoje);
+            vitoriasHoje = p.getVitoriasNoDia(hoje);
+            distribuicao = p.getDistribuicaoTentativas();
+            percentualRecentes = new double[JANELAS.length];
+            mediaRecentes = new double[JANELAS.length];
+            for (int j = 0; j < JANELAS.length; j++) {
+                percentualRecentes[j] = p.getPercentualVitoriasRecentes(JANELAS[j]);
+                mediaRecentes[j] = p.getMediaTentativasRecentes(JANELAS[j]);
+            }
+        }
+
+        /** @return Percentual de vitórias (inteiro, arredondado para baixo) */
+        public int getPercentualVitorias() {
+            return jogos == 0 ? 0 : (int) ((vitorias * 100.0) / jogos);
+        }
+
+        /**
+         * getDistribuicao
+         * @param i 0–5 para vitórias em 1–6 tentativas, 6 para derrotas
+         */
+        public int getDistribuicao(int i) {
+            return distribuicao[i];
+        }
+
+        /** @return Quantidade de barras da distribuição (6 vitórias + derrotas) */
+        public int getTamanhoDistribuicao() {
+            return distribuicao.length;
+        }
+
+        /** @param j Índice da janela em {@link #JANELAS} */
+        public double getPercentualRecentes(int j) {
+            return percentualRecentes[j];
+        }
+
+        /** @param j Índice da janela em {@link #JANELAS} */
+        public double getMediaRecentes(int j) {
+            return mediaRecentes[j];
+        }
+    }
+
+    /**
+     * resumo
+     * @return Fotografia imutável das estatísticas atuais (com o dia de hoje)
+     */
+    public synchronized Resumo resumo() {
+        return new Resumo(this, LocalDate.now());
+    }
+
     // ===== Getters =====
     public Usuario getUsuario() { return usuario; }
     public int getJogos() { return jogos; }
@@ -126,6 +444,61 @@ public class PerfilJogador implements Serializable {
         return (jogos == 0) ? 0 : (vitorias * 100.0) / jogos;
     }
 
+    /**
+     * getJogosRecentes
+     * @param janela Uma das janelas de {@link #JANELAS}
+     * @return Quantos jogos realmente existem dentro da janela (menos que ela no começo)
+     */
+    public int getJogosRecentes(int janela) {
+        return Math.min(recentesTotal, janela);
+    }
+
+    /**
+     * getPercentualVitoriasRecentes
+     * @param janela Uma das janelas de {@link #JANELAS}
+     * @return Percentual de vitórias nos últimos {@code janela} jogos
+     */
+    public double getPercentualVitoriasRecentes(int janela) {
+        int j = indiceJanela(janela);
+        int jogosJanela = getJogosRecentes(janela);
+        return (j < 0 || jogosJanela == 0) ? 0 : (vitoriasJanela[j] * 100.0) / jogosJanela;
+    }
+
+    /**
+     * getMediaTentativasRecentes
+     * @param janela Uma das janelas de {@link #JANELAS}
+     * @return Média de tentativas das vitórias nos últimos {@code janela} jogos (0 se não houver vitórias)
+     */
+    public double getMediaTentativasRecentes(int janela) {
+        int j = indiceJanela(janela);
+        return (j < 0 || vitoriasJanela[j] == 0) ? 0 : tentativasJanela[j] / (double) vitoriasJanela[j];
+    }
+
+    /** @return Jogos registrados no dia informado (apenas os últimos {@link #DIAS} dias são mantidos) */
+    public int getJogosNoDia(LocalDate dia) {
+        int slot = slotDoDia(dia);
+        return slot < 0 ? 0 : diaJogos[slot];
+    }
+
+    /** @return Vitórias registradas no dia informado (apenas os últimos {@link #DIAS} dias são mantidos) */
+    public int getVitoriasNoDia(LocalDate dia) {
+        int slot = slotDoDia(dia);
+        return slot < 0 ? 0 : diaVitorias[slot];
+    }
+
+    private int slotDoDia(LocalDate dia) {
+        long epoca = dia.toEpochDay();
+        int slot = (int) Math.floorMod(epoca, (long) DIAS);
+        return diaEpoca[slot] == epoca ? slot : -1;
+    }
+
+    private static int indiceJanela(int janela) {
+        for (int j = 0; j < JANELAS.length; j++) {
+            if (JANELAS[j] == janela) return j;
+        }
+        return -1;
+    }
+
     // ===== Setters =====
     public void setUsuario(Usuario usuario) { this.usuario = usuario; }
     public void setJogos(int jogos) { if (jogos >= 0) this.jogos = jogos; }
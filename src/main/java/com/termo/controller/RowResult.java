@@ -0,0 +1,30 @@
+package com.termo.controller;
+
+/**
+ * Resultado imutável de uma tentativa válida, emitido pelo {@link Game} a cada chute aceito.
+ * Carrega tudo o que a tela precisa para mostrar a linha, então pode ser entregue a outra thread
+ * (ou aplicado depois) sem depender do estado atual da partida.
+ */
+public final class RowResult {
+    public final int tentativa; // Índice da tentativa na partida (0, 1, 2...)
+    public final String palavra; // Chute em maiúsculo, na forma canônica (com acentos)
+    public final String padrao; // 'G', 'Y' e 'B' por letra
+    public final boolean venceu;
+
+    public RowResult(int tentativa, String palavra, String padrao, boolean venceu) {
+        this.tentativa = tentativa;
+        this.palavra = palavra;
+        this.padrao = padrao;
+        this.venceu = venceu;
+    }
+
+    /** @return Cor da letra na posição informada ('G', 'Y' ou 'B') */
+    public char cor(int i) {
+        return padrao.charAt(i);
+    }
+
+    @Override
+    public String toString() {
+        return "RowResult{" + tentativa + ", " + palavra + ", " + padrao + (venceu ? ", venceu" : "") + "}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.termo.controller;
+
+import com.termo.log.Log;
+import com.termo.model.WordDictionary;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Inicialização do jogo em paralelo: o dicionário (leitura e índice) e a base de usuários são
+ * carregados em threads de fundo enquanto a EDT já mostra o login. Quem precisa deles antes de
+ * ficarem prontos só espera o que falta (o {@link WordDictionary#get(String)} e a inicialização do
+ * {@link Login} bloqueiam até a carga em andamento terminar, sem carregar de novo).
+ *
+ * Registra o tempo até a primeira tela interativa e o de cada carga, impressos uma única vez.
+ * As mesmas threads preparam trabalho de fundo da interface (ex.: a próxima partida).
+ */
+public final class StartupPipeline {
+    private static final Log log = Log.de(StartupPipeline.class);
+    // Duas threads: as duas cargas do início rodam juntas.
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "termo-fundo");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long inicio = System.nanoTime();
+    private final CompletableFuture<WordDictionary> dicionario;
+    private final CompletableFuture<Void> usuarios;
+    private boolean interativo; // Se o tempo até a tela interativa já foi registrado (só na EDT)
+
+    private StartupPipeline(String file) {
+        dicionario = emSegundoPlano(() -> WordDictionary.get(file));
+        usuarios = CompletableFuture.runAsync(Login::debugUsuarios, executor); // Carrega a loja e lista os usuários
+        dicionario.whenComplete((d, erro) -> relatar("dicionário", erro, d == null ? "" : " (" + d.size() + " palavras)"));
+        usuarios.whenComplete((v, erro) -> relatar("usuários", erro, ""));
+    }
+
+    /**
+     * iniciar
+     * Dispara as cargas de fundo; chamar o quanto antes no main.
+     * @param file Caminho do arquivo de palavras
+     */
+    public static StartupPipeline iniciar(String file) {
+        return new StartupPipeline(file);
+    }
+
+    /**
+     * emSegundoPlano
+     * Executa uma tarefa nas threads de fundo.
+     */
+    public static <T> CompletableFuture<T> emSegundoPlano(Supplier<T> tarefa) {
+        return CompletableFuture.supplyAsync(tarefa, executor);
+    }
+
+    /** @return Futuro do dicionário do jogo */
+    public CompletableFuture<WordDictionary> getDicionario() {
+        return dicionario;
+    }
+
+    /** @return Futuro da carga da base de usuários */
+    public CompletableFuture<Void> getUsuarios() {
+        return usuarios;
+    }
+
+    /**
+     * interativo
+     * Registra que a primeira tela aceita entrada do usuário (chamar na EDT; só a primeira chamada conta).
+     * @param tela Nome da tela, para o relatório
+     */
+    public void interativo(String tela) {
+        if (interativo) return;
+        interativo = true;
+        long jvm = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        long decorrido = decorrido();
+        log.info(() -> String.format("%s interativo em %d ms (%d ms desde o início da JVM)", tela, decorrido, jvm));
+    }
+
+    private void relatar(String etapa, Throwable erro, String detalhe) {
+        if (erro != null) {
+            log.erro(() -> "Falha na carga de " + etapa, erro.getCause() != null ? erro.getCause() : erro);
+        } else {
+            long decorrido = decorrido();
+            log.info(() -> String.format("carga de %s concluída em %d ms%s", etapa, decorrido, detalhe));
+        }
+    }
+
+    private long decorrido() {
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+}
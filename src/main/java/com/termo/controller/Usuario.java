@@ -1,9 +1,13 @@
 package com.termo.controller;
 
+import com.termo.log.Log;
+
 import java.io.*;
 import java.util.Arrays;
 
 public class Usuario implements Serializable {
+    private static final long serialVersionUID = 1164610605567346639L; // Mantém compatível o usuarios.dat existente
+    private static final Log log = Log.de(Usuario.class);
     private String nome;              // Nome do usuário
     private String senha;             // Senha do usuário
     private PerfilJogador perfil;     // Perfil associado ao usuário
@@ -22,7 +26,7 @@ public class Usuario implements Serializable {
         //Se o perfil não existir após a desserialização, cria um novo
         if (perfil == null) {
             perfil = new PerfilJogador(this);
-            System.out.println("Perfil criado durante desserialização para: " + nome);
+            log.debug(() -> "Perfil criado durante desserialização para: " + nome);
         } else {
             // Caso já exista, ajusta a referência para o objeto Usuario atual
             perfil.setUsuarioAfterDeserialization(this);
@@ -33,7 +37,7 @@ public class Usuario implements Serializable {
         // caso alguém acesse antes de existir perfil, cria na hora
         if (perfil == null) {
             perfil = new PerfilJogador(this);
-            System.out.println("Perfil criado no getPerfil() para: " + nome);
+            log.debug(() -> "Perfil criado no getPerfil() para: " + nome);
         }
         return perfil;
     }
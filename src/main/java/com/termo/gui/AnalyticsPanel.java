@@ -0,0 +1,134 @@
+package com.termo.gui;
+
+import com.termo.analytics.GuessAggregate;
+import com.termo.gui.components.Theme;
+import com.termo.model.WordDictionary;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Painel que exibe as análises do histórico de partidas: aberturas mais comuns,
+ * palavras mais difíceis e o mapa de calor de letras por posição.
+ */
+public class AnalyticsPanel extends JPanel {
+    private static final int TOP = 8; // Quantidade de itens em cada lista
+
+    private final GuessAggregate agregado;
+    private final WordDictionary dictionary;
+
+    /**
+     * Construtor do painel de análises.
+     * @param agregado Resultado da análise do histórico.
+     * @param dictionary Dicionário usado para traduzir IDs em palavras.
+     */
+    public AnalyticsPanel(GuessAggregate agregado, WordDictionary dictionary) {
+        this.agregado = agregado;
+        this.dictionary = dictionary;
+        setLayout(new BorderLayout(10, 10));
+        setBackground(Theme.atual().cartao);
+        setBorder(BorderFactory.createEmptyBorder(12, 16, 12, 16));
+
+        JLabel title = new JLabel("análises (" + agregado.getTotalPartidas() + " partidas)", JLabel.CENTER);
+        title.setForeground(Theme.atual().texto);
+        title.setFont(Theme.atual().fonte(Font.BOLD, 20));
+        add(title, BorderLayout.NORTH);
+
+        JPanel listas = new JPanel(new GridLayout(1, 2, 12, 0));
+        listas.setOpaque(false);
+        listas.add(makeList("aberturas mais comuns", agregado.topAberturas(TOP), false));
+        listas.add(makeList("palavras mais difíceis", agregado.palavrasMaisDificeis(TOP), true));
+        add(listas, BorderLayout.CENTER);
+
+        add(new Heatmap(), BorderLayout.SOUTH);
+    }
+
+    /**
+     * Exibe o painel em um diálogo modal sobre a janela do jogo.
+     * @param parent A janela principal.
+     * @param agregado Resultado da análise do histórico.
+     * @param dictionary Dicionário da partida.
+     */
+    public static void mostrar(JFrame parent, GuessAggregate agregado, WordDictionary dictionary) {
+        JDialog dialog = new JDialog(parent, "Análises", true);
+        dialog.setContentPane(new AnalyticsPanel(agregado, dictionary));
+        dialog.pack();
+        dialog.setLocationRelativeTo(parent);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Cria uma lista de palavras com seus valores (usos ou média de tentativas).
+     */
+    private JPanel makeList(String titulo, int[] ids, boolean dificuldade) {
+        JPanel p = new JPanel();
+        p.setOpaque(false);
+        p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
+
+        JLabel header = new JLabel(titulo);
+        header.setForeground(Theme.atual().textoSecundario);
+        header.setFont(Theme.atual().fonte(Font.BOLD, 14));
+        p.add(header);
+        p.add(Box.createRigidArea(new Dimension(0, 6)));
+
+        if (ids.length == 0) {
+            JLabel vazio = new JLabel("sem dados ainda");
+            vazio.setForeground(Theme.atual().texto);
+            p.add(vazio);
+        }
+        for (int id : ids) {
+            String valor = dificuldade
+                    ? String.format("%.1f tentativas", agregado.getDificuldade(id) * GuessAggregate.TENTATIVAS_DERROTA)
+                    : agregado.getAberturas(id) + "x";
+            JLabel item = new JLabel(dictionary.getWord(id).toUpperCase() + "  —  " + valor);
+            item.setForeground(Theme.atual().texto);
+            item.setFont(Theme.atual().fonte(Font.PLAIN, 13));
+            p.add(item);
+        }
+        return p;
+    }
+
+    /**
+     * Mapa de calor (posição x letra) pintado diretamente: quanto mais a letra foi chutada
+     * naquela posição, mais intensa a célula.
+     */
+    private class Heatmap extends JComponent {
+        private static final int CELL = 18;
+        private static final int LABEL = 16;
+
+        Heatmap() {
+            setPreferredSize(new Dimension(LABEL + CELL * GuessAggregate.LETRAS,
+                    LABEL + CELL * GuessAggregate.POSICOES));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            int max = 1;
+            for (int pos = 0; pos < GuessAggregate.POSICOES; pos++) {
+                for (int l = 0; l < GuessAggregate.LETRAS; l++) {
+                    max = Math.max(max, agregado.getLetraNaPosicao(pos, l));
+                }
+            }
+
+            Theme tema = Theme.atual();
+            Color base = tema.destaque;
+            g2.setFont(tema.fonte(Font.BOLD, 11));
+            g2.setColor(tema.texto);
+            for (int l = 0; l < GuessAggregate.LETRAS; l++) {
+                g2.drawString(String.valueOf((char) ('A' + l)), LABEL + l * CELL + 5, 12);
+            }
+            for (int pos = 0; pos < GuessAggregate.POSICOES; pos++) {
+                g2.setColor(tema.texto);
+                g2.drawString(String.valueOf(pos + 1), 3, LABEL + pos * CELL + 13);
+                for (int l = 0; l < GuessAggregate.LETRAS; l++) {
+                    int alpha = (int) (255.0 * agregado.getLetraNaPosicao(pos, l) / max);
+                    g2.setColor(tema.transparente(base, alpha));
+                    g2.fillRect(LABEL + l * CELL, LABEL + pos * CELL, CELL - 1, CELL - 1);
+                }
+            }
+        }
+    }
+}
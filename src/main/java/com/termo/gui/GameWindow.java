@@ -3,12 +3,27 @@ package com.termo.gui;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.swing.*;
 
+import com.termo.analytics.HistoryAnalyzer;
 import com.termo.controller.*;
-import com.termo.gui.components.LetterBox;
-import com.termo.gui.components.RoundedBorder;
+import com.termo.gui.components.AnimationScheduler;
+import com.termo.gui.components.EdtBridge;
+import com.termo.gui.components.GameGrid;
+import com.termo.gui.components.LatencyHud;
+import com.termo.gui.components.Theme;
+import com.termo.gui.components.TileCache;
+import com.termo.log.Log;
+import com.termo.metrics.InputLatency;
+import com.termo.metrics.jfr.LayoutRebuildEvent;
+import com.termo.model.DailyPuzzle;
+import com.termo.model.GameHistory;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
 
 /**
  * A classe principal da interface gráfica do jogo.
@@ -16,6 +31,7 @@ import com.termo.gui.components.RoundedBorder;
  * o fluxo do jogo e a interação com os controllers.
  */
 public class GameWindow {
+    private static final Log log = Log.de(GameWindow.class);
     String file; // Caminho do arquivo de palavras.
     private StatsOverlay statsOverlay; // Instância da tela de estatísticas.
     private Login sistemaLogin; // Controller para login e cadastro.
@@ -27,33 +43,52 @@ public class GameWindow {
     private JLabel statusLabel;
     private JPanel southPanel;
 
-    private JPanel controlPanel; // Painel que contém o grid de letras.
-    private JScrollPane gameScrollPane; // Usado para rolagem em telas pequenas.
+    private GameGrid grid; // Grid de letras (modelo e desenho em um único componente).
+    private JScrollPane gameScrollPane; // Envolve o grid; as barras só aparecem se ele não couber.
 
     private VirtualKeyboard virtualKeyboard; // Instância do teclado virtual.
 
     // Constantes para o grid do jogo.
     public static final int COLUMN = 5;
     public static final int ROW = 6;
-    private LetterBox[][] letterBoxes; // Matriz 2D para as caixas de letras.
     private int currentRow = 0; // Linha atual da tentativa.
     private int currentCol = 0; // Coluna atual do cursor.
     private Game jogo; // Controller principal do jogo.
     private Usuario usuario; // O usuário atualmente logado.
 
-    // Flags para o design responsivo.
-    private boolean isSmallScreen = false;
-    private boolean isVerySmallScreen = false;
+    // Design responsivo: os tamanhos são proporcionais a um fator calculado das dimensões da janela.
+    private static final int RESIZE_DEBOUNCE_MS = 40; // Espera entre eventos de redimensionamento
+    private double escala = 1.0;
+    private Timer resizeTimer; // Junta os eventos de redimensionamento em uma única atualização
+    private Runnable cancelarTema; // Cancela o ouvinte de troca de tema quando a janela é descartada
+
+    // Leva os resultados emitidos pelo Game para a tela, juntando os que chegarem no mesmo passe da EDT.
+    private final EdtBridge<RowResult> resultados = new EdtBridge<>(this::aplicarResultados);
+
+    private final StartupPipeline startup; // Cargas do início (dicionário e usuários) em segundo plano
+    private CompletableFuture<SecretState> proximoJogo; // Palavra da próxima partida, preparada em segundo plano ao fim de cada rodada
+
+    // Latência da tecla (ou clique) até a célula pintada; F3 mostra os percentis.
+    private final InputLatency latencia = new InputLatency();
+    private LatencyHud latencyHud;
 
     /**
      * Construtor da janela do jogo.
      * @param file O caminho para o arquivo de palavras.
      */
     public GameWindow(String file) {
+        this(file, StartupPipeline.iniciar(file));
+    }
+
+    /**
+     * Construtor da janela do jogo com a inicialização já em andamento: o login aparece na hora,
+     * enquanto o dicionário e os usuários terminam de carregar em segundo plano.
+     * @param file O caminho para o arquivo de palavras.
+     * @param startup As cargas de fundo iniciadas no main.
+     */
+    public GameWindow(String file, StartupPipeline startup) {
         this.file = file;
-        this.sistemaLogin = new Login();
-        sistemaLogin.debugUsuarios(); // Método para popular usuários de teste.
-        jogo = new Game(file);
+        this.startup = startup;
         showLoginDialog(); // Inicia o fluxo pela tela de login.
     }
 
@@ -62,7 +97,6 @@ public class GameWindow {
      * Este método é chamado após o login bem-sucedido.
      */
     private void prepareGUI() {
-        letterBoxes = new LetterBox[ROW][COLUMN];
         mainFrame = new JFrame("TERMO");
         mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
@@ -74,13 +108,27 @@ public class GameWindow {
             mainFrame.setIconImage(termoIcon.getImage());
         }
 
-        mainFrame.getContentPane().setBackground(Color.decode("#6e5c62"));
+        mainFrame.getContentPane().setBackground(Theme.atual().fundoJanela);
 
         // Define o tamanho inicial da janela com base no tamanho da tela.
         setupInitialWindowSize();
 
         mainFrame.setLayout(new BorderLayout(10, 10));
 
+        // Um único overlay de estatísticas por janela, reaproveitado a cada exibição.
+        statsOverlay = new StatsOverlay(mainFrame);
+
+        // F3 mostra ou esconde o painel de latência, com o foco em qualquer componente da janela.
+        latencyHud = new LatencyHud(mainFrame, latencia);
+        JRootPane raiz = mainFrame.getRootPane();
+        raiz.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "latencyHud");
+        raiz.getActionMap().put("latencyHud", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                latencyHud.alternar();
+            }
+        });
+
         // Cria os componentes principais da UI (cabeçalho, grid, teclado).
         createHeaderPanel();
         createGamePanel();
@@ -89,14 +137,20 @@ public class GameWindow {
         // Organiza os componentes criados na janela.
         layoutComponents();
 
-        // Adiciona um listener para detectar redimensionamento da janela e ajustar o layout.
+        // Redimensionar a janela gera uma rajada de eventos: cada um só reinicia o timer, e os tamanhos
+        // são recalculados uma vez, quando os eventos param por RESIZE_DEBOUNCE_MS.
+        resizeTimer = new Timer(RESIZE_DEBOUNCE_MS, e -> updateResponsiveLayout());
+        resizeTimer.setRepeats(false);
         mainFrame.addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
-                updateResponsiveLayout();
+                resizeTimer.restart();
             }
         });
 
+        // Ao trocar o tema, as cores guardadas nos componentes são reaplicadas sem recriá-los.
+        cancelarTema = Theme.aoMudar(tema -> aplicarTema());
+
         mainFrame.setLocationRelativeTo(null); // Centraliza a janela na tela.
     }
     /**
@@ -106,6 +160,12 @@ public class GameWindow {
     private void showLoginDialog() {
         JTextField usuarioField = new JTextField();
         JPasswordField senhaField = new JPasswordField();
+        // O login é a primeira tela interativa: registra o tempo de início quando ela aparece.
+        usuarioField.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && usuarioField.isShowing()) {
+                startup.interativo("login");
+            }
+        });
 
         Object[] message = {
                 "Usuário:", usuarioField,
@@ -120,10 +180,16 @@ public class GameWindow {
             String nome = usuarioField.getText();
             String senha = new String(senhaField.getPassword());
 
+            // Criado só agora: a carga dos usuários roda em segundo plano desde o início (e, se ainda
+            // não terminou, a inicialização do Login espera por ela).
+            if (sistemaLogin == null) sistemaLogin = new Login();
             boolean autenticado = sistemaLogin.loginOuCadastrar(nome, senha);
 
             if (autenticado) {
                 usuario = sistemaLogin.getUsuario(nome);
+                startup.getDicionario().join(); // Normalmente já carregado enquanto o jogador digitava.
+                jogo = new Game(file, usuario.getPerfil()); // Palavra vem do rodízio do jogador.
+                HistoryAnalyzer.atualizarAsync(jogo.getDictionary()); // Atualiza análises e pesos de sorteio.
                 JOptionPane.showMessageDialog(null, "Bem-vindo, " + nome + "!");
                 prepareGUI(); // Prepara a UI do jogo.
                 showEventDemo(); // Exibe a UI e inicia o jogo.
@@ -143,9 +209,9 @@ public class GameWindow {
         Toolkit toolkit = Toolkit.getDefaultToolkit();
         Dimension screenSize = toolkit.getScreenSize();
 
-        // Detecta o "tamanho" da tela para ajustar o layout de forma responsiva.
-        isVerySmallScreen = screenSize.width < 600 || screenSize.height < 500;
-        isSmallScreen = screenSize.width < 900 || screenSize.height < 700;
+        // Detecta o "tamanho" da tela para escolher o tamanho inicial da janela.
+        boolean isVerySmallScreen = screenSize.width < 600 || screenSize.height < 500;
+        boolean isSmallScreen = screenSize.width < 900 || screenSize.height < 700;
 
         if (isVerySmallScreen) {
             mainFrame.setSize((int)(screenSize.width * 0.95), (int)(screenSize.height * 0.95));
@@ -155,6 +221,7 @@ public class GameWindow {
         } else {
             mainFrame.setSize(Math.min(1200, screenSize.width), Math.min(900, screenSize.height));
         }
+        escala = calcularEscala(mainFrame.getSize());
     }
 
     /**
@@ -173,13 +240,12 @@ public class GameWindow {
         leftBtn.setToolTipText("Estatísticas");
         updateButtonSize(leftBtn);
         leftBtn.addActionListener(e -> {
-            statsOverlay = new StatsOverlay(usuario.getPerfil());
-            statsOverlay.show(false, mainFrame);
+            statsOverlay.show(usuario.getPerfil().resumo());
         });
 
         // Título do jogo.
         headerLabel = new JLabel("TERMO", JLabel.CENTER);
-        headerLabel.setForeground(Color.WHITE);
+        headerLabel.setForeground(Theme.atual().texto);
         updateHeaderFont();
         headerLabel.setBorder(BorderFactory.createEmptyBorder(0, 6, 0, 6));
 
@@ -190,6 +256,10 @@ public class GameWindow {
 
         JPopupMenu settingsMenu = new JPopupMenu();
         JMenuItem resetItem = new JMenuItem("Resetar jogo");
+        JMenuItem dailyItem = new JMenuItem("Palavra do dia");
+        JMenuItem analyticsItem = new JMenuItem("Análises");
+        JCheckBoxMenuItem contrastItem = new JCheckBoxMenuItem("Alto contraste", Theme.atual() == Theme.ALTO_CONTRASTE);
+        JCheckBoxMenuItem abntItem = new JCheckBoxMenuItem("Teclado ABNT2 (acentos)");
         JMenuItem exitItem = new JMenuItem("Sair");
 
         resetItem.addActionListener(ev -> {
@@ -201,19 +271,44 @@ public class GameWindow {
             }
         });
 
+        // Inicia uma partida com a palavra do dia, compartilhada por todos os jogadores.
+        dailyItem.addActionListener(ev -> {
+            int confirm = JOptionPane.showConfirmDialog(mainFrame,
+                    "Iniciar a palavra do dia? O jogo atual será perdido.",
+                    "Palavra do dia", JOptionPane.YES_NO_OPTION);
+            if (confirm == JOptionPane.YES_OPTION) {
+                resetGame(new Game(file, DailyPuzzle.hoje(jogo.getDictionary())));
+            }
+        });
+
+        // Abre o painel de análises assim que a análise incremental do histórico terminar.
+        analyticsItem.addActionListener(ev -> HistoryAnalyzer.atualizarAsync(jogo.getDictionary())
+                .thenAccept(agregado -> SwingUtilities.invokeLater(
+                        () -> AnalyticsPanel.mostrar(mainFrame, agregado, jogo.getDictionary()))));
+
+        // Troca o tema em tempo de execução.
+        contrastItem.addActionListener(ev -> Theme.setAtual(contrastItem.isSelected() ? Theme.ALTO_CONTRASTE : Theme.ESCURO));
+
+        // Alterna o teclado virtual entre o layout americano e o brasileiro (com Ç e vogais acentuadas).
+        abntItem.addActionListener(ev -> virtualKeyboard.setLayoutTeclado(abntItem.isSelected()
+                ? VirtualKeyboard.Layout.ABNT2 : VirtualKeyboard.Layout.QWERTY));
+
         exitItem.addActionListener(ev -> {
             int confirm = JOptionPane.showConfirmDialog(mainFrame,
                     "Deseja sair para a tela de login? O jogo atual será perdido.",
                     "Confirmar saída", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
                 // Mostra as estatísticas e, ao fechar, executa o método exitToLogin como callback.
-                statsOverlay = new StatsOverlay(usuario.getPerfil());
-                statsOverlay.show(this.hasWon(), mainFrame, this::exitToLogin);
+                statsOverlay.show(usuario.getPerfil().resumo(), this::exitToLogin);
             }
         });
 
 
         settingsMenu.add(resetItem);
+        settingsMenu.add(dailyItem);
+        settingsMenu.add(analyticsItem);
+        settingsMenu.add(contrastItem);
+        settingsMenu.add(abntItem);
         settingsMenu.add(exitItem);
 
         rightBtn.addActionListener(e -> {
@@ -232,10 +327,10 @@ public class GameWindow {
         warnPanel.setOpaque(false);
 
         warnLabel = new JLabel("", JLabel.CENTER);
-        warnLabel.setForeground(Color.WHITE);
+        warnLabel.setForeground(Theme.atual().texto);
         updateWarnLabelFont();
         warnLabel.setOpaque(false); // Fica transparente por padrão.
-        warnLabel.setBackground(Color.decode("#009AFE"));
+        warnLabel.setBackground(Theme.atual().aviso);
         warnLabel.setBorder(BorderFactory.createEmptyBorder(5, 15, 5, 15));
 
         warnPanel.add(warnLabel);
@@ -247,24 +342,20 @@ public class GameWindow {
      * Cria o painel central que contém o grid de caixas de letras.
      */
     private void createGamePanel() {
-        // O `controlPanel` é o container direto para as LetterBoxes.
-        controlPanel = new JPanel(new GridLayout(ROW, COLUMN, 5, 5));
-        controlPanel.setOpaque(false);
+        grid = new GameGrid(ROW, COLUMN, this::handleVirtualKey, this::selectColumn);
 
         // Um painel "wrapper" é usado para centralizar o grid na tela.
         JPanel centerWrapper = new JPanel(new GridBagLayout());
         centerWrapper.setOpaque(false);
-        centerWrapper.add(controlPanel);
+        centerWrapper.add(grid);
 
-        // Se a tela for muito pequena, o grid é colocado dentro de um JScrollPane para permitir rolagem.
-        if (isVerySmallScreen) {
-            gameScrollPane = new JScrollPane(centerWrapper);
-            gameScrollPane.setOpaque(false);
-            gameScrollPane.getViewport().setOpaque(false);
-            gameScrollPane.setBorder(null);
-            gameScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
-            gameScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-        }
+        // O grid fica sempre dentro de um JScrollPane; em janelas muito pequenas as barras aparecem sozinhas.
+        gameScrollPane = new JScrollPane(centerWrapper);
+        gameScrollPane.setOpaque(false);
+        gameScrollPane.getViewport().setOpaque(false);
+        gameScrollPane.setBorder(null);
+        gameScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        gameScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
 
         updateGamePanelSize();
     }
@@ -274,10 +365,10 @@ public class GameWindow {
      * A criação é delegada para a classe VirtualKeyboard.
      */
     private void createKeyboardPanel() {
-        virtualKeyboard = new VirtualKeyboard(this::handleVirtualKey, isVerySmallScreen, isSmallScreen, this.hasWon());
+        virtualKeyboard = new VirtualKeyboard(this::handleVirtualKey, escala, this.hasWon());
         statusLabel = new JLabel("", JLabel.CENTER);
         statusLabel.setSize(350, 100);
-        statusLabel.setForeground(Color.WHITE);
+        statusLabel.setForeground(Theme.atual().texto);
     }
 
     /**
@@ -286,15 +377,8 @@ public class GameWindow {
     private void layoutComponents() {
         mainFrame.add(headerPanel, BorderLayout.NORTH);
 
-        // Adiciona o painel de jogo (com ou sem scroll) na área central.
-        if (isVerySmallScreen && gameScrollPane != null) {
-            mainFrame.add(gameScrollPane, BorderLayout.CENTER);
-        } else {
-            JPanel centerWrapper = new JPanel(new GridBagLayout());
-            centerWrapper.setOpaque(false);
-            centerWrapper.add(controlPanel);
-            mainFrame.add(centerWrapper, BorderLayout.CENTER);
-        }
+        // Adiciona o painel de jogo na área central.
+        mainFrame.add(gameScrollPane, BorderLayout.CENTER);
 
         // O painel sul contém o teclado virtual e a label de status.
         southPanel = new JPanel(new BorderLayout());
@@ -308,8 +392,40 @@ public class GameWindow {
      * Reseta o estado do jogo para uma nova partida.
      */
     private void resetGame() {
-        // Cria uma nova instância de jogo, obtendo uma nova palavra.
-        jogo = new Game(file);
+        // Usa a palavra preparada em segundo plano ao fim da rodada; se não houver (reset no meio
+        // da rodada) ou a preparação falhou, cria uma nova com a próxima palavra do rodízio do jogador.
+        Game novo = null;
+        if (proximoJogo != null) {
+            try {
+                novo = new Game(file, usuario.getPerfil(), proximoJogo.join());
+            } catch (CompletionException e) {
+                log.aviso(() -> "Falha ao preparar a próxima partida: " + e.getCause());
+            }
+            proximoJogo = null;
+        }
+        resetGame(novo != null ? novo : new Game(file, usuario.getPerfil()));
+    }
+
+    /**
+     * Prepara em segundo plano a palavra da próxima partida do jogador, para que "Resetar jogo"
+     * seja instantâneo. A palavra só sai do rodízio quando a partida começa: se o jogador for para
+     * a palavra do dia ou sair, ela continua disponível no rodízio.
+     */
+    private void prepararProximoJogo() {
+        if (proximoJogo != null) return; // Já há uma preparada e ainda não usada.
+        PerfilJogador perfil = usuario.getPerfil();
+        proximoJogo = StartupPipeline.emSegundoPlano(() -> {
+            WordDictionary dictionary = WordDictionary.get(file);
+            return SecretState.of(dictionary, dictionary.getWord(perfil.espiarProximoSegredo(dictionary)));
+        });
+    }
+
+    /**
+     * Reseta o estado da janela para a partida informada (comum ou palavra do dia).
+     * @param novoJogo A nova partida.
+     */
+    private void resetGame(Game novoJogo) {
+        jogo = novoJogo;
 
         // Reseta os índices de posição.
         currentRow = 0;
@@ -319,66 +435,55 @@ public class GameWindow {
         setWarnMessage("");
         if (statusLabel != null) statusLabel.setText("");
 
-        // Recria o teclado virtual para limpar as cores das teclas.
-        virtualKeyboard = new VirtualKeyboard(this::handleVirtualKey, isVerySmallScreen, isSmallScreen, this.hasWon());
+        // Resultados ainda não aplicados são da partida anterior; os da nova chegam pela ponte.
+        resultados.descartar();
+        jogo.setOuvinte(resultados::publicar);
 
-        // Substitui o teclado antigo pelo novo no painel sul.
-        if (southPanel != null) {
-            southPanel.removeAll();
-            southPanel.add(virtualKeyboard, BorderLayout.CENTER);
-            southPanel.add(statusLabel, BorderLayout.SOUTH);
-            southPanel.revalidate();
-            southPanel.repaint();
+        // Limpa as cores das teclas (o teclado é reaproveitado).
+        if (virtualKeyboard != null) {
+            virtualKeyboard.reset();
         }
 
-        // Limpa e reconfigura todas as caixas de letras para o estado inicial.
-        if (letterBoxes != null) {
-            for (int r = 0; r < ROW; r++) {
-                for (int c = 0; c < COLUMN; c++) {
-                    LetterBox box = letterBoxes[r][c];
-                    if (box == null) continue;
-                    box.setText("");
-
-                    // Linhas futuras são desabilitadas, linha atual é habilitada.
-                    if (r != currentRow) {
-                        box.setOpaque(true);
-                        box.setBackground(Color.decode("#615458"));
-                        box.setBorder(new RoundedBorder(15, "#615458", 6));
-                        box.setEnabled(false);
-                        box.setEditable(false);
-                    } else {
-                        box.setOpaque(false);
-                        box.setBackground(null); // Remove o fundo colorido
-                        box.setBorder(new RoundedBorder(15, "#4c4347", 6)); // Restaura a borda padrão da linha ativa
-                        box.setEnabled(true);
-                        box.setEditable(true);
-                    }
-                }
-            }
+        // Limpa o grid: primeira linha ativa e cursor na primeira célula.
+        if (grid != null) {
+            grid.limpar();
+            SwingUtilities.invokeLater(() -> grid.requestFocusInWindow());
         }
-
-        // Devolve o foco para a primeira caixa da primeira linha.
-        SwingUtilities.invokeLater(() -> {
-            if (letterBoxes != null && letterBoxes[0][0] != null) {
-                letterBoxes[0][0].requestFocusInWindow();
-            }
-        });
-
-        controlPanel.revalidate();
-        controlPanel.repaint();
     }
 
     /**
      * Fecha a janela do jogo e retorna para a tela de login.
      */
     private void exitToLogin() {
+        // Para o que ainda roda sobre a janela: animações do grid (e seus callbacks de fim de
+        // jogo), o redimensionamento pendente e resultados ainda não aplicados.
+        if (grid != null) {
+            AnimationScheduler.compartilhado().cancelar(grid);
+        }
+        if (resizeTimer != null) {
+            resizeTimer.stop();
+        }
+        resultados.descartar();
         // Descarta a janela atual.
         if (mainFrame != null) {
             mainFrame.dispose();
         }
-        // Reseta o estado do jogo.
+        if (cancelarTema != null) {
+            cancelarTema.run();
+            cancelarTema = null;
+        }
+        if (statsOverlay != null) {
+            statsOverlay.dispose();
+            statsOverlay = null;
+        }
+        if (latencyHud != null) {
+            latencyHud.dispose();
+            latencyHud = null;
+        }
+        // Reseta o estado do jogo (a partida é criada de novo depois do próximo login).
         usuario = null;
-        jogo = new Game(file);
+        jogo = null;
+        proximoJogo = null;
         currentRow = 0;
         currentCol = 0;
 
@@ -396,113 +501,86 @@ public class GameWindow {
     private JButton makeHeaderButton(String label) {
         JButton b = new JButton(label);
         b.setFocusable(false);
-        b.setFont(new Font("Arial", Font.BOLD, 16));
-        b.setBackground(Color.decode("#3d3a3b"));
-        b.setForeground(Color.WHITE);
-        b.setBorder(new RoundedBorder(8, "#3d3a3b", 2));
         b.setOpaque(true);
+        styleHeaderButton(b, Theme.atual());
         return b;
     }
 
-    // --- Métodos para Lógica Responsiva ---
-
     /**
-     * Chamado quando a janela é redimensionada. Decide se o layout precisa ser recriado
-     * ou se apenas os tamanhos dos componentes precisam ser atualizados.
+     * Aplica as cores, a fonte e a borda do tema a um botão do cabeçalho.
      */
-    private void updateResponsiveLayout() {
-        Dimension currentSize = mainFrame.getSize();
-
-        boolean wasSmallScreen = isSmallScreen;
-        boolean wasVerySmallScreen = isVerySmallScreen;
-
-        isVerySmallScreen = currentSize.width < 600 || currentSize.height < 500;
-        isSmallScreen = currentSize.width < 900 || currentSize.height < 700;
-
-        // Se mudou de uma "categoria" de tamanho para outra (ex: normal para pequena), recria o layout.
-        if (wasSmallScreen != isSmallScreen || wasVerySmallScreen != isVerySmallScreen) {
-            SwingUtilities.invokeLater(() -> recreateLayout());
-        } else {
-            // Caso contrário, se o tamanho mudou mas a categoria é a mesma, apenas atualiza os tamanhos.
-            updateComponentSizes();
-        }
+    private void styleHeaderButton(JButton b, Theme tema) {
+        b.setFont(tema.fonte(Font.BOLD, 16));
+        b.setBackground(tema.botaoCabecalho);
+        b.setForeground(tema.texto);
+        b.setBorder(tema.borda(8, tema.botaoCabecalho, 2));
     }
 
     /**
-     * Recria o layout inteiro da janela. É útil quando há uma mudança significativa
-     * de tamanho que requer mais do que apenas um ajuste de dimensões (ex: adicionar/remover o JScrollPane).
+     * Reaplica o tema em uso aos componentes existentes. O grid e o teclado leem o tema ao pintar,
+     * então só precisam ser repintados; as peças do tema anterior são descartadas do cache.
      */
-    private void recreateLayout() {
-        // Armazena o estado atual das caixas de letras antes de remover tudo.
-        LetterBox[][] oldLetterBoxes = new LetterBox[ROW][COLUMN];
-        for (int i = 0; i < ROW; i++) {
-            System.arraycopy(letterBoxes[i], 0, oldLetterBoxes[i], 0, COLUMN);
-        }
-
-        mainFrame.getContentPane().removeAll();
-        // Recria os painéis com as novas configurações de tela (isSmallScreen, etc.).
-        createGamePanel();
-        createKeyboardPanel();
+    private void aplicarTema() {
+        Theme tema = Theme.atual();
+        TileCache.invalidar();
+        mainFrame.getContentPane().setBackground(tema.fundoJanela);
+        headerLabel.setForeground(tema.texto);
+        warnLabel.setForeground(tema.texto);
+        warnLabel.setBackground(tema.aviso);
+        statusLabel.setForeground(tema.texto);
+        updateHeaderFont();
+        updateWarnLabelFont();
+        forEachHeaderButton(headerPanel, b -> styleHeaderButton(b, tema));
+        mainFrame.repaint();
+    }
 
-        // Restaura o estado das caixas (texto, cores) no novo painel.
-        restoreLetterBoxes(oldLetterBoxes);
+    // --- Métodos para Lógica Responsiva ---
 
-        layoutComponents(); // Reorganiza os componentes na janela.
-        updateComponentSizes(); // Ajusta os tamanhos finais.
+    /**
+     * Chamado quando os eventos de redimensionamento param. Recalcula o fator de escala a partir do
+     * tamanho da janela e ajusta os componentes existentes, sem recriá-los.
+     */
+    private void updateResponsiveLayout() {
+        double novaEscala = calcularEscala(mainFrame.getSize());
+        if (Math.abs(novaEscala - escala) < 0.01) return; // Mudança imperceptível
+        escala = novaEscala;
+        LayoutRebuildEvent evento = new LayoutRebuildEvent();
+        evento.begin();
+        TileCache.invalidar(); // As peças do tamanho anterior não serão mais usadas.
+        updateComponentSizes();
         mainFrame.revalidate();
         mainFrame.repaint();
+        if (evento.shouldCommit()) {
+            evento.largura = mainFrame.getWidth();
+            evento.altura = mainFrame.getHeight();
+            evento.escala = escala;
+            evento.commit();
+        }
     }
 
     /**
-     * Restaura as caixas de letras após o layout ter sido recriado.
-     * Isso preserva o texto, as cores e o estado do jogo visualmente.
-     * @param oldBoxes A matriz com o estado anterior das caixas.
+     * Fator de escala da interface: 1.0 em uma janela de 1000x900 ou maior, diminuindo
+     * proporcionalmente até 0.5 em janelas menores.
+     * @param size Tamanho disponível.
+     * @return O fator de escala.
      */
-    private void restoreLetterBoxes(LetterBox[][] oldBoxes) {
-        controlPanel.removeAll();
-
-        // Calcula os novos tamanhos responsivos para as caixas e fontes.
-        int boxSize = isVerySmallScreen ? 40 : (isSmallScreen ? 55 : 70);
-        int fontSize = isVerySmallScreen ? 18 : (isSmallScreen ? 24 : 28);
-
-        for (int row = 0; row < ROW; row++) {
-            for (int col = 0; col < COLUMN; col++) {
-                LetterBox oldBox = oldBoxes[row][col];
-                LetterBox newBox = new LetterBox(1, 1);
-
-                // Copia todas as propriedades importantes da caixa antiga para a nova.
-                newBox.setText(oldBox.getText());
-                newBox.setBackground(oldBox.getBackground());
-                newBox.setOpaque(oldBox.isOpaque());
-                newBox.setEnabled(oldBox.isEnabled());
-                newBox.setEditable(oldBox.isEditable());
-                newBox.setPreferredSize(new Dimension(boxSize, boxSize)); // Aplica novo tamanho.
-                newBox.setHorizontalAlignment(JTextField.CENTER);
-                newBox.setForeground(Color.WHITE);
-                newBox.setFont(new Font("Arial", Font.BOLD, fontSize)); // Aplica nova fonte.
-                newBox.setDisabledTextColor(Color.WHITE);
-                newBox.setBorder(oldBox.getBorder()); // Mantém a borda/cor.
-
-                // Adiciona o listener de teclado à nova caixa.
-                newBox.addKeyListener(createLetterBoxKeyListener(row, col));
-
-                letterBoxes[row][col] = newBox; // Substitui a caixa na matriz de referência.
-                controlPanel.add(newBox);
-            }
-        }
-
-        // Restaura o foco para a posição correta.
-        if (currentRow < ROW && currentCol < COLUMN && letterBoxes[currentRow][currentCol].isEnabled()) {
-            letterBoxes[currentRow][currentCol].requestFocusInWindow();
-        }
-
-        controlPanel.revalidate();
-        controlPanel.repaint();
+    private static double calcularEscala(Dimension size) {
+        double fator = Math.min(size.width / 1000.0, size.height / 900.0);
+        return Math.max(0.5, Math.min(1.0, fator));
     }
 
+    /**
+     * Aplica o fator de escala a um tamanho de referência (o da janela grande).
+     * @param base Tamanho na escala 1.0.
+     * @param minimo Menor tamanho aceitável.
+     * @return O tamanho escalado.
+     */
+    private int escalar(int base, int minimo) {
+        return Math.max(minimo, (int) Math.round(base * escala));
+    }
 
     /**
-     * Atualiza os tamanhos (dimensões, fontes) de todos os componentes com base nos flags de tela.
+     * Atualiza os tamanhos (dimensões, fontes) de todos os componentes com base no fator de escala.
      */
     private void updateComponentSizes() {
         updateHeaderFont();
@@ -511,24 +589,19 @@ public class GameWindow {
         updateKeyboardSizes();
 
         // Percorre o cabeçalho para atualizar o tamanho dos botões.
-        Component[] headerComponents = headerPanel.getComponents();
-        for (Component comp : headerComponents) {
-            if (comp instanceof JPanel) {
-                updateHeaderButtonsInPanel((JPanel) comp);
-            }
-        }
+        forEachHeaderButton(headerPanel, this::updateButtonSize);
     }
 
     /**
-     * Método recursivo para encontrar e atualizar botões dentro de um painel aninhado.
+     * Método recursivo para encontrar os botões dentro de um painel aninhado.
      */
-    private void updateHeaderButtonsInPanel(JPanel panel) {
+    private void forEachHeaderButton(JPanel panel, java.util.function.Consumer<JButton> acao) {
         Component[] components = panel.getComponents();
         for (Component comp : components) {
             if (comp instanceof JButton) {
-                updateButtonSize((JButton) comp);
+                acao.accept((JButton) comp);
             } else if (comp instanceof JPanel) {
-                updateHeaderButtonsInPanel((JPanel) comp);
+                forEachHeaderButton((JPanel) comp, acao);
             }
         }
     }
@@ -536,32 +609,30 @@ public class GameWindow {
     // Métodos auxiliares para atualizar o tamanho de fontes e componentes específicos.
     private void updateHeaderFont() {
         if (headerLabel != null) {
-            int fontSize = isVerySmallScreen ? 20 : (isSmallScreen ? 26 : 32);
-            headerLabel.setFont(new Font("Arial", Font.BOLD, fontSize));
+            int fontSize = escalar(32, 20);
+            headerLabel.setFont(Theme.atual().fonte(Font.BOLD, fontSize));
         }
     }
 
     private void updateWarnLabelFont() {
         if (warnLabel != null) {
-            int fontSize = isVerySmallScreen ? 12 : (isSmallScreen ? 15 : 18);
-            warnLabel.setFont(new Font("Arial", Font.BOLD, fontSize));
+            int fontSize = escalar(18, 12);
+            warnLabel.setFont(Theme.atual().fonte(Font.BOLD, fontSize));
         }
     }
 
     private void updateButtonSize(JButton btn) {
-        int size = isVerySmallScreen ? 28 : (isSmallScreen ? 32 : 36);
+        int size = escalar(36, 28);
         btn.setPreferredSize(new Dimension(size, size));
     }
 
     private void updateGamePanelSize() {
-        if (controlPanel != null) {
-            int boxSize = isVerySmallScreen ? 40 : (isSmallScreen ? 55 : 70);
-            int gap = isVerySmallScreen ? 3 : 5;
-            controlPanel.setLayout(new GridLayout(ROW, COLUMN, gap, gap));
-            // Calcula e define o tamanho exato do painel do grid.
-            int totalWidth = (boxSize * COLUMN) + (gap * (COLUMN - 1));
-            int totalHeight = (boxSize * ROW) + (gap * (ROW - 1));
-            controlPanel.setPreferredSize(new Dimension(totalWidth, totalHeight));
+        if (grid != null) {
+            int boxSize = escalar(70, 35);
+            int fontSize = escalar(28, 16);
+            int gap = escalar(5, 3);
+            // O grid calcula o próprio tamanho a partir da célula e do espaçamento.
+            grid.setTamanhoCelula(boxSize, gap, fontSize);
         }
     }
 
@@ -570,181 +641,112 @@ public class GameWindow {
      */
     private void updateKeyboardSizes() {
         if (virtualKeyboard != null) {
-            virtualKeyboard.updateSizes(isVerySmallScreen, isSmallScreen);
+            virtualKeyboard.updateSizes(escala);
         }
     }
 
     // --- Métodos para Manipulação de Input e Lógica de Jogo ---
 
     /**
-     * Cria e retorna um KeyAdapter para ser adicionado a cada LetterBox.
-     * Este listener lida com a digitação, backspace, enter e navegação com as setas.
-     */
-    private KeyAdapter createLetterBoxKeyListener(final int row, final int col) {
-        return new KeyAdapter() {
-            @Override
-            public void keyTyped(KeyEvent e) {
-                if (row != currentRow) return; // Só permite digitar na linha ativa.
-                char ch = e.getKeyChar();
-                if (Character.isLetter(ch)) {
-                    letterBoxes[row][col].setText(String.valueOf(ch).toUpperCase());
-                    // Avança o foco para a próxima caixa.
-                    if (currentCol == col && currentCol < COLUMN - 1) {
-                        currentCol++;
-                    }
-                    SwingUtilities.invokeLater(() -> letterBoxes[row][currentCol].requestFocusInWindow());
-                    e.consume(); // Consome o evento para evitar processamento duplicado.
-                }
-            }
-
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (row != currentRow) return;
-                int keyCode = e.getKeyCode();
-                LetterBox currentBox = letterBoxes[currentRow][currentCol];
-
-                if (keyCode == KeyEvent.VK_BACK_SPACE) {
-                    // Se a caixa atual está vazia, move para a anterior e apaga.
-                    if (currentBox.getText().isEmpty() && currentCol > 0) {
-                        moveToPreviousColumn();
-                        letterBoxes[currentRow][currentCol].setText("");
-                    } else { // Se não, apenas apaga a atual.
-                        currentBox.setText("");
-                    }
-                    setWarnMessage("");
-                    e.consume();
-                } else if (keyCode == KeyEvent.VK_ENTER && currentCol == COLUMN - 1) {
-                    // Só submete se estiver na última coluna.
-                    submitGuess();
-                    e.consume();
-                } else if (keyCode == KeyEvent.VK_RIGHT && currentCol < COLUMN - 1) {
-                    moveToNextColumn();
-                    e.consume();
-                } else if (keyCode == KeyEvent.VK_LEFT && currentCol > 0) {
-                    moveToPreviousColumn();
-                    e.consume();
-                }
-            }
-        };
-    }
-
-    /**
-     * Manipula eventos de clique vindos do teclado virtual.
-     * @param key A string que representa a tecla clicada ("A", "B", "ENTER", "BACK").
+     * Manipula as teclas vindas do teclado virtual e do teclado físico (repassadas pelo grid).
+     * @param key A string que representa a tecla ("A", "B", "ENTER", "BACK", "LEFT", "RIGHT").
      */
     private void handleVirtualKey(String key) {
+        if (!grid.isEntradaHabilitada()) return; // Jogo encerrado.
+        long inicio = InputLatency.inicioDoEventoAtual(); // Horário da tecla ou do clique
+        long repintes = grid.getRepintes();
+        int celula = -1; // Coluna alterada pela tecla (-1: a nova posição do cursor)
         if (key.length() == 1 && Character.isLetter(key.charAt(0))) {
-            LetterBox currentBox = letterBoxes[currentRow][currentCol];
-            currentBox.setText(key.toUpperCase());
-            // Avança para a próxima coluna, se não for a última.
-            if (currentCol < COLUMN - 1) {
-                currentCol++;
-                letterBoxes[currentRow][currentCol].requestFocus();
-            }
+            celula = currentCol;
+            grid.setLetra(currentRow, currentCol, Character.toUpperCase(key.charAt(0)));
+            moveToNextColumn(); // Avança para a próxima coluna, se não for a última.
         } else if ("ENTER".equalsIgnoreCase(key)) {
-            submitGuess();
+            submitGuess(inicio);
+            return;
         } else if ("BACK".equalsIgnoreCase(key)) {
-            LetterBox currentBox = letterBoxes[currentRow][currentCol];
             // Se a caixa atual está vazia e não é a primeira, move para trás e apaga.
-            if (currentBox.getText().isEmpty() && currentCol > 0) {
-                currentCol--;
-                letterBoxes[currentRow][currentCol].setText("");
-            } else { // Se não, apenas apaga o conteúdo da caixa atual.
-                currentBox.setText("");
+            if (grid.getLetra(currentRow, currentCol) == 0 && currentCol > 0) {
+                moveToPreviousColumn();
             }
-            letterBoxes[currentRow][currentCol].requestFocus();
+            grid.setLetra(currentRow, currentCol, (char) 0);
             setWarnMessage(""); // Limpa qualquer aviso.
+        } else if ("LEFT".equalsIgnoreCase(key)) {
+            moveToPreviousColumn();
+        } else if ("RIGHT".equalsIgnoreCase(key)) {
+            moveToNextColumn();
+        }
+        // Mede até a célula aparecer na tela, se a tecla mudou algo no grid.
+        if (grid.getRepintes() != repintes) {
+            medirLatencia(InputLatency.Tipo.DIGITACAO, inicio, currentRow, celula >= 0 ? celula : currentCol);
         }
     }
 
     /**
-     * Preenche o `controlPanel` com as instâncias de `LetterBox` e as configura.
-     * Este método é chamado uma vez no início para montar o grid do jogo.
+     * Registra a latência da entrada quando a célula indicada terminar de ser pintada.
+     * @param inicio Início da medida (ver {@link InputLatency#inicio(long)}).
      */
-    public void showEventDemo() {
-        controlPanel.removeAll();
-        int boxSize = isVerySmallScreen ? 40 : (isSmallScreen ? 55 : 70);
-        int fontSize = isVerySmallScreen ? 18 : (isSmallScreen ? 24 : 28);
-
-        for (int row = 0; row < ROW; row++) {
-            for (int col = 0; col < COLUMN; col++) {
-                LetterBox box = new LetterBox(1, 1);
-                // Estilização padrão da caixa de letra.
-                box.setBorder(new RoundedBorder(15, "#4c4347", 6));
-                box.setOpaque(false);
-                box.setHorizontalAlignment(JTextField.CENTER);
-                box.setForeground(Color.WHITE);
-                box.setFont(new Font("Arial", Font.BOLD, fontSize));
-                box.setDisabledTextColor(Color.WHITE);
-                box.setPreferredSize(new Dimension(boxSize, boxSize));
-
-                // Desabilita caixas que não são da linha atual.
-                if (row != currentRow) {
-                    box.setOpaque(true);
-                    box.setBackground(Color.decode("#615458"));
-                    box.setBorder(new RoundedBorder(15, "#615458", 6));
-                    box.setEnabled(false);
-                    box.setEditable(false);
-                } else { // Habilita apenas a linha atual.
-                    box.setEnabled(true);
-                    box.setEditable(true);
-                }
+    private void medirLatencia(InputLatency.Tipo tipo, long inicio, int row, int col) {
+        grid.aoPintarCelula(row, col, () -> latencia.registrar(tipo, inicio));
+    }
 
-                box.addKeyListener(createLetterBoxKeyListener(row, col));
-                letterBoxes[row][col] = box;
-                controlPanel.add(box);
-            }
-        }
+    /**
+     * Posiciona o cursor na coluna clicada da linha atual.
+     * @param col A coluna clicada.
+     */
+    private void selectColumn(int col) {
+        currentCol = col;
+        grid.setCursor(currentRow, currentCol);
+    }
 
-        letterBoxes[0][0].requestFocusInWindow(); // Põe o foco na primeira caixa.
-        controlPanel.revalidate();
-        controlPanel.repaint();
+    /**
+     * Prepara o grid para a primeira partida e exibe a janela.
+     */
+    public void showEventDemo() {
+        jogo.setOuvinte(resultados::publicar);
+        grid.limpar();
+        grid.setCursor(currentRow, currentCol);
         mainFrame.setVisible(true); // Torna a janela do jogo visível.
+        grid.requestFocusInWindow(); // Põe o foco no grid.
     }
 
     // Métodos para mover o cursor entre as colunas.
     private void moveToNextColumn() {
-        if (currentCol < 4) {
+        if (currentCol < COLUMN - 1) {
             currentCol++;
-            letterBoxes[currentRow][currentCol].requestFocus();
+            grid.setCursor(currentRow, currentCol);
         }
     }
 
     private void moveToPreviousColumn() {
         if (currentCol > 0) {
             currentCol--;
-            letterBoxes[currentRow][currentCol].requestFocus();
+            grid.setCursor(currentRow, currentCol);
         }
     }
 
     /**
      * Processa a tentativa do jogador quando o Enter é pressionado.
      * Este é o coração da lógica de interação do jogo.
+     * @param inicio Início da medida de latência do envio (ver {@link InputLatency#inicio(long)}).
      */
-    private void submitGuess() {
-        StringBuilder guess = new StringBuilder();
-        for (int col = 0; col < COLUMN; col++) {
-            guess.append(letterBoxes[currentRow][col].getText());
-        }
+    private void submitGuess(long inicio) {
+        String guess = grid.getLinha(currentRow);
 
         if (guess.length() == COLUMN) { // Garante que a palavra está completa.
-            boolean isValid = jogo.validateGuess(guess.toString());
+            // Um chute válido emite um RowResult, que a ponte aplica na tela (ver aplicarResultados).
+            boolean isValid = jogo.validateGuess(guess);
             if (isValid) {
-                guessProcessing(); // Colore as letras e o teclado.
-                // Se o jogo não acabou (nem vitória, nem última tentativa)...
+                // A linha começa a ser revelada no passe da ponte.
+                medirLatencia(InputLatency.Tipo.ENVIO, inicio, currentRow, 0);
+                // Se o jogo não acabou (nem vitória, nem última tentativa), a digitação segue na próxima linha.
                 if (currentRow < ROW - 1 && !hasWon()) {
                     currentRow++;
                     currentCol = 0;
-                    // Habilita a próxima linha.
-                    for (int c = 0; c < COLUMN; c++) {
-                        letterBoxes[currentRow][c].setOpaque(false);
-                        letterBoxes[currentRow][c].setBorder(new RoundedBorder(15, "#4c4347", 6));
-                        letterBoxes[currentRow][c].setEnabled(true);
-                        letterBoxes[currentRow][c].setEditable(true);
-                    }
-                    letterBoxes[currentRow][currentCol].requestFocus();
                 } else { // Fim de jogo.
                     setWarnMessage("Fim do jogo !");
+                    // Na palavra do dia, só o primeiro resultado do jogador no dia entra no agregado.
+                    boolean contaNoDia = jogo.getDaily() != null
+                            && usuario.getPerfil().marcarPalavraDoDia(jogo.getDaily().getData());
                     // Registra vitória ou derrota e desabilita o jogo.
                     if (this.hasWon()) {
                         usuario.getPerfil().registrarVitoria(currentRow + 1);
@@ -752,21 +754,30 @@ public class GameWindow {
                     } else {
                         usuario.getPerfil().registrarDerrota(currentRow + 1);
                     }
-                    // Desabilita todas as caixas de letra.
-                    for (int r = 0; r < ROW; r++) {
-                        for (int c = 0; c < COLUMN; c++) {
-                            letterBoxes[r][c].setEditable(false);
-                        }
+                    if (jogo.getDaily() != null) {
+                        DailyPuzzle.Stats dia = jogo.getDaily().getStats();
+                        if (contaNoDia) dia.registrar(this.hasWon(), currentRow + 1);
+                        statusLabel.setText(String.format("Palavra do dia: %d%% resolveram (%d jogos)%s",
+                                (int) dia.getTaxaResolucao(), dia.getJogos(),
+                                contaNoDia ? "" : " - só a primeira partida do dia conta"));
                     }
-                    // Exibe a tela de estatísticas.
-                    statsOverlay = new StatsOverlay(usuario.getPerfil());
-                    statsOverlay.show(this.hasWon(), mainFrame);
+                    // Registra a partida no histórico e reprocessa as análises em segundo plano.
+                    GameHistory.registrar(jogo.getPalavra(), this.hasWon(), jogo.getTentativas());
+                    HistoryAnalyzer.atualizarAsync(jogo.getDictionary());
+                    // Já deixa a próxima partida pronta.
+                    prepararProximoJogo();
+                    // Bloqueia a entrada no grid.
+                    grid.setEntradaHabilitada(false);
                 }
             } else {
                 setWarnMessage("Essa palavra não é aceita");
+                grid.tremerLinha(currentRow);
+                // Sem animação a linha não muda e não há pintura para medir.
+                if (AnimationScheduler.compartilhado().animando(grid)) {
+                    medirLatencia(InputLatency.Tipo.ENVIO, inicio, currentRow, 0);
+                }
             }
         }
-        controlPanel.repaint();
     }
     /**
      * Verifica se o jogador venceu o jogo.
@@ -777,42 +788,67 @@ public class GameWindow {
     }
 
     /**
-     * Atualiza a cor das LetterBoxes na linha atual com base no resultado da tentativa.
+     * Aplica na tela, em um único passe da EDT, os resultados publicados desde o último passe:
+     * revela cada linha, libera a próxima e, no fim do jogo, mostra as estatísticas.
+     * @param lote Os resultados, em ordem.
      */
-    public void guessProcessing() {
-        char[] resultado = jogo.getResultado();
-        String guess = jogo.getpalavratentativa(); // Pega a palavra com acentos do controller.
-
-        // Atualiza o texto nas caixas para mostrar acentos, se houver.
-        for (int i = 0; i < COLUMN; i++) {
-            letterBoxes[currentRow][i].setText(String.valueOf(guess.charAt(i)));
+    private void aplicarResultados(List<RowResult> lote) {
+        for (RowResult r : lote) {
+            boolean fim = r.venceu || r.tentativa == ROW - 1;
+            Runnable aoRevelar = null;
+            if (fim) {
+                // Exibe a tela de estatísticas depois da revelação (e, na vitória, do pulo da linha),
+                // a não ser que a janela tenha sido descartada (saída para o login) nesse meio tempo.
+                JFrame janela = mainFrame;
+                Runnable mostrarEstatisticas = () -> {
+                    if (janela != mainFrame || !janela.isDisplayable() || statsOverlay == null || usuario == null) return;
+                    statsOverlay.show(usuario.getPerfil().resumo());
+                };
+                aoRevelar = r.venceu ? () -> grid.pularLinha(r.tentativa, mostrarEstatisticas) : mostrarEstatisticas;
+            }
+            guessProcessing(r, aoRevelar);
+            if (!fim) grid.setLinhaAtiva(r.tentativa + 1); // Habilita a próxima linha.
+        }
+        // O cursor segue a posição atual (o jogador pode ter digitado antes deste passe).
+        if (grid.isEntradaHabilitada()) {
+            grid.setCursor(currentRow, currentCol);
+        } else {
+            grid.setCursor(-1, -1);
         }
+    }
 
-        // Colore as caixas de acordo com o resultado e as desabilita.
+    /**
+     * Revela a cor das células de uma linha com base no resultado da tentativa: as células
+     * viram uma a uma e o teclado é colorido quando a última termina.
+     * @param r O resultado da tentativa.
+     * @param aoRevelar Chamado ao fim da revelação (pode ser null).
+     */
+    public void guessProcessing(RowResult r, Runnable aoRevelar) {
+        char[] resultado = r.padrao.toCharArray();
+        String guess = r.palavra; // Palavra com acentos, na forma do dicionário.
+
+        // Calcula a cor de cada célula.
+        byte[] estados = new byte[COLUMN];
         for (int i = 0; i < COLUMN; i++) {
-            LetterBox box = letterBoxes[currentRow][i];
-            box.setEditable(false);
-            box.setEnabled(false);
-            box.setOpaque(true);
             switch (resultado[i]) {
                 case 'G' :
-                    box.setBackground(Color.decode("#3aa394"));
-                    box.setBorder(new RoundedBorder(15, "#3aa394", 6));
+                    estados[i] = GameGrid.VERDE;
                     break;
                 case 'Y' :
-                    box.setBackground(Color.decode("#d3ad69"));
-                    box.setBorder(new RoundedBorder(15, "#d3ad69", 6));
+                    estados[i] = GameGrid.AMARELA;
                     break;
-                case 'B' :
-                    box.setBackground(Color.decode("#312a2c"));
-                    box.setBorder(new RoundedBorder(15, "#312a2c", 6));
+                default :
+                    estados[i] = GameGrid.CINZA;
                     break;
             }
         }
 
-        // Atualiza as cores do teclado virtual.
-        updateKeyboardColors(guess, resultado);
-        controlPanel.repaint();
+        // Mostra as letras com acentos, se houver, e revela as cores.
+        grid.mostrarResultado(r.tentativa, guess, estados, () -> {
+            // Atualiza as cores do teclado virtual.
+            updateKeyboardColors(guess, resultado);
+            if (aoRevelar != null) aoRevelar.run();
+        });
     }
 
 
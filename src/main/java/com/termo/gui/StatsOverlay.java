@@ -1,57 +1,80 @@
 package com.termo.gui;
 
-import com.termo.gui.components.RoundedBorder;
 
-import javax.swing.*;
+import com.termo.controller.PerfilJogador;
+import com.termo.gui.components.Theme;
+import com.termo.log.Log;
 import java.awt.*;
 import java.awt.event.*;
-import com.termo.controller.PerfilJogador;
+import javax.swing.*;
 
 /**
  * Representa um painel de sobreposição (overlay) que exibe as estatísticas do jogador.
  * Esta classe é projetada para ser responsiva e independente da janela principal do jogo.
+ *
+ * Cada janela tem um único overlay: os componentes e os listeners são criados na primeira
+ * exibição e, nas seguintes, só os textos e o gráfico são atualizados a partir de uma
+ * fotografia do perfil ({@link PerfilJogador.Resumo}). O gráfico de distribuição é desenhado
+ * em um único componente, sem um painel por barra. {@link #dispose()} remove o overlay e os
+ * seus listeners quando a janela é descartada.
  */
 public class StatsOverlay {
-    // Objeto que contém os dados das estatísticas do jogador.
-    PerfilJogador perfilJogador;
+    private static final Log log = Log.de(StatsOverlay.class);
     // Referências a componentes Swing para construir e gerenciar a interface do overlay.
-    private transient JFrame parentFrame; // A janela principal sobre a qual o overlay é mostrado.
-    private transient JLayeredPane layered; // Painel que permite sobrepor componentes.
-    private transient JPanel overlayPanel; // O painel de fundo semi-transparente.
-    private transient JPanel statsCard; // O "cartão" central que contém as estatísticas.
-    private transient JLabel totalGamesLabel, winPercentLabel, streakLabel, bestStreakLabel; // Labels para os números.
-    private transient JPanel distributionContainer; // Painel para as barras de distribuição de tentativas.
-    private transient boolean uiInitialized = false; // Flag para garantir que a UI seja inicializada apenas uma vez.
+    private final JFrame parentFrame; // A janela principal sobre a qual o overlay é mostrado.
+    private JLayeredPane layered; // Painel que permite sobrepor componentes.
+    private JPanel overlayPanel; // O painel de fundo semi-transparente.
+    private JPanel statsCard; // O "cartão" central que contém as estatísticas.
+    private JLabel title, distTitle; // Títulos do cartão e da distribuição.
+    private JButton closeBtn, share;
+    private JLabel totalGamesLabel, winPercentLabel, streakLabel, bestStreakLabel; // Labels para os números.
+    private final JLabel[] legends = new JLabel[4]; // Legendas das métricas (HTML com a cor do tema).
+    private final String[] legendTexts = new String[4];
+    private JLabel recentLabel; // Label com as métricas dos jogos recentes (7/30/100) e do dia.
+    private DistributionChart distribution; // Gráfico de barras da distribuição de tentativas.
+    private boolean uiInitialized = false; // Flag para garantir que a UI seja inicializada apenas uma vez.
+    private Theme appliedTheme; // Tema das cores guardadas nos componentes.
+    private ComponentListener resizeListener; // Registrado na janela; removido em dispose().
 
     // Callback opcional a ser executado quando o overlay for fechado.
-    private transient Runnable onClose;
+    private Runnable onClose;
 
     /**
-     * Construtor do StatsOverlay.
-     * @param perfilJogador O perfil do jogador contendo as estatísticas.
+     * Construtor do StatsOverlay (um por janela; a interface só é criada na primeira exibição).
+     * @param parentFrame A janela principal do jogo.
      */
-    public StatsOverlay(PerfilJogador perfilJogador) {
-        this.perfilJogador = perfilJogador;
+    public StatsOverlay(JFrame parentFrame) {
+        this.parentFrame = parentFrame;
     }
 
     /**
      * Mostra o overlay de estatísticas.
-     * @param won Status de vitória do jogo (não utilizado nesta versão do método).
-     * @param parentFrame A janela principal do jogo.
+     * @param resumo Fotografia das estatísticas do jogador.
      */
-    public void show(boolean won, JFrame parentFrame) {
-        this.parentFrame = parentFrame;
+    public void show(PerfilJogador.Resumo resumo) {
+        show(resumo, null);
+    }
+
+    /**
+     * Versão sobrecarregada do método show que aceita um callback a ser executado ao fechar.
+     * Útil para encadear ações, como voltar para a tela de login.
+     * @param resumo Fotografia das estatísticas do jogador.
+     * @param onClose Ação (Runnable) a ser executada quando o overlay for fechado (pode ser null).
+     */
+    public void show(PerfilJogador.Resumo resumo, Runnable onClose) {
         // Garante que a criação da UI ocorra na Event Dispatch Thread (EDT) do Swing.
         SwingUtilities.invokeLater(() -> {
+            this.onClose = onClose;
             initUI(); // Inicializa a UI se ainda não foi feito.
-            // Atualiza os textos das labels com os dados mais recentes do perfil.
-            totalGamesLabel.setText(String.valueOf(perfilJogador.getJogos()));
-            int pct = (perfilJogador.getJogos() == 0) ? 0 : (int) ((perfilJogador.getVitorias() * 100.0) / perfilJogador.getJogos());
-            winPercentLabel.setText(pct + "%");
-            streakLabel.setText(String.valueOf(perfilJogador.getSequenciaVitorias()));
-            bestStreakLabel.setText(String.valueOf(perfilJogador.getMelhorSequencia()));
+            if (appliedTheme != Theme.atual()) applyTheme();
+            // Atualiza os textos das labels com os dados da fotografia (setText só repinta se o texto mudar).
+            totalGamesLabel.setText(String.valueOf(resumo.jogos));
+            winPercentLabel.setText(resumo.getPercentualVitorias() + "%");
+            streakLabel.setText(String.valueOf(resumo.sequenciaVitorias));
+            bestStreakLabel.setText(String.valueOf(resumo.melhorSequencia));
+            recentLabel.setText(formatRecentMetrics(resumo));
 
-            rebuildDistribution(); // Recria o gráfico de distribuição.
+            distribution.setResumo(resumo); // Só repinta o gráfico.
 
             overlayPanel.setVisible(true); // Torna o overlay visível.
             overlayPanel.requestFocusInWindow(); // Solicita foco para capturar eventos de teclado (como ESC).
@@ -59,16 +82,13 @@ public class StatsOverlay {
     }
 
     /**
-     * Versão sobrecarregada do método show que aceita um callback a ser executado ao fechar.
-     * Útil para encadear ações, como voltar para a tela de login.
-     * @param won Status de vitória do jogo.
-     * @param parentFrame A janela principal.
-     * @param onClose Ação (Runnable) a ser executada quando o overlay for fechado.
+     * Remove o overlay da janela e o listener de redimensionamento (a janela vai ser descartada).
      */
-    public void show(boolean won, JFrame parentFrame, Runnable onClose) {
-        this.onClose = onClose;
-        // Chama a outra versão do método show para evitar duplicação de código.
-        this.show(won, parentFrame);
+    public void dispose() {
+        if (!uiInitialized) return;
+        parentFrame.removeComponentListener(resizeListener);
+        layered.remove(overlayPanel);
+        uiInitialized = false;
     }
 
 
@@ -86,7 +106,7 @@ public class StatsOverlay {
                 try {
                     cb.run(); // Executa a ação de callback.
                 } catch (Exception ex) {
-                    ex.printStackTrace();
+                    log.erro(() -> "Erro ao fechar as estatísticas", ex);
                 }
             }
         });
@@ -112,8 +132,6 @@ public class StatsOverlay {
         // O "cartão" central que agrupa todo o conteúdo.
         statsCard = new JPanel();
         statsCard.setLayout(new BoxLayout(statsCard, BoxLayout.Y_AXIS)); // Layout vertical.
-        statsCard.setBackground(Color.decode("#2f292a"));
-        statsCard.setBorder(new RoundedBorder(12, "#2f292a", 6));
         statsCard.setOpaque(true);
 
         updateCardSize(); // Define o tamanho responsivo do cartão.
@@ -122,20 +140,16 @@ public class StatsOverlay {
         JPanel topRow = new JPanel(new BorderLayout());
         topRow.setOpaque(false);
 
-        JLabel title = new JLabel("progresso", JLabel.CENTER);
-        title.setForeground(Color.WHITE);
+        title = new JLabel("progresso", JLabel.CENTER);
         // Tamanho da fonte responsivo, calculado com base na largura da janela.
         int titleSize = Math.max(18, Math.min(32, parentFrame.getWidth() / 30));
-        title.setFont(new Font("Arial", Font.BOLD, titleSize));
+        title.setFont(Theme.atual().fonte(Font.BOLD, titleSize));
         topRow.add(title, BorderLayout.CENTER);
 
-        JButton closeBtn = new JButton("X");
+        closeBtn = new JButton("X");
         closeBtn.setFocusable(false);
         int btnSize = Math.max(24, Math.min(38, parentFrame.getWidth() / 35));
         closeBtn.setPreferredSize(new Dimension(btnSize, btnSize));
-        closeBtn.setBorder(new RoundedBorder(6, "#4c4347", 2));
-        closeBtn.setBackground(Color.decode("#4c4347"));
-        closeBtn.setForeground(Color.WHITE);
         closeBtn.addActionListener(e -> hide());
         topRow.add(closeBtn, BorderLayout.EAST);
 
@@ -148,26 +162,27 @@ public class StatsOverlay {
         // Cria o painel de métricas (jogos, vitórias, etc.).
         createMetricsPanel();
 
+        // Métricas dos jogos recentes logo abaixo das métricas gerais.
+        recentLabel = new JLabel("", JLabel.CENTER);
+        recentLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        recentLabel.setFont(Theme.atual().fonte(Font.PLAIN, Math.max(11, Math.min(14, parentFrame.getWidth() / 70))));
+        statsCard.add(recentLabel);
+
         statsCard.add(Box.createRigidArea(new Dimension(0, 18))); // Espaçamento.
 
         // Título para a seção de distribuição.
-        JLabel distTitle = new JLabel("distribuição de tentativas", JLabel.CENTER);
-        distTitle.setForeground(Color.WHITE);
+        distTitle = new JLabel("distribuição de tentativas", JLabel.CENTER);
         int distTitleSize = Math.max(14, Math.min(20, parentFrame.getWidth() / 40));
-        distTitle.setFont(new Font("Arial", Font.BOLD, distTitleSize));
+        distTitle.setFont(Theme.atual().fonte(Font.BOLD, distTitleSize));
         distTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
         statsCard.add(distTitle);
 
         statsCard.add(Box.createRigidArea(new Dimension(0, 12))); // Espaçamento.
 
-        // Container para as barras de distribuição.
-        distributionContainer = new JPanel();
-        distributionContainer.setOpaque(false);
-        distributionContainer.setLayout(new BoxLayout(distributionContainer, BoxLayout.Y_AXIS));
-
-        int padding = Math.max(20, Math.min(50, parentFrame.getWidth() / 25));
-        distributionContainer.setBorder(BorderFactory.createEmptyBorder(8, padding, 8, padding));
-        statsCard.add(distributionContainer);
+        // Gráfico com as barras de distribuição.
+        distribution = new DistributionChart();
+        distribution.updateSizes(parentFrame.getWidth(), parentFrame.getHeight());
+        statsCard.add(distribution);
 
         statsCard.add(Box.createVerticalGlue()); // Empurra o rodapé para baixo.
 
@@ -179,9 +194,29 @@ public class StatsOverlay {
 
         // Configura os listeners de eventos (mouse, teclado, redimensionamento).
         setupEventListeners();
+    }
 
-        // Inicializa o gráfico de distribuição.
-        rebuildDistribution();
+    /**
+     * Aplica as cores do tema em uso aos componentes do cartão.
+     */
+    private void applyTheme() {
+        Theme tema = Theme.atual();
+        appliedTheme = tema;
+        statsCard.setBackground(tema.cartao);
+        statsCard.setBorder(tema.borda(12, tema.cartao, 6));
+        for (JLabel label : new JLabel[]{title, distTitle, totalGamesLabel, winPercentLabel, streakLabel, bestStreakLabel}) {
+            label.setForeground(tema.texto);
+        }
+        for (int i = 0; i < legends.length; i++) {
+            legends[i].setText(legendHtml(legendTexts[i]));
+        }
+        closeBtn.setBorder(tema.borda(6, tema.tecla, 2));
+        closeBtn.setBackground(tema.tecla);
+        closeBtn.setForeground(tema.texto);
+        share.setBackground(tema.destaque);
+        share.setForeground(tema.texto);
+        share.setBorder(tema.borda(12, tema.destaque, 4));
+        statsCard.repaint();
     }
 
     /**
@@ -206,10 +241,10 @@ public class StatsOverlay {
         bestStreakLabel = makeMetricPanel("0");
 
         // Agrupa cada label de número com sua legenda correspondente.
-        metrics.add(wrapMetric(totalGamesLabel, "jogos"));
-        metrics.add(wrapMetric(winPercentLabel, "de vitórias"));
-        metrics.add(wrapMetric(streakLabel, "sequência\nde vitórias"));
-        metrics.add(wrapMetric(bestStreakLabel, "melhor\nsequência"));
+        metrics.add(wrapMetric(0, totalGamesLabel, "jogos"));
+        metrics.add(wrapMetric(1, winPercentLabel, "de vitórias"));
+        metrics.add(wrapMetric(2, streakLabel, "sequência\nde vitórias"));
+        metrics.add(wrapMetric(3, bestStreakLabel, "melhor\nsequência"));
 
         JPanel metricsWrapper = new JPanel(new BorderLayout());
         metricsWrapper.setOpaque(false);
@@ -221,6 +256,24 @@ public class StatsOverlay {
         statsCard.add(metricsWrapper);
     }
 
+    /**
+     * Monta o texto das métricas recentes: percentual de vitórias e média de tentativas
+     * em cada janela de jogos, mais o resultado do dia.
+     * @return Texto HTML para a label de métricas recentes.
+     */
+    private String formatRecentMetrics(PerfilJogador.Resumo resumo) {
+        StringBuilder sb = new StringBuilder("<html><div style='text-align:center; color:" + Theme.hex(Theme.atual().textoSecundario) + "'>");
+        for (int j = 0; j < PerfilJogador.JANELAS.length; j++) {
+            if (j > 0) sb.append(" &nbsp;|&nbsp; ");
+            sb.append("últimos ").append(PerfilJogador.JANELAS[j]).append(": ")
+              .append((int) resumo.getPercentualRecentes(j)).append("% · ")
+              .append(String.format("%.1f", resumo.getMediaRecentes(j))).append(" tent.");
+        }
+        sb.append("<br>hoje: ").append(resumo.vitoriasHoje).append(" vitórias em ")
+          .append(resumo.jogosHoje).append(" jogos");
+        return sb.append("</div></html>").toString();
+    }
+
     /**
      * Cria o painel do rodapé, contendo o botão "compartilhe".
      */
@@ -231,7 +284,7 @@ public class StatsOverlay {
         int padding = Math.max(10, Math.min(20, parentFrame.getWidth() / 60));
         footer.setBorder(BorderFactory.createEmptyBorder(padding, padding, padding, padding));
 
-        JButton share = new JButton("compartilhe");
+        share = new JButton("compartilhe");
         share.setFocusable(false);
 
         // Tamanho e fonte responsivos para o botão.
@@ -239,11 +292,8 @@ public class StatsOverlay {
         int btnHeight = Math.max(40, Math.min(60, parentFrame.getHeight() / 15));
         int fontSize = Math.max(12, Math.min(18, parentFrame.getWidth() / 70));
 
-        share.setFont(new Font("Arial", Font.BOLD, fontSize));
+        share.setFont(Theme.atual().fonte(Font.BOLD, fontSize));
         share.setPreferredSize(new Dimension(btnWidth, btnHeight));
-        share.setBackground(Color.decode("#049CFF"));
-        share.setForeground(Color.WHITE);
-        share.setBorder(new RoundedBorder(12, "#049CFF", 4));
         footer.add(share, BorderLayout.EAST);
 
         statsCard.add(footer);
@@ -278,15 +328,17 @@ public class StatsOverlay {
             }
         });
 
-        // Listener para redimensionar o overlay quando a janela principal muda de tamanho.
-        parentFrame.addComponentListener(new ComponentAdapter() {
+        // Listener para redimensionar o overlay quando a janela principal muda de tamanho
+        // (registrado uma única vez por janela e removido em dispose()).
+        resizeListener = new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
                 overlayPanel.setBounds(0, 0, parentFrame.getWidth(), parentFrame.getHeight());
                 updateCardSize();
                 updateResponsiveElements();
             }
-        });
+        };
+        parentFrame.addComponentListener(resizeListener);
     }
 
     /**
@@ -327,7 +379,7 @@ public class StatsOverlay {
                 }
             }
 
-            rebuildDistribution(); // Recria o gráfico com os novos tamanhos.
+            distribution.updateSizes(parentFrame.getWidth(), parentFrame.getHeight()); // Só muda as medidas.
             statsCard.revalidate();
             statsCard.repaint();
         });
@@ -346,7 +398,7 @@ public class StatsOverlay {
                     // Calcula o novo tamanho da fonte com base na largura da janela.
                     int newSize = Math.max(12, Math.min(28, parentFrame.getWidth() / 40));
                     // Mantém o estilo (negrito, etc.) da fonte original.
-                    label.setFont(new Font(currentFont.getName(), currentFont.getStyle(), newSize));
+                    label.setFont(Theme.atual().fonte(currentFont.getStyle(), newSize));
                 }
             } else if (comp instanceof JPanel) {
                 updatePanelFonts((JPanel) comp); // Chamada recursiva para painéis aninhados.
@@ -361,9 +413,8 @@ public class StatsOverlay {
      */
     private JLabel makeMetricPanel(String value) {
         JLabel label = new JLabel(value, JLabel.CENTER);
-        label.setForeground(Color.WHITE);
         int fontSize = Math.max(16, Math.min(28, parentFrame.getWidth() / 40));
-        label.setFont(new Font("Arial", Font.BOLD, fontSize));
+        label.setFont(Theme.atual().fonte(Font.BOLD, fontSize));
         label.setAlignmentX(Component.CENTER_ALIGNMENT);
         return label;
     }
@@ -374,89 +425,121 @@ public class StatsOverlay {
      * @param smallText O texto da legenda.
      * @return Um JPanel contendo as duas labels.
      */
-    private JPanel wrapMetric(JLabel bigLabel, String smallText) {
+    private JPanel wrapMetric(int index, JLabel bigLabel, String smallText) {
         JPanel p = new JPanel();
         p.setOpaque(false);
         p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
         bigLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         p.add(bigLabel);
 
-        int legendSize = Math.max(10, Math.min(12, parentFrame.getWidth() / 80));
-        // Usa HTML para permitir quebra de linha (`\n`) e estilização mais fácil dentro da label.
-        JLabel legend = new JLabel("<html><div style='text-align:center; font-size:" + legendSize + "px; color:#dcd9d9'>" + smallText.replace("\n", "<br>") + "</div></html>", JLabel.CENTER);
+        JLabel legend = new JLabel("", JLabel.CENTER); // Texto definido em applyTheme(), com a cor do tema.
         legend.setAlignmentX(Component.CENTER_ALIGNMENT);
+        legends[index] = legend;
+        legendTexts[index] = smallText;
         p.add(legend);
         return p;
     }
 
+    // Usa HTML para permitir quebra de linha (`\n`) e estilização mais fácil dentro da label.
+    private String legendHtml(String smallText) {
+        int legendSize = Math.max(10, Math.min(12, parentFrame.getWidth() / 80));
+        return "<html><div style='text-align:center; font-size:" + legendSize + "px; color:" + Theme.hex(Theme.atual().textoSecundario) + "'>" + smallText.replace("\n", "<br>") + "</div></html>";
+    }
+
     /**
-     * Limpa e reconstrói o gráfico de barras da distribuição de tentativas.
+     * Gráfico de barras da distribuição de tentativas (1 a 6 e derrotas), desenhado em um único
+     * componente: cada linha tem o rótulo, a barra proporcional à contagem e o número.
      */
-    private void rebuildDistribution() {
-        if (distributionContainer == null) return;
-        distributionContainer.removeAll();
-
-        int[] dist = perfilJogador.getDistribuicaoTentativas();
-        // Encontra o valor máximo para dimensionar as barras proporcionalmente.
-        int max = 1; // Começa com 1 para evitar divisão por zero.
-        for (int value : dist) {
-            if (value > max) max = value;
+    private static final class DistributionChart extends JComponent {
+        private static final int ROW_GAP = 8; // Espaçamento entre as barras.
+        private static final int BAR_PADDING = 3; // Margem da barra dentro do fundo.
+
+        private PerfilJogador.Resumo resumo;
+        private int labelWidth, countWidth, rowHeight, maxBarWidth;
+
+        DistributionChart() {
+            setOpaque(false);
         }
 
-        // Cria uma linha para cada número de tentativas (1 a 6).
-        for (int i = 0; i < 6; i++) {
-            int count = dist[i];
-            distributionContainer.add(makeDistributionRow(String.valueOf(i + 1), count, max));
-            distributionContainer.add(Box.createRigidArea(new Dimension(0, 8))); // Espaçamento entre as barras.
+        void setResumo(PerfilJogador.Resumo resumo) {
+            this.resumo = resumo;
+            repaint();
         }
-        // Adiciona a linha para derrotas (índice 6), representada por um ícone de caveira.
-        distributionContainer.add(makeDistributionRow("\u2620", dist[6], max));
-        distributionContainer.revalidate();
-        distributionContainer.repaint();
-    }
 
-    /**
-     * Cria uma única linha do gráfico de distribuição (Rótulo, Barra, Contagem).
-     * @param label O rótulo da linha (ex: "1", "2", "☠").
-     * @param count O número de jogos para esta linha.
-     * @param maxCount O número máximo de jogos em qualquer linha (usado para dimensionar a barra).
-     * @return Um JPanel representando a linha completa do gráfico.
-     */
-    private JPanel makeDistributionRow(String label, int count, int maxCount) {
-        JPanel row = new JPanel(new BorderLayout());
-        row.setOpaque(false);
-
-        // Rótulo à esquerda (número da tentativa).
-        JLabel left = new JLabel(label);
-        left.setForeground(Color.WHITE);
-        int labelWidth = Math.max(20, Math.min(30, parentFrame.getWidth() / 40));
-        int rowHeight = Math.max(20, Math.min(24, parentFrame.getHeight() / 30));
-        left.setPreferredSize(new Dimension(labelWidth, rowHeight));
-        row.add(left, BorderLayout.WEST);
-
-        // Painel de fundo da barra.
-        JPanel barBg = new JPanel(new BorderLayout());
-        barBg.setBackground(Color.decode("#312a2c"));
-        int maxBarWidth = Math.max(200, Math.min(420, parentFrame.getWidth() - 200));
-        barBg.setPreferredSize(new Dimension(maxBarWidth, rowHeight));
-        barBg.setBorder(BorderFactory.createEmptyBorder(3, 3, 3, 3));
-
-        // A barra de progresso real, cuja largura é proporcional à contagem ('count').
-        int w = (maxCount == 0) ? 0 : (int) ((maxBarWidth * (double) count) / maxCount);
-        JPanel bar = new JPanel();
-        bar.setPreferredSize(new Dimension(w, rowHeight - 6));
-        bar.setBackground(Color.decode("#049CFF"));
-        barBg.add(bar, BorderLayout.WEST);
-
-        row.add(barBg, BorderLayout.CENTER);
-
-        // Rótulo à direita (a contagem numérica).
-        JLabel right = new JLabel(String.valueOf(count));
-        right.setForeground(Color.WHITE);
-        right.setPreferredSize(new Dimension(Math.max(30, Math.min(40, parentFrame.getWidth() / 30)), rowHeight));
-        right.setHorizontalAlignment(SwingConstants.CENTER);
-        row.add(right, BorderLayout.EAST);
-
-        return row;
+        /**
+         * Recalcula as medidas a partir do tamanho da janela.
+         */
+        void updateSizes(int frameWidth, int frameHeight) {
+            labelWidth = Math.max(20, Math.min(30, frameWidth / 40));
+            rowHeight = Math.max(20, Math.min(24, frameHeight / 30));
+            maxBarWidth = Math.max(200, Math.min(420, frameWidth - 200));
+            countWidth = Math.max(30, Math.min(40, frameWidth / 30));
+            int padding = Math.max(20, Math.min(50, frameWidth / 25));
+            setBorder(BorderFactory.createEmptyBorder(8, padding, 8, padding));
+            revalidate();
+            repaint();
+        }
+
+        private int rows() {
+            return resumo == null ? 7 : resumo.getTamanhoDistribuicao();
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            Insets in = getInsets();
+            int rows = rows();
+            return new Dimension(in.left + labelWidth + maxBarWidth + countWidth + in.right,
+                    in.top + rows * rowHeight + (rows - 1) * ROW_GAP + in.bottom);
+        }
+
+        @Override
+        public Dimension getMaximumSize() {
+            return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (resumo == null) return;
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Theme tema = Theme.atual();
+            Insets in = getInsets();
+            int barWidth = getWidth() - in.left - in.right - labelWidth - countWidth; // O fundo ocupa o espaço livre.
+            int rows = rows();
+
+            // Encontra o valor máximo para dimensionar as barras proporcionalmente.
+            int max = 1; // Começa com 1 para evitar divisão por zero.
+            for (int i = 0; i < rows; i++) max = Math.max(max, resumo.getDistribuicao(i));
+
+            g2.setFont(tema.fonte(Font.BOLD, 12));
+            FontMetrics fm = g2.getFontMetrics();
+            int y = in.top;
+            for (int i = 0; i < rows; i++) {
+                int count = resumo.getDistribuicao(i);
+                int textY = y + (rowHeight - fm.getHeight()) / 2 + fm.getAscent();
+
+                // Rótulo à esquerda: o número da tentativa ou, para as derrotas, uma caveira.
+                g2.setColor(tema.texto);
+                g2.drawString(i == rows - 1 ? "\u2620" : String.valueOf(i + 1), in.left, textY);
+
+                // Fundo da barra e a barra, com largura proporcional à contagem.
+                int x = in.left + labelWidth;
+                g2.setColor(tema.cinza);
+                g2.fillRect(x, y, barWidth, rowHeight);
+                int inner = barWidth - 2 * BAR_PADDING;
+                int w = (int) ((inner * (double) count) / max);
+                if (w > 0) {
+                    g2.setColor(tema.destaque);
+                    g2.fillRect(x + BAR_PADDING, y + BAR_PADDING, w, rowHeight - 2 * BAR_PADDING);
+                }
+
+                // Contagem à direita, centralizada.
+                String texto = String.valueOf(count);
+                g2.setColor(tema.texto);
+                g2.drawString(texto, x + barWidth + (countWidth - fm.stringWidth(texto)) / 2, textY);
+
+                y += rowHeight + ROW_GAP;
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,279 +1,347 @@
 package com.termo.gui;
 
-import com.termo.gui.components.RoundedBorder;
+import com.termo.gui.components.Theme;
+import com.termo.gui.components.TileCache;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.text.Normalizer;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
- * Um painel que representa um teclado virtual para o jogo.
+ * Teclado virtual do jogo, desenhado como um único componente (sem um JButton por tecla).
  * Ele lida com a exibição das teclas, o envio de eventos de clique e a atualização das cores das teclas
  * com base nos resultados das tentativas do jogador.
+ *
+ * O estado das teclas fica em um vetor de 26 bytes (A–Z); teclas acentuadas e o Ç mostram o estado
+ * da letra base. Cada tentativa só pode "subir" o estado de uma letra (desconhecida → ausente →
+ * presente → correta), e todas as mudanças de uma tentativa viram um único repaint. Uma nova
+ * partida só zera o vetor ({@link #reset()}), sem recriar o teclado.
  */
-public class VirtualKeyboard extends JPanel {
-    // Mapeia cada caractere a um JButton para permitir fácil acesso e atualização.
-    private final Map<Character, JButton> keyButtons = new HashMap<>();
+public class VirtualKeyboard extends JComponent {
+    /** Disposição das teclas. */
+    public enum Layout {
+        /** Letras sem acento, como no teclado americano. */
+        QWERTY(new String[][]{
+                {"Q", "W", "E", "R", "T", "Y", "U", "I", "O", "P"},
+                {"A", "S", "D", "F", "G", "H", "J", "K", "L"},
+                {"ENTER", "Z", "X", "C", "V", "B", "N", "M", "BACK"}}),
+        /** Teclado brasileiro: Ç ao lado do L e uma fileira de vogais acentuadas. */
+        ABNT2(new String[][]{
+                {"Q", "W", "E", "R", "T", "Y", "U", "I", "O", "P"},
+                {"A", "S", "D", "F", "G", "H", "J", "K", "L", "Ç"},
+                {"ENTER", "Z", "X", "C", "V", "B", "N", "M", "BACK"},
+                {"Á", "É", "Í", "Ó", "Ú", "Â", "Ê", "Ô", "Ã", "Õ"}});
+
+        private final String[][] fileiras;
+
+        Layout(String[][] fileiras) {
+            this.fileiras = fileiras;
+        }
+    }
+
+    // Estado de uma letra, em ordem de prioridade: uma letra só muda para um estado maior.
+    public static final byte DESCONHECIDA = 0;
+    public static final byte AUSENTE = 1;
+    public static final byte PRESENTE = 2;
+    public static final byte CORRETA = 3;
+
+    private static final int RAIO = 8;
+    private static final int ESPACO_H = 4; // Espaço entre as teclas de uma fileira
+    private static final int ESPACO_V = 8; // Espaço entre as fileiras
+
     // Um "manipulador" (função) que será chamado quando uma tecla for pressionada.
     private final Consumer<String> keyHandler;
-    // Flags para controle de layout responsivo em telas de diferentes tamanhos.
-    private boolean isVerySmallScreen;
-    private boolean isSmallScreen;
+    // Estado de cada letra (A = 0 ... Z = 25).
+    private final byte[] estados = new byte[26];
+    // Fator de escala do layout responsivo (1.0 = janela grande).
+    private double escala;
+    private Layout layout = Layout.QWERTY;
     // Flag para desabilitar o teclado quando o jogo é ganho.
     private boolean won;
 
+    // Teclas do layout atual, em vetores paralelos (recalculados ao trocar o layout ou a escala).
+    private String[] rotulos = new String[0]; // Texto enviado ao manipulador ("A", "Ç", "ENTER", "BACK"...)
+    private int[] letra = new int[0]; // Índice em 'estados', ou -1 para ENTER/BACK
+    private Rectangle[] areas = new Rectangle[0]; // Posição, relativa ao canto do teclado centralizado
+    private Dimension tamanho = new Dimension();
+    private int pressionada = -1; // Tecla sob o mouse pressionado, para o retorno visual do clique
+    private long repintes; // Pedidos de repintura, ver getRepintes()
+
     /**
      * Construtor do Teclado Virtual.
      * @param keyHandler Função a ser executada ao pressionar uma tecla.
-     * @param isVerySmallScreen True se a tela for muito pequena.
-     * @param isSmallScreen True se a tela for pequena.
+     * @param escala Fator de escala do layout (1.0 = janela grande).
      * @param won True se o jogo já foi ganho.
      */
-    public VirtualKeyboard(Consumer<String> keyHandler, boolean isVerySmallScreen, boolean isSmallScreen, boolean won) {
+    public VirtualKeyboard(Consumer<String> keyHandler, double escala, boolean won) {
         this.keyHandler = keyHandler;
-        this.isVerySmallScreen = isVerySmallScreen;
-        this.isSmallScreen = isSmallScreen;
+        this.escala = escala;
         this.won = won;
-        initializeKeyboard();
+        setOpaque(false); // Torna o teclado transparente.
+        setToolTipText(""); // Liga as dicas; o texto vem de getToolTipText(MouseEvent).
+        organizarTeclas();
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (!SwingUtilities.isLeftMouseButton(e)) return;
+                setPressionada(teclaEm(e.getPoint()));
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int tecla = pressionada;
+                setPressionada(-1);
+                // Só conta como clique se o mouse for solto na mesma tecla.
+                if (tecla >= 0 && tecla == teclaEm(e.getPoint()) && !won) {
+                    keyHandler.accept(rotulos[tecla]);
+                }
+            }
+        };
+        addMouseListener(mouse);
     }
 
     /**
-     * Configura o layout do painel do teclado e inicializa as fileiras de teclas.
+     * Calcula a posição e o tamanho de cada tecla do layout atual.
      */
-    private void initializeKeyboard() {
-        setLayout(new GridBagLayout());
-        setOpaque(false); // Torna o painel transparente.
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(4, 4, 4, 4); // Espaçamento entre as teclas.
-        gbc.fill = GridBagConstraints.HORIZONTAL; // Preenchimento horizontal.
-
-        // Definição das teclas em cada fileira.
-        String row1 = "QWERTYUIOP";
-        String row2 = "ASDFGHJKL";
-        String[] row3 = {"ENTER", "ZXCVBNM", "BACK"}; // Teclas especiais + letras.
-
-        // Cria e adiciona a primeira fileira de teclas.
-        JPanel r1 = createKeyboardRow(row1);
-        gbc.gridy = 0;
-        add(r1, gbc);
-
-        // Cria e adiciona a segunda fileira de teclas.
-        JPanel r2 = createKeyboardRow(row2);
-        gbc.gridy = 1;
-        add(r2, gbc);
-
-        // Cria e adiciona a terceira fileira, que contém teclas especiais.
-        JPanel r3 = createSpecialKeyRow(row3);
-        gbc.gridy = 2;
-        add(r3, gbc);
+    private void organizarTeclas() {
+        String[][] fileiras = layout.fileiras;
+        int total = 0;
+        for (String[] fileira : fileiras) total += fileira.length;
+        rotulos = new String[total];
+        letra = new int[total];
+        areas = new Rectangle[total];
+
+        int lado = escalar(70, 35);
+        int especialLargura = escalar(90, 60);
+        int especialAltura = escalar(48, 35);
+
+        // Largura de cada fileira, para centralizá-las.
+        int[] larguras = new int[fileiras.length];
+        int maior = 0;
+        for (int f = 0; f < fileiras.length; f++) {
+            for (String tecla : fileiras[f]) {
+                larguras[f] += (isEspecial(tecla) ? especialLargura : lado) + ESPACO_H;
+            }
+            larguras[f] -= ESPACO_H;
+            maior = Math.max(maior, larguras[f]);
+        }
+
+        int i = 0;
+        int y = ESPACO_V / 2;
+        for (int f = 0; f < fileiras.length; f++) {
+            int x = ESPACO_H + (maior - larguras[f]) / 2;
+            for (String tecla : fileiras[f]) {
+                boolean especial = isEspecial(tecla);
+                int w = especial ? especialLargura : lado;
+                int h = especial ? especialAltura : lado;
+                rotulos[i] = tecla;
+                letra[i] = especial ? -1 : indiceLetra(tecla.charAt(0));
+                areas[i] = new Rectangle(x, y + (lado - h) / 2, w, h); // Centralizada na fileira
+                x += w + ESPACO_H;
+                i++;
+            }
+            y += lado + ESPACO_V;
+        }
+        tamanho = new Dimension(maior + 2 * ESPACO_H, y - ESPACO_V / 2);
+        pressionada = -1;
+    }
+
+    private static boolean isEspecial(String tecla) {
+        return "ENTER".equals(tecla) || "BACK".equals(tecla);
     }
 
     /**
-     * Cria um painel (JPanel) para uma fileira de teclas padrão.
-     * @param keys Uma string contendo os caracteres da fileira.
-     * @return Um JPanel com os botões da fileira.
+     * indiceLetra
+     * @return Índice da letra base (sem acento ou cedilha) de {@code c} no vetor de estados, ou -1
      */
-    private JPanel createKeyboardRow(String keys) {
-        JPanel rowPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 4, 0));
-        rowPanel.setOpaque(false);
-
-        for (char ch : keys.toCharArray()) {
-            JButton button = createKeyButton(String.valueOf(ch));
-            rowPanel.add(button);
-            keyButtons.put(ch, button); // Armazena o botão no mapa para referência futura.
+    private static int indiceLetra(char c) {
+        if (c > 'z') {
+            // Remove acentos/cedilha para chegar à letra base (Á → A, Ç → C).
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            if (base.isEmpty()) return -1;
+            c = base.charAt(0);
         }
-        return rowPanel;
+        c = Character.toUpperCase(c);
+        return c >= 'A' && c <= 'Z' ? c - 'A' : -1;
     }
 
-    /**
-     * Cria um painel para a fileira de teclas que inclui "ENTER" e "BACKSPACE".
-     * @param keys Um array de strings definindo as teclas especiais e o grupo de letras.
-     * @return Um JPanel com os botões da fileira especial.
-     */
-    private JPanel createSpecialKeyRow(String[] keys) {
-        JPanel rowPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 4, 0));
-        rowPanel.setOpaque(false);
-
-        // Cria e adiciona o botão "ENTER".
-        JButton enterBtn = createKeyButton(keys[0]);
-        updateSpecialKeySize(enterBtn, true);
-        rowPanel.add(enterBtn);
-
-        // Adiciona as letras da terceira fileira.
-        for (char ch : keys[1].toCharArray()) {
-            JButton button = createKeyButton(String.valueOf(ch));
-            rowPanel.add(button);
-            keyButtons.put(ch, button);
+    // Deslocamento horizontal que centraliza as teclas na largura disponível.
+    private int margemEsquerda() {
+        return Math.max(0, (getWidth() - tamanho.width) / 2);
+    }
+
+    // Tecla no ponto (coordenadas do componente), ou -1.
+    private int teclaEm(Point p) {
+        int x = p.x - margemEsquerda();
+        for (int i = 0; i < areas.length; i++) {
+            if (areas[i].contains(x, p.y)) return i;
         }
+        return -1;
+    }
 
-        // Cria e adiciona o botão "BACKSPACE" (com ícone de seta).
-        JButton backBtn = createKeyButton(keys[2]);
-        backBtn.setText("←");
-        backBtn.setToolTipText("Backspace"); // Dica ao passar o mouse.
-        updateSpecialKeySize(backBtn, false);
-        rowPanel.add(backBtn);
+    private void setPressionada(int tecla) {
+        if (tecla == pressionada) return;
+        if (pressionada >= 0) repaintTecla(pressionada);
+        pressionada = tecla;
+        if (tecla >= 0) repaintTecla(tecla);
+    }
 
-        return rowPanel;
+    private void repaintTecla(int i) {
+        Rectangle r = areas[i];
+        repaint(r.x + margemEsquerda(), r.y, r.width, r.height);
     }
 
-    /**
-     * Cria e estiliza um único botão de tecla.
-     * @param label O texto (caractere) do botão.
-     * @return Um JButton estilizado e configurado.
-     */
-    private JButton createKeyButton(String label) {
-        JButton btn = new JButton(label);
-        btn.setFocusable(false); // Impede que o botão receba foco de teclado.
-        btn.setFont(new Font("Arial", Font.BOLD, getKeyboardFontSize()));
-        updateKeySize(btn); // Define o tamanho com base no tamanho da tela.
-        btn.setBackground(Color.decode("#4c4347"));
-        btn.setForeground(Color.WHITE);
-        btn.setBorder(new RoundedBorder(8, "#4c4347", 2)); // Borda arredondada customizada.
-        btn.setOpaque(true);
-
-        // Define a ação a ser executada quando o botão é clicado.
-        btn.addActionListener(e -> {
-            if(!won){ // Só processa o clique se o jogo não foi ganho.
-                String key = label;
-                if ("←".equals(label)) key = "BACK"; // Trata o caso especial do backspace.
-                keyHandler.accept(key); // Chama a função de callback com a tecla pressionada.
-            }
-        });
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        repintes++; // Todos os repaint(...) do Swing chegam aqui
+        super.repaint(tm, x, y, width, height);
+    }
+
+    /** @return Quantos pedidos de repintura o teclado já fez */
+    public long getRepintes() {
+        return repintes;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int tecla = teclaEm(e.getPoint());
+        return tecla >= 0 && "BACK".equals(rotulos[tecla]) ? "Backspace" : null; // Dica ao passar o mouse.
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return isPreferredSizeSet() ? super.getPreferredSize() : new Dimension(tamanho);
+    }
 
-        return btn;
+    @Override
+    public Dimension getMinimumSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g;
+        Theme tema = Theme.atual();
+        Font fonte = tema.fonte(Font.BOLD, getKeyboardFontSize()); // Uma fonte para todas as teclas.
+        Color base = TileCache.fundoAtras(this);
+        Rectangle clip = g.getClipBounds();
+        int dx = margemEsquerda();
+
+        for (int i = 0; i < areas.length; i++) {
+            Rectangle r = areas[i];
+            int x = r.x + dx;
+            if (clip != null && !clip.intersects(x, r.y, r.width, r.height)) continue;
+
+            byte estado = letra[i] >= 0 ? estados[letra[i]] : DESCONHECIDA;
+            Color fundo = estado == CORRETA ? tema.verde : estado == PRESENTE ? tema.amarela
+                    : estado == AUSENTE ? tema.teclaCinza : tema.tecla;
+            Color texto = estado == AUSENTE ? tema.textoTeclaCinza : tema.texto;
+            if (i == pressionada) fundo = fundo.darker(); // Retorno visual do clique.
+            String rotulo = "BACK".equals(rotulos[i]) ? "←" : rotulos[i];
+            TileCache.desenhar(g2, x, r.y, r.width, r.height, rotulo, fonte, texto, fundo, null, base, RAIO, 0);
+        }
     }
 
     /**
-     * Atualiza as cores dos botões do teclado com base no resultado de uma tentativa.
+     * Atualiza as cores das teclas com base no resultado de uma tentativa.
      * @param guess A palavra que foi tentada pelo jogador.
      * @param resultado Um array de char ('G' para verde, 'Y' para amarelo, 'B' para cinza).
      */
     public void updateKeyboardColors(String guess, char[] resultado) {
         if (guess == null || resultado == null) return;
 
-        // Cores padrão para os resultados.
-        Color green = Color.decode("#3aa394");
-        Color yellow = Color.decode("#d3ad69");
-        Color disabledBg = Color.decode("#2f2a2c");
-        Color white = Color.WHITE;
-
+        boolean mudou = false;
         for (int i = 0; i < Math.min(guess.length(), resultado.length); i++) {
-            char chOrig = guess.charAt(i);
-            // Normaliza o caractere para sua forma base (remove acentos/cedilha) para corresponder à tecla.
-            String norm = Normalizer.normalize(String.valueOf(chOrig), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
-            if (norm.isEmpty()) continue;
-            char ch = Character.toUpperCase(norm.charAt(0));
-
-            JButton keyBtn = keyButtons.get(ch);
-            if (keyBtn == null) continue;
-
-            Color currentBg = keyBtn.getBackground();
+            int idx = indiceLetra(guess.charAt(i));
+            if (idx < 0) continue;
 
-            // Lógica de atualização de cores: Verde tem prioridade sobre amarelo.
-            // Uma vez cinza, não muda mais, a menos que se torne verde ou amarelo.
+            byte novo;
             switch (resultado[i]) {
                 case 'G':
-                    keyBtn.setBackground(green);
-                    keyBtn.setForeground(white);
-                    keyBtn.setBorder(new RoundedBorder(8, "#3aa394", 2));
+                    novo = CORRETA;
                     break;
                 case 'Y':
-                    if (!colorsEqual(currentBg, green)) { // Só atualiza para amarelo se não for verde.
-                        keyBtn.setBackground(yellow);
-                        keyBtn.setForeground(white);
-                        keyBtn.setBorder(new RoundedBorder(8, "#d3ad69", 2));
-                    }
+                    novo = PRESENTE;
                     break;
                 case 'B':
-                    // Só atualiza para cinza se não for verde nem amarelo.
-                    if (!colorsEqual(currentBg, green) && !colorsEqual(currentBg, yellow)) {
-                        keyBtn.setBackground(disabledBg);
-                        keyBtn.setForeground(Color.decode("#bdb6b6"));
-                        keyBtn.setBorder(new RoundedBorder(8, "#2f2a2c", 2));
-                    }
+                    novo = AUSENTE;
                     break;
+                default:
+                    continue;
+            }
+            // Correta tem prioridade sobre presente, que tem prioridade sobre ausente: a tecla nunca "volta".
+            if (novo > estados[idx]) {
+                estados[idx] = novo;
+                mudou = true;
             }
         }
+        if (mudou) repaint(); // Um único repaint para todas as teclas alteradas.
     }
 
-
     /**
-     * Compara duas cores para ver se são iguais.
-     * @param a Primeira cor.
-     * @param b Segunda cor.
-     * @return True se as cores forem iguais.
+     * getEstado
+     * @param letra Uma letra (acentos e cedilha contam como a letra base)
+     * @return O estado da tecla: {@link #DESCONHECIDA}, {@link #AUSENTE}, {@link #PRESENTE} ou {@link #CORRETA}
      */
-    private boolean colorsEqual(Color a, Color b) {
-        return a != null && b != null && a.getRGB() == b.getRGB();
+    public byte getEstado(char letra) {
+        int idx = indiceLetra(letra);
+        return idx < 0 ? DESCONHECIDA : estados[idx];
     }
 
     /**
-     * Atualiza os tamanhos de todas as teclas quando a janela é redimensionada.
-     * @param isVerySmallScreen True se a tela agora é muito pequena.
-     * @param isSmallScreen True se a tela agora é pequena.
+     * Prepara o teclado para uma nova partida: todas as teclas voltam a ser desconhecidas.
      */
-    public void updateSizes(boolean isVerySmallScreen, boolean isSmallScreen) {
-        this.isVerySmallScreen = isVerySmallScreen;
-        this.isSmallScreen = isSmallScreen;
-
-        // Itera sobre todos os botões e atualiza seu tamanho e fonte.
-        for (JButton btn : keyButtons.values()) {
-            updateKeySize(btn);
-            btn.setFont(new Font("Arial", Font.BOLD, getKeyboardFontSize()));
-        }
-        updateSpecialKeys(); // Atualiza também as teclas especiais.
+    public void reset() {
+        Arrays.fill(estados, DESCONHECIDA);
+        won = false;
+        pressionada = -1;
+        repaint();
     }
 
     /**
-     * Encontra e atualiza o tamanho das teclas especiais (ENTER, BACKSPACE).
+     * Troca a disposição das teclas (o estado das letras é mantido).
+     * @param layout O novo layout.
      */
-    private void updateSpecialKeys() {
-        // Itera através dos painéis de fileira e seus componentes (botões).
-        for (Component comp : getComponents()) {
-            if (comp instanceof JPanel) {
-                for (Component btn : ((JPanel) comp).getComponents()) {
-                    if (btn instanceof JButton) {
-                        String text = ((JButton) btn).getText();
-                        if ("ENTER".equals(text)) {
-                            updateSpecialKeySize((JButton) btn, true);
-                        } else if ("←".equals(text)) {
-                            updateSpecialKeySize((JButton) btn, false);
-                        }
-                    }
-                }
-            }
-        }
+    public void setLayoutTeclado(Layout layout) {
+        if (layout == this.layout) return;
+        this.layout = layout;
+        organizarTeclas();
+        revalidate();
+        repaint();
     }
 
-    /**
-     * Define o tamanho preferencial de um botão de tecla padrão com base no tamanho da tela.
-     * @param btn O botão a ser redimensionado.
-     */
-    private void updateKeySize(JButton btn) {
-        int size = isVerySmallScreen ? 35 : (isSmallScreen ? 50 : 70);
-        btn.setPreferredSize(new Dimension(size, size));
+    public Layout getLayoutTeclado() {
+        return layout;
     }
 
     /**
-     * Define o tamanho preferencial de um botão de tecla especial (ENTER/BACK).
-     * @param btn O botão a ser redimensionado.
-     * @param isEnter True se o botão for "ENTER".
+     * Atualiza os tamanhos de todas as teclas quando a janela é redimensionada.
+     * @param escala O novo fator de escala do layout.
      */
-    private void updateSpecialKeySize(JButton btn, boolean isEnter) {
-        int height = isVerySmallScreen ? 35 : (isSmallScreen ? 40 : 48);
-        int width = isVerySmallScreen ? 60 : (isSmallScreen ? 75 : 90);
-        btn.setPreferredSize(new Dimension(width, height));
+    public void updateSizes(double escala) {
+        if (escala == this.escala) return;
+        this.escala = escala;
+        organizarTeclas();
+        revalidate();
+        repaint();
+    }
+
+    // Aplica o fator de escala a um tamanho de referência (o da janela grande), com um mínimo.
+    private int escalar(int base, int minimo) {
+        return Math.max(minimo, (int) Math.round(base * escala));
     }
 
     /**
-     * Obtém o tamanho da fonte ideal para as teclas com base no tamanho da tela.
+     * Obtém o tamanho da fonte ideal para as teclas com base no fator de escala.
      * @return O tamanho da fonte.
      */
     private int getKeyboardFontSize() {
-        return isVerySmallScreen ? 12 : (isSmallScreen ? 15 : 18);
+        return escalar(18, 12);
     }
 
     /**
@@ -283,4 +351,4 @@ public class VirtualKeyboard extends JPanel {
     public void setWon(boolean won){
         this.won=won;
     }
-}
\ No newline at end of file
+}
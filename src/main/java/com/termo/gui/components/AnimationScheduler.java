@@ -0,0 +1,177 @@
+package com.termo.gui.components;
+
+import com.termo.log.Log;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Agendador único das animações da interface: um só {@link javax.swing.Timer} (na EDT) avança,
+ * a cada quadro, todas as animações ativas; cada animação repinta apenas a região que mudou.
+ * O timer só roda enquanto há animações.
+ *
+ * As animações são calculadas pelo tempo decorrido, não pela quantidade de quadros: se a EDT
+ * atrasar, os quadros perdidos são simplesmente pulados e a animação termina no tempo certo.
+ * As estatísticas de quadros (intervalo médio e máximo, quadros perdidos, custo de cada quadro)
+ * podem ser consultadas a qualquer momento; com {@code -Dtermo.animStats=true} um resumo é
+ * impresso ao fim de cada sequência de animações.
+ */
+public final class AnimationScheduler {
+    private static final Log log = Log.de(AnimationScheduler.class);
+    public static final int FPS = 60;
+    private static final long PERIODO_NANOS = 1_000_000_000L / FPS;
+    private static final boolean IMPRIMIR = Boolean.getBoolean("termo.animStats");
+
+    private static final AnimationScheduler compartilhado = new AnimationScheduler();
+
+    /** Uma animação: avançada uma vez por quadro até terminar. */
+    public interface Animacao {
+        /**
+         * quadro
+         * @param agora Instante do quadro ({@link System#nanoTime()})
+         * @return false quando a animação terminou
+         */
+        boolean quadro(long agora);
+
+        /** Chamado se a animação for cancelada antes de terminar (deve restaurar o estado final). */
+        default void cancelar() {
+        }
+    }
+
+    private final Timer timer;
+    private final List<Object> donos = new ArrayList<>();
+    private final List<Animacao> ativas = new ArrayList<>();
+
+    // Estatísticas de quadros (acessadas só na EDT).
+    private long ultimoQuadro;
+    private long quadros, quadrosPerdidos, intervalos;
+    private long somaIntervalos, maiorIntervalo;
+    private long somaTrabalho, maiorTrabalho;
+
+    private AnimationScheduler() {
+        timer = new Timer((int) (PERIODO_NANOS / 1_000_000), e -> tick());
+        timer.setCoalesce(true); // Eventos atrasados não se acumulam: vira um quadro só
+    }
+
+    /** @return O agendador compartilhado por todos os componentes */
+    public static AnimationScheduler compartilhado() {
+        return compartilhado;
+    }
+
+    /**
+     * adicionar
+     * Inicia uma animação (chamar na EDT).
+     * @param dono Componente dono da animação, usado em {@link #cancelar(Object)}
+     */
+    public void adicionar(Object dono, Animacao animacao) {
+        donos.add(dono);
+        ativas.add(animacao);
+        if (!timer.isRunning()) {
+            ultimoQuadro = 0;
+            timer.start();
+        }
+    }
+
+    /** Cancela todas as animações de um dono (ex.: o grid foi limpo). */
+    public void cancelar(Object dono) {
+        for (int i = ativas.size() - 1; i >= 0; i--) {
+            if (donos.get(i) == dono) {
+                donos.remove(i);
+                ativas.remove(i).cancelar();
+            }
+        }
+    }
+
+    /** @return true se o dono tem alguma animação em andamento */
+    public boolean animando(Object dono) {
+        return donos.contains(dono);
+    }
+
+    private void tick() {
+        long agora = System.nanoTime();
+        if (ultimoQuadro != 0) {
+            long intervalo = agora - ultimoQuadro;
+            somaIntervalos += intervalo;
+            intervalos++;
+            maiorIntervalo = Math.max(maiorIntervalo, intervalo);
+            // Um intervalo de mais de 1,5 período significa que ao menos um quadro foi pulado.
+            if (intervalo > PERIODO_NANOS * 3 / 2) quadrosPerdidos += intervalo / PERIODO_NANOS - 1;
+        }
+        ultimoQuadro = agora;
+
+        // Percorre uma cópia: uma animação que termina pode iniciar ou cancelar outras.
+        for (Animacao a : ativas.toArray(new Animacao[0])) {
+            int i = ativas.indexOf(a);
+            if (i < 0) continue; // Cancelada por outra animação neste mesmo quadro
+            boolean continua;
+            try {
+                continua = a.quadro(agora);
+            } catch (RuntimeException e) {
+                log.erro(() -> "Erro em animação", e);
+                continua = false;
+            }
+            if (!continua) {
+                i = ativas.indexOf(a);
+                if (i >= 0) {
+                    ativas.remove(i);
+                    donos.remove(i);
+                }
+            }
+        }
+        Toolkit.getDefaultToolkit().sync(); // Entrega o quadro ao sistema de janelas sem esperar
+
+        long trabalho = System.nanoTime() - agora;
+        somaTrabalho += trabalho;
+        maiorTrabalho = Math.max(maiorTrabalho, trabalho);
+        quadros++;
+
+        if (ativas.isEmpty()) {
+            timer.stop();
+            if (IMPRIMIR) log.info(() -> "Animações: " + resumo());
+        }
+    }
+
+    public long getQuadros() {
+        return quadros;
+    }
+
+    public long getQuadrosPerdidos() {
+        return quadrosPerdidos;
+    }
+
+    /** @return Intervalo médio entre quadros em ms (16,7 ms = 60 fps) */
+    public double getIntervaloMedioMs() {
+        return intervalos == 0 ? 0 : somaIntervalos / 1e6 / intervalos;
+    }
+
+    public double getMaiorIntervaloMs() {
+        return maiorIntervalo / 1e6;
+    }
+
+    /** @return Tempo médio gasto avançando as animações em cada quadro, em ms */
+    public double getTrabalhoMedioMs() {
+        return quadros == 0 ? 0 : somaTrabalho / 1e6 / quadros;
+    }
+
+    public double getMaiorTrabalhoMs() {
+        return maiorTrabalho / 1e6;
+    }
+
+    /** Zera as estatísticas de quadros. */
+    public void zerarEstatisticas() {
+        quadros = quadrosPerdidos = intervalos = 0;
+        somaIntervalos = maiorIntervalo = somaTrabalho = maiorTrabalho = 0;
+        ultimoQuadro = 0;
+    }
+
+    /** @return Resumo das estatísticas de quadros */
+    public String resumo() {
+        double media = getIntervaloMedioMs();
+        return String.format("%d quadros, %.1f fps (intervalo médio %.1f ms, máx %.1f ms), %d perdidos, "
+                        + "trabalho médio %.2f ms (máx %.2f ms)",
+                quadros, media == 0 ? 0 : 1000 / media, media, getMaiorIntervaloMs(), quadrosPerdidos,
+                getTrabalhoMedioMs(), getMaiorTrabalhoMs());
+    }
+}
@@ -0,0 +1,69 @@
+package com.termo.gui.components;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Ponte entre o motor do jogo e a tela: mudanças de estado publicadas (de qualquer thread)
+ * entram em uma fila e são aplicadas na EDT em um único passe, com todas as que chegaram até lá.
+ * Várias publicações seguidas agendam um só {@code invokeLater}, e a tela aplica o lote inteiro
+ * de uma vez, o que junta os pedidos de repintura em vez de repintar a cada mudança.
+ *
+ * @param <T> Tipo da mudança (imutável, já que atravessa threads)
+ */
+public final class EdtBridge<T> {
+    private final Consumer<List<T>> aplicar;
+    private final ConcurrentLinkedQueue<T> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong passes = new AtomicLong();
+
+    /**
+     * @param aplicar Aplica um lote de mudanças na tela (chamado na EDT, em ordem de publicação)
+     */
+    public EdtBridge(Consumer<List<T>> aplicar) {
+        this.aplicar = aplicar;
+    }
+
+    /**
+     * publicar
+     * Enfileira uma mudança; se ainda não há um passe agendado, agenda um na EDT.
+     */
+    public void publicar(T mudanca) {
+        fila.add(mudanca);
+        publicados.incrementAndGet();
+        if (agendado.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drenar);
+        }
+    }
+
+    /** Descarta as mudanças ainda não aplicadas (ex.: a partida foi reiniciada). */
+    public void descartar() {
+        fila.clear();
+    }
+
+    private void drenar() {
+        // Libera o agendamento antes de esvaziar a fila: uma publicação feita durante o passe agenda outro.
+        agendado.set(false);
+        List<T> lote = new ArrayList<>();
+        for (T m; (m = fila.poll()) != null; ) lote.add(m);
+        if (lote.isEmpty()) return;
+        passes.incrementAndGet();
+        aplicar.accept(lote);
+    }
+
+    /** @return Quantas mudanças já foram publicadas */
+    public long getPublicados() {
+        return publicados.get();
+    }
+
+    /** @return Quantos passes na EDT aplicaram mudanças */
+    public long getPasses() {
+        return passes.get();
+    }
+}
@@ -0,0 +1,191 @@
+package com.termo.gui.components;
+
+import com.termo.log.Log;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Vigia da EDT: detecta eventos que prendem a thread do Swing por mais que um limite e imprime,
+ * enquanto o travamento ainda está acontecendo, a pilha da EDT (onde ela está parada) e, quando
+ * ela se libera, quanto tempo o evento levou.
+ *
+ * Uma {@link EventQueue} própria marca o início e o fim de cada despacho (duas escritas voláteis
+ * por evento); uma thread de fundo confere a marca a cada meio limite e só captura a pilha quando
+ * o mesmo despacho passou do limite. Parado, o custo é essa verificação periódica.
+ * Despachos aninhados (diálogos modais processam eventos dentro de outro evento) contam cada um
+ * o seu tempo; a espera do diálogo por eventos não é considerada travamento. Quando o diálogo
+ * fecha, o evento externo volta a ser vigiado a partir dali, como um trecho novo: o trabalho feito
+ * depois de um JOptionPane (salvar o perfil, esperar o dicionário) também é medido.
+ *
+ * Ligado com {@code -Dtermo.edtWatchdog=true}; o limite vem de {@code -Dtermo.edtWatchdog.ms}
+ * (padrão 50 ms).
+ */
+public final class EdtWatchdog {
+    private static final Log log = Log.de(EdtWatchdog.class);
+    private static final int PROFUNDIDADE_PILHA = 30; // Quadros da pilha impressos em cada travamento
+    private static EdtWatchdog instalado;
+
+    private final long limiteNanos;
+    private final Thread vigia;
+
+    // Escritos pela EDT a cada despacho, lidos pelo vigia.
+    private volatile long inicioDespacho; // 0 = EDT livre (ou esperando eventos dentro de um diálogo modal)
+    private volatile long despacho; // Número do trecho em andamento
+    private volatile AWTEvent eventoAtual;
+    private volatile Thread edt;
+
+    private long contador; // Trechos de despacho já iniciados (só a EDT usa)
+    private Trecho ativo; // Trecho do despacho mais interno em andamento (só a EDT usa)
+
+    private volatile long despachoTravado = -1; // Último trecho em que o vigia registrou travamento
+    private volatile long eventos, travamentos, maiorTravamentoNanos;
+
+    private EdtWatchdog(long limiteMs) {
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.vigia = new Thread(this::vigiar, "termo-edt-watchdog");
+        vigia.setDaemon(true);
+    }
+
+    /**
+     * instalarSeHabilitado
+     * Instala o vigia se {@code -Dtermo.edtWatchdog=true}; chamar uma vez, no início do programa.
+     * @return O vigia instalado, ou null se estiver desligado
+     */
+    public static synchronized EdtWatchdog instalarSeHabilitado() {
+        if (!Boolean.getBoolean("termo.edtWatchdog")) return null;
+        return instalar(Long.getLong("termo.edtWatchdog.ms", 50));
+    }
+
+    /**
+     * instalar
+     * Coloca a fila de eventos vigiada no lugar da fila do sistema e inicia o vigia.
+     * @param limiteMs Tempo de despacho a partir do qual um evento é considerado travamento
+     */
+    public static synchronized EdtWatchdog instalar(long limiteMs) {
+        if (instalado != null) return instalado;
+        EdtWatchdog w = new EdtWatchdog(limiteMs);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(w.new Fila());
+        w.vigia.start();
+        instalado = w;
+        log.info("Vigia da EDT ligado (limite " + limiteMs + " ms)");
+        return w;
+    }
+
+    /** Trecho vigiado de um despacho: o despacho inteiro, ou o que resta dele depois de um diálogo modal. */
+    private static final class Trecho {
+        final AWTEvent evento;
+        long numero;
+        long inicio;
+
+        Trecho(AWTEvent evento) {
+            this.evento = evento;
+        }
+    }
+
+    /** Fila de eventos que marca o início e o fim de cada despacho. */
+    private final class Fila extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent evento) {
+            if (edt == null) edt = Thread.currentThread();
+            Trecho externo = ativo;
+            Trecho trecho = new Trecho(evento);
+            ativo = trecho;
+            iniciar(trecho);
+            try {
+                super.dispatchEvent(evento);
+            } finally {
+                eventos++;
+                if (despachoTravado == trecho.numero) registrarFim(System.nanoTime() - trecho.inicio);
+                ativo = externo;
+                if (externo != null) {
+                    iniciar(externo); // O evento externo continua rodando depois do aninhado
+                } else {
+                    inicioDespacho = 0;
+                }
+            }
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            inicioDespacho = 0; // Esperando eventos (inclusive dentro de um diálogo modal)
+            return super.getNextEvent();
+        }
+    }
+
+    // Publica para o vigia um trecho novo, com número próprio e começando agora.
+    private void iniciar(Trecho trecho) {
+        inicioDespacho = 0;
+        trecho.numero = ++contador;
+        trecho.inicio = System.nanoTime();
+        despacho = trecho.numero;
+        eventoAtual = trecho.evento;
+        inicioDespacho = trecho.inicio;
+    }
+
+    // Laço do vigia: confere a marca do despacho a cada meio limite.
+    private void vigiar() {
+        long periodo = Math.max(1_000_000L, limiteNanos / 2);
+        while (true) {
+            LockSupport.parkNanos(periodo);
+            long inicio = inicioDespacho;
+            if (inicio == 0) continue;
+            long numero = despacho;
+            long decorrido = System.nanoTime() - inicio;
+            // Um registro por despacho: a pilha é capturada logo depois de passar do limite.
+            if (decorrido >= limiteNanos && despachoTravado != numero && inicioDespacho == inicio) {
+                despachoTravado = numero;
+                registrarTravamento(decorrido);
+            }
+        }
+    }
+
+    private void registrarTravamento(long decorridoNanos) {
+        travamentos++; // Só o vigia escreve
+        Thread t = edt;
+        AWTEvent evento = eventoAtual;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("travada há %.0f ms (limite %d ms) no evento %s%n",
+                decorridoNanos / 1e6, limiteNanos / 1_000_000, descrever(evento)));
+        if (t != null) {
+            StackTraceElement[] pilha = t.getStackTrace();
+            for (int i = 0; i < Math.min(PROFUNDIDADE_PILHA, pilha.length); i++) {
+                sb.append("\tat ").append(pilha[i]).append(System.lineSeparator());
+            }
+            if (pilha.length > PROFUNDIDADE_PILHA) {
+                sb.append("\t... mais ").append(pilha.length - PROFUNDIDADE_PILHA).append(" quadros").append(System.lineSeparator());
+            }
+        }
+        log.aviso(() -> sb.toString().stripTrailing());
+    }
+
+    // Chamado pela EDT ao terminar um despacho que o vigia registrou como travado.
+    private void registrarFim(long duracaoNanos) {
+        maiorTravamentoNanos = Math.max(maiorTravamentoNanos, duracaoNanos);
+        log.aviso(() -> String.format("liberada após %.0f ms", duracaoNanos / 1e6));
+    }
+
+    // Só a classe e o tipo do evento: toString() leria o estado do componente fora da EDT.
+    private static String descrever(AWTEvent evento) {
+        return evento == null ? "?" : evento.getClass().getSimpleName() + "#" + evento.getID();
+    }
+
+    /** @return O vigia instalado, ou null */
+    public static synchronized EdtWatchdog getInstalado() {
+        return instalado;
+    }
+
+    public long getEventos() {
+        return eventos;
+    }
+
+    public long getTravamentos() {
+        return travamentos;
+    }
+
+    /** @return Duração do maior travamento já encerrado, em ms */
+    public double getMaiorTravamentoMs() {
+        return maiorTravamentoNanos / 1e6;
+    }
+}
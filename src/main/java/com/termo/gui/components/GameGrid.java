@@ -0,0 +1,597 @@
+package com.termo.gui.components;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Grid de letras do jogo desenhado em um único componente.
+ * O estado é um modelo pequeno (uma letra e um byte de estado por célula); o próprio componente
+ * recebe o teclado e repassa as teclas como as do teclado virtual ("A", "ENTER", "BACK", "LEFT",
+ * "RIGHT"). Cada alteração repinta apenas a célula afetada, e as células são copiadas do {@link TileCache}.
+ * Com o cache desligado, as células são desenhadas direto: as partes retas como retângulos sem
+ * antialiasing e só os quatro cantos arredondados com antialiasing.
+ */
+public class GameGrid extends JComponent {
+    // Estados de uma célula.
+    public static final byte BLOQUEADA = 0; // Linha futura (ainda não liberada)
+    public static final byte ATIVA = 1; // Linha em que o jogador está digitando
+    public static final byte VERDE = 2; // Letra na posição certa
+    public static final byte AMARELA = 3; // Letra existe em outra posição
+    public static final byte CINZA = 4; // Letra não existe na palavra
+
+    private static final int RAIO = 15;
+    private static final int ESPESSURA = 6;
+    // Lado do quadrado que contém a parte curva de cada canto do preenchimento e da borda.
+    private static final int CANTO_FUNDO = (RAIO + 1) / 2;
+    private static final int CANTO_BORDA = (RAIO + ESPESSURA + 1) / 2;
+    private static final BasicStroke TRACO = new BasicStroke(ESPESSURA); // Borda da linha ativa
+    private static final int LIMITE_CORES = 32; // Cores com imagens de cantos guardadas (ver pintarCantos)
+    private static final String[] TEXTOS = new String[256]; // Texto de cada letra Latin-1, criado uma vez
+
+    static {
+        for (int i = 1; i < TEXTOS.length; i++) TEXTOS[i] = String.valueOf((char) i);
+    }
+
+    // Animações (com -Dtermo.animacoes=false os estados são aplicados direto).
+    private static final boolean ANIMAR = !"false".equals(System.getProperty("termo.animacoes"));
+    private static final long DURACAO_VIRADA = 350_000_000L; // Cada célula vira em 350 ms...
+    private static final long INTERVALO_VIRADA = 150_000_000L; // ...uma 150 ms depois da outra
+    private static final long DURACAO_TREMOR = 400_000_000L;
+    private static final long DURACAO_PULO = 400_000_000L;
+    private static final long INTERVALO_PULO = 100_000_000L;
+
+    private final int rows;
+    private final int cols;
+    private final char[][] letras; // 0 = célula vazia
+    private final byte[][] estados;
+    private int cursorRow = -1;
+    private int cursorCol = -1;
+    private int boxSize = 70;
+    private int gap = 5;
+    private int fontSize = 28;
+    private boolean entradaHabilitada = true;
+
+    // Estado das animações, aplicado só na pintura (o modelo não muda de posição).
+    private final float[][] escalaY; // Altura relativa da célula (virada)
+    private final int[][] saltoY; // Deslocamento vertical da célula (pulo da vitória)
+    private final int[] tremorX; // Deslocamento horizontal da linha (palavra recusada)
+
+    private long repintes; // Pedidos de repintura, ver getRepintes()
+    private final List<EsperaPintura> esperas = new ArrayList<>(); // Ver aoPintarCelula
+
+    // Cantos curvos do preenchimento e da borda para células de lado 'cantosTamanho', usados sem o
+    // TileCache, e as suas imagens em cada cor já pintada.
+    private Shape[] cantosFundo;
+    private Shape[] cantosBorda;
+    private final Map<Color, BufferedImage[]> imagensFundo = new HashMap<>();
+    private final Map<Color, BufferedImage[]> imagensBorda = new HashMap<>();
+    private int cantosTamanho;
+
+    /**
+     * @param rows Quantidade de linhas (tentativas)
+     * @param cols Quantidade de colunas (letras)
+     * @param aoTeclar Recebe as teclas digitadas, no formato do teclado virtual
+     * @param aoSelecionarColuna Recebe a coluna clicada na linha ativa
+     */
+    public GameGrid(int rows, int cols, Consumer<String> aoTeclar, IntConsumer aoSelecionarColuna) {
+        this.rows = rows;
+        this.cols = cols;
+        this.letras = new char[rows][cols];
+        this.estados = new byte[rows][cols];
+        this.escalaY = new float[rows][cols];
+        this.saltoY = new int[rows][cols];
+        this.tremorX = new int[rows];
+        setOpaque(false);
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+        limpar();
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+                char ch = e.getKeyChar();
+                if (entradaHabilitada && Character.isLetter(ch)) {
+                    aoTeclar.accept(String.valueOf(Character.toUpperCase(ch)));
+                    e.consume();
+                }
+            }
+
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!entradaHabilitada) return;
+                String tecla;
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_BACK_SPACE: tecla = "BACK"; break;
+                    case KeyEvent.VK_ENTER: tecla = "ENTER"; break;
+                    case KeyEvent.VK_LEFT: tecla = "LEFT"; break;
+                    case KeyEvent.VK_RIGHT: tecla = "RIGHT"; break;
+                    default: return;
+                }
+                aoTeclar.accept(tecla);
+                e.consume();
+            }
+        });
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                int col = e.getX() / (boxSize + gap);
+                int row = e.getY() / (boxSize + gap);
+                if (entradaHabilitada && row == cursorRow && col >= 0 && col < cols) {
+                    aoSelecionarColuna.accept(col);
+                }
+            }
+        });
+    }
+
+    // ===== Modelo =====
+
+    /** Volta ao estado inicial: tudo vazio, primeira linha ativa e cursor na primeira célula. */
+    public void limpar() {
+        AnimationScheduler.compartilhado().cancelar(this);
+        for (int r = 0; r < rows; r++) {
+            Arrays.fill(letras[r], (char) 0);
+            Arrays.fill(estados[r], r == 0 ? ATIVA : BLOQUEADA);
+            Arrays.fill(escalaY[r], 1f);
+            Arrays.fill(saltoY[r], 0);
+            tremorX[r] = 0;
+        }
+        cursorRow = 0;
+        cursorCol = 0;
+        entradaHabilitada = true;
+        repaint();
+    }
+
+    public void setLetra(int row, int col, char letra) {
+        if (letras[row][col] == letra) return;
+        letras[row][col] = letra;
+        repaintCelula(row, col);
+    }
+
+    /** @return Letra da célula (0 se vazia) */
+    public char getLetra(int row, int col) {
+        return letras[row][col];
+    }
+
+    public void setEstado(int row, int col, byte estado) {
+        if (estados[row][col] == estado) return;
+        estados[row][col] = estado;
+        repaintCelula(row, col);
+    }
+
+    public byte getEstado(int row, int col) {
+        return estados[row][col];
+    }
+
+    /** Libera a linha para digitação. */
+    public void setLinhaAtiva(int row) {
+        Arrays.fill(estados[row], ATIVA);
+        repaintLinha(row, 0);
+    }
+
+    /** @return Letras preenchidas da linha, em ordem (sem as células vazias) */
+    public String getLinha(int row) {
+        StringBuilder sb = new StringBuilder(cols);
+        for (char ch : letras[row]) {
+            if (ch != 0) sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    /** Move o cursor (destaque da célula em edição); (-1, -1) esconde o cursor. */
+    public void setCursor(int row, int col) {
+        if (row == cursorRow && col == cursorCol) return;
+        if (cursorRow >= 0 && cursorCol >= 0) repaintCelula(cursorRow, cursorCol);
+        cursorRow = row;
+        cursorCol = col;
+        if (row >= 0 && col >= 0) repaintCelula(row, col);
+    }
+
+    /** Habilita ou bloqueia a entrada de teclado e mouse (ex.: fim de jogo). */
+    public void setEntradaHabilitada(boolean habilitada) {
+        this.entradaHabilitada = habilitada;
+    }
+
+    public boolean isEntradaHabilitada() {
+        return entradaHabilitada;
+    }
+
+    /**
+     * mostrarResultado
+     * Troca as letras da linha pelas do chute (com acentos) e revela as cores, com um único pedido
+     * de repintura para a linha (mais os quadros da animação).
+     * @param row A linha do chute
+     * @param palavra As letras do chute, uma por coluna
+     * @param novosEstados Estado final de cada coluna
+     * @param aoTerminar Chamado quando a revelação terminar (pode ser null)
+     */
+    public void mostrarResultado(int row, String palavra, byte[] novosEstados, Runnable aoTerminar) {
+        for (int c = 0; c < cols; c++) {
+            letras[row][c] = c < palavra.length() ? palavra.charAt(c) : 0;
+        }
+        if (ANIMAR) repaintLinha(row, 0); // Sem animação, revelarLinha já repinta a linha
+        revelarLinha(row, novosEstados, aoTerminar);
+    }
+
+    /**
+     * aoPintarCelula
+     * Agenda uma ação para quando a célula terminar de ser pintada (a próxima pintura que a cobrir),
+     * usada para medir a latência da entrada até a tela.
+     */
+    public void aoPintarCelula(int row, int col, Runnable acao) {
+        esperas.add(new EsperaPintura(row, col, acao));
+    }
+
+    private static final class EsperaPintura {
+        final int row, col;
+        final Runnable acao;
+
+        EsperaPintura(int row, int col, Runnable acao) {
+            this.row = row;
+            this.col = col;
+            this.acao = acao;
+        }
+    }
+
+    // ===== Animações =====
+
+    /**
+     * revelarLinha
+     * Vira as células da linha uma a uma, trocando cada uma para o novo estado no meio da virada.
+     * @param row A linha revelada
+     * @param novosEstados Estado final de cada coluna
+     * @param aoTerminar Chamado quando a última célula terminar de virar (pode ser null)
+     */
+    public void revelarLinha(int row, byte[] novosEstados, Runnable aoTerminar) {
+        if (!ANIMAR) {
+            System.arraycopy(novosEstados, 0, estados[row], 0, cols);
+            repaintLinha(row, 0);
+            if (aoTerminar != null) aoTerminar.run();
+            return;
+        }
+        long inicio = System.nanoTime();
+        AnimationScheduler.compartilhado().adicionar(this, new AnimationScheduler.Animacao() {
+            @Override
+            public boolean quadro(long agora) {
+                boolean terminou = true;
+                for (int c = 0; c < cols; c++) {
+                    double t = progresso(agora, inicio + c * INTERVALO_VIRADA, DURACAO_VIRADA);
+                    if (t >= 0.5) estados[row][c] = novosEstados[c]; // Meio da virada: a célula está "de lado"
+                    escalaY[row][c] = t >= 1 ? 1f : (float) Math.max(0.05, Math.abs(Math.cos(Math.PI * t)));
+                    if (t < 1) terminou = false;
+                }
+                repaintLinha(row, 0);
+                if (terminou && aoTerminar != null) aoTerminar.run();
+                return !terminou;
+            }
+
+            @Override
+            public void cancelar() {
+                for (int c = 0; c < cols; c++) {
+                    estados[row][c] = novosEstados[c];
+                    escalaY[row][c] = 1f;
+                }
+                repaintLinha(row, 0);
+            }
+        });
+    }
+
+    /**
+     * tremerLinha
+     * Balança a linha para os lados (palavra recusada).
+     */
+    public void tremerLinha(int row) {
+        if (!ANIMAR) return;
+        int amplitude = Math.max(4, boxSize / 8);
+        long inicio = System.nanoTime();
+        AnimationScheduler.compartilhado().adicionar(this, new AnimationScheduler.Animacao() {
+            @Override
+            public boolean quadro(long agora) {
+                double t = progresso(agora, inicio, DURACAO_TREMOR);
+                // Quatro idas e vindas, diminuindo até parar.
+                tremorX[row] = t >= 1 ? 0 : (int) Math.round(amplitude * Math.sin(8 * Math.PI * t) * (1 - t));
+                repaintLinha(row, amplitude);
+                return t < 1;
+            }
+
+            @Override
+            public void cancelar() {
+                tremorX[row] = 0;
+                repaintLinha(row, amplitude);
+            }
+        });
+    }
+
+    /**
+     * pularLinha
+     * Faz as células da linha pularem uma a uma (vitória).
+     * @param aoTerminar Chamado quando a última célula voltar ao lugar (pode ser null)
+     */
+    public void pularLinha(int row, Runnable aoTerminar) {
+        if (!ANIMAR) {
+            if (aoTerminar != null) aoTerminar.run();
+            return;
+        }
+        int altura = Math.max(6, boxSize / 3);
+        long inicio = System.nanoTime();
+        AnimationScheduler.compartilhado().adicionar(this, new AnimationScheduler.Animacao() {
+            @Override
+            public boolean quadro(long agora) {
+                boolean terminou = true;
+                for (int c = 0; c < cols; c++) {
+                    double t = progresso(agora, inicio + c * INTERVALO_PULO, DURACAO_PULO);
+                    saltoY[row][c] = t >= 1 ? 0 : (int) Math.round(-altura * Math.sin(Math.PI * t));
+                    if (t < 1) terminou = false;
+                }
+                repaintLinha(row, altura);
+                if (terminou && aoTerminar != null) aoTerminar.run();
+                return !terminou;
+            }
+
+            @Override
+            public void cancelar() {
+                Arrays.fill(saltoY[row], 0);
+                repaintLinha(row, altura);
+            }
+        });
+    }
+
+    /** @return Progresso de 0 a 1 de uma etapa que começa em {@code inicio} e dura {@code duracao} */
+    private static double progresso(long agora, long inicio, long duracao) {
+        return Math.max(0, Math.min(1, (agora - inicio) / (double) duracao));
+    }
+
+    // ===== Tamanho =====
+
+    /**
+     * setTamanhoCelula
+     * @param boxSize Lado de cada célula em pixels
+     * @param gap Espaço entre as células
+     * @param fontSize Tamanho da fonte das letras
+     */
+    public void setTamanhoCelula(int boxSize, int gap, int fontSize) {
+        if (this.boxSize == boxSize && this.gap == gap && this.fontSize == fontSize) return;
+        this.boxSize = boxSize;
+        this.gap = gap;
+        this.fontSize = fontSize;
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(cols * boxSize + (cols - 1) * gap, rows * boxSize + (rows - 1) * gap);
+    }
+
+    @Override
+    public Dimension getMinimumSize() {
+        return getPreferredSize();
+    }
+
+    // ===== Pintura =====
+
+    private void repaintCelula(int row, int col) {
+        repaint((boxSize + gap) * col, (boxSize + gap) * row, boxSize, boxSize);
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        repintes++; // Todos os repaint(...) do Swing chegam aqui
+        super.repaint(tm, x, y, width, height);
+    }
+
+    /** @return Quantos pedidos de repintura o grid já fez (para medir o custo de cada atualização) */
+    public long getRepintes() {
+        return repintes;
+    }
+
+    // Repinta a faixa da linha, com uma margem para as células deslocadas por animação.
+    private void repaintLinha(int row, int margem) {
+        repaint(-margem, (boxSize + gap) * row - margem,
+                cols * (boxSize + gap) + 2 * margem, boxSize + 2 * margem);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            Rectangle clip = g2.getClipBounds();
+            int passo = boxSize + gap;
+            Color base = TileCache.fundoAtras(this);
+            Theme tema = Theme.atual(); // Lido a cada pintura: a troca de tema só precisa de um repaint.
+            Font font = tema.fonte(Font.BOLD, fontSize);
+            FontMetrics fm = null;
+            boolean copiarCantos = false;
+            if (!TileCache.isHabilitado()) {
+                // Desenho direto: a fonte e as dicas valem para todas as células desta pintura (o
+                // antialiasing das formas é ligado só nos cantos, ver desenharDireto).
+                if (cantosTamanho != boxSize) criarCantos();
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g2.setFont(font);
+                fm = g2.getFontMetrics();
+                // Com escala (HiDPI) as imagens dos cantos ficariam borradas: preenche as formas.
+                copiarCantos = (g2.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) == 0;
+            }
+            // Só as células que cruzam a área a repintar (mais uma em volta, que pode estar deslocada
+            // por uma animação).
+            int r0 = clip == null ? 0 : Math.max(0, clip.y / passo - 1);
+            int r1 = clip == null ? rows - 1 : Math.min(rows - 1, (clip.y + clip.height) / passo + 1);
+            int c0 = clip == null ? 0 : Math.max(0, clip.x / passo - 1);
+            int c1 = clip == null ? cols - 1 : Math.min(cols - 1, (clip.x + clip.width) / passo + 1);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    pintarCelula(g2, tema, font, fm, copiarCantos, r, c, c * passo, r * passo, base);
+                }
+            }
+            if (!esperas.isEmpty()) avisarPintadas(clip, passo);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    // Roda as ações agendadas das células que esta pintura cobriu.
+    private void avisarPintadas(Rectangle clip, int passo) {
+        for (int i = 0; i < esperas.size(); i++) {
+            EsperaPintura e = esperas.get(i);
+            if (clip == null || clip.intersects(e.col * passo, e.row * passo, boxSize, boxSize)) {
+                esperas.remove(i--);
+                e.acao.run();
+            }
+        }
+    }
+
+    // fm != null: o TileCache está desligado e a célula é desenhada direto em g2.
+    private void pintarCelula(Graphics2D g2, Theme tema, Font font, FontMetrics fm, boolean copiarCantos,
+                              int row, int col, int x, int y, Color base) {
+        byte estado = estados[row][col];
+        char letra = letras[row][col];
+        String texto = letra == 0 ? null : letra < TEXTOS.length ? TEXTOS[letra] : String.valueOf(letra);
+        Color fundo = tema.corCelula(estado);
+        Color borda = fundo == null ? tema.bordaAtiva : null;
+        x += tremorX[row];
+        y += saltoY[row][col];
+        float escala = escalaY[row][col];
+        if (escala != 1f) {
+            // Virando: a célula é achatada verticalmente em torno do seu centro.
+            Graphics2D gc = (Graphics2D) g2.create();
+            try {
+                gc.translate(x, y + boxSize / 2.0);
+                gc.scale(1, escala);
+                if (fm != null) {
+                    desenharDireto(gc, fm, false, 0, -boxSize / 2, texto, tema.texto, fundo, borda);
+                } else {
+                    TileCache.desenhar(gc, 0, -boxSize / 2, boxSize, boxSize, texto, font, tema.texto,
+                            fundo, borda, base, RAIO, ESPESSURA);
+                }
+            } finally {
+                gc.dispose();
+            }
+            return;
+        }
+        // Células coloridas ou bloqueadas são preenchidas; as da linha ativa têm só a borda.
+        if (fm != null) {
+            desenharDireto(g2, fm, copiarCantos, x, y, texto, tema.texto, fundo, borda);
+        } else {
+            TileCache.desenhar(g2, x, y, boxSize, boxSize, texto, font, tema.texto,
+                    fundo, borda, base, RAIO, ESPESSURA);
+        }
+        if (row == cursorRow && col == cursorCol && entradaHabilitada && fundo == null) {
+            // Cursor: barra na parte de baixo da célula em edição.
+            g2.setColor(tema.bordaAtiva);
+            g2.fillRect(x + ESPESSURA, y + boxSize - 2 * ESPESSURA, boxSize - 2 * ESPESSURA, ESPESSURA / 2 + 1);
+        }
+    }
+
+    // Desenha a célula sem o cache, com a fonte e as dicas de texto já definidas em g por paintComponent.
+    // O antialiasing só muda os pixels das curvas, então as partes retas (em coordenadas inteiras)
+    // são retângulos comuns e apenas os cantos são desenhados com antialiasing: copiados de uma
+    // imagem por cor quando 'copiarCantos' (só translação) ou preenchidos como forma (escala, virada).
+    private void desenharDireto(Graphics2D g, FontMetrics fm, boolean copiarCantos, int x, int y, String texto,
+                                Color corTexto, Color fundo, Color borda) {
+        if (fundo != null) {
+            int meio = boxSize - 2 * CANTO_FUNDO;
+            g.setColor(fundo);
+            g.fillRect(x, y + CANTO_FUNDO, boxSize, meio);
+            g.fillRect(x + CANTO_FUNDO, y, meio, CANTO_FUNDO);
+            g.fillRect(x + CANTO_FUNDO, y + boxSize - CANTO_FUNDO, meio, CANTO_FUNDO);
+            pintarCantos(g, copiarCantos, cantosFundo, imagensFundo, CANTO_FUNDO, fundo, x, y);
+        }
+        if (borda != null) {
+            int meio = boxSize - 2 * CANTO_BORDA;
+            g.setColor(borda);
+            g.fillRect(x + CANTO_BORDA, y, meio, ESPESSURA);
+            g.fillRect(x + CANTO_BORDA, y + boxSize - ESPESSURA, meio, ESPESSURA);
+            g.fillRect(x, y + CANTO_BORDA, ESPESSURA, meio);
+            g.fillRect(x + boxSize - ESPESSURA, y + CANTO_BORDA, ESPESSURA, meio);
+            pintarCantos(g, copiarCantos, cantosBorda, imagensBorda, CANTO_BORDA, borda, x, y);
+        }
+        if (texto != null) {
+            g.setColor(corTexto);
+            g.drawString(texto, x + (boxSize - fm.stringWidth(texto)) / 2,
+                    y + (boxSize - fm.getHeight()) / 2 + fm.getAscent());
+        }
+    }
+
+    private void pintarCantos(Graphics2D g, boolean copiar, Shape[] cantos, Map<Color, BufferedImage[]> imagens,
+                              int lado, Color cor, int x, int y) {
+        int fim = boxSize - lado;
+        if (copiar) {
+            BufferedImage[] img = imagens.get(cor);
+            if (img == null) {
+                if (imagens.size() >= LIMITE_CORES) imagens.clear(); // Troca de tema
+                img = rasterizarCantos(cantos, lado, cor);
+                imagens.put(cor, img);
+            }
+            for (int i = 0; i < img.length; i++) {
+                g.drawImage(img[i], x + (i & 1) * fim, y + (i >> 1) * fim, null);
+            }
+            return;
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.translate(x, y);
+        for (Shape canto : cantos) g.fill(canto);
+        g.translate(-x, -y);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+    }
+
+    // Desenha os cantos, com antialiasing, em imagens transparentes do tamanho de cada canto.
+    private BufferedImage[] rasterizarCantos(Shape[] cantos, int lado, Color cor) {
+        int fim = boxSize - lado;
+        BufferedImage[] img = new BufferedImage[cantos.length];
+        for (int i = 0; i < cantos.length; i++) {
+            img[i] = new BufferedImage(lado, lado, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = img[i].createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setColor(cor);
+                g.translate(-(i & 1) * fim, -(i >> 1) * fim);
+                g.fill(cantos[i]);
+            } finally {
+                g.dispose();
+            }
+        }
+        return img;
+    }
+
+    // Recorta os cantos do retângulo arredondado e da sua borda para o tamanho de célula atual.
+    private void criarCantos() {
+        int meio = ESPESSURA / 2;
+        Area fundo = new Area(new RoundRectangle2D.Float(0, 0, boxSize, boxSize, RAIO, RAIO));
+        Area borda = new Area(TRACO.createStrokedShape(new RoundRectangle2D.Float(
+                meio, meio, boxSize - ESPESSURA, boxSize - ESPESSURA, RAIO, RAIO)));
+        cantosFundo = recortarCantos(fundo, CANTO_FUNDO);
+        cantosBorda = recortarCantos(borda, CANTO_BORDA);
+        imagensFundo.clear();
+        imagensBorda.clear();
+        cantosTamanho = boxSize;
+    }
+
+    // Na ordem superior esquerdo, superior direito, inferior esquerdo, inferior direito.
+    private Shape[] recortarCantos(Area forma, int lado) {
+        int fim = boxSize - lado;
+        Shape[] cantos = new Shape[4];
+        for (int i = 0; i < cantos.length; i++) {
+            Area canto = new Area(forma);
+            canto.intersect(new Area(new Rectangle((i & 1) * fim, (i >> 1) * fim, lado, lado)));
+            cantos[i] = new Path2D.Float(canto);
+        }
+        return cantos;
+    }
+}
@@ -0,0 +1,93 @@
+package com.termo.gui.components;
+
+import com.termo.metrics.InputLatency;
+import com.termo.metrics.LatencyHistogram;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Painel de depuração sobreposto ao canto da janela com os percentis ao vivo da latência de
+ * digitação e de envio ({@link InputLatency}) e, se o {@link EdtWatchdog} estiver ligado, os
+ * travamentos da EDT. Escondido não tem custo: o timer de atualização só roda enquanto aparece.
+ */
+public class LatencyHud extends JComponent {
+    private static final int ATUALIZACAO_MS = 250;
+    private static final int MARGEM = 8;
+
+    private final JLayeredPane layered;
+    private final InputLatency latencia;
+    private final Timer timer;
+    private String[] linhas = new String[0];
+
+    public LatencyHud(JFrame frame, InputLatency latencia) {
+        this.layered = frame.getLayeredPane();
+        this.latencia = latencia;
+        this.timer = new Timer(ATUALIZACAO_MS, e -> atualizar());
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        setOpaque(false);
+        setVisible(false);
+        layered.add(this, JLayeredPane.PALETTE_LAYER);
+    }
+
+    /** Mostra ou esconde o painel. */
+    public void alternar() {
+        boolean mostrar = !isVisible();
+        setVisible(mostrar);
+        if (mostrar) {
+            atualizar();
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    /** Remove o painel da janela e para o timer. */
+    public void dispose() {
+        timer.stop();
+        layered.remove(this);
+    }
+
+    private void atualizar() {
+        LatencyHistogram digitacao = latencia.getHistograma(InputLatency.Tipo.DIGITACAO);
+        LatencyHistogram envio = latencia.getHistograma(InputLatency.Tipo.ENVIO);
+        EdtWatchdog vigia = EdtWatchdog.getInstalado();
+        linhas = new String[vigia == null ? 3 : 4];
+        linhas[0] = String.format("%-10s %8s %8s %5s", "latência", "p50", "p99", "n");
+        linhas[1] = linha("digitação", digitacao);
+        linhas[2] = linha("envio", envio);
+        if (vigia != null) {
+            linhas[3] = String.format("EDT: %d travamentos, maior %.0f ms", vigia.getTravamentos(), vigia.getMaiorTravamentoMs());
+        }
+        FontMetrics fm = getFontMetrics(getFont());
+        int largura = 0;
+        for (String l : linhas) largura = Math.max(largura, fm.stringWidth(l));
+        Rectangle area = new Rectangle(MARGEM, MARGEM, largura + 2 * MARGEM, linhas.length * fm.getHeight() + 2 * MARGEM);
+        if (!area.equals(getBounds())) setBounds(area);
+        repaint();
+    }
+
+    private static String linha(String nome, LatencyHistogram h) {
+        return String.format("%-10s %5.1f ms %5.1f ms %5d", nome, h.percentil(50) / 1e6, h.percentil(99) / 1e6, h.getQuantidade());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(new Color(0, 0, 0, 180));
+            g2.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
+            g2.setColor(Color.WHITE);
+            g2.setFont(getFont());
+            FontMetrics fm = g2.getFontMetrics();
+            int y = MARGEM + fm.getAscent();
+            for (String l : linhas) {
+                g2.drawString(l, MARGEM, y);
+                y += fm.getHeight();
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+}
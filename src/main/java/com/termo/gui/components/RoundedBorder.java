@@ -8,9 +8,10 @@ import java.awt.*;
  * Herda de AbstractBorder para permitir a criação de uma borda personalizada para componentes Swing.
  */
 public class RoundedBorder extends AbstractBorder {
-    private int radius;     // O raio de arredondamento dos cantos.
-    private Color color;    // A cor da borda.
-    private int thickness;  // A espessura da linha da borda.
+    private final int radius;     // O raio de arredondamento dos cantos.
+    private final Color color;    // A cor da borda.
+    private final int thickness;  // A espessura da linha da borda.
+    private final BasicStroke stroke; // Traço criado uma vez e reaproveitado em cada pintura.
 
     /**
      * Construtor da borda arredondada.
@@ -19,9 +20,20 @@ public class RoundedBorder extends AbstractBorder {
      * @param thickness A espessura da linha em pixels.
      */
     public RoundedBorder(int radius, String hexColor, int thickness) {
+        this(radius, Color.decode(hexColor), thickness); // Decodifica a string de cor para um objeto Color.
+    }
+
+    /**
+     * Construtor da borda arredondada a partir de uma cor já criada (ver {@link Theme#borda}).
+     * @param radius O raio dos cantos.
+     * @param color A cor da borda.
+     * @param thickness A espessura da linha em pixels.
+     */
+    public RoundedBorder(int radius, Color color, int thickness) {
         this.radius = radius;
-        this.color = Color.decode(hexColor); // Decodifica a string de cor para um objeto Color.
+        this.color = color;
         this.thickness = thickness;
+        this.stroke = new BasicStroke(thickness);
     }
 
     /**
@@ -41,7 +53,7 @@ public class RoundedBorder extends AbstractBorder {
         Graphics2D g2 = (Graphics2D) g;
         g2.setColor(color); // Define a cor do pincel.
         // Define a espessura da linha.
-        g2.setStroke(new BasicStroke(thickness));
+        g2.setStroke(stroke);
         // Desenha o retângulo com cantos arredondados. (width-1, height-1) é usado para garantir que a linha caiba dentro dos limites.
         g2.drawRoundRect(x, y, width-1, height-1, radius, radius);
     }
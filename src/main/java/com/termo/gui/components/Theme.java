@@ -0,0 +1,171 @@
+package com.termo.gui.components;
+
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Paleta visual da interface: cores, fontes e bordas compartilhadas por todas as telas.
+ *
+ * Cada tema é imutável e as cores são criadas uma única vez; fontes (por estilo e tamanho) e
+ * bordas arredondadas são criadas na primeira vez em que são pedidas e reaproveitadas depois,
+ * em vez de um {@code Color.decode}, {@code new Font} ou {@code new RoundedBorder} a cada mudança
+ * de estado. O tema em uso pode ser trocado em tempo de execução com {@link #setAtual(Theme)};
+ * componentes desenhados à mão leem {@link #atual()} ao pintar e as telas que guardam cores em
+ * propriedades do Swing se registram com {@link #aoMudar(Consumer)} para reaplicá-las.
+ */
+public final class Theme {
+    /** Tema padrão do jogo. */
+    public static final Theme ESCURO = new Theme("escuro", "Arial",
+            "#6e5c62", "#615458", "#4c4347", "#3aa394", "#d3ad69", "#312a2c", "#ffffff",
+            "#4c4347", "#2f2a2c", "#bdb6b6", "#3d3a3b", "#009AFE", "#2f292a", "#049CFF", "#dcd9d9");
+
+    /** Tema de alto contraste: laranja e azul no lugar de verde e amarelo, fundo quase preto. */
+    public static final Theme ALTO_CONTRASTE = new Theme("alto contraste", "Arial",
+            "#121213", "#2c2c2e", "#818384", "#f5793a", "#85c0f9", "#3a3a3c", "#ffffff",
+            "#818384", "#1e1e20", "#9a9a9c", "#3a3a3c", "#1f6feb", "#1e1e20", "#f5793a", "#e6e6e6");
+
+    private static volatile Theme atual = ESCURO;
+    private static final List<Consumer<Theme>> ouvintes = new CopyOnWriteArrayList<>();
+
+    private final String nome;
+    private final String familia;
+
+    // Janela e grid.
+    public final Color fundoJanela; // Fundo da janela principal
+    public final Color bloqueada; // Células de linhas futuras
+    public final Color bordaAtiva; // Borda e cursor da linha em digitação
+    public final Color verde; // Letra na posição certa
+    public final Color amarela; // Letra em outra posição
+    public final Color cinza; // Letra que não existe na palavra
+    public final Color texto; // Texto principal
+
+    // Teclado e cabeçalho.
+    public final Color tecla; // Tecla ainda não usada
+    public final Color teclaCinza; // Tecla de letra que não existe na palavra
+    public final Color textoTeclaCinza;
+    public final Color botaoCabecalho;
+    public final Color aviso; // Fundo das mensagens de aviso
+
+    // Estatísticas e análises.
+    public final Color cartao; // Fundo dos cartões/diálogos
+    public final Color destaque; // Barras, botões de ação e mapa de calor
+    public final Color textoSecundario;
+
+    private final Map<Integer, Font> fontes = new ConcurrentHashMap<>();
+    private final Map<Long, RoundedBorder> bordas = new ConcurrentHashMap<>();
+    private final Map<Long, Color> transparentes = new ConcurrentHashMap<>();
+
+    private Theme(String nome, String familia, String fundoJanela, String bloqueada, String bordaAtiva,
+                  String verde, String amarela, String cinza, String texto, String tecla, String teclaCinza,
+                  String textoTeclaCinza, String botaoCabecalho, String aviso, String cartao, String destaque,
+                  String textoSecundario) {
+        this.nome = nome;
+        this.familia = familia;
+        this.fundoJanela = Color.decode(fundoJanela);
+        this.bloqueada = Color.decode(bloqueada);
+        this.bordaAtiva = Color.decode(bordaAtiva);
+        this.verde = Color.decode(verde);
+        this.amarela = Color.decode(amarela);
+        this.cinza = Color.decode(cinza);
+        this.texto = Color.decode(texto);
+        this.tecla = Color.decode(tecla);
+        this.teclaCinza = Color.decode(teclaCinza);
+        this.textoTeclaCinza = Color.decode(textoTeclaCinza);
+        this.botaoCabecalho = Color.decode(botaoCabecalho);
+        this.aviso = Color.decode(aviso);
+        this.cartao = Color.decode(cartao);
+        this.destaque = Color.decode(destaque);
+        this.textoSecundario = Color.decode(textoSecundario);
+    }
+
+    /** @return Tema em uso */
+    public static Theme atual() {
+        return atual;
+    }
+
+    /**
+     * setAtual
+     * Troca o tema em uso e avisa os ouvintes (na thread que fez a troca, normalmente a EDT).
+     * @param tema O novo tema.
+     */
+    public static void setAtual(Theme tema) {
+        if (tema == atual) return;
+        atual = tema;
+        for (Consumer<Theme> ouvinte : ouvintes) {
+            ouvinte.accept(tema);
+        }
+    }
+
+    /**
+     * aoMudar
+     * Registra uma ação chamada a cada troca de tema.
+     * @return Ação que cancela o registro (para telas que são descartadas)
+     */
+    public static Runnable aoMudar(Consumer<Theme> ouvinte) {
+        ouvintes.add(ouvinte);
+        return () -> ouvintes.remove(ouvinte);
+    }
+
+    /**
+     * fonte
+     * @param estilo {@link Font#PLAIN}, {@link Font#BOLD}...
+     * @param tamanho Tamanho em pontos
+     * @return A fonte do tema no estilo e tamanho pedidos (sempre a mesma instância)
+     */
+    public Font fonte(int estilo, int tamanho) {
+        return fontes.computeIfAbsent(estilo << 16 | tamanho, k -> new Font(familia, estilo, tamanho));
+    }
+
+    /**
+     * borda
+     * @return Borda arredondada com esses parâmetros (sempre a mesma instância)
+     */
+    public RoundedBorder borda(int raio, Color cor, int espessura) {
+        long chave = (long) raio << 48 | (long) (espessura & 0xFFFF) << 32 | (cor.getRGB() & 0xFFFFFFFFL);
+        return bordas.computeIfAbsent(chave, k -> new RoundedBorder(raio, cor, espessura));
+    }
+
+    /**
+     * transparente
+     * @return A cor com o alfa informado (0 a 255), sempre a mesma instância para a mesma combinação
+     */
+    public Color transparente(Color cor, int alfa) {
+        long chave = (long) (alfa & 0xFF) << 32 | (cor.getRGB() & 0xFFFFFFL);
+        return transparentes.computeIfAbsent(chave, k -> new Color(cor.getRed(), cor.getGreen(), cor.getBlue(), alfa));
+    }
+
+    /**
+     * hex
+     * @return A cor no formato {@code #rrggbb}, para textos HTML do Swing
+     */
+    public static String hex(Color cor) {
+        return String.format("#%06x", cor.getRGB() & 0xFFFFFF);
+    }
+
+    /**
+     * corCelula
+     * @return Cor de fundo de uma célula do grid no estado informado (null para a linha ativa, que só tem borda)
+     */
+    public Color corCelula(byte estado) {
+        switch (estado) {
+            case GameGrid.BLOQUEADA: return bloqueada;
+            case GameGrid.VERDE: return verde;
+            case GameGrid.AMARELA: return amarela;
+            case GameGrid.CINZA: return cinza;
+            default: return null;
+        }
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
@@ -0,0 +1,205 @@
+package com.termo.gui.components;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache de "peças" pré-desenhadas: um retângulo arredondado com fundo e/ou borda e um texto
+ * centralizado (as células do grid e as teclas do teclado virtual).
+ *
+ * Cada combinação de texto, cores, fonte, tamanho e escala da tela (DPI) é rasterizada uma vez,
+ * na primeira vez em que é pedida, e as pinturas seguintes viram uma cópia de imagem.
+ * Deve ser usado apenas na thread do Swing (EDT). O cache é esvaziado por {@link #invalidar()}
+ * quando a categoria de tamanho da janela muda, já que as peças antigas não serão mais usadas.
+ *
+ * Com {@code -Dtermo.tileCache=false} (ou {@link #setHabilitado(boolean)}) as peças são desenhadas
+ * diretamente a cada pintura, o que serve de comparação no {@code PaintBenchmark}.
+ */
+public final class TileCache {
+    private static final int LIMITE = 4096; // Proteção contra crescimento sem fim
+    private static final Map<Chave, BufferedImage> pecas = new HashMap<>();
+    private static boolean habilitado = !"false".equals(System.getProperty("termo.tileCache"));
+    private static long rasterizadas;
+
+    private TileCache() {
+    }
+
+    /** Descrição de uma peça; também é a chave do cache. */
+    private static final class Chave {
+        final String texto;
+        final Font fonte;
+        final int corTexto, fundo, borda, base; // ARGB; 0 = sem fundo / sem borda / sem base
+        final int largura, altura, raio, espessura;
+        final double escala;
+        final int hash;
+
+        Chave(String texto, Font fonte, Color corTexto, Color fundo, Color borda, Color base,
+              int largura, int altura, int raio, int espessura, double escala) {
+            this.texto = texto;
+            this.fonte = fonte;
+            this.corTexto = corTexto == null ? 0 : corTexto.getRGB();
+            this.fundo = fundo == null ? 0 : fundo.getRGB();
+            this.borda = borda == null ? 0 : borda.getRGB();
+            this.base = base == null ? 0 : base.getRGB();
+            this.largura = largura;
+            this.altura = altura;
+            this.raio = raio;
+            this.espessura = espessura;
+            this.escala = escala;
+            this.hash = Objects.hash(texto, fonte, this.corTexto, this.fundo, this.borda, this.base,
+                    largura, altura, raio, espessura, escala);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Chave)) return false;
+            Chave k = (Chave) o;
+            return hash == k.hash && largura == k.largura && altura == k.altura && fundo == k.fundo
+                    && borda == k.borda && base == k.base && corTexto == k.corTexto && raio == k.raio
+                    && espessura == k.espessura && escala == k.escala
+                    && Objects.equals(texto, k.texto) && Objects.equals(fonte, k.fonte);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * desenhar
+     * Desenha uma peça em (x, y), copiando a imagem do cache (criada na primeira vez).
+     *
+     * @param texto Texto centralizado (null ou vazio para nenhum)
+     * @param fonte Fonte do texto
+     * @param corTexto Cor do texto
+     * @param fundo Cor de preenchimento (null para transparente)
+     * @param borda Cor da borda (null para nenhuma)
+     * @param base Cor opaca que está atrás da peça (ver {@link #fundoAtras(Component)}), ou null
+     * @param raio Raio dos cantos arredondados
+     * @param espessura Espessura da borda
+     */
+    public static void desenhar(Graphics2D g, int x, int y, int largura, int altura, String texto, Font fonte,
+                                Color corTexto, Color fundo, Color borda, Color base, int raio, int espessura) {
+        if (largura <= 0 || altura <= 0) return;
+        if (!habilitado) {
+            pintar(g, x, y, largura, altura, texto, fonte, corTexto, fundo, borda, raio, espessura);
+            return;
+        }
+        AffineTransform t = g.getTransform();
+        double escala = Math.max(1.0, Math.max(Math.abs(t.getScaleX()), Math.abs(t.getScaleY())));
+        Chave chave = new Chave(texto, fonte, corTexto, fundo, borda, base, largura, altura, raio, espessura, escala);
+        BufferedImage img = pecas.get(chave);
+        if (img == null) {
+            if (pecas.size() >= LIMITE) pecas.clear();
+            img = rasterizar(chave, texto, fonte, corTexto, fundo, borda, base);
+            pecas.put(chave, img);
+        }
+        if (escala == 1.0 || t.getScaleX() != t.getScaleY() || t.getShearX() != 0 || t.getShearY() != 0) {
+            g.drawImage(img, x, y, largura, altura, null);
+        } else {
+            // A imagem já tem a resolução da tela: copia em coordenadas de dispositivo, sem reamostrar.
+            g.setTransform(new AffineTransform(1, 0, 0, 1, t.getTranslateX(), t.getTranslateY()));
+            g.drawImage(img, (int) Math.round(x * t.getScaleX()), (int) Math.round(y * t.getScaleY()), null);
+            g.setTransform(t);
+        }
+    }
+
+    private static BufferedImage rasterizar(Chave k, String texto, Font fonte,
+                                            Color corTexto, Color fundo, Color borda, Color base) {
+        int w = (int) Math.ceil(k.largura * k.escala);
+        int h = (int) Math.ceil(k.altura * k.escala);
+        // Com a cor de trás conhecida a peça já sai composta sobre ela e a cópia é opaca (sem mistura
+        // de alfa); sem ela, alfa pré-multiplicado, a composição mais rápida.
+        BufferedImage img = new BufferedImage(w, h,
+                base != null ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = img.createGraphics();
+        try {
+            if (base != null) {
+                g.setColor(base);
+                g.fillRect(0, 0, w, h);
+            }
+            g.scale(k.escala, k.escala);
+            pintar(g, 0, 0, k.largura, k.altura, texto, fonte, corTexto, fundo, borda, k.raio, k.espessura);
+        } finally {
+            g.dispose();
+        }
+        rasterizadas++;
+        return img;
+    }
+
+    // Desenho vetorial de uma peça (usado para rasterizar e quando o cache está desligado).
+    private static void pintar(Graphics2D destino, int x, int y, int largura, int altura, String texto, Font fonte,
+                               Color corTexto, Color fundo, Color borda, int raio, int espessura) {
+        Graphics2D g = (Graphics2D) destino.create();
+        try {
+            pintarEm(g, x, y, largura, altura, texto, fonte, corTexto, fundo, borda, raio, espessura);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static void pintarEm(Graphics2D g, int x, int y, int largura, int altura, String texto, Font fonte,
+                                 Color corTexto, Color fundo, Color borda, int raio, int espessura) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        if (fundo != null) {
+            g.setColor(fundo);
+            g.fillRoundRect(x, y, largura, altura, raio, raio);
+        }
+        if (borda != null && espessura > 0) {
+            g.setColor(borda);
+            g.setStroke(new BasicStroke(espessura));
+            int meio = espessura / 2;
+            g.drawRoundRect(x + meio, y + meio, largura - espessura, altura - espessura, raio, raio);
+        }
+        if (texto != null && !texto.isEmpty()) {
+            g.setFont(fonte);
+            g.setColor(corTexto);
+            FontMetrics fm = g.getFontMetrics();
+            g.drawString(texto, x + (largura - fm.stringWidth(texto)) / 2,
+                    y + (altura - fm.getHeight()) / 2 + fm.getAscent());
+        }
+    }
+
+    /**
+     * fundoAtras
+     * @return Cor de fundo do primeiro componente opaco que contém {@code c} (o que aparece
+     * atrás de uma peça desenhada em {@code c}), ou null se não houver
+     */
+    public static Color fundoAtras(Component c) {
+        for (Component p = c.getParent(); p != null; p = p.getParent()) {
+            if (p.isOpaque()) return p.getBackground();
+        }
+        return null;
+    }
+
+    /** Descarta todas as peças (ex.: a categoria de tamanho da janela mudou). */
+    public static void invalidar() {
+        pecas.clear();
+    }
+
+    /** Liga ou desliga o cache (desligado, cada pintura desenha a peça do zero). */
+    public static void setHabilitado(boolean ativo) {
+        habilitado = ativo;
+        pecas.clear();
+    }
+
+    public static boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /** @return Quantidade de peças guardadas no momento */
+    public static int getTamanho() {
+        return pecas.size();
+    }
+
+    /** @return Quantas peças já foram rasterizadas desde o início */
+    public static long getRasterizadas() {
+        return rasterizadas;
+    }
+}
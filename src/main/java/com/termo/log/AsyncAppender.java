@@ -0,0 +1,145 @@
+package com.termo.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escrita assíncrona das mensagens do {@link Log}: quem registra reserva uma posição em um buffer
+ * circular de tamanho fixo (sem trava) e segue; uma thread de fundo formata e escreve no console.
+ * Com o buffer cheio (console travado ou rajada enorme) a mensagem é descartada e contada, em vez
+ * de bloquear quem registrou; o total de descartes é avisado na próxima escrita.
+ *
+ * O buffer tem {@code -Dtermo.log.buffer} posições (padrão 8192, arredondado para potência de 2).
+ * A thread só é criada na primeira mensagem e o que estiver no buffer é escrito ao sair.
+ */
+public final class AsyncAppender {
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static volatile AsyncAppender global;
+
+    private final AtomicReferenceArray<Registro> buffer;
+    private final int mascara;
+    private final AtomicLong cabeca = new AtomicLong(); // Próxima posição a reservar
+    private volatile long cauda; // Próxima posição a escrever (só a thread de escrita altera)
+    private final AtomicLong descartados = new AtomicLong();
+    private final PrintStream saida;
+    private final PrintStream saidaErro;
+    private final Thread escritor;
+    private volatile boolean dormindo;
+
+    private static final class Registro {
+        final long quando;
+        final Log.Nivel nivel;
+        final String nome;
+        final String mensagem;
+        final Throwable causa;
+        final String thread;
+
+        Registro(Log.Nivel nivel, String nome, String mensagem, Throwable causa) {
+            this.quando = System.currentTimeMillis();
+            this.nivel = nivel;
+            this.nome = nome;
+            this.mensagem = mensagem;
+            this.causa = causa;
+            this.thread = Thread.currentThread().getName();
+        }
+    }
+
+    private AsyncAppender(int capacidade, PrintStream saida, PrintStream saidaErro) {
+        int tamanho = Integer.highestOneBit(Math.max(16, capacidade - 1)) << 1;
+        this.buffer = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+        this.saida = saida;
+        this.saidaErro = saidaErro;
+        this.escritor = new Thread(this::escrever, "termo-log");
+        escritor.setDaemon(true);
+        escritor.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::escreverDisponiveis, "termo-log-saida"));
+    }
+
+    /** @return O escritor do processo (criado na primeira mensagem) */
+    static AsyncAppender global() {
+        AsyncAppender a = global;
+        if (a == null) {
+            synchronized (AsyncAppender.class) {
+                if (global == null) {
+                    global = new AsyncAppender(Integer.getInteger("termo.log.buffer", 8192), System.out, System.err);
+                }
+                a = global;
+            }
+        }
+        return a;
+    }
+
+    /** Coloca a mensagem no buffer; nunca bloqueia. */
+    void publicar(Log.Nivel nivel, String nome, String mensagem, Throwable causa) {
+        Registro r = new Registro(nivel, nome, mensagem, causa);
+        long posicao;
+        do {
+            posicao = cabeca.get();
+            if (posicao - cauda > mascara) { // Cheio
+                descartados.incrementAndGet();
+                return;
+            }
+        } while (!cabeca.compareAndSet(posicao, posicao + 1));
+        buffer.set((int) (posicao & mascara), r);
+        if (dormindo) LockSupport.unpark(escritor);
+    }
+
+    // Laço da thread de escrita: consome as posições em ordem, dormindo quando o buffer está vazio.
+    private void escrever() {
+        while (true) {
+            if (!escreverDisponiveis()) {
+                dormindo = true;
+                if (cauda == cabeca.get()) LockSupport.park(this); // Confere de novo depois de avisar que vai dormir
+                dormindo = false;
+            }
+        }
+    }
+
+    // Escreve o que já foi publicado; false se não havia nada.
+    private synchronized boolean escreverDisponiveis() {
+        boolean escreveu = false;
+        long c = cauda;
+        while (c < cabeca.get()) {
+            int i = (int) (c & mascara);
+            Registro r = buffer.get(i);
+            if (r == null) { // Reservada, mas quem publicou ainda não gravou o registro
+                Thread.onSpinWait();
+                continue;
+            }
+            buffer.set(i, null);
+            cauda = ++c;
+            formatar(r);
+            escreveu = true;
+        }
+        long perdidos = descartados.getAndSet(0);
+        if (perdidos > 0) saidaErro.println("[log] " + perdidos + " mensagens descartadas (buffer cheio)");
+        if (escreveu) {
+            saida.flush();
+            saidaErro.flush();
+        }
+        return escreveu;
+    }
+
+    private void formatar(Registro r) {
+        PrintStream destino = r.nivel.ordinal() >= Log.Nivel.AVISO.ordinal() ? saidaErro : saida;
+        String hora = LocalTime.ofInstant(Instant.ofEpochMilli(r.quando), ZoneId.systemDefault()).format(HORA);
+        destino.println(hora + " " + String.format("%-5s", r.nivel) + " [" + r.thread + "] " + r.nome + ": " + r.mensagem);
+        if (r.causa != null) r.causa.printStackTrace(destino);
+    }
+
+    /**
+     * esvaziar
+     * Escreve tudo o que já foi publicado antes de voltar (ex.: antes de medir ou de encerrar).
+     */
+    public static void esvaziar() {
+        AsyncAppender a = global;
+        if (a != null) a.escreverDisponiveis();
+    }
+}
@@ -0,0 +1,84 @@
+package com.termo.log;
+
+import java.util.function.Supplier;
+
+/**
+ * Registro de mensagens do jogo, com níveis. Cada classe cria o seu com {@link #de(Class)}.
+ *
+ * A mensagem pode ser um {@link Supplier}: ela só é montada se o nível estiver ligado, então
+ * {@code log.debug(() -> "Chute: " + chute)} não custa nada em produção. As mensagens aceitas vão
+ * para um buffer circular e são escritas no console por uma thread própria ({@link AsyncAppender}):
+ * quem registra (inclusive a EDT) nunca espera pela escrita.
+ *
+ * O nível vem de {@code -Dtermo.log} ({@code DEBUG}, {@code INFO} - o padrão -, {@code AVISO},
+ * {@code ERRO} ou {@code DESLIGADO}, que suprime tudo); AVISO e ERRO saem no System.err.
+ */
+public final class Log {
+    /** Níveis, do mais detalhado ao mais grave. */
+    public enum Nivel {
+        DEBUG, INFO, AVISO, ERRO, DESLIGADO
+    }
+
+    private static volatile Nivel nivel = lerNivel();
+
+    private final String nome;
+
+    private Log(String nome) {
+        this.nome = nome;
+    }
+
+    /** @return Registro com o nome simples da classe */
+    public static Log de(Class<?> classe) {
+        return new Log(classe.getSimpleName());
+    }
+
+    private static Nivel lerNivel() {
+        String valor = System.getProperty("termo.log");
+        if (valor == null || valor.isBlank()) return Nivel.INFO;
+        try {
+            return Nivel.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Nível de log inválido em -Dtermo.log: " + valor + " (usando INFO)");
+            return Nivel.INFO;
+        }
+    }
+
+    /** Troca o nível de todos os registros. */
+    public static void setNivel(Nivel novo) {
+        nivel = novo;
+    }
+
+    public static Nivel getNivel() {
+        return nivel;
+    }
+
+    /** @return Se mensagens do nível informado são escritas */
+    public static boolean ativo(Nivel n) {
+        return n != Nivel.DESLIGADO && n.ordinal() >= nivel.ordinal();
+    }
+
+    public void debug(Supplier<String> mensagem) {
+        if (ativo(Nivel.DEBUG)) AsyncAppender.global().publicar(Nivel.DEBUG, nome, mensagem.get(), null);
+    }
+
+    public void info(String mensagem) {
+        if (ativo(Nivel.INFO)) AsyncAppender.global().publicar(Nivel.INFO, nome, mensagem, null);
+    }
+
+    public void info(Supplier<String> mensagem) {
+        if (ativo(Nivel.INFO)) AsyncAppender.global().publicar(Nivel.INFO, nome, mensagem.get(), null);
+    }
+
+    public void aviso(Supplier<String> mensagem) {
+        if (ativo(Nivel.AVISO)) AsyncAppender.global().publicar(Nivel.AVISO, nome, mensagem.get(), null);
+    }
+
+    public void erro(Supplier<String> mensagem) {
+        erro(mensagem, null);
+    }
+
+    /** @param causa Exceção cuja pilha é escrita depois da mensagem (pode ser null) */
+    public void erro(Supplier<String> mensagem, Throwable causa) {
+        if (ativo(Nivel.ERRO)) AsyncAppender.global().publicar(Nivel.ERRO, nome, mensagem.get(), causa);
+    }
+}
@@ -0,0 +1,23 @@
+package com.termo.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador que só cresce (ex.: chutes aceitos). Incrementar não aloca nem disputa uma única
+ * variável entre threads ({@link LongAdder}).
+ */
+public final class Counter {
+    private final LongAdder valor = new LongAdder();
+
+    public void incrementar() {
+        valor.increment();
+    }
+
+    public void somar(long n) {
+        valor.add(n);
+    }
+
+    public long getValor() {
+        return valor.sum();
+    }
+}
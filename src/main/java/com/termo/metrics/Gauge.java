@@ -0,0 +1,17 @@
+package com.termo.metrics;
+
+/**
+ * Valor que sobe e desce, guardando a última medida (ex.: palavras no dicionário, bytes do último
+ * arquivo gravado).
+ */
+public final class Gauge {
+    private volatile double valor;
+
+    public void definir(double valor) {
+        this.valor = valor;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+}
@@ -0,0 +1,88 @@
+package com.termo.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.event.InputEvent;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latência de entrada até a tela: do instante do evento de teclado ou mouse (o {@code getWhen()}
+ * do AWT) até o fim da pintura da célula que ele alterou, separada em digitação e envio do chute.
+ *
+ * O {@code getWhen()} tem resolução de milissegundo e outro relógio: ele só é usado para a espera
+ * do evento na fila até ser despachado; do despacho até a pintura a medida é em {@link System#nanoTime()}.
+ */
+public final class InputLatency {
+    /** O que a entrada fez. */
+    public enum Tipo {
+        DIGITACAO("digitação"), // Letra, apagar e movimento do cursor
+        ENVIO("envio"); // Enter: da tecla até a linha começar a responder (revelar ou tremer)
+
+        private final String nome;
+
+        Tipo(String nome) {
+            this.nome = nome;
+        }
+
+        @Override
+        public String toString() {
+            return nome;
+        }
+    }
+
+    private final Map<Tipo, LatencyHistogram> histogramas = new EnumMap<>(Tipo.class);
+
+    public InputLatency() {
+        for (Tipo t : Tipo.values()) histogramas.put(t, new LatencyHistogram());
+    }
+
+    /**
+     * inicio
+     * Marca o começo de uma medida a partir do horário de um evento.
+     * @param quandoMs Horário do evento ({@code InputEvent.getWhen()}), em ms desde a época
+     * @return Instante equivalente em {@link System#nanoTime()}, a ser passado a {@link #registrar}
+     */
+    public static long inicio(long quandoMs) {
+        long naFila = Math.max(0, System.currentTimeMillis() - quandoMs); // Relógios diferentes: nunca negativo
+        return System.nanoTime() - naFila * 1_000_000L;
+    }
+
+    /**
+     * inicioDoEventoAtual
+     * Como {@link #inicio(long)}, com o horário do evento de entrada sendo despachado na EDT
+     * (ou agora, se o evento atual não for de entrada).
+     */
+    public static long inicioDoEventoAtual() {
+        AWTEvent evento = EventQueue.getCurrentEvent();
+        if (evento instanceof InputEvent) return inicio(((InputEvent) evento).getWhen());
+        return System.nanoTime();
+    }
+
+    /**
+     * registrar
+     * Encerra uma medida (chamar quando a célula afetada terminou de ser pintada).
+     * @param inicio Valor devolvido por {@link #inicio(long)}
+     */
+    public void registrar(Tipo tipo, long inicio) {
+        histogramas.get(tipo).registrar(System.nanoTime() - inicio);
+    }
+
+    public LatencyHistogram getHistograma(Tipo tipo) {
+        return histogramas.get(tipo);
+    }
+
+    public void zerar() {
+        for (LatencyHistogram h : histogramas.values()) h.zerar();
+    }
+
+    /** @return Uma linha por tipo, com p50, p99 e máximo */
+    public String resumo() {
+        StringBuilder sb = new StringBuilder();
+        for (Tipo t : Tipo.values()) {
+            if (sb.length() > 0) sb.append(System.lineSeparator());
+            sb.append(String.format("%-10s %s", t, histogramas.get(t).resumo()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.termo.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em nanossegundos no estilo do HdrHistogram: faixas em potências de 2,
+ * cada uma dividida em 32 partes iguais. O erro de qualquer percentil fica abaixo de ~3% do valor,
+ * da ordem de microssegundos até minutos, com um array fixo de contadores (sem alocar por registro).
+ *
+ * Registrar é um incremento atômico; os percentis podem ser lidos de outra thread enquanto se registra.
+ */
+public final class LatencyHistogram {
+    private static final int BITS_SUB = 5;
+    private static final int SUB = 1 << BITS_SUB; // Partes por faixa
+    private static final int MAIOR_FAIXA = 40 - BITS_SUB; // Até 2^41 ns (~36 min); acima disso satura
+    private static final int TAMANHO = (MAIOR_FAIXA + 2) * SUB;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TAMANHO);
+    private final AtomicLongArray totais = new AtomicLongArray(3); // {quantidade, soma, máximo}
+
+    /**
+     * registrar
+     * @param nanos Latência em nanossegundos (negativos contam como zero)
+     */
+    public void registrar(long nanos) {
+        long v = Math.max(0, nanos);
+        contagens.incrementAndGet(indice(v));
+        totais.incrementAndGet(0);
+        totais.addAndGet(1, v);
+        long max;
+        while (v > (max = totais.get(2)) && !totais.compareAndSet(2, max, v)) {
+            // Outro registro trocou o máximo; tenta de novo.
+        }
+    }
+
+    // Faixa 0 guarda 0..63 exatos; a faixa f > 0 guarda [32·2^f, 64·2^f) em 32 partes de 2^f.
+    private static int indice(long v) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(v | 1);
+        int faixa = Math.max(0, magnitude - BITS_SUB);
+        if (faixa > MAIOR_FAIXA) return TAMANHO - 1;
+        return faixa * SUB + (int) (v >>> faixa);
+    }
+
+    // Maior valor que cai no mesmo contador que o índice (o valor relatado pelos percentis).
+    private static long valor(int indice) {
+        int faixa = indice < 2 * SUB ? 0 : indice / SUB - 1;
+        long sub = indice - (long) faixa * SUB;
+        return ((sub + 1) << faixa) - 1;
+    }
+
+    /**
+     * percentil
+     * @param p Percentil de 0 a 100
+     * @return Latência em ns abaixo da qual está {@code p}% dos registros (0 se vazio)
+     */
+    public long percentil(double p) {
+        long total = totais.get(0);
+        if (total == 0) return 0;
+        long alvo = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, p)) / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) return Math.min(valor(i), getMaximo());
+        }
+        return getMaximo();
+    }
+
+    public long getQuantidade() {
+        return totais.get(0);
+    }
+
+    /** @return Média em ns (0 se vazio) */
+    public double getMedia() {
+        long n = totais.get(0);
+        return n == 0 ? 0 : totais.get(1) / (double) n;
+    }
+
+    /** @return Soma de todas as latências registradas, em ns */
+    public long getSoma() {
+        return totais.get(1);
+    }
+
+    /** @return Maior latência registrada, em ns */
+    public long getMaximo() {
+        return totais.get(2);
+    }
+
+    /** Esvazia o histograma. */
+    public void zerar() {
+        for (int i = 0; i < TAMANHO; i++) contagens.set(i, 0);
+        for (int i = 0; i < 3; i++) totais.set(i, 0);
+    }
+
+    /** @return "p50 x ms, p99 y ms, máx z ms (n)" */
+    public String resumo() {
+        return String.format("p50 %.1f ms, p99 %.1f ms, máx %.1f ms (%d)",
+                percentil(50) / 1e6, percentil(99) / 1e6, getMaximo() / 1e6, getQuantidade());
+    }
+}
@@ -0,0 +1,256 @@
+package com.termo.metrics;
+
+import com.termo.log.Log;
+
+import javax.management.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de métricas do processo: contadores ({@link Counter}), medidores ({@link Gauge}) e
+ * histogramas de tempo ({@link LatencyHistogram}), criados uma vez por nome e guardados em campos
+ * estáticos de quem mede. Registrar um valor não aloca nem trava.
+ *
+ * As métricas são publicadas de três formas:
+ * <ul>
+ *   <li>JMX: um MBean {@code com.termo:type=Metrics} com um atributo por contador e medidor e
+ *   {@code _p50}, {@code _p99}, {@code _max} e {@code _count} por histograma (desligado com
+ *   {@code -Dtermo.metrics.jmx=false});</li>
+ *   <li>texto do Prometheus ({@link #prometheus()}), servido em {@code /metrics} pelo servidor;</li>
+ *   <li>o mesmo texto em um arquivo, regravado a cada {@code -Dtermo.metrics.intervalo} segundos
+ *   (padrão 15) e ao sair, com {@code -Dtermo.metrics.arquivo=caminho}.</li>
+ * </ul>
+ * Os nomes seguem o Prometheus (minúsculas e _); histogramas são exportados em segundos.
+ */
+public final class MetricsRegistry {
+    private static final Log log = Log.de(MetricsRegistry.class);
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    private static final double[] QUANTIS = {0.5, 0.9, 0.99};
+
+    private final Map<String, Metrica> metricas = new ConcurrentSkipListMap<>(); // Em ordem de nome
+
+    private static final class Metrica {
+        final String ajuda;
+        final Object valor; // Counter, Gauge ou LatencyHistogram
+
+        Metrica(String ajuda, Object valor) {
+            this.ajuda = ajuda;
+            this.valor = valor;
+        }
+    }
+
+    static {
+        if (!"false".equals(System.getProperty("termo.metrics.jmx"))) GLOBAL.registrarJmx();
+        String arquivo = System.getProperty("termo.metrics.arquivo");
+        if (arquivo != null && !arquivo.isBlank()) {
+            GLOBAL.exportarPeriodicamente(Paths.get(arquivo), Long.getLong("termo.metrics.intervalo", 15));
+        }
+    }
+
+    /** @return Registro compartilhado pelo processo */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * contador
+     * @param nome Nome no formato do Prometheus, terminando em _total
+     * @param ajuda Descrição de uma linha
+     * @return O contador com esse nome (criado na primeira chamada)
+     */
+    public Counter contador(String nome, String ajuda) {
+        return obter(nome, ajuda, Counter.class);
+    }
+
+    /** @return O medidor com esse nome (criado na primeira chamada) */
+    public Gauge medidor(String nome, String ajuda) {
+        return obter(nome, ajuda, Gauge.class);
+    }
+
+    /**
+     * histograma
+     * @param nome Nome no formato do Prometheus, terminando em _segundos
+     * @return O histograma com esse nome (criado na primeira chamada); registra em nanossegundos
+     */
+    public LatencyHistogram histograma(String nome, String ajuda) {
+        return obter(nome, ajuda, LatencyHistogram.class);
+    }
+
+    private <T> T obter(String nome, String ajuda, Class<T> tipo) {
+        if (!nome.matches("[a-zA-Z_:][a-zA-Z0-9_:]*")) {
+            throw new IllegalArgumentException("Nome de métrica inválido: " + nome);
+        }
+        Metrica m = metricas.computeIfAbsent(nome, k -> {
+            try {
+                return new Metrica(ajuda, tipo.getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        if (!tipo.isInstance(m.valor)) {
+            throw new IllegalArgumentException("Métrica " + nome + " já existe com outro tipo");
+        }
+        return tipo.cast(m.valor);
+    }
+
+    // ===== Exportação =====
+
+    /**
+     * prometheus
+     * @return Todas as métricas no formato de texto do Prometheus (versão 0.0.4)
+     */
+    public String prometheus() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Metrica> e : metricas.entrySet()) {
+            String nome = e.getKey();
+            Metrica m = e.getValue();
+            sb.append("# HELP ").append(nome).append(' ').append(escapar(m.ajuda)).append('\n');
+            if (m.valor instanceof Counter) {
+                sb.append("# TYPE ").append(nome).append(" counter\n");
+                sb.append(nome).append(' ').append(((Counter) m.valor).getValor()).append('\n');
+            } else if (m.valor instanceof Gauge) {
+                sb.append("# TYPE ").append(nome).append(" gauge\n");
+                sb.append(nome).append(' ').append(((Gauge) m.valor).getValor()).append('\n');
+            } else {
+                LatencyHistogram h = (LatencyHistogram) m.valor;
+                sb.append("# TYPE ").append(nome).append(" summary\n");
+                for (double q : QUANTIS) {
+                    sb.append(nome).append("{quantile=\"").append(q).append("\"} ")
+                            .append(h.percentil(q * 100) / 1e9).append('\n');
+                }
+                sb.append(nome).append("_sum ").append(h.getSoma() / 1e9).append('\n');
+                sb.append(nome).append("_count ").append(h.getQuantidade()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String escapar(String ajuda) {
+        return ajuda.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * escreverPrometheus
+     * Grava {@link #prometheus()} no arquivo, trocando-o de uma vez (quem lê nunca vê um arquivo pela metade).
+     */
+    public void escreverPrometheus(Path arquivo) throws IOException {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(pasta, ".metricas", ".tmp");
+        try {
+            Files.write(temp, prometheus().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void exportarPeriodicamente(Path arquivo, long segundos) {
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "termo-metricas");
+            t.setDaemon(true);
+            return t;
+        });
+        Runnable exportar = () -> {
+            try {
+                escreverPrometheus(arquivo);
+            } catch (IOException e) {
+                log.aviso(() -> "Erro ao gravar as métricas em " + arquivo + ": " + e.getMessage());
+            }
+        };
+        agendador.scheduleAtFixedRate(exportar, segundos, segundos, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(exportar, "termo-metricas-saida"));
+    }
+
+    private void registrarJmx() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MBean(), new ObjectName("com.termo:type=Metrics"));
+        } catch (JMException e) {
+            log.aviso(() -> "Não foi possível publicar as métricas no JMX: " + e.getMessage());
+        }
+    }
+
+    /** MBean dinâmico: os atributos são as métricas existentes no momento da consulta. */
+    private final class MBean implements DynamicMBean {
+        @Override
+        public Object getAttribute(String atributo) throws AttributeNotFoundException {
+            Metrica m = metricas.get(atributo);
+            if (m != null && m.valor instanceof Counter) return ((Counter) m.valor).getValor();
+            if (m != null && m.valor instanceof Gauge) return ((Gauge) m.valor).getValor();
+            int sep = atributo.lastIndexOf('_');
+            m = sep > 0 ? metricas.get(atributo.substring(0, sep)) : null;
+            if (m != null && m.valor instanceof LatencyHistogram) {
+                LatencyHistogram h = (LatencyHistogram) m.valor;
+                switch (atributo.substring(sep + 1)) {
+                    case "p50": return h.percentil(50) / 1e9;
+                    case "p99": return h.percentil(99) / 1e9;
+                    case "max": return h.getMaximo() / 1e9;
+                    case "count": return h.getQuantidade();
+                    default: break;
+                }
+            }
+            throw new AttributeNotFoundException(atributo);
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] atributos) {
+            AttributeList lista = new AttributeList();
+            for (String a : atributos) {
+                try {
+                    lista.add(new Attribute(a, getAttribute(a)));
+                } catch (AttributeNotFoundException e) {
+                    // Atributos desconhecidos ficam fora da lista, como pede a interface.
+                }
+            }
+            return lista;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> atributos = new ArrayList<>();
+            for (Map.Entry<String, Metrica> e : metricas.entrySet()) {
+                String nome = e.getKey();
+                Object valor = e.getValue().valor;
+                String ajuda = e.getValue().ajuda;
+                if (valor instanceof Counter) {
+                    atributos.add(new MBeanAttributeInfo(nome, "long", ajuda, true, false, false));
+                } else if (valor instanceof Gauge) {
+                    atributos.add(new MBeanAttributeInfo(nome, "double", ajuda, true, false, false));
+                } else {
+                    for (String sufixo : new String[]{"p50", "p99", "max"}) {
+                        atributos.add(new MBeanAttributeInfo(nome + "_" + sufixo, "double", ajuda + " (" + sufixo + ", s)", true, false, false));
+                    }
+                    atributos.add(new MBeanAttributeInfo(nome + "_count", "long", ajuda + " (quantidade)", true, false, false));
+                }
+            }
+            return new MBeanInfo(MetricsRegistry.class.getName(), "Métricas do Termo",
+                    atributos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Métricas são somente leitura");
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String operacao, Object[] params, String[] assinatura) throws MBeanException {
+            throw new MBeanException(new UnsupportedOperationException(operacao));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Carga de um arquivo de palavras (leitura e índices); a duração é a do evento. */
+@Name("com.termo.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({"Termo", "Dicionário"})
+@Description("Leitura e indexação de um arquivo de palavras")
+@Enabled(false)
+@StackTrace(false)
+public class DictionaryLoadEvent extends Event {
+    @Label("Arquivo")
+    public String arquivo;
+
+    @Label("Palavras")
+    public int palavras;
+
+    @Label("Colisões")
+    @Description("Palavras que, sem acentos, repetem outra já lida")
+    public int colisoes;
+}
@@ -0,0 +1,29 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Fim de uma partida, por acerto ou por esgotar as tentativas. */
+@Name("com.termo.GameFinished")
+@Label("Game Finished")
+@Category({"Termo", "Jogo"})
+@Description("Uma partida terminou")
+@Enabled(false)
+@StackTrace(false)
+public class GameFinishedEvent extends Event {
+    @Label("Venceu")
+    public boolean venceu;
+
+    @Label("Tentativas")
+    public int tentativas;
+
+    @Label("Último padrão")
+    public String padrao;
+
+    @Label("Tamanho da palavra")
+    public int tamanhoPalavra;
+
+    @Label("Tempo de jogo")
+    @Description("Do primeiro ao último chute aceito")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tempoJogo;
+}
@@ -0,0 +1,19 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Criação de uma partida (a palavra secreta já escolhida). */
+@Name("com.termo.GameStart")
+@Label("Game Start")
+@Category({"Termo", "Jogo"})
+@Description("Uma partida foi criada")
+@Enabled(false)
+@StackTrace(false)
+public class GameStartEvent extends Event {
+    @Label("Tamanho da palavra")
+    public int tamanhoPalavra;
+
+    @Label("Modo")
+    @Description("aleatória, rodízio do jogador, palavra do dia ou palavra fixa")
+    public String modo;
+}
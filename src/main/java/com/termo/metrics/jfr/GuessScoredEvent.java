@@ -0,0 +1,26 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Um chute processado por {@code Game.validateGuess}; a duração é a da validação. */
+@Name("com.termo.GuessScored")
+@Label("Guess Scored")
+@Category({"Termo", "Jogo"})
+@Description("Validação e pontuação de um chute")
+@Enabled(false)
+@StackTrace(false)
+public class GuessScoredEvent extends Event {
+    @Label("Aceito")
+    public boolean aceito;
+
+    @Label("Tentativa")
+    @Description("Número da tentativa (1 em diante); 0 se o chute foi recusado")
+    public int tentativa;
+
+    @Label("Padrão")
+    @Description("Cor de cada letra: G verde, Y amarela, B cinza (vazio se recusado)")
+    public String padrao;
+
+    @Label("Tamanho da palavra")
+    public int tamanhoPalavra;
+}
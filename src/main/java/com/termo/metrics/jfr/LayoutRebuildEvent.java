@@ -0,0 +1,21 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Recálculo dos tamanhos da janela do jogo após um redimensionamento; a duração é a do recálculo. */
+@Name("com.termo.LayoutRebuild")
+@Label("Layout Rebuild")
+@Category({"Termo", "Interface"})
+@Description("Recálculo de tamanhos e fontes da janela")
+@Enabled(false)
+@StackTrace(false)
+public class LayoutRebuildEvent extends Event {
+    @Label("Largura")
+    public int largura;
+
+    @Label("Altura")
+    public int altura;
+
+    @Label("Escala")
+    public double escala;
+}
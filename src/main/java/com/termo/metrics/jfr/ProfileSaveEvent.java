@@ -0,0 +1,22 @@
+package com.termo.metrics.jfr;
+
+import jdk.jfr.*;
+
+/** Gravação de perfis em disco; a duração é a da gravação. */
+@Name("com.termo.ProfileSave")
+@Label("Profile Save")
+@Category({"Termo", "Persistência"})
+@Description("Gravação de perfis de jogadores")
+@Enabled(false)
+@StackTrace(false)
+public class ProfileSaveEvent extends Event {
+    @Label("Armazenamento")
+    public String armazenamento;
+
+    @Label("Usuários")
+    public int usuarios;
+
+    @Label("Bytes gravados")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+}
@@ -0,0 +1,69 @@
+package com.termo.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Amostrador discreto pelo método de alias de Walker (variante de Vose).
+ * A construção é O(n) e cada sorteio é O(1): escolhe-se uma coluna uniformemente
+ * e uma moeda decide entre a própria coluna e seu "alias".
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ */
+public final class AliasSampler {
+    private final double[] probabilidade; // Chance de ficar na própria coluna
+    private final int[] alias; // Coluna alternativa quando a moeda falha
+
+    /**
+     * @param pesos Pesos não negativos (pelo menos um positivo); não precisam somar 1
+     */
+    public AliasSampler(double[] pesos) {
+        int n = pesos.length;
+        double total = 0;
+        for (double p : pesos) {
+            if (p < 0 || Double.isNaN(p)) throw new IllegalArgumentException("Peso inválido: " + p);
+            total += p;
+        }
+        if (n == 0 || total <= 0) throw new IllegalArgumentException("Nenhum peso positivo");
+
+        probabilidade = new double[n];
+        alias = new int[n];
+
+        // Pesos escalados para média 1; colunas abaixo de 1 são "pequenas", as demais "grandes".
+        double[] escalado = new double[n];
+        int[] pequenos = new int[n];
+        int[] grandes = new int[n];
+        int np = 0, ng = 0;
+        for (int i = 0; i < n; i++) {
+            escalado[i] = pesos[i] * n / total;
+            if (escalado[i] < 1.0) pequenos[np++] = i;
+            else grandes[ng++] = i;
+        }
+
+        // Cada coluna pequena é completada com a sobra de uma grande.
+        while (np > 0 && ng > 0) {
+            int p = pequenos[--np];
+            int g = grandes[--ng];
+            probabilidade[p] = escalado[p];
+            alias[p] = g;
+            escalado[g] = (escalado[g] + escalado[p]) - 1.0;
+            if (escalado[g] < 1.0) pequenos[np++] = g;
+            else grandes[ng++] = g;
+        }
+        // Sobras (por arredondamento) ficam com probabilidade 1.
+        while (ng > 0) probabilidade[grandes[--ng]] = 1.0;
+        while (np > 0) probabilidade[pequenos[--np]] = 1.0;
+    }
+
+    /**
+     * sample
+     * @param random Gerador de números aleatórios (use um gerador com semente para resultados reproduzíveis)
+     * @return Índice sorteado, com chance proporcional ao seu peso
+     */
+    public int sample(RandomGenerator random) {
+        int coluna = random.nextInt(probabilidade.length);
+        return random.nextDouble() < probabilidade[coluna] ? coluna : alias[coluna];
+    }
+
+    public int size() {
+        return probabilidade.length;
+    }
+}
@@ -0,0 +1,164 @@
+package com.termo.model;
+
+import com.termo.log.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "Palavra do dia": todos os jogadores recebem a mesma palavra secreta, derivada apenas da data.
+ * O estado da palavra ({@link SecretState}) é calculado uma única vez por dia e compartilhado
+ * por todas as partidas, junto com o agregado de resultados do dia.
+ * O agregado é gravado em {@link #DIR_PATH} (ao lado dos arquivos de usuários, no diretório de
+ * trabalho), um arquivo somente-anexação por dia, e é refeito dele quando o processo reinicia: a
+ * marca de "já jogou hoje" dos perfis também é persistida, então sem isso os resultados de quem
+ * jogou antes do reinício sumiriam do dia.
+ */
+public final class DailyPuzzle {
+    private static final Log log = Log.de(DailyPuzzle.class);
+    public static final String DIR_PATH = "palavra-do-dia"; // Diretório dos agregados diários
+    private static final String SUFFIX = ".log";
+    // Chave fixa da permutação dos dias: a sequência de palavras é a mesma em qualquer máquina.
+    private static final long DAILY_KEY = 0x7465726D6F444159L;
+
+    // Puzzle atual de cada dicionário; trocado quando a data muda.
+    private static final Map<WordDictionary, DailyPuzzle> atuais = new ConcurrentHashMap<>();
+
+    private final LocalDate data;
+    private final SecretState segredo;
+    private final Stats stats;
+
+    private DailyPuzzle(LocalDate data, SecretState segredo) {
+        this.data = data;
+        this.segredo = segredo;
+        this.stats = new Stats(Paths.get(DIR_PATH, data + SUFFIX));
+    }
+
+    /**
+     * get
+     * Retorna o puzzle do dia para o dicionário, calculando-o apenas uma vez por data.
+     *
+     * @param dictionary Dicionário compartilhado
+     * @param data Data do puzzle
+     * @return Puzzle do dia
+     */
+    public static DailyPuzzle get(WordDictionary dictionary, LocalDate data) {
+        DailyPuzzle atual = atuais.get(dictionary);
+        if (atual != null && atual.data.equals(data)) {
+            return atual;
+        }
+        return atuais.compute(dictionary, (d, existente) ->
+                (existente != null && existente.data.equals(data)) ? existente : criar(d, data));
+    }
+
+    /** @return Puzzle de hoje */
+    public static DailyPuzzle hoje(WordDictionary dictionary) {
+        return get(dictionary, LocalDate.now());
+    }
+
+    // Os dias percorrem uma permutação dos IDs: nenhuma palavra se repete antes de o dicionário acabar.
+    private static DailyPuzzle criar(WordDictionary dictionary, LocalDate data) {
+        int n = dictionary.size();
+        int posicao = (int) Math.floorMod(data.toEpochDay(), (long) n);
+        int id = new FeistelPermutation(n, DAILY_KEY).apply(posicao);
+        DailyPuzzle puzzle = new DailyPuzzle(data, SecretState.of(dictionary, dictionary.getWord(id)));
+        puzzle.stats.carregar();
+        return puzzle;
+    }
+
+    public LocalDate getData() { return data; }
+    public SecretState getSegredo() { return segredo; }
+    public Stats getStats() { return stats; }
+
+    /**
+     * Agregado de resultados do dia, atualizado sem locks por todas as sessões. Cada resultado
+     * também é anexado ao arquivo do dia, uma linha {@code venceu;tentativas} por jogador.
+     */
+    public static final class Stats {
+        private final LongAdder jogos = new LongAdder();
+        private final LongAdder vitorias = new LongAdder();
+        private final AtomicLongArray distribuicao = new AtomicLongArray(7); // [0-5] vitórias em 1–6, [6] derrotas
+        private final Path arquivo; // Arquivo do dia
+
+        Stats(Path arquivo) {
+            this.arquivo = arquivo;
+        }
+
+        /**
+         * registrar
+         * Soma o resultado ao agregado e o anexa ao arquivo do dia.
+         * @param venceu true se o jogador acertou a palavra
+         * @param tentativas Tentativas usadas (1–6)
+         */
+        public void registrar(boolean venceu, int tentativas) {
+            somar(venceu, tentativas);
+            String linha = (venceu ? '1' : '0') + ";" + tentativas + "\n";
+            synchronized (this) {
+                try {
+                    Files.createDirectories(arquivo.getParent());
+                    Files.write(arquivo, linha.getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    log.erro(() -> "Erro ao gravar o agregado do dia em " + arquivo + ": " + e.getMessage());
+                }
+            }
+        }
+
+        // Refaz o agregado a partir do arquivo do dia (chamado uma vez, ao criar o puzzle).
+        private void carregar() {
+            try {
+                for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                    int sep = linha.indexOf(';');
+                    if (sep < 0) continue; // Linha incompleta (gravação interrompida)
+                    try {
+                        somar(linha.charAt(0) == '1', Integer.parseInt(linha.substring(sep + 1).trim()));
+                    } catch (NumberFormatException e) {
+                        // Linha incompleta: ignora
+                    }
+                }
+                log.debug(() -> String.format("Agregado do dia %s: %d jogos lidos de %s",
+                        arquivo.getFileName(), jogos.sum(), arquivo));
+            } catch (NoSuchFileException e) {
+                // Ninguém jogou ainda hoje
+            } catch (IOException e) {
+                log.erro(() -> "Erro ao ler o agregado do dia em " + arquivo + ": " + e.getMessage());
+            }
+        }
+
+        private void somar(boolean venceu, int tentativas) {
+            jogos.increment();
+            if (venceu) {
+                vitorias.increment();
+                distribuicao.incrementAndGet(Math.max(1, Math.min(6, tentativas)) - 1);
+            } else {
+                distribuicao.incrementAndGet(6);
+            }
+        }
+
+        public long getJogos() { return jogos.sum(); }
+        public long getVitorias() { return vitorias.sum(); }
+
+        /** @return Percentual de jogadores que resolveram a palavra do dia */
+        public double getTaxaResolucao() {
+            long total = jogos.sum();
+            return total == 0 ? 0 : (vitorias.sum() * 100.0) / total;
+        }
+
+        /** @return Cópia da distribuição de tentativas do dia ([6] = derrotas) */
+        public long[] getDistribuicao() {
+            long[] copia = new long[distribuicao.length()];
+            for (int i = 0; i < copia.length; i++) copia[i] = distribuicao.get(i);
+            return copia;
+        }
+    }
+}
@@ -1,60 +1,54 @@
 package com.termo.model;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.Random;
-import java.util.Vector;
-import java.util.Map;
-import java.util.HashMap;
-import java.text.Normalizer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class DataSourceModel {
+    // Com -Dtermo.seed=N todas as partidas da execução usam um único gerador com semente (sorteios reproduzíveis).
+    private static final Long SEED = Long.getLong("termo.seed");
+    private static final Random SEEDED_RANDOM = SEED != null ? new Random(SEED) : null;
+
     private String filename;
     private String word;
-    Vector<String> palavras;
-    private Map<String, String> normalizedToOriginal; // normalizada -> original
+    private WordDictionary dictionary; // dicionário compartilhado entre as partidas
+    private RandomGenerator random; // gerador usado no sorteio (null = padrão da thread ou semente global)
 
     public DataSourceModel(String path){
+        this(path, null);
+    }
+
+    /**
+     * Cria o modelo sorteando a palavra com o gerador informado.
+     * Útil para testes e simulações: o mesmo gerador com a mesma semente produz a mesma sequência de palavras.
+     */
+    public DataSourceModel(String path, RandomGenerator random){
         filename = path;
-        palavras = new Vector<>();
-        normalizedToOriginal = new HashMap<>();
+        dictionary = WordDictionary.get(path);
+        this.random = random;
         setWord(processingData());
     }
 
-    public String processingData(){
-        try (InputStream in = Files.newInputStream(Paths.get(filename));
-             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String trimmed = line.trim();
-                if (trimmed.isEmpty()) continue;
-                palavras.add(trimmed);
-                String key = normalize(trimmed).toLowerCase();
-                // só mantém a primeira ocorrência do normalizado -> original
-                normalizedToOriginal.putIfAbsent(key, trimmed);
-            }
-
-            if (palavras.isEmpty()) {
-                throw new RuntimeException("Nenhuma palavra encontrada em " + filename);
-            }
+    /**
+     * Cria o modelo com uma palavra secreta já escolhida (ex.: pelo rodízio do jogador).
+     */
+    public DataSourceModel(WordDictionary dictionary, int wordId){
+        this.filename = dictionary.getFilename();
+        this.dictionary = dictionary;
+        setWord(dictionary.getWord(wordId));
+    }
 
-            Random random = new Random();
-            return palavras.get(random.nextInt(palavras.size()));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+    public String processingData(){
+        RandomGenerator gerador = random != null ? random
+                : (SEEDED_RANDOM != null ? SEEDED_RANDOM : ThreadLocalRandom.current());
+        return dictionary.getWord(dictionary.sortear(gerador));
     }
 
     /**
      * Verifica se a palavra existe no dicionário considerando normalização (acentos/ç ignorados).
      */
     public Boolean searchWord(String word){
-        if (word == null) return false;
-        String norm = normalize(word).toLowerCase();
-        return normalizedToOriginal.containsKey(norm);
+        return dictionary.contains(word);
     }
 
     /**
@@ -63,9 +57,7 @@ public class DataSourceModel {
      * Retorna null se não encontrar.
      */
     public String getCanonicalWord(String word) {
-        if (word == null) return null;
-        String norm = normalize(word).toLowerCase();
-        return normalizedToOriginal.get(norm);
+        return dictionary.getCanonicalWord(word);
     }
 
     public String getWord() {
@@ -76,11 +68,7 @@ public class DataSourceModel {
         this.word = word;
     }
 
-    // Normaliza removendo marcas diacríticas (acentos) e cedilha -> transforma ç em c, á em a, etc.
-    private String normalize(String s) {
-        if (s == null) return null;
-        String n = Normalizer.normalize(s, Normalizer.Form.NFD);
-        n = n.replaceAll("\\p{M}", "");
-        return n;
+    public WordDictionary getDictionary() {
+        return dictionary;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.termo.model;
+
+/**
+ * Permutação pseudoaleatória do intervalo [0, n) definida apenas por uma chave.
+ * Usa uma rede de Feistel balanceada sobre o menor domínio 2^(2h) que contém n e
+ * "cycle walking" para voltar ao intervalo: o resultado é uma bijeção calculada em O(1)
+ * (em média menos de 4 passos) sem guardar nenhuma tabela.
+ * Como a rede é invertível, também é possível saber em que posição um valor aparece.
+ */
+public final class FeistelPermutation {
+    private static final int ROUNDS = 4;
+
+    private final int n;
+    private final long key;
+    private final int halfBits;
+    private final long halfMask;
+
+    /**
+     * @param n Tamanho do domínio (maior que zero)
+     * @param key Chave que define a permutação
+     */
+    public FeistelPermutation(int n, long key) {
+        if (n <= 0) throw new IllegalArgumentException("Domínio vazio");
+        this.n = n;
+        this.key = key;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(n - 1L));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+    }
+
+    /**
+     * apply
+     * @param posicao Posição na sequência permutada, em [0, n)
+     * @return Valor que ocupa essa posição, em [0, n)
+     */
+    public int apply(int posicao) {
+        long x = posicao;
+        do {
+            x = encrypt(x);
+        } while (x >= n);
+        return (int) x;
+    }
+
+    /**
+     * inverse
+     * @param valor Valor em [0, n)
+     * @return Posição em que o valor aparece na sequência permutada
+     */
+    public int inverse(int valor) {
+        long x = valor;
+        do {
+            x = decrypt(x);
+        } while (x >= n);
+        return (int) x;
+    }
+
+    private long encrypt(long x) {
+        long left = x >>> halfBits, right = x & halfMask;
+        for (int r = 0; r < ROUNDS; r++) {
+            long next = left ^ round(r, right);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(long x) {
+        long left = x >>> halfBits, right = x & halfMask;
+        for (int r = ROUNDS - 1; r >= 0; r--) {
+            long prev = right ^ round(r, left);
+            right = left;
+            left = prev;
+        }
+        return (left << halfBits) | right;
+    }
+
+    // Função de rodada: mistura (estilo SplitMix64) da chave, da rodada e da metade.
+    private long round(int r, long half) {
+        long z = key + (r + 1) * 0x9E3779B97F4A7C15L + half;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & halfMask;
+    }
+}
@@ -0,0 +1,122 @@
+package com.termo.model;
+
+import com.termo.log.Log;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Histórico de partidas em disco, gravado em segmentos de texto somente-anexação.
+ * Cada linha registra uma partida no formato {@code segredo;venceu;chute1,chute2,...}.
+ * Quando um segmento atinge {@link #SEGMENT_SIZE} partidas ele é "selado" e as próximas
+ * partidas vão para um segmento novo, o que permite às análises processar só o que é novo.
+ */
+public class GameHistory {
+    private static final Log log = Log.de(GameHistory.class);
+    public static final String DIR_PATH = "historico"; // Diretório dos segmentos
+    public static final int SEGMENT_SIZE = 500; // Partidas por segmento
+    private static final String PREFIX = "segmento-";
+    private static final String SUFFIX = ".log";
+
+    private static int segmentoAtual = -1; // Índice do segmento aberto (-1 = ainda não inicializado)
+    private static int linhasSegmento = 0; // Partidas já gravadas no segmento aberto
+
+    private GameHistory() {}
+
+    /**
+     * registrar
+     * Anexa uma partida encerrada ao histórico.
+     *
+     * @param segredo Palavra secreta da partida
+     * @param venceu true se o jogador acertou a palavra
+     * @param tentativas Chutes válidos, em ordem
+     */
+    public static synchronized void registrar(String segredo, boolean venceu, List<String> tentativas) {
+        try {
+            Path dir = Paths.get(DIR_PATH);
+            Files.createDirectories(dir);
+            if (segmentoAtual < 0) {
+                localizarSegmentoAberto(dir);
+            }
+            if (linhasSegmento >= SEGMENT_SIZE) {
+                segmentoAtual++;
+                linhasSegmento = 0;
+            }
+
+            StringBuilder linha = new StringBuilder();
+            linha.append(segredo).append(';').append(venceu ? '1' : '0').append(';');
+            linha.append(String.join(",", tentativas)).append('\n');
+
+            Files.write(segmentPath(dir, segmentoAtual), linha.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            linhasSegmento++;
+        } catch (IOException e) {
+            log.erro(() -> "Erro ao gravar histórico: " + e.getMessage());
+        }
+    }
+
+    /**
+     * listarSegmentos
+     * @return Caminhos dos segmentos existentes, em ordem crescente de índice
+     */
+    public static List<Path> listarSegmentos() {
+        Path dir = Paths.get(DIR_PATH);
+        List<Path> segmentos = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return segmentos;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> indiceDe(p) >= 0)
+                 .sorted((a, b) -> Integer.compare(indiceDe(a), indiceDe(b)))
+                 .forEach(segmentos::add);
+        } catch (IOException e) {
+            log.erro(() -> "Erro ao listar histórico: " + e.getMessage());
+        }
+        return segmentos;
+    }
+
+    /**
+     * segmentoSelado
+     * Um segmento está selado quando já recebeu {@link #SEGMENT_SIZE} partidas e não será mais alterado.
+     * Só contam linhas terminadas em '\n': a última pode estar sendo gravada neste momento.
+     */
+    public static boolean segmentoSelado(Path segmento) throws IOException {
+        int linhas = 0;
+        for (byte b : Files.readAllBytes(segmento)) {
+            if (b == '\n') linhas++;
+        }
+        return linhas >= SEGMENT_SIZE;
+    }
+
+    // Descobre qual é o último segmento e quantas partidas ele já possui.
+    private static void localizarSegmentoAberto(Path dir) throws IOException {
+        List<Path> segmentos = listarSegmentos();
+        if (segmentos.isEmpty()) {
+            segmentoAtual = 0;
+            linhasSegmento = 0;
+            return;
+        }
+        Path ultimo = segmentos.get(segmentos.size() - 1);
+        segmentoAtual = indiceDe(ultimo);
+        try (Stream<String> lines = Files.lines(ultimo, StandardCharsets.UTF_8)) {
+            linhasSegmento = (int) lines.count();
+        }
+    }
+
+    private static Path segmentPath(Path dir, int indice) {
+        return dir.resolve(String.format("%s%06d%s", PREFIX, indice, SUFFIX));
+    }
+
+    // Extrai o índice do nome do arquivo (ou -1 se não for um segmento).
+    private static int indiceDe(Path p) {
+        String nome = p.getFileName().toString();
+        if (!nome.startsWith(PREFIX) || !nome.endsWith(SUFFIX)) return -1;
+        try {
+            return Integer.parseInt(nome.substring(PREFIX.length(), nome.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.termo.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Dados pré-calculados de uma palavra secreta: a forma original, a forma "dobrada"
+ * (sem acentos e em maiúsculas) e a contagem de cada letra.
+ * É imutável, então a mesma instância pode ser compartilhada por várias partidas
+ * (ex.: todas as sessões da palavra do dia).
+ */
+public final class SecretState {
+    public static final int LETRAS = 27; // A-Z mais uma posição para qualquer outro caractere
+
+    private final int id; // ID no dicionário (-1 se a palavra não pertence a ele)
+    private final String word; // Forma original, com acentos
+    private final char[] folded; // Forma sem acentos, em maiúsculas
+    private final int[] contagem; // Ocorrências de cada letra em 'folded'
+
+    private SecretState(int id, String word) {
+        this.id = id;
+        this.word = word;
+        this.folded = fold(word).toCharArray();
+        this.contagem = new int[LETRAS];
+        for (char c : folded) {
+            contagem[indiceLetra(c)]++;
+        }
+    }
+
+    /**
+     * of
+     * @param dictionary Dicionário da palavra
+     * @param word Palavra secreta
+     * @return Estado pré-calculado da palavra
+     */
+    public static SecretState of(WordDictionary dictionary, String word) {
+        return new SecretState(dictionary.indexOf(word), word);
+    }
+
+    /**
+     * fold
+     * Remove acentos e cedilha e converte para maiúsculas (forma usada na comparação dos chutes).
+     */
+    public static String fold(String s) {
+        return WordDictionary.normalize(s).toUpperCase();
+    }
+
+    /** @return Posição da letra no vetor de contagem (A = 0 ... Z = 25, outros = 26) */
+    public static int indiceLetra(char c) {
+        return (c >= 'A' && c <= 'Z') ? c - 'A' : LETRAS - 1;
+    }
+
+    public int getId() { return id; }
+    public String getWord() { return word; }
+    public int length() { return folded.length; }
+
+    /** @return Letra dobrada na posição informada */
+    public char foldedAt(int i) { return folded[i]; }
+
+    /**
+     * pontuar
+     * Avalia um chute em letras ASCII (sem acento) sem criar objetos: grava 'G', 'Y' ou 'B'
+     * por letra em {@code padrao}, com as mesmas regras de {@code Game.validateGuess}.
+     *
+     * @param chute Buffer com as letras do chute (deve ter {@link #length()} letras)
+     * @param off Posição absoluta da primeira letra
+     * @param padrao Destino do padrão (pelo menos {@link #length()} posições)
+     * @param trabalho Vetor de trabalho com pelo menos {@link #LETRAS} posições
+     * @return Quantidade de letras verdes
+     */
+    public int pontuar(ByteBuffer chute, int off, byte[] padrao, int[] trabalho) {
+        System.arraycopy(contagem, 0, trabalho, 0, LETRAS);
+        int verdes = 0;
+        for (int i = 0; i < folded.length; i++) {
+            char c = (char) (chute.get(off + i) & 0xDF); // maiúscula
+            if (c == folded[i]) {
+                padrao[i] = 'G';
+                verdes++;
+                trabalho[indiceLetra(c)]--;
+            } else {
+                padrao[i] = 'B';
+            }
+        }
+        for (int i = 0; i < folded.length; i++) {
+            if (padrao[i] == 'G') continue;
+            int letra = indiceLetra((char) (chute.get(off + i) & 0xDF));
+            if (trabalho[letra] > 0) {
+                padrao[i] = 'Y';
+                trabalho[letra]--;
+            }
+        }
+        return verdes;
+    }
+
+    /**
+     * copiarContagem
+     * Copia a contagem de letras para um vetor de trabalho (que será decrementado na avaliação do chute).
+     *
+     * @param destino Vetor com pelo menos {@link #LETRAS} posições
+     */
+    public void copiarContagem(int[] destino) {
+        System.arraycopy(contagem, 0, destino, 0, LETRAS);
+    }
+}
@@ -0,0 +1,312 @@
+package com.termo.model;
+
+import com.termo.metrics.Gauge;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.metrics.jfr.DictionaryLoadEvent;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Dicionário de palavras carregado uma única vez por arquivo e compartilhado entre as partidas.
+ * Cada palavra recebe um ID (sua posição no arquivo), usado pelas análises de histórico
+ * e pelos pesos de sorteio da palavra secreta.
+ * Cada linha pode ter uma segunda coluna opcional com a frequência/peso da palavra
+ * (separada por ';', tab ou espaço), ex.: {@code termo;12.5}. Sem a coluna o peso é 1.
+ */
+public class WordDictionary {
+    // Cache de dicionários já carregados, indexado pelo caminho do arquivo.
+    private static final Map<String, WordDictionary> dicionarios = new ConcurrentHashMap<>();
+
+    // Métricas da carga (os medidores guardam o último dicionário carregado).
+    private static final LatencyHistogram TEMPO_CARGA = MetricsRegistry.global()
+            .histograma("termo_dicionario_carga_segundos", "Tempo de leitura e indexação de um arquivo de palavras");
+    private static final Gauge PALAVRAS = MetricsRegistry.global()
+            .medidor("termo_dicionario_palavras", "Palavras no último dicionário carregado");
+    private static final Gauge COLISOES = MetricsRegistry.global()
+            .medidor("termo_dicionario_colisoes", "Palavras do último dicionário que, sem acentos, repetem outra já lida");
+
+    private final String filename;
+    private final String[] palavras; // ID -> palavra original (com acentos)
+    private final Map<String, Integer> normalizedToId; // normalizada -> ID da primeira ocorrência
+    private final double[] frequencias; // peso do arquivo por ID (null = coluna ausente)
+    private volatile double[] pesosSelecao; // pesos de sorteio vindos do histórico por ID (null = neutro)
+    private volatile AliasSampler sampler; // amostrador dos pesos combinados (null = uniforme)
+    private volatile double[] pesosCombinados; // frequência × histórico por ID, do mesmo sampler (null = uniforme)
+
+    // Índice por código empacotado (5 bits por letra a-z), para consultas sem criar Strings.
+    private static final int MAX_LETRAS_CODIGO = 12; // 12 * 5 = 60 bits cabem em um long
+    private final long[] codigos; // tabela de endereçamento aberto (0 = posição vazia)
+    private final int[] codigoIds; // ID correspondente a cada código
+    private final SecretState[] estados; // estado pré-calculado de cada palavra, criado sob demanda
+
+    private WordDictionary(String filename, String[] palavras, Map<String, Integer> normalizedToId,
+                           double[] frequencias) {
+        this.filename = filename;
+        this.palavras = palavras;
+        this.normalizedToId = normalizedToId;
+        this.frequencias = frequencias;
+        this.sampler = criarSampler();
+        this.estados = new SecretState[palavras.length];
+
+        int capacidade = Integer.highestOneBit(Math.max(4, normalizedToId.size() * 2 - 1)) << 1;
+        this.codigos = new long[capacidade];
+        this.codigoIds = new int[capacidade];
+        for (Map.Entry<String, Integer> e : normalizedToId.entrySet()) {
+            long codigo = codificar(e.getKey());
+            if (codigo == 0) continue; // palavra com caracteres fora de a-z ou longa demais
+            int i = posicaoCodigo(codigo);
+            codigos[i] = codigo;
+            codigoIds[i] = e.getValue();
+        }
+    }
+
+    /**
+     * get
+     * Retorna o dicionário do arquivo informado, carregando-o apenas na primeira chamada.
+     *
+     * @param path Caminho do arquivo de palavras
+     * @return Dicionário compartilhado
+     */
+    public static WordDictionary get(String path) {
+        return dicionarios.computeIfAbsent(path, WordDictionary::load);
+    }
+
+    private static WordDictionary load(String path) {
+        DictionaryLoadEvent evento = new DictionaryLoadEvent();
+        evento.begin();
+        long inicio = System.nanoTime();
+        WordDictionary dicionario = ler(path);
+        TEMPO_CARGA.registrar(System.nanoTime() - inicio);
+        int colisoes = dicionario.size() - dicionario.normalizedToId.size();
+        PALAVRAS.definir(dicionario.size());
+        COLISOES.definir(colisoes);
+        if (evento.shouldCommit()) {
+            evento.arquivo = path;
+            evento.palavras = dicionario.size();
+            evento.colisoes = colisoes;
+            evento.commit();
+        }
+        return dicionario;
+    }
+
+    private static WordDictionary ler(String path) {
+        try (InputStream in = Files.newInputStream(Paths.get(path));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+
+            List<String> lidas = new ArrayList<>();
+            List<Double> pesos = new ArrayList<>();
+            boolean temPesos = false;
+            Map<String, Integer> normalizedToId = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty()) continue;
+
+                // Coluna opcional de frequência/peso.
+                String[] colunas = trimmed.split("[;\\t ]+");
+                String palavra = colunas[0];
+                double peso = 1.0;
+                if (colunas.length > 1) {
+                    try {
+                        peso = Double.parseDouble(colunas[1]);
+                    } catch (NumberFormatException e) {
+                        throw new RuntimeException("Peso inválido na linha '" + trimmed + "' de " + path);
+                    }
+                    if (peso < 0) throw new RuntimeException("Peso negativo na linha '" + trimmed + "' de " + path);
+                    temPesos = true;
+                }
+
+                String key = normalize(palavra).toLowerCase();
+                // só mantém a primeira ocorrência do normalizado -> original
+                normalizedToId.putIfAbsent(key, lidas.size());
+                lidas.add(palavra);
+                pesos.add(peso);
+            }
+
+            if (lidas.isEmpty()) {
+                throw new RuntimeException("Nenhuma palavra encontrada em " + path);
+            }
+            double[] frequencias = null;
+            if (temPesos) {
+                frequencias = new double[pesos.size()];
+                for (int i = 0; i < frequencias.length; i++) frequencias[i] = pesos.get(i);
+            }
+            return new WordDictionary(path, lidas.toArray(new String[0]), normalizedToId, frequencias);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** @return Quantidade de palavras (IDs válidos vão de 0 a size() - 1) */
+    public int size() {
+        return palavras.length;
+    }
+
+    /** @return Palavra original correspondente ao ID */
+    public String getWord(int id) {
+        return palavras[id];
+    }
+
+    /**
+     * indexOf
+     * Retorna o ID da palavra considerando normalização (acentos/ç ignorados).
+     *
+     * @param word Palavra em qualquer capitalização, com ou sem acento
+     * @return ID da palavra ou -1 se não existir no dicionário
+     */
+    public int indexOf(String word) {
+        if (word == null) return -1;
+        Integer id = normalizedToId.get(normalize(word).toLowerCase());
+        return id != null ? id : -1;
+    }
+
+    /** Verifica se a palavra existe no dicionário (acentos/ç ignorados). */
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Retorna a forma original (do arquivo) que corresponde à palavra dada, ou null se não existir.
+     */
+    public String getCanonicalWord(String word) {
+        int id = indexOf(word);
+        return id >= 0 ? palavras[id] : null;
+    }
+
+    /**
+     * indexOfFolded
+     * Versão sem alocação de {@link #indexOf} para letras ASCII já sem acento (maiúsculas ou minúsculas).
+     *
+     * @param buf Buffer com as letras
+     * @param off Posição absoluta da primeira letra
+     * @param len Quantidade de letras
+     * @return ID da palavra ou -1 se não existir
+     */
+    public int indexOfFolded(ByteBuffer buf, int off, int len) {
+        if (len <= 0 || len > MAX_LETRAS_CODIGO) return -1;
+        long codigo = 0;
+        for (int i = 0; i < len; i++) {
+            int c = buf.get(off + i) | 0x20; // minúscula
+            if (c < 'a' || c > 'z') return -1;
+            codigo = (codigo << 5) | (c - 'a' + 1);
+        }
+        int pos = posicaoCodigo(codigo);
+        return codigos[pos] == codigo ? codigoIds[pos] : -1;
+    }
+
+    /**
+     * getSecretState
+     * @param id ID da palavra
+     * @return Estado pré-calculado da palavra, criado uma vez e reaproveitado
+     */
+    public SecretState getSecretState(int id) {
+        SecretState estado = estados[id];
+        if (estado == null) {
+            // Corrida inofensiva: duas threads podem criar instâncias equivalentes.
+            estado = SecretState.of(this, palavras[id]);
+            estados[id] = estado;
+        }
+        return estado;
+    }
+
+    // Empacota uma palavra normalizada (a-z) em 5 bits por letra; 0 se não for possível.
+    private static long codificar(String normalizada) {
+        if (normalizada.isEmpty() || normalizada.length() > MAX_LETRAS_CODIGO) return 0;
+        long codigo = 0;
+        for (int i = 0; i < normalizada.length(); i++) {
+            char c = normalizada.charAt(i);
+            if (c < 'a' || c > 'z') return 0;
+            codigo = (codigo << 5) | (c - 'a' + 1);
+        }
+        return codigo;
+    }
+
+    // Sondagem linear: posição do código na tabela, ou a posição vazia onde ele entraria.
+    private int posicaoCodigo(long codigo) {
+        int mascara = codigos.length - 1;
+        long h = codigo * 0x9E3779B97F4A7C15L;
+        int i = (int) (h ^ (h >>> 32)) & mascara;
+        while (codigos[i] != 0 && codigos[i] != codigo) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    /**
+     * sortear
+     * Sorteia o ID de uma palavra em O(1). A chance de cada palavra é proporcional à sua
+     * frequência no arquivo multiplicada pelo peso vindo do histórico; sem nenhum dos dois
+     * o sorteio é uniforme.
+     *
+     * @param random Gerador de números aleatórios (com semente para sorteios reproduzíveis)
+     * @return ID sorteado
+     */
+    public int sortear(RandomGenerator random) {
+        AliasSampler atual = sampler;
+        return atual != null ? atual.sample(random) : random.nextInt(palavras.length);
+    }
+
+    /**
+     * setPesosSelecao
+     * Define os pesos de sorteio por ID vindos do histórico (um por palavra) e reconstrói o
+     * amostrador. Pesos nulos ou de tamanho diferente do dicionário voltam a usar só as frequências.
+     */
+    public void setPesosSelecao(double[] pesos) {
+        this.pesosSelecao = (pesos != null && pesos.length == palavras.length) ? pesos.clone() : null;
+        this.sampler = criarSampler();
+    }
+
+    /**
+     * getPesoSelecao
+     * @param id ID da palavra
+     * @return Peso de sorteio da palavra (frequência × histórico, o mesmo de {@link #sortear}); 1 se uniforme
+     */
+    public double getPesoSelecao(int id) {
+        double[] pesos = pesosCombinados;
+        return pesos != null ? pesos[id] : 1.0;
+    }
+
+    // Combina frequências e pesos do histórico (e os guarda para getPesoSelecao); retorna null
+    // quando o sorteio deve ser uniforme.
+    private AliasSampler criarSampler() {
+        double[] historico = pesosSelecao;
+        if (frequencias == null && historico == null) {
+            pesosCombinados = null;
+            return null;
+        }
+        double[] combinados = new double[palavras.length];
+        boolean algumPositivo = false;
+        for (int i = 0; i < combinados.length; i++) {
+            double f = frequencias != null ? frequencias[i] : 1.0;
+            double h = historico != null ? historico[i] : 1.0;
+            combinados[i] = f * h;
+            algumPositivo |= combinados[i] > 0;
+        }
+        pesosCombinados = algumPositivo ? combinados : null;
+        return algumPositivo ? new AliasSampler(combinados) : null;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    // Normaliza removendo marcas diacríticas (acentos) e cedilha -> transforma ç em c, á em a, etc.
+    public static String normalize(String s) {
+        if (s == null) return null;
+        String n = Normalizer.normalize(s, Normalizer.Form.NFD);
+        n = n.replaceAll("\\p{M}", "");
+        return n;
+    }
+}
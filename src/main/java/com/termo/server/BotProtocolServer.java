@@ -0,0 +1,334 @@
+package com.termo.server;
+
+import com.termo.log.Log;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor TCP binário para bots, com um laço de eventos NIO ({@link Selector}) por núcleo.
+ *
+ * Cada quadro é {@code [u16 tamanho][u8 operação][carga]}, onde o tamanho conta a operação e a carga.
+ * Vários pedidos podem ser enviados sem esperar respostas (pipelining); as respostas saem na mesma ordem.
+ * <ul>
+ *   <li>{@code 0x01 NOVO_JOGO [u8 slot]} sorteia uma palavra no slot (0–255) da conexão;
+ *       resposta {@code 0x81 [u8 slot]}</li>
+ *   <li>{@code 0x02 CHUTE [u8 slot][letras ASCII sem acento]};
+ *       resposta {@code 0x82 [u8 slot][u8 status][u8 flags][u8 tentativa][padrão 'G'/'Y'/'B' por letra]}</li>
+ * </ul>
+ * Status: 0 ok, 1 palavra inexistente, 2 slot sem jogo, 3 jogo já terminado.
+ * Flags: bit 0 venceu, bit 1 jogo terminado.
+ *
+ * O caminho de leitura, avaliação e escrita não cria objetos: os buffers de cada conexão vêm de um
+ * {@link BufferPool} de buffers diretos e a avaliação usa {@link SecretState#pontuar}.
+ *
+ * Uso: {@code java com.termo.server.BotProtocolServer palavras.txt [porta] [laços]}
+ */
+public class BotProtocolServer {
+    private static final Log log = Log.de(BotProtocolServer.class);
+    public static final int DEFAULT_PORT = 9090;
+    public static final byte OP_NOVO_JOGO = 0x01;
+    public static final byte OP_CHUTE = 0x02;
+    public static final byte OP_NOVO_JOGO_OK = (byte) 0x81;
+    public static final byte OP_RESULTADO = (byte) 0x82;
+    public static final byte OP_ERRO = (byte) 0xFF;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_PALAVRA_INVALIDA = 1;
+    public static final byte STATUS_SEM_JOGO = 2;
+    public static final byte STATUS_TERMINADO = 3;
+    public static final byte FLAG_VENCEU = 1;
+    public static final byte FLAG_TERMINADO = 2;
+
+    private static final int SLOTS = 256;
+    private static final int MAX_TENTATIVAS = 6;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WordDictionary dictionary;
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final BufferPool pool = new BufferPool(BUFFER_SIZE, 4096);
+    private final AtomicLong chutes = new AtomicLong(); // atualizado em lote por laço
+    private volatile boolean rodando;
+
+    /**
+     * @param dictionary Dicionário compartilhado
+     * @param port Porta TCP (0 = porta livre qualquer)
+     * @param nLoops Quantidade de laços de eventos (tipicamente um por núcleo)
+     */
+    public BotProtocolServer(WordDictionary dictionary, int port, int nLoops) throws IOException {
+        this.dictionary = dictionary;
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        this.loops = new EventLoop[Math.max(1, nLoops)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        int nLoops = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        BotProtocolServer server = new BotProtocolServer(WordDictionary.get(args[0]), port, nLoops);
+        server.start();
+        log.info("Protocolo de bots ouvindo na porta " + server.getPort() + " com " + nLoops + " laços");
+    }
+
+    public void start() throws IOException {
+        rodando = true;
+        // O laço 0 também aceita conexões e as distribui entre os laços em rodízio.
+        serverChannel.configureBlocking(false);
+        loops[0].registrarAceite(serverChannel);
+        for (EventLoop loop : loops) {
+            Thread t = new Thread(loop, "termo-bot-loop-" + loop.indice);
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    public void stop() throws IOException {
+        rodando = false;
+        for (EventLoop loop : loops) loop.selector.wakeup();
+        serverChannel.close();
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /** @return Total de chutes processados (atualizado ao fim de cada rodada de eventos) */
+    public long getChutesProcessados() {
+        return chutes.get();
+    }
+
+    public int getLoops() {
+        return loops.length;
+    }
+
+    /**
+     * Estado de uma conexão: buffers do pool e os slots de jogo do bot.
+     */
+    private final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in; // modo escrita (recebendo bytes)
+        final ByteBuffer out; // modo escrita (acumulando respostas)
+        final SecretState[] jogos = new SecretState[SLOTS];
+        final byte[] tentativas = new byte[SLOTS];
+        final boolean[] terminado = new boolean[SLOTS];
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = pool.obter();
+            this.out = pool.obter();
+        }
+    }
+
+    /**
+     * Laço de eventos: um Selector e uma thread; cada conexão pertence a um único laço.
+     */
+    private final class EventLoop implements Runnable {
+        final int indice;
+        final Selector selector;
+        final ConcurrentLinkedQueue<SocketChannel> pendentes = new ConcurrentLinkedQueue<>();
+        final byte[] padrao = new byte[16]; // vetores de trabalho reaproveitados por todas as conexões do laço
+        final int[] trabalho = new int[SecretState.LETRAS];
+        long chutesRodada;
+        int proximoLoop;
+
+        EventLoop(int indice) throws IOException {
+            this.indice = indice;
+            this.selector = Selector.open();
+        }
+
+        void registrarAceite(ServerSocketChannel server) throws IOException {
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        }
+
+        void adicionar(SocketChannel channel) {
+            pendentes.offer(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (rodando) {
+                    selector.select();
+                    registrarPendentes();
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        if (!key.isValid()) continue;
+                        try {
+                            if (key.isAcceptable()) {
+                                aceitar();
+                            } else {
+                                Connection c = (Connection) key.attachment();
+                                if (key.isWritable()) escrever(key, c);
+                                if (key.isValid() && key.isReadable()) ler(key, c);
+                            }
+                        } catch (IOException e) {
+                            fechar(key);
+                        }
+                    }
+                    if (chutesRodada > 0) {
+                        chutes.addAndGet(chutesRodada);
+                        chutesRodada = 0;
+                    }
+                }
+            } catch (IOException e) {
+                log.erro(() -> "Erro no laço de eventos " + indice + ": " + e.getMessage());
+            } finally {
+                for (SelectionKey key : selector.keys()) fechar(key);
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void aceitar() throws IOException {
+            SocketChannel ch;
+            while ((ch = serverChannel.accept()) != null) {
+                ch.configureBlocking(false);
+                ch.socket().setTcpNoDelay(true);
+                EventLoop destino = loops[proximoLoop];
+                proximoLoop = (proximoLoop + 1) % loops.length;
+                if (destino == this) {
+                    ch.register(selector, SelectionKey.OP_READ, new Connection(ch));
+                } else {
+                    destino.adicionar(ch);
+                }
+            }
+        }
+
+        private void registrarPendentes() throws IOException {
+            SocketChannel ch;
+            while ((ch = pendentes.poll()) != null) {
+                ch.register(selector, SelectionKey.OP_READ, new Connection(ch));
+            }
+        }
+
+        private void ler(SelectionKey key, Connection c) throws IOException {
+            int n = c.channel.read(c.in);
+            if (n < 0) {
+                fechar(key);
+                return;
+            }
+            processarQuadros(c);
+            escrever(key, c);
+        }
+
+        // Processa todos os quadros completos enquanto houver espaço para as respostas.
+        private void processarQuadros(Connection c) {
+            ByteBuffer in = c.in;
+            in.flip();
+            while (in.remaining() >= 2) {
+                int inicio = in.position();
+                int tamanho = in.getShort(inicio) & 0xFFFF;
+                if (tamanho == 0 || tamanho > BUFFER_SIZE - 2) {
+                    // Quadro inválido: descarta o restante do buffer.
+                    in.position(in.limit());
+                    break;
+                }
+                if (in.remaining() < 2 + tamanho) break; // quadro incompleto
+                if (c.out.remaining() < 32) break; // sem espaço para a resposta: espera esvaziar a saída
+                tratarQuadro(c, in, inicio + 2, tamanho);
+                in.position(inicio + 2 + tamanho);
+            }
+            in.compact();
+        }
+
+        private void tratarQuadro(Connection c, ByteBuffer in, int off, int tamanho) {
+            byte op = in.get(off);
+            ByteBuffer out = c.out;
+            if (op == OP_NOVO_JOGO && tamanho >= 2) {
+                int slot = in.get(off + 1) & 0xFF;
+                c.jogos[slot] = dictionary.getSecretState(dictionary.sortear(ThreadLocalRandom.current()));
+                c.tentativas[slot] = 0;
+                c.terminado[slot] = false;
+                out.putShort((short) 2).put(OP_NOVO_JOGO_OK).put((byte) slot);
+            } else if (op == OP_CHUTE && tamanho >= 2) {
+                int slot = in.get(off + 1) & 0xFF;
+                int letras = tamanho - 2;
+                SecretState jogo = c.jogos[slot];
+                byte status;
+                byte flags = 0;
+                int verdes = -1;
+                if (jogo == null) {
+                    status = STATUS_SEM_JOGO;
+                } else if (c.terminado[slot]) {
+                    status = STATUS_TERMINADO;
+                    flags = FLAG_TERMINADO;
+                } else if (letras != jogo.length() || letras > padrao.length
+                        || dictionary.indexOfFolded(in, off + 2, letras) < 0) {
+                    status = STATUS_PALAVRA_INVALIDA;
+                } else {
+                    status = STATUS_OK;
+                    verdes = jogo.pontuar(in, off + 2, padrao, trabalho);
+                    c.tentativas[slot]++;
+                    chutesRodada++;
+                    if (verdes == letras) flags |= FLAG_VENCEU;
+                    if (verdes == letras || c.tentativas[slot] >= MAX_TENTATIVAS) {
+                        flags |= FLAG_TERMINADO;
+                        c.terminado[slot] = true;
+                    }
+                }
+                int n = verdes >= 0 ? letras : 0;
+                out.putShort((short) (5 + n)).put(OP_RESULTADO).put((byte) slot)
+                        .put(status).put(flags).put(c.tentativas[slot]);
+                if (n > 0) out.put(padrao, 0, n);
+            } else {
+                out.putShort((short) 2).put(OP_ERRO).put(op);
+            }
+        }
+
+        private void escrever(SelectionKey key, Connection c) throws IOException {
+            c.out.flip();
+            c.channel.write(c.out);
+            c.out.compact();
+            if (c.out.position() > 0) {
+                key.interestOps(SelectionKey.OP_WRITE); // saída cheia: para de ler até esvaziar
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+                if (c.in.position() > 0) processarQuadrosPendentes(key, c);
+            }
+        }
+
+        // Quadros que ficaram esperando espaço na saída são processados assim que ela esvazia.
+        private void processarQuadrosPendentes(SelectionKey key, Connection c) throws IOException {
+            int antes = c.in.position();
+            processarQuadros(c);
+            if (c.in.position() != antes && c.out.position() > 0) {
+                escrever(key, c);
+            }
+        }
+
+        private void fechar(SelectionKey key) {
+            Object anexo = key.attachment();
+            key.cancel();
+            try {
+                key.channel().close();
+            } catch (IOException ignored) {
+            }
+            if (anexo instanceof Connection) {
+                Connection c = (Connection) anexo;
+                pool.devolver(c.in);
+                pool.devolver(c.out);
+                key.attach(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.termo.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de {@link ByteBuffer}s diretos de tamanho fixo.
+ * Buffers diretos são caros de criar, então cada conexão pega os seus do pool ao ser aceita
+ * e devolve ao ser fechada; nenhum buffer é criado por mensagem.
+ */
+public class BufferPool {
+    private final int tamanho;
+    private final int maxLivres;
+    private final ConcurrentLinkedQueue<ByteBuffer> livres = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadeLivres = new AtomicInteger();
+
+    /**
+     * @param tamanho Capacidade de cada buffer em bytes
+     * @param maxLivres Máximo de buffers guardados no pool (os excedentes são descartados)
+     */
+    public BufferPool(int tamanho, int maxLivres) {
+        this.tamanho = tamanho;
+        this.maxLivres = maxLivres;
+    }
+
+    /** @return Um buffer limpo (posição 0, limite = capacidade) */
+    public ByteBuffer obter() {
+        ByteBuffer buf = livres.poll();
+        if (buf == null) {
+            return ByteBuffer.allocateDirect(tamanho);
+        }
+        quantidadeLivres.decrementAndGet();
+        buf.clear();
+        return buf;
+    }
+
+    /** Devolve um buffer ao pool. */
+    public void devolver(ByteBuffer buf) {
+        if (buf == null || buf.capacity() != tamanho) return;
+        if (quantidadeLivres.incrementAndGet() <= maxLivres) {
+            livres.offer(buf);
+        } else {
+            quantidadeLivres.decrementAndGet();
+        }
+    }
+}
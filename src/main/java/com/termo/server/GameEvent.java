@@ -0,0 +1,49 @@
+package com.termo.server;
+
+/**
+ * Evento imutável de uma partida, enviado aos espectadores.
+ */
+public final class GameEvent {
+    public enum Tipo { CHUTE, FIM }
+
+    public final Tipo tipo;
+    public final String sessao; // ID da sessão
+    public final long sequencia; // Posição do evento no fluxo da partida (0, 1, 2...)
+    public final int tentativa;
+    public final String palavra; // Forma canônica do chute (null no FIM)
+    public final String padrao; // 'G', 'Y' e 'B' por letra (null no FIM)
+    public final boolean venceu;
+    public final String segredo; // Só preenchido no FIM
+    private final String json; // Montado uma única vez e compartilhado por todos os espectadores
+
+    public GameEvent(Tipo tipo, String sessao, long sequencia, int tentativa, String palavra, String padrao,
+              boolean venceu, String segredo) {
+        this.tipo = tipo;
+        this.sessao = sessao;
+        this.sequencia = sequencia;
+        this.tentativa = tentativa;
+        this.palavra = palavra;
+        this.padrao = padrao;
+        this.venceu = venceu;
+        this.segredo = segredo;
+        this.json = montarJson();
+    }
+
+    public String toJson() {
+        return json;
+    }
+
+    private String montarJson() {
+        Json json = new Json()
+                .put("tipo", tipo.name())
+                .put("sessao", sessao)
+                .put("seq", sequencia)
+                .put("tentativa", tentativa);
+        if (tipo == Tipo.CHUTE) {
+            json.put("palavra", palavra).put("padrao", padrao);
+        } else {
+            json.put("venceu", venceu).put("segredo", segredo);
+        }
+        return json.toString();
+    }
+}
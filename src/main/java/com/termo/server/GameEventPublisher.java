@@ -0,0 +1,187 @@
+package com.termo.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publicador dos eventos de uma partida para espectadores ({@link Flow.Publisher}).
+ *
+ * Os eventos ficam em um único anel de tamanho fixo compartilhado por todos os inscritos; cada
+ * inscrito guarda apenas a posição (cursor) do próximo evento que vai receber. Assim, publicar
+ * custa O(1) para a thread do jogo, independente da quantidade de espectadores, e a memória não
+ * cresce com eles. A entrega roda no {@link Executor} informado, respeitando a demanda
+ * ({@code request(n)}) de cada inscrito. Um espectador lento que fica {@link #CAPACIDADE}
+ * ou mais eventos para trás perde os mais antigos (descartar os mais antigos) e continua do evento mais
+ * antigo ainda guardado.
+ */
+public class GameEventPublisher implements Flow.Publisher<GameEvent> {
+    public static final int CAPACIDADE = 16; // Posições do anel (potência de 2)
+    // Eventos que um inscrito ainda pode ler: a posição do evento mais antigo pode estar sendo
+    // sobrescrita pela próxima publicação.
+    static final int JANELA = CAPACIDADE - 1;
+
+    // Pool compartilhado pelas partidas para a entrega aos espectadores.
+    private static final ExecutorService ENTREGA = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "termo-spectators");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final GameEvent[] anel = new GameEvent[CAPACIDADE];
+    private volatile long publicados; // Total de eventos já publicados
+    private volatile boolean fechado;
+    private final Set<Inscricao> inscritos = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final AtomicBoolean distribuicaoAgendada = new AtomicBoolean();
+
+    public GameEventPublisher() {
+        this(ENTREGA);
+    }
+
+    public GameEventPublisher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * publicar
+     * Acrescenta um evento ao anel e agenda a entrega. Deve ser chamado por uma thread de cada vez
+     * (a sessão publica de dentro de seus métodos sincronizados).
+     */
+    public void publicar(GameEvent evento) {
+        if (fechado) return;
+        long seq = publicados;
+        anel[(int) (seq & (CAPACIDADE - 1))] = evento;
+        publicados = seq + 1; // escrita volátil: publica o evento para os leitores
+        agendarDistribuicao();
+    }
+
+    /** Encerra o fluxo: cada inscrito recebe {@code onComplete} depois dos eventos pendentes. */
+    public void fechar() {
+        fechado = true;
+        agendarDistribuicao();
+    }
+
+    /** @return Quantidade de eventos publicados (é também a sequência do próximo evento) */
+    public long getPublicados() {
+        return publicados;
+    }
+
+    public int getInscritos() {
+        return inscritos.size();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameEvent> subscriber) {
+        // Quem chega no meio da partida recebe os eventos que ainda estão no anel.
+        Inscricao inscricao = new Inscricao(subscriber, Math.max(0, publicados - JANELA));
+        inscritos.add(inscricao);
+        subscriber.onSubscribe(inscricao);
+        if (fechado) inscricao.agendar();
+    }
+
+    private void agendarDistribuicao() {
+        if (distribuicaoAgendada.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                distribuicaoAgendada.set(false);
+                for (Inscricao i : inscritos) {
+                    i.drenar();
+                }
+            });
+        }
+    }
+
+    /**
+     * Estado de um inscrito: cursor, demanda pendente e contagem de eventos descartados.
+     * A entrega é serializada por inscrito ({@code onNext} nunca roda em paralelo para o mesmo inscrito).
+     */
+    private final class Inscricao implements Flow.Subscription {
+        private final Flow.Subscriber<? super GameEvent> subscriber;
+        private long cursor; // Sequência do próximo evento a entregar (só acessado dentro de drenar)
+        private final AtomicLong demanda = new AtomicLong();
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private volatile boolean cancelada;
+        private volatile long descartados;
+
+        Inscricao(Flow.Subscriber<? super GameEvent> subscriber, long cursor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelada) return;
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request(" + n + "): a demanda deve ser positiva"));
+                return;
+            }
+            demanda.getAndAccumulate(n, (atual, mais) -> atual + mais < 0 ? Long.MAX_VALUE : atual + mais);
+            agendar();
+        }
+
+        @Override
+        public void cancel() {
+            cancelada = true;
+            inscritos.remove(this);
+        }
+
+        void agendar() {
+            executor.execute(this::drenar);
+        }
+
+        void drenar() {
+            if (!drenando.compareAndSet(false, true)) return;
+            try {
+                while (!cancelada) {
+                    long disponivel = publicados;
+                    while (cursor < disponivel && demanda.get() > 0 && !cancelada) {
+                        if (disponivel - cursor >= CAPACIDADE) {
+                            descartados += disponivel - JANELA - cursor;
+                            cursor = disponivel - JANELA;
+                        }
+                        GameEvent evento = anel[(int) (cursor & (CAPACIDADE - 1))];
+                        // O publicador pode ter sobrescrito a posição durante a leitura: ele grava
+                        // o evento 'disponivel' (na posição de 'disponivel - CAPACIDADE') antes de
+                        // atualizar 'publicados', então essa posição já não é confiável.
+                        disponivel = publicados;
+                        if (disponivel - cursor >= CAPACIDADE) continue;
+                        cursor++;
+                        demanda.decrementAndGet();
+                        subscriber.onNext(evento);
+                    }
+                    if (fechado && cursor >= publicados && !cancelada) {
+                        cancelada = true;
+                        inscritos.remove(this);
+                        subscriber.onComplete();
+                    }
+                    long entregues = cursor;
+                    drenando.set(false);
+                    // Evita perder um aviso que chegou enquanto o laço terminava.
+                    boolean pendente = !cancelada
+                            && ((entregues < publicados && demanda.get() > 0) || (fechado && entregues >= publicados));
+                    if (!pendente || !drenando.compareAndSet(false, true)) return;
+                }
+                drenando.set(false);
+            } catch (RuntimeException ex) {
+                cancelada = true;
+                inscritos.remove(this);
+                drenando.set(false);
+                subscriber.onError(ex);
+            }
+        }
+    }
+
+    /** @return Soma dos eventos descartados por espectadores lentos ainda inscritos */
+    public long getDescartados() {
+        long total = 0;
+        for (Inscricao i : inscritos) total += i.descartados;
+        return total;
+    }
+}
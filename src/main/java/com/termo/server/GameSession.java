@@ -0,0 +1,134 @@
+package com.termo.server;
+
+import com.termo.controller.Game;
+import com.termo.controller.Usuario;
+import com.termo.model.GameHistory;
+
+/**
+ * Uma partida em andamento no modo servidor.
+ * Reúne o {@link Game}, o usuário dono da partida e o contador de tentativas,
+ * e aplica as mesmas regras de fim de jogo da interface gráfica.
+ * Cada chute válido e o fim da partida são publicados para espectadores em {@link #getEventos()}.
+ */
+public class GameSession {
+    public static final int MAX_TENTATIVAS = Game.MAX_TENTATIVAS;
+
+    private final String id;
+    private final Usuario usuario;
+    private final Game jogo;
+    private final boolean registrarResultado; // false em rodadas de torneio, que gravam tudo no encerramento
+    private int tentativas; // Chutes válidos já feitos
+    private boolean terminada;
+    private final GameEventPublisher eventos = new GameEventPublisher();
+
+    public GameSession(String id, Usuario usuario, Game jogo) {
+        this(id, usuario, jogo, true);
+    }
+
+    /**
+     * @param registrarResultado Se false, o fim da partida só é publicado aos espectadores; perfil,
+     *                           histórico e palavra do dia ficam a cargo de quem criou a sessão ({@link Tournament})
+     */
+    GameSession(String id, Usuario usuario, Game jogo, boolean registrarResultado) {
+        this.id = id;
+        this.usuario = usuario;
+        this.jogo = jogo;
+        this.registrarResultado = registrarResultado;
+    }
+
+    /**
+     * Resultado imutável de um chute.
+     */
+    public static final class Resultado {
+        public final boolean valido;
+        public final String padrao; // 'G', 'Y' e 'B' por letra (null se o chute for inválido)
+        public final String palavraTentada; // Forma canônica do chute
+        public final int tentativa; // Número da tentativa (1–6)
+        public final boolean venceu;
+        public final boolean terminada;
+
+        Resultado(boolean valido, String padrao, String palavraTentada, int tentativa, boolean venceu, boolean terminada) {
+            this.valido = valido;
+            this.padrao = padrao;
+            this.palavraTentada = palavraTentada;
+            this.tentativa = tentativa;
+            this.venceu = venceu;
+            this.terminada = terminada;
+        }
+    }
+
+    /**
+     * chutar
+     * Processa um chute. Ao fim da partida registra o resultado no perfil, no histórico e,
+     * se for a palavra do dia, no agregado do dia.
+     *
+     * @param palavra Palavra chutada
+     * @return Resultado do chute
+     */
+    public synchronized Resultado chutar(String palavra) {
+        if (terminada || palavra == null) {
+            return new Resultado(false, null, null, tentativas, venceu(), terminada);
+        }
+        if (!jogo.validateGuess(palavra)) {
+            return new Resultado(false, null, null, tentativas, false, false);
+        }
+        tentativas++;
+        boolean venceu = venceu();
+        String padrao = new String(jogo.getResultado());
+        eventos.publicar(new GameEvent(GameEvent.Tipo.CHUTE, id, eventos.getPublicados(), tentativas,
+                jogo.getpalavratentativa(), padrao, venceu, null));
+        if (venceu || tentativas >= MAX_TENTATIVAS) {
+            terminada = true;
+            registrarFim(venceu);
+        }
+        return new Resultado(true, padrao, jogo.getpalavratentativa(), tentativas, venceu, terminada);
+    }
+
+    /**
+     * abandonar
+     * Encerra uma partida abandonada (sessão expirada) e avisa os espectadores.
+     *
+     * @param contarDerrota Se true, registra a derrota quando o jogador já fez pelo menos um chute
+     * @return true se a derrota foi registrada
+     */
+    public synchronized boolean abandonar(boolean contarDerrota) {
+        if (terminada) return false;
+        terminada = true;
+        if (!contarDerrota || tentativas == 0) {
+            eventos.fechar();
+            return false;
+        }
+        registrarFim(false);
+        return true;
+    }
+
+    private void registrarFim(boolean venceu) {
+        eventos.publicar(new GameEvent(GameEvent.Tipo.FIM, id, eventos.getPublicados(), tentativas,
+                null, null, venceu, jogo.getPalavra()));
+        eventos.fechar();
+        if (!registrarResultado) return;
+        // Na palavra do dia, só o primeiro resultado do jogador no dia entra no agregado.
+        boolean contaNoDia = jogo.getDaily() != null
+                && usuario.getPerfil().marcarPalavraDoDia(jogo.getDaily().getData());
+        if (venceu) {
+            usuario.getPerfil().registrarVitoria(tentativas);
+        } else {
+            usuario.getPerfil().registrarDerrota(tentativas);
+        }
+        if (contaNoDia) {
+            jogo.getDaily().getStats().registrar(venceu, tentativas);
+        }
+        GameHistory.registrar(jogo.getPalavra(), venceu, jogo.getTentativas());
+    }
+
+    private boolean venceu() {
+        return jogo.getRightQuantityWord() == jogo.getWordLength();
+    }
+
+    public String getId() { return id; }
+    public Usuario getUsuario() { return usuario; }
+    public Game getJogo() { return jogo; }
+    public GameEventPublisher getEventos() { return eventos; }
+    public synchronized int getTentativas() { return tentativas; }
+    public synchronized boolean isTerminada() { return terminada; }
+}
@@ -0,0 +1,85 @@
+package com.termo.server;
+
+/**
+ * Montador mínimo de objetos JSON para as respostas do servidor (sem dependências externas).
+ */
+final class Json {
+    private final StringBuilder sb = new StringBuilder("{");
+    private boolean primeiro = true;
+
+    Json put(String chave, String valor) {
+        chave(chave);
+        if (valor == null) {
+            sb.append("null");
+        } else {
+            escape(valor);
+        }
+        return this;
+    }
+
+    Json put(String chave, long valor) {
+        chave(chave);
+        sb.append(valor);
+        return this;
+    }
+
+    Json put(String chave, double valor) {
+        chave(chave);
+        sb.append(Double.isFinite(valor) ? String.valueOf(valor) : "null");
+        return this;
+    }
+
+    Json put(String chave, boolean valor) {
+        chave(chave);
+        sb.append(valor);
+        return this;
+    }
+
+    Json put(String chave, int[] valores) {
+        chave(chave);
+        sb.append('[');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(valores[i]);
+        }
+        sb.append(']');
+        return this;
+    }
+
+    /** Insere um valor JSON já montado (objeto ou lista). */
+    Json putRaw(String chave, String json) {
+        chave(chave);
+        sb.append(json);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return sb + "}";
+    }
+
+    private void chave(String chave) {
+        if (!primeiro) sb.append(',');
+        primeiro = false;
+        escape(chave);
+        sb.append(':');
+    }
+
+    private void escape(String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,262 @@
+package com.termo.server;
+
+import com.termo.log.Log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Armazém de sessões em memória com expiração por inatividade (TTL) e tamanho máximo.
+ *
+ * A expiração usa uma roda de temporização (timer wheel): cada sessão fica no balde do tick em que
+ * deveria expirar. A cada tick só o balde atual é examinado; sessões acessadas desde o agendamento
+ * são reagendadas (o acesso em si apenas atualiza um timestamp, sem mexer na roda). Nunca há
+ * varredura de todas as sessões.
+ * Ao passar do tamanho máximo, as sessões mais próximas de expirar são removidas primeiro.
+ * Sessões removidas ou substituídas saem também da roda em O(1): cada balde é uma lista duplamente
+ * encadeada cujos elos ficam na própria entrada, então a memória fica limitada pelo tamanho máximo
+ * sem que remover custe uma busca no balde (sessões criadas no mesmo tick dividem o balde). A ação de remoção ({@code aoRemover}) sempre roda na thread da roda, nunca na
+ * thread de quem chamou {@link #put}.
+ *
+ * @param <V> Tipo do valor armazenado
+ */
+public class SessionStore<V> {
+    private static final Log log = Log.de(SessionStore.class);
+    private static final int BALDES = 512; // Baldes da roda (potência de 2)
+
+    private final Map<String, Entry<V>> sessoes = new ConcurrentHashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Balde<V>[] roda = new Balde[BALDES];
+    private final long tickNanos;
+    private final long ttlNanos;
+    private final int maxSessoes;
+    private final BiConsumer<String, V> aoRemover; // Chamado para sessões expiradas ou removidas por tamanho
+    private final ScheduledExecutorService relogio;
+    private volatile long tickAtual; // Último tick processado
+    private final long inicio = System.nanoTime();
+
+    // Contadores
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder expiradas = new LongAdder();
+    private final LongAdder removidasPorTamanho = new LongAdder();
+
+    private static final class Entry<V> {
+        final String chave;
+        final V valor;
+        volatile long ultimoAcesso; // System.nanoTime() do último acesso
+        volatile Balde<V> balde; // Balde da roda em que está agendada (null = fora da roda)
+        Entry<V> anterior, proximo; // Elos no balde, guardados pelo monitor do balde
+
+        Entry(String chave, V valor, long agora) {
+            this.chave = chave;
+            this.valor = valor;
+            this.ultimoAcesso = agora;
+        }
+    }
+
+    /** Balde da roda: lista duplamente encadeada intrusiva, guardada pelo próprio monitor. */
+    private static final class Balde<V> {
+        private Entry<V> primeira, ultima;
+        private int tamanho;
+
+        synchronized void inserir(Entry<V> e) {
+            e.anterior = ultima;
+            e.proximo = null;
+            if (ultima != null) ultima.proximo = e;
+            else primeira = e;
+            ultima = e;
+            tamanho++;
+            e.balde = this;
+        }
+
+        // O(1); false se a entrada já não está neste balde.
+        synchronized boolean retirar(Entry<V> e) {
+            if (e.balde != this) return false;
+            if (e.anterior != null) e.anterior.proximo = e.proximo;
+            else primeira = e.proximo;
+            if (e.proximo != null) e.proximo.anterior = e.anterior;
+            else ultima = e.anterior;
+            e.anterior = e.proximo = null;
+            e.balde = null;
+            tamanho--;
+            return true;
+        }
+
+        synchronized Entry<V> retirarPrimeira() {
+            Entry<V> e = primeira;
+            if (e != null) retirar(e);
+            return e;
+        }
+
+        synchronized int tamanho() {
+            return tamanho;
+        }
+    }
+
+    /**
+     * @param ttlMillis Tempo máximo de inatividade de uma sessão
+     * @param maxSessoes Quantidade máxima de sessões guardadas
+     * @param tickMillis Resolução da roda (a expiração pode atrasar até um tick)
+     * @param aoRemover Ação executada quando uma sessão expira ou é removida por excesso (pode ser null)
+     */
+    public SessionStore(long ttlMillis, int maxSessoes, long tickMillis, BiConsumer<String, V> aoRemover) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        this.maxSessoes = maxSessoes;
+        this.aoRemover = aoRemover;
+        for (int i = 0; i < BALDES; i++) roda[i] = new Balde<>();
+        this.relogio = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "termo-session-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        relogio.scheduleAtFixedRate(this::avancar, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Guarda uma sessão, removendo as mais próximas de expirar se o tamanho máximo for ultrapassado. */
+    public void put(String chave, V valor) {
+        long agora = System.nanoTime();
+        Entry<V> e = new Entry<>(chave, valor, agora);
+        Entry<V> anterior = sessoes.put(chave, e);
+        if (anterior != null) desagendar(anterior);
+        agendar(e, agora);
+        while (sessoes.size() > maxSessoes) {
+            if (!removerMaisAntiga()) break;
+        }
+    }
+
+    /** @return A sessão (renovando seu TTL) ou null se não existir/tiver expirado */
+    public V get(String chave) {
+        Entry<V> e = sessoes.get(chave);
+        if (e == null) {
+            faltas.increment();
+            return null;
+        }
+        e.ultimoAcesso = System.nanoTime();
+        acertos.increment();
+        return e.valor;
+    }
+
+    /** @return A sessão sem renovar seu TTL (ex.: acesso de espectadores), ou null */
+    public V peek(String chave) {
+        Entry<V> e = sessoes.get(chave);
+        return e != null ? e.valor : null;
+    }
+
+    /** Remove uma sessão encerrada normalmente (sem chamar a ação de remoção). */
+    public V remove(String chave) {
+        Entry<V> e = sessoes.remove(chave);
+        if (e == null) return null;
+        desagendar(e);
+        return e.valor;
+    }
+
+    public int size() {
+        return sessoes.size();
+    }
+
+    public void close() {
+        relogio.shutdownNow();
+    }
+
+    // ===== Roda de temporização =====
+
+    private long tickDe(long nanos) {
+        return (nanos - inicio) / tickNanos;
+    }
+
+    private void agendar(Entry<V> e, long agora) {
+        long tickExpira = Math.max(tickDe(agora + ttlNanos), tickAtual + 1);
+        roda[(int) (tickExpira & (BALDES - 1))].inserir(e);
+    }
+
+    // Tira a entrada do seu balde em O(1). Se a roda a estiver movendo ao mesmo tempo, ela é
+    // descartada no próximo exame, pois já não está no mapa.
+    private void desagendar(Entry<V> e) {
+        Balde<V> b;
+        while ((b = e.balde) != null && !b.retirar(e)) {
+            // Mudou de balde entre a leitura e o lock: tenta no novo
+        }
+    }
+
+    // Processa todos os ticks desde o último (a thread pode ter atrasado).
+    private void avancar() {
+        try {
+            long alvo = tickDe(System.nanoTime());
+            while (tickAtual < alvo) {
+                tickAtual++;
+                processarBalde(tickAtual);
+            }
+        } catch (RuntimeException ex) {
+            log.erro(() -> "Erro na expiração de sessões: " + ex.getMessage());
+        }
+    }
+
+    private void processarBalde(long tick) {
+        Balde<V> balde = roda[(int) (tick & (BALDES - 1))];
+        int n = balde.tamanho(); // só as entradas presentes agora; reagendadas para o mesmo balde ficam para a próxima volta
+        long agora = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            Entry<V> e = balde.retirarPrimeira();
+            if (e == null) break;
+            if (sessoes.get(e.chave) != e) continue; // já removida ou substituída
+            if (agora - e.ultimoAcesso >= ttlNanos) {
+                if (sessoes.remove(e.chave, e)) {
+                    expiradas.increment();
+                    notificar(e);
+                }
+            } else {
+                agendar(e, e.ultimoAcesso); // foi acessada: reagenda a partir do último acesso
+            }
+        }
+    }
+
+    // Remove a sessão viva mais próxima de expirar, percorrendo a roda a partir do tick atual.
+    private boolean removerMaisAntiga() {
+        long base = tickAtual;
+        for (int i = 1; i <= BALDES; i++) {
+            Balde<V> balde = roda[(int) ((base + i) & (BALDES - 1))];
+            Entry<V> e;
+            while ((e = balde.retirarPrimeira()) != null) {
+                if (sessoes.remove(e.chave, e)) {
+                    removidasPorTamanho.increment();
+                    notificarNoRelogio(e); // Pode ser uma gravação de perfil: fora da thread da requisição
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void notificarNoRelogio(Entry<V> e) {
+        if (aoRemover == null) return;
+        try {
+            relogio.execute(() -> notificar(e));
+        } catch (RejectedExecutionException ex) {
+            notificar(e); // Armazém fechado
+        }
+    }
+
+    private void notificar(Entry<V> e) {
+        if (aoRemover == null) return;
+        try {
+            aoRemover.accept(e.chave, e.valor);
+        } catch (RuntimeException ex) {
+            log.erro(() -> "Erro ao remover sessão " + e.chave + ": " + ex.getMessage());
+        }
+    }
+
+    // ===== Contadores =====
+
+    public long getAcertos() { return acertos.sum(); }
+    public long getFaltas() { return faltas.sum(); }
+    public long getExpiradas() { return expiradas.sum(); }
+    public long getRemovidasPorTamanho() { return removidasPorTamanho.sum(); }
+}
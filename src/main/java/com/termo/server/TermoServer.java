@@ -0,0 +1,607 @@
+package com.termo.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.termo.controller.Game;
+import com.termo.controller.Login;
+import com.termo.controller.PerfilJogador;
+import com.termo.controller.Usuario;
+import com.termo.log.Log;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.model.DailyPuzzle;
+import com.termo.model.WordDictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Servidor HTTP "headless" do jogo, baseado no {@code com.sun.net.httpserver} do JDK.
+ * Todas as sessões compartilham o mesmo dicionário ({@link WordDictionary}) e o mesmo
+ * banco de perfis ({@link Login}).
+ *
+ * Endpoints (parâmetros na query string ou em corpo x-www-form-urlencoded):
+ * <ul>
+ *   <li>{@code POST /game?usuario=&senha=[&daily=1]} inicia uma partida e devolve o ID da sessão</li>
+ *   <li>{@code POST /guess?id=&palavra=} processa um chute e devolve o padrão ('G', 'Y', 'B')</li>
+ *   <li>{@code GET /stats?usuario=&senha=} devolve as estatísticas do jogador</li>
+ *   <li>{@code GET /daily} devolve o agregado da palavra do dia</li>
+ *   <li>{@code GET /events?id=} acompanha uma partida (ou rodada de torneio) em tempo real (Server-Sent Events)</li>
+ *   <li>{@code POST /tournament/create?[rodadas=3]} cria um torneio e devolve seu ID e o token do dono</li>
+ *   <li>{@code POST /tournament/join?id=&usuario=&senha=} inscreve o jogador e devolve seu token</li>
+ *   <li>{@code POST /tournament/guess?id=&token=&palavra=} chuta na rodada atual do jogador</li>
+ *   <li>{@code GET /tournament/standings?id=} devolve a última classificação publicada</li>
+ *   <li>{@code POST /tournament/finish?id=&dono=} encerra o torneio (só com o token do dono) e grava os resultados nos perfis</li>
+ *   <li>{@code GET /sessions} devolve os contadores do armazém de sessões</li>
+ *   <li>{@code GET /metrics} devolve as métricas do processo no formato do Prometheus ({@link MetricsRegistry})</li>
+ * </ul>
+ *
+ * Partidas sem atividade por {@code -Dtermo.sessao.ttl} segundos (padrão 900) são descartadas, e no
+ * máximo {@code -Dtermo.sessao.max} (padrão 100000) ficam em memória. Com
+ * {@code -Dtermo.sessao.abandonoDerrota=true}, partidas abandonadas contam como derrota.
+ * Espectadores de {@code /events} não prendem threads: ocupam só a conexão, e os eventos são escritos
+ * por um pool pequeno compartilhado. No máximo {@code -Dtermo.espectadores.porPartida} (padrão 10000)
+ * acompanham a mesma partida e {@code -Dtermo.espectadores.max} (padrão 50000) o servidor todo (o
+ * limite de arquivos abertos do processo precisa comportar as conexões); os demais recebem 503.
+ * Torneios sem atividade por {@code -Dtermo.torneio.ttl} segundos (padrão 3600) são encerrados,
+ * com os resultados gravados, e removidos.
+ *
+ * Uso: {@code java com.termo.server.TermoServer caminho/para/palavras.txt [porta]}
+ */
+public class TermoServer {
+    private static final Log log = Log.de(TermoServer.class);
+    public static final int DEFAULT_PORT = 8080;
+
+    private final String file;
+    private final WordDictionary dictionary;
+    private final HttpServer http;
+    private final ExecutorService executor;
+    private final SessionStore<GameSession> sessoes;
+    private final Map<String, Tournament> torneios = new ConcurrentHashMap<>();
+    private final long ttlTorneioMs = Long.getLong("termo.torneio.ttl", 3600) * 1000;
+    private final ScheduledFuture<?> limpezaTorneios;
+    // Espectadores SSE: cada um ocupa só uma conexão; a escrita roda num pool pequeno compartilhado.
+    private final Semaphore espectadores = new Semaphore(Integer.getInteger("termo.espectadores.max", 50_000));
+    private final int maxEspectadoresPorPartida = Integer.getInteger("termo.espectadores.porPartida", 10_000);
+    private final Set<SseSubscriber> transmissoes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService escritaSse = Executors.newFixedThreadPool(
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "termo-sse");
+                t.setDaemon(true);
+                return t;
+            });
+    private final ScheduledFuture<?> batimentos;
+
+    /**
+     * @param file Caminho do arquivo de palavras
+     * @param port Porta TCP (0 = porta livre qualquer)
+     */
+    public TermoServer(String file, int port) throws IOException {
+        this.file = file;
+        this.dictionary = WordDictionary.get(file);
+        boolean abandonoDerrota = Boolean.getBoolean("termo.sessao.abandonoDerrota");
+        this.sessoes = new SessionStore<>(
+                Long.getLong("termo.sessao.ttl", 900) * 1000,
+                Integer.getInteger("termo.sessao.max", 100_000),
+                1000,
+                (id, sessao) -> sessao.abandonar(abandonoDerrota));
+        this.http = HttpServer.create(new InetSocketAddress(port), 4096);
+        this.executor = criarExecutor();
+        http.setExecutor(executor);
+        http.createContext("/game", this::handleGame);
+        http.createContext("/guess", this::handleGuess);
+        http.createContext("/stats", this::handleStats);
+        http.createContext("/daily", this::handleDaily);
+        http.createContext("/sessions", this::handleSessions);
+        http.createContext("/metrics", this::handleMetrics);
+        http.createContext("/events", this::handleEvents);
+        http.createContext("/tournament/", this::handleTournament);
+        this.limpezaTorneios = Tournament.agendar(this::expirarTorneios, Math.max(1000, ttlTorneioMs / 10));
+        this.batimentos = Tournament.agendar(this::baterEspectadores, SseSubscriber.BATIMENTO_MS / 3);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        TermoServer server = new TermoServer(args[0], port);
+        server.start();
+        log.info("Servidor TERMO ouvindo na porta " + server.getPort());
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    public void stop() {
+        http.stop(0);
+        limpezaTorneios.cancel(false);
+        batimentos.cancel(false);
+        escritaSse.shutdownNow();
+        executor.shutdownNow();
+        sessoes.close();
+    }
+
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    /** @return Quantidade de partidas em andamento */
+    public int getSessoesAtivas() {
+        return sessoes.size();
+    }
+
+    /**
+     * criarExecutor
+     * Uma thread virtual por requisição quando o JDK oferece (21+); em JDKs anteriores,
+     * um pool de threads de plataforma que cresce sob demanda.
+     */
+    static ExecutorService criarExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "termo-http");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ===== Handlers =====
+
+    private void handleGame(HttpExchange ex) throws IOException {
+        if (!"POST".equals(ex.getRequestMethod())) {
+            responder(ex, 405, erro("use POST"));
+            return;
+        }
+        Map<String, String> p = parametros(ex);
+        String nome = p.get("usuario");
+        String senha = p.get("senha");
+        if (nome == null || nome.isBlank() || senha == null) {
+            responder(ex, 400, erro("usuario e senha são obrigatórios"));
+            return;
+        }
+        Login login = new Login();
+        if (!login.loginOuCadastrar(nome, senha)) {
+            responder(ex, 403, erro("senha incorreta"));
+            return;
+        }
+        Usuario usuario = Login.getUsuario(nome);
+        boolean daily = "1".equals(p.get("daily")) || "true".equals(p.get("daily"));
+        Game jogo = daily ? new Game(file, DailyPuzzle.hoje(dictionary)) : new Game(file, usuario.getPerfil());
+
+        GameSession sessao = new GameSession(UUID.randomUUID().toString(), usuario, jogo);
+        sessoes.put(sessao.getId(), sessao);
+        responder(ex, 200, new Json()
+                .put("id", sessao.getId())
+                .put("letras", jogo.getWordLength())
+                .put("tentativas", GameSession.MAX_TENTATIVAS)
+                .put("daily", daily)
+                .toString());
+    }
+
+    private void handleGuess(HttpExchange ex) throws IOException {
+        if (!"POST".equals(ex.getRequestMethod())) {
+            responder(ex, 405, erro("use POST"));
+            return;
+        }
+        Map<String, String> p = parametros(ex);
+        GameSession sessao = p.get("id") != null ? sessoes.get(p.get("id")) : null;
+        if (sessao == null) {
+            responder(ex, 404, erro("sessão não encontrada"));
+            return;
+        }
+        GameSession.Resultado r = sessao.chutar(p.get("palavra"));
+        Json json = new Json()
+                .put("valido", r.valido)
+                .put("padrao", r.padrao)
+                .put("palavra", r.palavraTentada)
+                .put("tentativa", r.tentativa)
+                .put("venceu", r.venceu)
+                .put("fim", r.terminada);
+        if (r.terminada) {
+            json.put("segredo", sessao.getJogo().getPalavra());
+            sessoes.remove(sessao.getId());
+        }
+        responder(ex, 200, json.toString());
+    }
+
+    private void handleStats(HttpExchange ex) throws IOException {
+        Map<String, String> p = parametros(ex);
+        Usuario usuario = p.get("usuario") != null ? Login.getUsuario(p.get("usuario")) : null;
+        if (usuario == null || !usuario.getSenha().equals(p.get("senha"))) {
+            responder(ex, 403, erro("usuário ou senha inválidos"));
+            return;
+        }
+        PerfilJogador perfil = usuario.getPerfil();
+        Json recentes = new Json();
+        for (int janela : PerfilJogador.JANELAS) {
+            recentes.putRaw(String.valueOf(janela), new Json()
+                    .put("vitorias", perfil.getPercentualVitoriasRecentes(janela))
+                    .put("mediaTentativas", perfil.getMediaTentativasRecentes(janela))
+                    .toString());
+        }
+        responder(ex, 200, new Json()
+                .put("usuario", usuario.getNome())
+                .put("jogos", perfil.getJogos())
+                .put("vitorias", perfil.getVitorias())
+                .put("percentualVitorias", perfil.getPercentualVitorias())
+                .put("sequencia", perfil.getSequenciaVitorias())
+                .put("melhorSequencia", perfil.getMelhorSequencia())
+                .put("distribuicao", perfil.getDistribuicaoTentativas())
+                .putRaw("recentes", recentes.toString())
+                .toString());
+    }
+
+    private void handleDaily(HttpExchange ex) throws IOException {
+        DailyPuzzle.Stats stats = DailyPuzzle.hoje(dictionary).getStats();
+        long[] dist = stats.getDistribuicao();
+        int[] distInt = new int[dist.length];
+        for (int i = 0; i < dist.length; i++) distInt[i] = (int) dist[i];
+        responder(ex, 200, new Json()
+                .put("jogos", stats.getJogos())
+                .put("vitorias", stats.getVitorias())
+                .put("taxaResolucao", stats.getTaxaResolucao())
+                .put("distribuicao", distInt)
+                .toString());
+    }
+
+    private void handleSessions(HttpExchange ex) throws IOException {
+        responder(ex, 200, new Json()
+                .put("ativas", sessoes.size())
+                .put("acertos", sessoes.getAcertos())
+                .put("faltas", sessoes.getFaltas())
+                .put("expiradas", sessoes.getExpiradas())
+                .put("removidasPorTamanho", sessoes.getRemovidasPorTamanho())
+                .toString());
+    }
+
+    private void handleMetrics(HttpExchange ex) throws IOException {
+        byte[] body = MetricsRegistry.global().prometheus().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * handleEvents
+     * Responde com os cabeçalhos SSE, inscreve o espectador no publicador da partida e devolve a
+     * thread da requisição: a resposta fica aberta e os eventos são escritos depois, pelo pool de
+     * escrita SSE ({@link SseSubscriber}). Nenhuma thread fica presa por espectador.
+     */
+    private void handleEvents(HttpExchange ex) throws IOException {
+        Map<String, String> p = parametros(ex);
+        GameSession sessao = p.get("id") != null ? sessoes.peek(p.get("id")) : null;
+        if (sessao == null) sessao = sessaoDeTorneio(p.get("id"));
+        if (sessao == null) {
+            responder(ex, 404, erro("sessão não encontrada"));
+            return;
+        }
+        if (sessao.getEventos().getInscritos() >= maxEspectadoresPorPartida) {
+            responder(ex, 503, erro("limite de espectadores da partida atingido"));
+            return;
+        }
+        if (!espectadores.tryAcquire()) {
+            responder(ex, 503, erro("limite de espectadores atingido"));
+            return;
+        }
+        try {
+            ex.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            ex.getResponseHeaders().set("Cache-Control", "no-cache");
+            ex.sendResponseHeaders(200, 0);
+        } catch (IOException e) {
+            espectadores.release();
+            throw e;
+        }
+        SseSubscriber espectador = new SseSubscriber(ex, escritaSse, this::espectadorSaiu);
+        transmissoes.add(espectador);
+        sessao.getEventos().subscribe(espectador);
+    }
+
+    // Rodada de torneio em andamento com esse ID de sessão (os torneios ativos são poucos).
+    private GameSession sessaoDeTorneio(String id) {
+        if (id == null) return null;
+        for (Tournament t : torneios.values()) {
+            GameSession s = t.getSessao(id);
+            if (s != null) return s;
+        }
+        return null;
+    }
+
+    private void espectadorSaiu(SseSubscriber espectador) {
+        if (transmissoes.remove(espectador)) espectadores.release();
+    }
+
+    // Envia o batimento aos espectadores parados; quem já desconectou é descoberto aqui.
+    private void baterEspectadores() {
+        long agora = System.nanoTime();
+        for (SseSubscriber s : transmissoes) {
+            s.baterSeParado(agora);
+        }
+    }
+
+    /**
+     * Espectador SSE assíncrono. A entrega do publicador só enfileira (um evento por vez, pois o
+     * espectador pede um de cada vez, mais o sinal de fim); a escrita no socket roda num pool
+     * pequeno compartilhado, serializada por espectador, e só então o próximo evento é pedido.
+     * Um espectador que lê devagar fica para trás no anel do publicador, sem atrasar os outros:
+     * uma partida gera poucos eventos pequenos, que cabem no buffer do socket.
+     * Sem escrever por {@link #BATIMENTO_MS}, recebe um comentário SSE; se o cliente já desconectou,
+     * a escrita falha (no máximo no segundo batimento, já que a primeira escrita depois da queda
+     * ainda é aceita pelo sistema), a inscrição é cancelada e a vaga é liberada.
+     */
+    private static final class SseSubscriber implements Flow.Subscriber<GameEvent> {
+        static final long BATIMENTO_MS = 15_000;
+        private static final Object FIM = new Object();
+        private static final Object PING = new Object();
+        private static final byte[] BATIMENTO = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+
+        private final HttpExchange ex;
+        private final OutputStream out;
+        private final Executor escrita;
+        private final Consumer<SseSubscriber> aoEncerrar;
+        private final Queue<Object> fila = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean escrevendo = new AtomicBoolean();
+        private final AtomicBoolean encerrado = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        private volatile long ultimaEscrita = System.nanoTime();
+
+        SseSubscriber(HttpExchange ex, Executor escrita, Consumer<SseSubscriber> aoEncerrar) {
+            this.ex = ex;
+            this.out = ex.getResponseBody();
+            this.escrita = escrita;
+            this.aoEncerrar = aoEncerrar;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(GameEvent evento) {
+            fila.offer(evento);
+            agendar();
+        }
+
+        @Override
+        public void onError(Throwable erro) {
+            fila.offer(FIM);
+            agendar();
+        }
+
+        @Override
+        public void onComplete() {
+            fila.offer(FIM);
+            agendar();
+        }
+
+        void baterSeParado(long agora) {
+            if (agora - ultimaEscrita >= TimeUnit.MILLISECONDS.toNanos(BATIMENTO_MS)) {
+                fila.offer(PING);
+                agendar();
+            }
+        }
+
+        private void agendar() {
+            if (encerrado.get() || !escrevendo.compareAndSet(false, true)) return;
+            try {
+                escrita.execute(this::escrever);
+            } catch (RejectedExecutionException e) {
+                encerrar(); // Servidor parando
+            }
+        }
+
+        private void escrever() {
+            try {
+                Object item;
+                while (!encerrado.get() && (item = fila.poll()) != null) {
+                    if (item == FIM) {
+                        encerrar();
+                        return;
+                    }
+                    if (item == PING) {
+                        out.write(BATIMENTO);
+                    } else {
+                        GameEvent evento = (GameEvent) item;
+                        String mensagem = "id: " + evento.sequencia + "\nevent: " + evento.tipo.name().toLowerCase()
+                                + "\ndata: " + evento.toJson() + "\n\n";
+                        out.write(mensagem.getBytes(StandardCharsets.UTF_8));
+                    }
+                    out.flush();
+                    ultimaEscrita = System.nanoTime();
+                    if (item != PING) subscription.request(1);
+                }
+            } catch (IOException e) {
+                subscription.cancel(); // O espectador desconectou
+                encerrar();
+                return;
+            } finally {
+                escrevendo.set(false);
+            }
+            // Um item que chegou enquanto o laço terminava.
+            if (!fila.isEmpty()) agendar();
+        }
+
+        private void encerrar() {
+            if (!encerrado.compareAndSet(false, true)) return;
+            ex.close();
+            aoEncerrar.accept(this);
+        }
+    }
+
+    private void handleTournament(HttpExchange ex) throws IOException {
+        String acao = ex.getRequestURI().getPath().substring("/tournament/".length());
+        Map<String, String> p = parametros(ex);
+        if (acao.equals("create")) {
+            int rodadas;
+            try {
+                rodadas = p.get("rodadas") != null ? Integer.parseInt(p.get("rodadas").trim()) : 3;
+            } catch (NumberFormatException e) {
+                rodadas = 0;
+            }
+            if (rodadas < 1 || rodadas > Tournament.MAX_RODADAS) {
+                responder(ex, 400, erro("rodadas deve ser um número entre 1 e " + Tournament.MAX_RODADAS));
+                return;
+            }
+            Tournament t = new Tournament(file, rodadas);
+            torneios.put(t.getId(), t);
+            responder(ex, 200, new Json().put("id", t.getId()).put("dono", t.getTokenDono())
+                    .put("rodadas", t.getRodadas()).toString());
+            return;
+        }
+        Tournament t = p.get("id") != null ? torneios.get(p.get("id")) : null;
+        if (t == null) {
+            responder(ex, 404, erro("torneio não encontrado"));
+            return;
+        }
+        switch (acao) {
+            case "join": {
+                String nome = p.get("usuario");
+                String senha = p.get("senha");
+                if (nome == null || nome.isBlank() || senha == null || !new Login().loginOuCadastrar(nome, senha)) {
+                    responder(ex, 403, erro("usuário ou senha inválidos"));
+                    return;
+                }
+                String token = t.entrar(Login.getUsuario(nome));
+                if (token == null) {
+                    responder(ex, 409, erro("torneio encerrado"));
+                    return;
+                }
+                responder(ex, 200, new Json().put("token", token).put("rodadas", t.getRodadas())
+                        .put("sessao", t.getSessaoDe(token)).toString());
+                break;
+            }
+            case "guess": {
+                Tournament.Jogada j = t.chutar(p.get("token"), p.get("palavra"));
+                if (j == null) {
+                    responder(ex, 404, erro("jogador não inscrito"));
+                    return;
+                }
+                GameSession.Resultado r = j.resultado;
+                responder(ex, 200, new Json()
+                        .put("valido", r.valido)
+                        .put("rodada", j.rodada)
+                        .put("padrao", r.padrao)
+                        .put("palavra", r.palavraTentada)
+                        .put("tentativa", r.tentativa)
+                        .put("venceu", r.venceu)
+                        .put("fimRodada", r.terminada)
+                        .put("segredo", j.segredo)
+                        .put("concluido", j.torneioConcluido)
+                        .put("sessao", j.sessao)
+                        .toString());
+                break;
+            }
+            case "standings":
+                responder(ex, 200, classificacaoJson(t.getClassificacao()));
+                break;
+            case "finish":
+                if (!t.ehDono(p.get("dono"))) {
+                    responder(ex, 403, erro("só o dono do torneio pode encerrá-lo"));
+                    return;
+                }
+                responder(ex, 200, classificacaoJson(t.encerrar()));
+                break;
+            default:
+                responder(ex, 404, erro("ação desconhecida"));
+        }
+    }
+
+    // Encerra (gravando os resultados) e remove os torneios ociosos; roda na thread dos torneios.
+    private void expirarTorneios() {
+        for (Tournament t : torneios.values()) {
+            if (t.getOciosoMs() < ttlTorneioMs) continue;
+            try {
+                t.encerrar();
+            } catch (RuntimeException e) {
+                log.erro(() -> "Erro ao encerrar o torneio " + t.getId(), e);
+            }
+            torneios.remove(t.getId(), t);
+        }
+    }
+
+    private static String classificacaoJson(Tournament.Classificacao c) {
+        StringBuilder linhas = new StringBuilder("[");
+        for (Tournament.Linha l : c.linhas) {
+            if (linhas.length() > 1) linhas.append(',');
+            linhas.append(new Json()
+                    .put("posicao", l.posicao)
+                    .put("usuario", l.nome)
+                    .put("resolvidas", l.resolvidas)
+                    .put("concluidas", l.concluidas)
+                    .put("tentativas", l.tentativas)
+                    .put("terminou", l.terminou));
+        }
+        linhas.append(']');
+        return new Json()
+                .put("chutes", c.chutes)
+                .put("rodadasConcluidas", c.rodadasConcluidas)
+                .put("atualizadaEmMs", c.geradaEmMs)
+                .put("encerrado", c.encerrado)
+                .putRaw("classificacao", linhas.toString())
+                .toString();
+    }
+
+    // ===== Utilitários HTTP =====
+
+    private static String erro(String mensagem) {
+        return new Json().put("erro", mensagem).toString();
+    }
+
+    static void responder(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Junta os parâmetros da query string e do corpo (x-www-form-urlencoded).
+    static Map<String, String> parametros(HttpExchange ex) throws IOException {
+        Map<String, String> p = new HashMap<>();
+        decodificar(ex.getRequestURI().getRawQuery(), p);
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] corpo = in.readAllBytes();
+            if (corpo.length > 0) {
+                decodificar(new String(corpo, StandardCharsets.UTF_8), p);
+            }
+        }
+        return p;
+    }
+
+    private static void decodificar(String query, Map<String, String> destino) {
+        if (query == null || query.isEmpty()) return;
+        for (String par : query.split("&")) {
+            int eq = par.indexOf('=');
+            String chave = eq >= 0 ? par.substring(0, eq) : par;
+            String valor = eq >= 0 ? par.substring(eq + 1) : "";
+            destino.put(URLDecoder.decode(chave, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.termo.server;
+
+import com.termo.controller.Game;
+import com.termo.controller.Login;
+import com.termo.controller.PerfilJogador;
+import com.termo.controller.Usuario;
+import com.termo.model.FeistelPermutation;
+import com.termo.model.GameHistory;
+import com.termo.model.SecretState;
+import com.termo.model.WordDictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Torneio: vários jogadores disputam as mesmas palavras secretas, em sequência.
+ *
+ * O progresso de cada jogador fica no seu próprio {@link Participante} (só a sessão do jogador
+ * escreve nele) e os totais do torneio em {@link LongAdder}s, então chutes simultâneos de jogadores
+ * diferentes nunca disputam o mesmo lock. A classificação é recalculada periodicamente por uma
+ * thread de agendamento e publicada como um objeto imutável ({@link Classificacao}); quem consulta
+ * apenas lê a última versão.
+ * Cada rodada de cada jogador é uma {@link GameSession}: os chutes usam as mesmas regras das
+ * partidas avulsas e são publicados aos espectadores ({@code /events?id=} com o ID da sessão da
+ * rodada, devolvido na inscrição e a cada chute).
+ * No encerramento, os resultados de todos os jogadores vão para os perfis e são gravados com uma
+ * única chamada a {@link Login#salvarUsuarios}. Só quem criou o torneio (dono do
+ * {@link #getTokenDono() token do dono}) pode encerrá-lo.
+ */
+public class Tournament {
+    public static final long INTERVALO_CLASSIFICACAO_MS = 200; // Período de recálculo da classificação
+    public static final int MAX_RODADAS = 100; // Maior quantidade de rodadas aceita na criação
+    private static final byte DERROTA = 7; // Resultado de uma rodada perdida (1–6 = vitória na tentativa)
+
+    // Agendador compartilhado pelos torneios para publicar as classificações.
+    private static final ScheduledExecutorService AGENDADOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "termo-tournament");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String id;
+    private final String tokenDono; // Autoriza o encerramento
+    private final String file;
+    private final SecretState[] segredos; // Palavras de cada rodada, iguais para todos
+    private final Map<String, Participante> participantes = new ConcurrentHashMap<>(); // Por token
+    private final Map<String, String> tokens = new ConcurrentHashMap<>(); // Token de cada nome de usuário
+    private final Map<String, GameSession> sessoes = new ConcurrentHashMap<>(); // Rodadas em andamento, por ID da sessão
+    private final LongAdder chutes = new LongAdder();
+    private final LongAdder rodadasConcluidas = new LongAdder();
+    private final long inicio = System.nanoTime();
+    private volatile Classificacao classificacao;
+    private volatile boolean encerrado;
+    private volatile long ultimaAtividade = System.nanoTime(); // Criação, inscrição, chute ou encerramento
+    private final ScheduledFuture<?> tarefaClassificacao;
+
+    /**
+     * @param file Caminho do arquivo de palavras
+     * @param rodadas Quantidade de palavras secretas (distintas), de 1 a {@link #MAX_RODADAS}
+     */
+    public Tournament(String file, int rodadas) {
+        if (rodadas < 1 || rodadas > MAX_RODADAS) {
+            throw new IllegalArgumentException("rodadas deve estar entre 1 e " + MAX_RODADAS);
+        }
+        this.id = UUID.randomUUID().toString();
+        this.tokenDono = UUID.randomUUID().toString();
+        this.file = file;
+        WordDictionary dictionary = WordDictionary.get(file);
+        int n = Math.max(1, Math.min(rodadas, dictionary.size()));
+        // Palavras distintas: as n primeiras posições de uma permutação aleatória dos IDs.
+        FeistelPermutation permutacao = new FeistelPermutation(dictionary.size(), ThreadLocalRandom.current().nextLong());
+        this.segredos = new SecretState[n];
+        for (int i = 0; i < n; i++) {
+            segredos[i] = SecretState.of(dictionary, dictionary.getWord(permutacao.apply(i)));
+        }
+        this.classificacao = calcularClassificacao();
+        this.tarefaClassificacao = AGENDADOR.scheduleAtFixedRate(() -> classificacao = calcularClassificacao(),
+                INTERVALO_CLASSIFICACAO_MS, INTERVALO_CLASSIFICACAO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Progresso de um jogador. Escrito apenas pelos chutes do próprio jogador (sincronizados no
+     * próprio objeto); a classificação lê o placar empacotado em um único campo volátil.
+     */
+    final class Participante {
+        final String token;
+        final Usuario usuario;
+        final byte[] resultados = new byte[segredos.length]; // Por rodada: 0 = não concluída
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final List<String>[] chutesRodada = new List[segredos.length]; // Chutes de cada rodada concluída
+        private int rodada; // Rodada atual
+        private int tentativasRodada; // Chutes válidos na rodada atual
+        private GameSession sessao; // Rodada atual (null depois da última)
+        // resolvidas << 40 | rodadas concluídas << 20 | soma das tentativas das vitórias
+        private volatile long placar;
+        private volatile long concluidoEm; // nanoTime de quando terminou todas as rodadas (0 = jogando)
+
+        Participante(String token, Usuario usuario) {
+            this.token = token;
+            this.usuario = usuario;
+            this.sessao = novaRodada(usuario, 0);
+        }
+
+        boolean terminou() { return rodada >= segredos.length; }
+    }
+
+    /**
+     * Resultado de um chute no torneio.
+     */
+    public static final class Jogada {
+        public final GameSession.Resultado resultado;
+        public final int rodada; // Rodada (0..n-1) a que o chute pertence
+        public final String segredo; // Palavra da rodada, se ela terminou (senão null)
+        public final boolean torneioConcluido; // true quando o jogador terminou todas as rodadas
+        public final String sessao; // Sessão da rodada atual do jogador depois do chute (null se terminou)
+
+        Jogada(GameSession.Resultado resultado, int rodada, String segredo, boolean torneioConcluido, String sessao) {
+            this.resultado = resultado;
+            this.rodada = rodada;
+            this.segredo = segredo;
+            this.torneioConcluido = torneioConcluido;
+            this.sessao = sessao;
+        }
+    }
+
+    /**
+     * entrar
+     * @param usuario Jogador já autenticado
+     * @return Token do jogador neste torneio (null se o torneio já foi encerrado)
+     */
+    public String entrar(Usuario usuario) {
+        if (encerrado) return null;
+        ultimaAtividade = System.nanoTime();
+        return tokens.computeIfAbsent(usuario.getNome(), nome -> {
+            String token = UUID.randomUUID().toString();
+            participantes.put(token, new Participante(token, usuario));
+            return token;
+        });
+    }
+
+    /**
+     * chutar
+     * Processa um chute do jogador na rodada atual. Só sincroniza no participante.
+     *
+     * @param token Token recebido em {@link #entrar(Usuario)}
+     * @param palavra Palavra chutada
+     * @return Jogada, ou null se o token não pertence ao torneio
+     */
+    public Jogada chutar(String token, String palavra) {
+        Participante p = token != null ? participantes.get(token) : null;
+        if (p == null) return null;
+        ultimaAtividade = System.nanoTime();
+        synchronized (p) {
+            int rodada = p.rodada;
+            if (encerrado || p.terminou()) {
+                return new Jogada(new GameSession.Resultado(false, null, null, p.tentativasRodada, false, p.terminou()),
+                        rodada, null, p.terminou(), null);
+            }
+            GameSession.Resultado r = p.sessao.chutar(palavra);
+            if (!r.valido) return new Jogada(r, rodada, null, false, p.sessao.getId());
+            chutes.increment();
+            p.tentativasRodada = r.tentativa;
+            String segredo = null;
+            if (r.terminada) {
+                segredo = p.sessao.getJogo().getPalavra();
+                concluirRodada(p, r.venceu);
+            }
+            return new Jogada(r, rodada, segredo, p.terminou(), p.terminou() ? null : p.sessao.getId());
+        }
+    }
+
+    // Sessão da rodada, que publica os chutes aos espectadores; o resultado vai para o perfil só no encerramento.
+    private GameSession novaRodada(Usuario usuario, int rodada) {
+        GameSession sessao = new GameSession(UUID.randomUUID().toString(), usuario, new Game(file, segredos[rodada]), false);
+        sessoes.put(sessao.getId(), sessao);
+        return sessao;
+    }
+
+    // Chamado com o lock do participante, com a sessão da rodada já terminada.
+    private void concluirRodada(Participante p, boolean venceu) {
+        p.resultados[p.rodada] = venceu ? (byte) p.tentativasRodada : DERROTA;
+        p.chutesRodada[p.rodada] = p.sessao.getJogo().getTentativas();
+        sessoes.remove(p.sessao.getId());
+        long placar = p.placar + (1L << 20);
+        if (venceu) placar += (1L << 40) + p.tentativasRodada;
+        p.placar = placar;
+        rodadasConcluidas.increment();
+        p.rodada++;
+        p.tentativasRodada = 0;
+        if (p.terminou()) {
+            p.concluidoEm = System.nanoTime();
+            p.sessao = null;
+        } else {
+            p.sessao = novaRodada(p.usuario, p.rodada);
+        }
+    }
+
+    /**
+     * Uma linha da classificação.
+     */
+    public static final class Linha {
+        public final int posicao;
+        public final String nome;
+        public final int resolvidas;
+        public final int concluidas;
+        public final int tentativas; // Soma das tentativas das rodadas vencidas
+        public final boolean terminou;
+
+        Linha(int posicao, String nome, int resolvidas, int concluidas, int tentativas, boolean terminou) {
+            this.posicao = posicao;
+            this.nome = nome;
+            this.resolvidas = resolvidas;
+            this.concluidas = concluidas;
+            this.tentativas = tentativas;
+            this.terminou = terminou;
+        }
+    }
+
+    /**
+     * Classificação imutável em um instante.
+     */
+    public static final class Classificacao {
+        public final List<Linha> linhas;
+        public final long chutes;
+        public final long rodadasConcluidas;
+        public final long geradaEmMs; // Milissegundos desde o início do torneio
+        public final boolean encerrado;
+
+        Classificacao(List<Linha> linhas, long chutes, long rodadasConcluidas, long geradaEmMs, boolean encerrado) {
+            this.linhas = Collections.unmodifiableList(linhas);
+            this.chutes = chutes;
+            this.rodadasConcluidas = rodadasConcluidas;
+            this.geradaEmMs = geradaEmMs;
+            this.encerrado = encerrado;
+        }
+    }
+
+    // Ordena por palavras resolvidas (desc), tentativas (asc) e quem terminou antes.
+    private Classificacao calcularClassificacao() {
+        final class Leitura {
+            final Participante p;
+            final long placar;
+            final long concluidoEm;
+
+            Leitura(Participante p) {
+                this.p = p;
+                this.placar = p.placar;
+                this.concluidoEm = p.concluidoEm;
+            }
+        }
+        List<Leitura> leituras = new ArrayList<>(participantes.size());
+        for (Participante p : participantes.values()) {
+            leituras.add(new Leitura(p));
+        }
+        leituras.sort(Comparator.<Leitura>comparingLong(l -> -(l.placar >>> 40))
+                .thenComparingLong(l -> l.placar & 0xFFFFF)
+                .thenComparingLong(l -> l.concluidoEm == 0 ? Long.MAX_VALUE : l.concluidoEm));
+        List<Linha> linhas = new ArrayList<>(leituras.size());
+        for (int i = 0; i < leituras.size(); i++) {
+            Leitura l = leituras.get(i);
+            linhas.add(new Linha(i + 1, l.p.usuario.getNome(), (int) (l.placar >>> 40),
+                    (int) ((l.placar >>> 20) & 0xFFFFF), (int) (l.placar & 0xFFFFF), l.concluidoEm != 0));
+        }
+        return new Classificacao(linhas, chutes.sum(), rodadasConcluidas.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), encerrado);
+    }
+
+    /**
+     * encerrar
+     * Fecha o torneio e grava os resultados de todos os jogadores em lote: cada rodada concluída
+     * (e a rodada em andamento com pelo menos um chute, como derrota) é aplicada ao perfil e ao
+     * histórico, e o arquivo de usuários é gravado uma única vez.
+     *
+     * @return Classificação final (a mesma em chamadas repetidas)
+     */
+    public synchronized Classificacao encerrar() {
+        if (encerrado) return classificacao;
+        encerrado = true;
+        ultimaAtividade = System.nanoTime();
+        tarefaClassificacao.cancel(false);
+        List<Usuario> alterados = new ArrayList<>(participantes.size());
+        for (Participante p : participantes.values()) {
+            alterados.add(p.usuario);
+            synchronized (p) {
+                if (!p.terminou()) {
+                    // Avisa os espectadores; com pelo menos um chute, a rodada conta como derrota.
+                    if (p.sessao.abandonar(true)) {
+                        concluirRodada(p, false);
+                    } else {
+                        sessoes.remove(p.sessao.getId());
+                    }
+                }
+                PerfilJogador perfil = p.usuario.getPerfil();
+                for (int i = 0; i < segredos.length; i++) {
+                    byte r = p.resultados[i];
+                    if (r == 0) continue;
+                    GameHistory.registrar(segredos[i].getWord(), r != DERROTA, p.chutesRodada[i]);
+                    if (r == DERROTA) {
+                        perfil.aplicarDerrota(GameSession.MAX_TENTATIVAS);
+                    } else {
+                        perfil.aplicarVitoria(r);
+                    }
+                }
+            }
+        }
+        Login.salvarUsuarios(alterados);
+        classificacao = calcularClassificacao();
+        return classificacao;
+    }
+
+    /**
+     * getSessao
+     * @param id ID da sessão de uma rodada em andamento
+     * @return A sessão (para espectadores), ou null se não é deste torneio ou a rodada já terminou
+     */
+    public GameSession getSessao(String id) {
+        return id != null ? sessoes.get(id) : null;
+    }
+
+    /**
+     * getSessaoDe
+     * @param token Token do jogador
+     * @return ID da sessão da rodada atual do jogador, ou null se ele terminou ou não está inscrito
+     */
+    public String getSessaoDe(String token) {
+        Participante p = token != null ? participantes.get(token) : null;
+        if (p == null) return null;
+        synchronized (p) {
+            return p.sessao != null ? p.sessao.getId() : null;
+        }
+    }
+
+    /**
+     * ehDono
+     * @param token Token informado pelo cliente (pode ser null)
+     * @return Se o token é o do dono (comparação em tempo constante)
+     */
+    public boolean ehDono(String token) {
+        return token != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), tokenDono.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return Há quantos milissegundos não há inscrição, chute nem encerramento */
+    public long getOciosoMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ultimaAtividade);
+    }
+
+    /**
+     * agendar
+     * Executa a tarefa periodicamente na thread de agendamento dos torneios.
+     */
+    static ScheduledFuture<?> agendar(Runnable tarefa, long periodoMs) {
+        return AGENDADOR.scheduleAtFixedRate(tarefa, periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+    }
+
+    public String getId() { return id; }
+    public String getTokenDono() { return tokenDono; }
+    public int getRodadas() { return segredos.length; }
+    public int getParticipantes() { return participantes.size(); }
+    public boolean isEncerrado() { return encerrado; }
+
+    /** @return Última classificação publicada (no máximo {@link #INTERVALO_CLASSIFICACAO_MS} atrasada) */
+    public Classificacao getClassificacao() { return classificacao; }
+}
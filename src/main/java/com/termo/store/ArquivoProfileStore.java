@@ -0,0 +1,125 @@
+package com.termo.store;
+
+import com.termo.controller.Usuario;
+import com.termo.log.Log;
+import com.termo.metrics.Gauge;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.metrics.jfr.ProfileSaveEvent;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento em um único arquivo (usuarios.dat): o mapa inteiro fica em memória e é
+ * regravado a cada alteração. É o formato original do jogo e o padrão de {@link com.termo.controller.Login}.
+ */
+public class ArquivoProfileStore implements ProfileStore {
+    private static final Log log = Log.de(ArquivoProfileStore.class);
+    // Métricas do arquivo (os medidores guardam a última carga ou gravação).
+    private static final LatencyHistogram TEMPO_CARGA = MetricsRegistry.global()
+            .histograma("termo_usuarios_carga_segundos", "Tempo de leitura do arquivo de usuários");
+    private static final LatencyHistogram TEMPO_GRAVACAO = MetricsRegistry.global()
+            .histograma("termo_usuarios_gravacao_segundos", "Tempo de regravação do arquivo de usuários");
+    private static final Gauge BYTES_CARGA = MetricsRegistry.global()
+            .medidor("termo_usuarios_carga_bytes", "Tamanho do arquivo de usuários na última carga");
+    private static final Gauge BYTES_GRAVACAO = MetricsRegistry.global()
+            .medidor("termo_usuarios_gravacao_bytes", "Tamanho do arquivo de usuários na última gravação");
+    private static final Gauge USUARIOS = MetricsRegistry.global()
+            .medidor("termo_usuarios", "Usuários no arquivo na última carga ou gravação");
+
+    private final String filePath;
+    private final Map<String, Usuario> usuarios;
+
+    public ArquivoProfileStore(String filePath) {
+        this.filePath = filePath;
+        this.usuarios = new ConcurrentHashMap<>(carregarArquivo());
+    }
+
+    @Override
+    public Usuario carregar(String nome) {
+        return usuarios.get(nome);
+    }
+
+    @Override
+    public Usuario cadastrar(Usuario usuario) {
+        Usuario existente = usuarios.putIfAbsent(usuario.getNome(), usuario);
+        if (existente == null) {
+            gravar();
+        }
+        return existente;
+    }
+
+    @Override
+    public void salvar(Collection<Usuario> alterados) {
+        for (Usuario u : alterados) {
+            usuarios.putIfAbsent(u.getNome(), u);
+        }
+        gravar();
+    }
+
+    @Override
+    public Usuario remover(String nome) {
+        Usuario removido = usuarios.remove(nome);
+        if (removido != null) {
+            gravar();
+        }
+        return removido;
+    }
+
+    @Override
+    public List<String> nomes() {
+        return new ArrayList<>(usuarios.keySet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Usuario> carregarArquivo() {
+        long inicio = System.nanoTime();
+        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(filePath))) {
+            Map<String, Usuario> lidos = (Map<String, Usuario>) ois.readObject();
+            TEMPO_CARGA.registrar(System.nanoTime() - inicio);
+            BYTES_CARGA.definir(new File(filePath).length());
+            USUARIOS.definir(lidos.size());
+            return lidos;
+        } catch (IOException | ClassNotFoundException e) {
+            log.aviso(() -> "Erro ao carregar usuários, iniciando com base vazia: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    // Regrava o arquivo inteiro. Cada perfil é serializado sob o próprio monitor (ver PerfilJogador.writeObject),
+    // então uma partida terminando em outra thread não deixa um perfil pela metade no arquivo.
+    private synchronized void gravar() {
+        ProfileSaveEvent evento = new ProfileSaveEvent();
+        evento.begin();
+        long inicio = System.nanoTime();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filePath))) {
+            oos.writeObject(usuarios);
+        } catch (IOException e) {
+            log.erro(() -> "Erro ao salvar usuários em " + filePath, e);
+            return;
+        }
+        long duracao = System.nanoTime() - inicio;
+        TEMPO_GRAVACAO.registrar(duracao);
+        long bytes = new File(filePath).length();
+        log.debug(() -> String.format("%d usuários salvos em %s (%d bytes, %.1f ms)", usuarios.size(), filePath, bytes, duracao / 1e6));
+        BYTES_GRAVACAO.definir(bytes);
+        USUARIOS.definir(usuarios.size());
+        if (evento.shouldCommit()) {
+            evento.armazenamento = "arquivo";
+            evento.usuarios = usuarios.size();
+            evento.bytes = bytes;
+            evento.commit();
+        }
+    }
+}
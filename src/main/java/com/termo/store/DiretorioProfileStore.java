@@ -0,0 +1,166 @@
+package com.termo.store;
+
+import com.termo.controller.Usuario;
+import com.termo.log.Log;
+import com.termo.metrics.Counter;
+import com.termo.metrics.Gauge;
+import com.termo.metrics.LatencyHistogram;
+import com.termo.metrics.MetricsRegistry;
+import com.termo.metrics.jfr.ProfileSaveEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento em diretório, com um arquivo por usuário: salvar um usuário regrava só o arquivo
+ * dele (o custo não cresce com a base). Usado pelos processos de {@link ProfileStoreServer}.
+ * O nome do arquivo é o nome do usuário em Base64 (seguro para URLs e nomes de arquivo).
+ */
+public class DiretorioProfileStore implements ProfileStore {
+    private static final String EXTENSAO = ".perfil";
+    private static final Log log = Log.de(DiretorioProfileStore.class);
+    // Métricas do diretório (no processo da loja, publicadas como as demais pelo MetricsRegistry).
+    private static final LatencyHistogram TEMPO_CARGA = MetricsRegistry.global()
+            .histograma("termo_perfis_carga_segundos", "Tempo de leitura do diretório de perfis");
+    private static final Gauge BYTES_CARGA = MetricsRegistry.global()
+            .medidor("termo_perfis_carga_bytes", "Tamanho dos perfis lidos na última carga do diretório");
+    private static final LatencyHistogram TEMPO_GRAVACAO = MetricsRegistry.global()
+            .histograma("termo_perfis_gravacao_segundos", "Tempo de gravação de um arquivo de perfil");
+    private static final Gauge BYTES_GRAVACAO = MetricsRegistry.global()
+            .medidor("termo_perfis_gravacao_bytes", "Tamanho do último perfil gravado");
+    private static final Counter BYTES_GRAVADOS = MetricsRegistry.global()
+            .contador("termo_perfis_gravados_bytes_total", "Bytes de perfis gravados no diretório");
+    private static final Gauge USUARIOS = MetricsRegistry.global()
+            .medidor("termo_perfis", "Usuários no diretório de perfis");
+
+    private final Path dir;
+    private final Map<String, Usuario> usuarios = new ConcurrentHashMap<>();
+
+    public DiretorioProfileStore(Path dir) {
+        this.dir = dir;
+        long inicio = System.nanoTime();
+        try {
+            Files.createDirectories(dir);
+            long bytes = 0;
+            try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(dir, "*" + EXTENSAO)) {
+                for (Path arquivo : arquivos) {
+                    Usuario u = ler(arquivo);
+                    if (u != null) {
+                        usuarios.put(u.getNome(), u);
+                        bytes += Files.size(arquivo);
+                    }
+                }
+            }
+            TEMPO_CARGA.registrar(System.nanoTime() - inicio);
+            BYTES_CARGA.definir(bytes);
+            USUARIOS.definir(usuarios.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o diretório de perfis " + dir, e);
+        }
+    }
+
+    @Override
+    public Usuario carregar(String nome) {
+        return usuarios.get(nome);
+    }
+
+    @Override
+    public Usuario cadastrar(Usuario usuario) {
+        Usuario existente = usuarios.putIfAbsent(usuario.getNome(), usuario);
+        if (existente == null) {
+            gravar(usuario);
+            USUARIOS.definir(usuarios.size());
+        }
+        return existente;
+    }
+
+    @Override
+    public void salvar(Collection<Usuario> alterados) {
+        for (Usuario u : alterados) {
+            usuarios.put(u.getNome(), u);
+            gravar(u);
+        }
+        USUARIOS.definir(usuarios.size());
+    }
+
+    @Override
+    public Usuario remover(String nome) {
+        Usuario removido = usuarios.remove(nome);
+        if (removido != null) {
+            USUARIOS.definir(usuarios.size());
+            try {
+                Files.deleteIfExists(arquivo(nome));
+            } catch (IOException e) {
+                log.erro(() -> "Erro ao remover perfil de " + nome + ": " + e.getMessage());
+            }
+        }
+        return removido;
+    }
+
+    @Override
+    public List<String> nomes() {
+        return new ArrayList<>(usuarios.keySet());
+    }
+
+    public int size() {
+        return usuarios.size();
+    }
+
+    private Path arquivo(String nome) {
+        String codigo = Base64.getUrlEncoder().withoutPadding().encodeToString(nome.getBytes(StandardCharsets.UTF_8));
+        return dir.resolve(codigo + EXTENSAO);
+    }
+
+    // Grava em um arquivo temporário e troca de uma vez, para nunca deixar um perfil pela metade.
+    private void gravar(Usuario usuario) {
+        ProfileSaveEvent evento = new ProfileSaveEvent();
+        evento.begin();
+        long inicio = System.nanoTime();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            synchronized (usuario.getPerfil()) {
+                try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                    oos.writeObject(usuario);
+                }
+            }
+            Path destino = arquivo(usuario.getNome());
+            Path temp = Files.createTempFile(dir, "gravando", ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            TEMPO_GRAVACAO.registrar(System.nanoTime() - inicio);
+            BYTES_GRAVACAO.definir(bytes.size());
+            BYTES_GRAVADOS.somar(bytes.size());
+            if (evento.shouldCommit()) {
+                evento.armazenamento = "diretório";
+                evento.usuarios = 1;
+                evento.bytes = bytes.size();
+                evento.commit();
+            }
+        } catch (IOException e) {
+            log.erro(() -> "Erro ao salvar perfil de " + usuario.getNome() + ": " + e.getMessage());
+        }
+    }
+
+    private static Usuario ler(Path arquivo) {
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(arquivo))) {
+            return (Usuario) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            log.erro(() -> "Erro ao ler perfil " + arquivo + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
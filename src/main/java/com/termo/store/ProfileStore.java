@@ -0,0 +1,39 @@
+package com.termo.store;
+
+import com.termo.controller.Usuario;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Armazenamento dos usuários e seus perfis, usado por {@link com.termo.controller.Login}.
+ * Pode ser o arquivo único local ({@link ArquivoProfileStore}), um diretório com um arquivo por
+ * usuário ({@link DiretorioProfileStore}), um processo remoto ({@link RemoteProfileStore}) ou vários
+ * deles particionados por hash consistente ({@link ShardedProfileStore}).
+ */
+public interface ProfileStore extends Closeable {
+    /** @return Usuário com o nome informado ou null se não existir */
+    Usuario carregar(String nome);
+
+    /**
+     * cadastrar
+     * Grava um usuário novo, se ainda não existir outro com o mesmo nome.
+     *
+     * @return O usuário já existente (que foi mantido) ou null se o novo foi gravado
+     */
+    Usuario cadastrar(Usuario usuario);
+
+    /** Persiste os usuários informados em uma única operação. */
+    void salvar(Collection<Usuario> usuarios);
+
+    /** @return Usuário removido ou null se não existia */
+    Usuario remover(String nome);
+
+    /** @return Nomes de todos os usuários guardados */
+    List<String> nomes();
+
+    @Override
+    default void close() {
+    }
+}
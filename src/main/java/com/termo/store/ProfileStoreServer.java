@@ -0,0 +1,138 @@
+package com.termo.store;
+
+import com.termo.controller.Usuario;
+import com.termo.log.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processo de armazenamento de perfis (um shard): atende {@link RemoteProfileStore}s por TCP
+ * ou por socket de domínio Unix, guardando os usuários em um {@link DiretorioProfileStore}.
+ * Cada conexão é atendida por uma thread própria e os pedidos de uma conexão são processados em ordem.
+ *
+ * Uso: {@code java com.termo.store.ProfileStoreServer diretorio endereco}
+ * (endereço {@code unix:/tmp/termo-1.sock}, {@code 127.0.0.1:7001} ou {@code 7001}).
+ *
+ * O protocolo não autentica clientes: quem alcança o endereço lê e altera qualquer perfil. Por
+ * isso só são aceitos sockets de domínio Unix (protegidos pelas permissões do arquivo) e endereços
+ * de loopback; para shards em outras máquinas use um túnel (ex.: SSH) até o loopback de cada uma.
+ */
+public class ProfileStoreServer {
+    private static final Log log = Log.de(ProfileStoreServer.class);
+    private final DiretorioProfileStore store;
+    private final SocketAddress endereco;
+    private ServerSocketChannel servidor;
+    private volatile boolean rodando;
+
+    public ProfileStoreServer(Path dir, String endereco) {
+        this.store = new DiretorioProfileStore(dir);
+        this.endereco = StoreProtocol.endereco(endereco);
+        if (this.endereco instanceof InetSocketAddress) {
+            InetSocketAddress inet = (InetSocketAddress) this.endereco;
+            if (inet.getAddress() == null || !inet.getAddress().isLoopbackAddress()) {
+                throw new IllegalArgumentException("A loja só ouve em loopback ou socket Unix: " + endereco);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ProfileStoreServer server = new ProfileStoreServer(Path.of(args[0]), args[1]);
+        server.start();
+        log.info("Loja de perfis ouvindo em " + args[1] + " (" + server.store.size() + " usuários)");
+    }
+
+    public void start() throws IOException {
+        if (endereco instanceof UnixDomainSocketAddress) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) endereco).getPath()); // Socket de uma execução anterior
+        }
+        servidor = ServerSocketChannel.open(StoreProtocol.familia(endereco));
+        servidor.bind(endereco);
+        rodando = true;
+        Thread aceitador = new Thread(this::aceitar, "termo-store-accept");
+        aceitador.start();
+    }
+
+    public void stop() throws IOException {
+        rodando = false;
+        servidor.close();
+    }
+
+    public DiretorioProfileStore getStore() {
+        return store;
+    }
+
+    private void aceitar() {
+        while (rodando) {
+            try {
+                SocketChannel ch = servidor.accept();
+                if (StoreProtocol.familia(endereco) == StandardProtocolFamily.INET) {
+                    ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                Thread t = new Thread(() -> atender(ch), "termo-store-conn");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (rodando) log.aviso(() -> "Erro ao aceitar conexão: " + e.getMessage());
+            }
+        }
+    }
+
+    private void atender(SocketChannel ch) {
+        try (ch;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch)));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch)))) {
+            while (true) {
+                byte op = StoreProtocol.lerTipo(in);
+                Object arg = StoreProtocol.lerValor(in);
+                Object resposta;
+                try {
+                    resposta = executar(op, arg);
+                } catch (RuntimeException e) {
+                    StoreProtocol.escrever(out, StoreProtocol.ERRO, String.valueOf(e.getMessage()));
+                    continue;
+                }
+                StoreProtocol.escrever(out, StoreProtocol.OK, resposta);
+            }
+        } catch (EOFException e) {
+            // Cliente fechou a conexão
+        } catch (IOException e) {
+            if (rodando) log.aviso(() -> "Conexão com a loja encerrada: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object executar(byte op, Object arg) {
+        switch (op) {
+            case StoreProtocol.CARREGAR:
+                return store.carregar((String) arg);
+            case StoreProtocol.CADASTRAR:
+                return store.cadastrar((Usuario) arg);
+            case StoreProtocol.SALVAR:
+                store.salvar((List<Usuario>) arg);
+                return null;
+            case StoreProtocol.REMOVER:
+                return store.remover((String) arg);
+            case StoreProtocol.NOMES:
+                return new ArrayList<>(store.nomes());
+            default:
+                throw new IllegalArgumentException("operação desconhecida: " + op);
+        }
+    }
+}
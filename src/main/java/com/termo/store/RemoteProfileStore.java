@@ -0,0 +1,113 @@
+package com.termo.store;
+
+import com.termo.controller.Usuario;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cliente de um {@link ProfileStoreServer}. Usa uma única conexão, e os pedidos são feitos
+ * um de cada vez (métodos sincronizados). Se a conexão cair, ela é reaberta no pedido seguinte.
+ * Os usuários devolvidos são cópias: alterações só chegam ao servidor por {@link #salvar(Collection)}.
+ */
+public class RemoteProfileStore implements ProfileStore {
+    private final String nome;
+    private final SocketAddress endereco;
+    private SocketChannel canal;
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    /** @param endereco {@code unix:/caminho}, {@code host:porta} ou {@code porta} */
+    public RemoteProfileStore(String endereco) {
+        this.nome = endereco;
+        this.endereco = StoreProtocol.endereco(endereco);
+    }
+
+    @Override
+    public Usuario carregar(String nome) {
+        return (Usuario) pedir(StoreProtocol.CARREGAR, nome);
+    }
+
+    @Override
+    public Usuario cadastrar(Usuario usuario) {
+        return (Usuario) pedir(StoreProtocol.CADASTRAR, usuario);
+    }
+
+    @Override
+    public void salvar(Collection<Usuario> usuarios) {
+        if (usuarios.isEmpty()) return;
+        pedir(StoreProtocol.SALVAR, new ArrayList<>(usuarios));
+    }
+
+    @Override
+    public Usuario remover(String nome) {
+        return (Usuario) pedir(StoreProtocol.REMOVER, nome);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> nomes() {
+        return (List<String>) pedir(StoreProtocol.NOMES, null);
+    }
+
+    @Override
+    public synchronized void close() {
+        fechar();
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+
+    private synchronized Object pedir(byte op, Object arg) {
+        try {
+            if (canal == null) conectar();
+            StoreProtocol.escrever(out, op, arg);
+            byte status = StoreProtocol.lerTipo(in);
+            Object resposta = StoreProtocol.lerValor(in);
+            if (status != StoreProtocol.OK) {
+                throw new IllegalStateException("Loja " + nome + " recusou o pedido: " + resposta);
+            }
+            return resposta;
+        } catch (IOException e) {
+            fechar();
+            throw new UncheckedIOException("Falha na comunicação com a loja " + nome, e);
+        }
+    }
+
+    private void conectar() throws IOException {
+        canal = SocketChannel.open(StoreProtocol.familia(endereco));
+        canal.connect(endereco);
+        if (StoreProtocol.familia(endereco) == StandardProtocolFamily.INET) {
+            canal.setOption(StandardSocketOptions.TCP_NODELAY, true); // Pedido/resposta curtos: sem atraso de Nagle
+        }
+        in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal)));
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)));
+    }
+
+    private void fechar() {
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException ignored) {
+                // Nada a fazer: a conexão já está sendo descartada
+            }
+        }
+        canal = null;
+        in = null;
+        out = null;
+    }
+}
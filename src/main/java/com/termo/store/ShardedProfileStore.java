@@ -0,0 +1,295 @@
+package com.termo.store;
+
+import com.termo.controller.Login;
+import com.termo.controller.Usuario;
+import com.termo.log.Log;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Armazenamento particionado entre várias lojas (shards) por hash consistente com nós virtuais.
+ *
+ * Cada shard ocupa {@code nosVirtuais} pontos de um anel de hashes de 64 bits; um usuário pertence
+ * ao primeiro ponto no sentido horário a partir do hash do seu nome normalizado
+ * ({@link Login#normalizarNome(String)}), encontrado por busca binária. Com nós virtuais a carga
+ * fica equilibrada e, ao acrescentar um shard, só migra em média 1/(N+1) dos usuários.
+ *
+ * O rebalanceamento acontece com o sistema no ar: o anel novo passa a valer imediatamente para
+ * escritas e cadastros, e enquanto a migração roda em segundo plano as leituras que não
+ * encontram o usuário no dono novo consultam o dono antigo. A cópia usa {@code cadastrar}, então
+ * uma versão mais nova já gravada no dono novo nunca é sobrescrita pela antiga. Se a migração
+ * falhar, a consulta ao dono antigo continua valendo até {@link #retomarMigracao()} concluir.
+ */
+public class ShardedProfileStore implements ProfileStore {
+    public static final int NOS_VIRTUAIS_PADRAO = 128;
+    private static final int TENTATIVAS = 3; // Por operação da migração
+    private static final long ESPERA_MS = 200; // Entre tentativas (multiplicada pela tentativa)
+    private static final Log log = Log.de(ShardedProfileStore.class);
+
+    private final int nosVirtuais;
+    private final Map<String, ProfileStore> shards = new LinkedHashMap<>(); // Alterado só sob o lock do objeto
+    private volatile Anel anel;
+    private volatile Anel anterior; // Anel de antes do rebalanceamento em andamento (null se nenhum)
+    private CompletableFuture<Integer> migracao = CompletableFuture.completedFuture(0);
+
+    /** Anel imutável: pontos ordenados e o shard dono de cada ponto. */
+    private static final class Anel {
+        final long[] pontos;
+        final ProfileStore[] donos;
+
+        Anel(Map<String, ProfileStore> shards, int nosVirtuais) {
+            int n = shards.size() * nosVirtuais;
+            long[][] pares = new long[n][2];
+            List<ProfileStore> lista = new ArrayList<>(shards.values());
+            int k = 0, s = 0;
+            for (String nome : shards.keySet()) {
+                for (int v = 0; v < nosVirtuais; v++) {
+                    pares[k][0] = hash(nome + "#" + v);
+                    pares[k][1] = s;
+                    k++;
+                }
+                s++;
+            }
+            Arrays.sort(pares, (a, b) -> Long.compare(a[0], b[0]));
+            pontos = new long[n];
+            donos = new ProfileStore[n];
+            for (int i = 0; i < n; i++) {
+                pontos[i] = pares[i][0];
+                donos[i] = lista.get((int) pares[i][1]);
+            }
+        }
+
+        ProfileStore dono(long h) {
+            int i = Arrays.binarySearch(pontos, h);
+            if (i < 0) i = -i - 1;
+            return donos[i == pontos.length ? 0 : i];
+        }
+    }
+
+    /**
+     * @param shards Lojas por nome (o nome define a posição no anel, então deve ser estável)
+     * @param nosVirtuais Pontos no anel por shard
+     */
+    public ShardedProfileStore(Map<String, ProfileStore> shards, int nosVirtuais) {
+        if (shards.isEmpty()) throw new IllegalArgumentException("é preciso ao menos um shard");
+        this.nosVirtuais = nosVirtuais;
+        this.shards.putAll(shards);
+        this.anel = new Anel(this.shards, nosVirtuais);
+    }
+
+    /**
+     * hash
+     * FNV-1a de 64 bits seguido de uma mistura final (para espalhar bem nomes parecidos).
+     */
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private static long hashUsuario(String nome) {
+        return hash(Login.normalizarNome(nome));
+    }
+
+    /** @return Shard dono do usuário no anel atual */
+    public ProfileStore dono(String nome) {
+        return anel.dono(hashUsuario(nome));
+    }
+
+    // Dono no anel anterior, se houver migração em andamento e ele for diferente do atual.
+    private ProfileStore donoAntigo(long h, ProfileStore atual) {
+        Anel a = anterior;
+        if (a == null) return null;
+        ProfileStore antigo = a.dono(h);
+        return antigo != atual ? antigo : null;
+    }
+
+    @Override
+    public Usuario carregar(String nome) {
+        long h = hashUsuario(nome);
+        ProfileStore dono = anel.dono(h);
+        Usuario u = dono.carregar(nome);
+        if (u == null) {
+            ProfileStore antigo = donoAntigo(h, dono);
+            if (antigo != null) u = antigo.carregar(nome);
+        }
+        return u;
+    }
+
+    @Override
+    public Usuario cadastrar(Usuario usuario) {
+        long h = hashUsuario(usuario.getNome());
+        ProfileStore dono = anel.dono(h);
+        ProfileStore antigo = donoAntigo(h, dono);
+        if (antigo != null) {
+            Usuario existente = antigo.carregar(usuario.getNome());
+            if (existente != null) return existente;
+        }
+        return dono.cadastrar(usuario);
+    }
+
+    @Override
+    public void salvar(Collection<Usuario> usuarios) {
+        // Uma operação por shard com todos os usuários dele.
+        Map<ProfileStore, List<Usuario>> porShard = new HashMap<>();
+        for (Usuario u : usuarios) {
+            porShard.computeIfAbsent(dono(u.getNome()), s -> new ArrayList<>()).add(u);
+        }
+        for (Map.Entry<ProfileStore, List<Usuario>> e : porShard.entrySet()) {
+            e.getKey().salvar(e.getValue());
+        }
+    }
+
+    @Override
+    public Usuario remover(String nome) {
+        long h = hashUsuario(nome);
+        ProfileStore dono = anel.dono(h);
+        Usuario removido = dono.remover(nome);
+        ProfileStore antigo = donoAntigo(h, dono);
+        if (antigo != null) {
+            Usuario r = antigo.remover(nome);
+            if (removido == null) removido = r;
+        }
+        return removido;
+    }
+
+    @Override
+    public List<String> nomes() {
+        Set<String> todos = new LinkedHashSet<>();
+        for (ProfileStore s : lojas()) {
+            todos.addAll(s.nomes());
+        }
+        return new ArrayList<>(todos);
+    }
+
+    /** @return Quantidade de usuários em cada shard */
+    public synchronized Map<String, Integer> contagemPorShard() {
+        Map<String, Integer> contagem = new LinkedHashMap<>();
+        for (Map.Entry<String, ProfileStore> e : shards.entrySet()) {
+            contagem.put(e.getKey(), e.getValue().nomes().size());
+        }
+        return contagem;
+    }
+
+    /**
+     * adicionarShard
+     * Acrescenta um shard e migra, em segundo plano, os usuários que passaram a pertencer a ele.
+     * O sistema continua atendendo durante a migração. Se houver outra migração em andamento,
+     * espera por ela (fora do lock, para não travar as demais operações).
+     *
+     * @param nome Nome estável do shard (define seus pontos no anel)
+     * @param store Loja do novo shard
+     * @return Futuro com a quantidade de usuários migrados; falha se a migração não terminar
+     * @throws IllegalStateException se a migração anterior falhou e ainda não foi retomada
+     */
+    public CompletableFuture<Integer> adicionarShard(String nome, ProfileStore store) {
+        while (true) {
+            CompletableFuture<Integer> emAndamento;
+            synchronized (this) {
+                emAndamento = migracao;
+                if (emAndamento.isDone()) {
+                    if (anterior != null) {
+                        throw new IllegalStateException("A migração anterior não terminou; chame retomarMigracao() antes");
+                    }
+                    shards.put(nome, store);
+                    anterior = anel;
+                    anel = new Anel(shards, nosVirtuais);
+                    migracao = migrar(anel);
+                    return migracao;
+                }
+            }
+            try {
+                emAndamento.join(); // Um rebalanceamento por vez
+            } catch (CompletionException e) {
+                // A falha é tratada na próxima volta (anterior continua definido)
+            }
+        }
+    }
+
+    /**
+     * retomarMigracao
+     * Reexecuta a migração que falhou (ex.: shard fora do ar). Até ela terminar, as leituras
+     * continuam consultando o dono antigo.
+     *
+     * @return Futuro da migração (já concluído se não havia nada pendente)
+     */
+    public synchronized CompletableFuture<Integer> retomarMigracao() {
+        if (migracao.isDone() && anterior != null) {
+            migracao = migrar(anel);
+        }
+        return migracao;
+    }
+
+    // Move, de cada shard, os usuários que pertencem a outro shard no anel novo. O anel anterior
+    // (e com ele a consulta ao dono antigo) só é descartado se todos forem migrados.
+    private CompletableFuture<Integer> migrar(Anel novo) {
+        List<ProfileStore> origens = lojas();
+        return CompletableFuture.supplyAsync(() -> {
+            int migrados = 0;
+            for (ProfileStore origem : origens) {
+                for (String usuario : tentar(origem::nomes)) {
+                    ProfileStore destino = novo.dono(hashUsuario(usuario));
+                    if (destino == origem) continue;
+                    Usuario u = tentar(() -> origem.carregar(usuario));
+                    if (u == null) continue;
+                    tentar(() -> destino.cadastrar(u)); // Mantém a versão do destino se já houver uma
+                    tentar(() -> origem.remover(usuario));
+                    migrados++;
+                }
+            }
+            synchronized (this) {
+                if (anel == novo) anterior = null;
+            }
+            return migrados;
+        }).whenComplete((n, erro) -> {
+            if (erro != null) {
+                log.erro(() -> "Migração de shards interrompida; o dono antigo continua sendo consultado", erro);
+            }
+        });
+    }
+
+    // Operação remota com algumas novas tentativas antes de desistir (falhas de E/S passageiras).
+    private static <T> T tentar(Supplier<T> operacao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return operacao.get();
+            } catch (RuntimeException e) {
+                if (tentativa == TENTATIVAS) throw e;
+                try {
+                    Thread.sleep(ESPERA_MS * tentativa);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private synchronized List<ProfileStore> lojas() {
+        return new ArrayList<>(shards.values());
+    }
+
+    @Override
+    public void close() {
+        for (ProfileStore s : lojas()) {
+            s.close();
+        }
+    }
+}
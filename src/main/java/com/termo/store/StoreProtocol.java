@@ -0,0 +1,106 @@
+package com.termo.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+
+/**
+ * Protocolo entre {@link RemoteProfileStore} e {@link ProfileStoreServer}.
+ *
+ * Pedido: {@code [operação: 1 byte][tamanho: int][argumento serializado]}.
+ * Resposta: {@code [status: 1 byte][tamanho: int][resultado serializado ou mensagem de erro]}.
+ * Cada argumento/resultado é serializado em um fluxo próprio, então nenhum estado de
+ * serialização é reaproveitado entre mensagens.
+ *
+ * A desserialização só aceita as classes que o protocolo transporta ({@link #FILTRO}) e mensagens
+ * de até {@link #TAMANHO_MAXIMO} bytes. Mesmo assim não há autenticação: a loja só deve ouvir em
+ * socket de domínio Unix ou na interface de loopback (ver {@link ProfileStoreServer}).
+ */
+final class StoreProtocol {
+    static final byte CARREGAR = 1; // String nome -> Usuario
+    static final byte CADASTRAR = 2; // Usuario -> Usuario existente
+    static final byte SALVAR = 3; // ArrayList<Usuario> -> null
+    static final byte REMOVER = 4; // String nome -> Usuario
+    static final byte NOMES = 5; // null -> ArrayList<String>
+
+    static final byte OK = 0;
+    static final byte ERRO = 1;
+
+    static final int TAMANHO_MAXIMO = 32 * 1024 * 1024; // Maior mensagem aceita, em bytes
+
+    // Classes permitidas (Object aparece como tipo do array interno do ArrayList; arrays de
+    // primitivos são aceitos) e limites de profundidade, referências e tamanho; o resto é recusado
+    // antes de ser instanciado.
+    private static final ObjectInputFilter FILTRO = ObjectInputFilter.Config.createFilter(
+            "maxdepth=10;maxrefs=1000000;maxarray=1000000;maxbytes=" + TAMANHO_MAXIMO + ";"
+                    + "java.lang.String;java.util.ArrayList;java.lang.Object;"
+                    + "com.termo.controller.Usuario;com.termo.controller.PerfilJogador;!*");
+
+    private StoreProtocol() {
+    }
+
+    /**
+     * endereco
+     * Interpreta um endereço de loja: {@code unix:/caminho/do/socket}, {@code host:porta} ou {@code porta}.
+     */
+    static SocketAddress endereco(String texto) {
+        if (texto.startsWith("unix:")) {
+            return UnixDomainSocketAddress.of(Path.of(texto.substring("unix:".length())));
+        }
+        int dois = texto.lastIndexOf(':');
+        if (dois < 0) {
+            return new InetSocketAddress("127.0.0.1", Integer.parseInt(texto));
+        }
+        return new InetSocketAddress(texto.substring(0, dois), Integer.parseInt(texto.substring(dois + 1)));
+    }
+
+    static StandardProtocolFamily familia(SocketAddress endereco) {
+        return endereco instanceof UnixDomainSocketAddress ? StandardProtocolFamily.UNIX : StandardProtocolFamily.INET;
+    }
+
+    static void escrever(DataOutputStream out, byte tipo, Object valor) throws IOException {
+        byte[] dados = serializar(valor);
+        out.writeByte(tipo);
+        out.writeInt(dados.length);
+        out.write(dados);
+        out.flush();
+    }
+
+    static byte lerTipo(DataInputStream in) throws IOException {
+        return in.readByte();
+    }
+
+    static Object lerValor(DataInputStream in) throws IOException {
+        int tamanho = in.readInt();
+        if (tamanho < 0 || tamanho > TAMANHO_MAXIMO) {
+            throw new IOException("Tamanho de mensagem inválido: " + tamanho);
+        }
+        byte[] dados = new byte[tamanho];
+        in.readFully(dados);
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(dados))) {
+            ois.setObjectInputFilter(FILTRO);
+            return ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Classe desconhecida na mensagem: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] serializar(Object valor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject((Serializable) valor);
+        }
+        return bytes.toByteArray();
+    }
+}